@@ -0,0 +1,121 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.lareferencia.core.metadata.MedatadaDOMHelper;
+import org.lareferencia.core.metadata.OAIMetadataBitstream;
+import org.lareferencia.core.metadata.OAIRecordMetadata;
+import org.lareferencia.core.metadata.XOAIXPATHHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Node;
+
+/**
+ * Parsing, serialization and field access of {@link OAIRecordMetadata}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetadataBenchmark {
+
+    private static final int RECORDS = 256;
+
+    @Param({ "typical", "heavy" })
+    String profile;
+
+    private String[] xml;
+    private OAIRecordMetadata[] parsed;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SyntheticRecordGenerator generator = SyntheticRecordGenerator.forProfile(profile, 42);
+        xml = new String[RECORDS];
+        parsed = new OAIRecordMetadata[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            xml[i] = generator.record(i);
+            parsed[i] = new OAIRecordMetadata(generator.identifier(i), xml[i]);
+        }
+    }
+
+    private int next() {
+        cursor = (cursor + 1) % RECORDS;
+        return cursor;
+    }
+
+    @Benchmark
+    public OAIRecordMetadata parse() throws Exception {
+        int i = next();
+        return new OAIRecordMetadata("oai:benchmark:" + i, xml[i]);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return parsed[next()].toString();
+    }
+
+    @Benchmark
+    public List<String> fieldOccurrences() {
+        return parsed[next()].getFieldOcurrences("dc.creator.*");
+    }
+
+    @Benchmark
+    public String fieldValueWithDiscriminator() {
+        return parsed[next()].getFieldValue("dc.identifier.none", "dc.type.none", "info:eu-repo/semantics/article");
+    }
+
+    @Benchmark
+    public List<OAIRecordMetadata> fieldMetadataOccurrences() {
+        return parsed[next()].getFieldMetadataOccurrences("dc.subject.*");
+    }
+
+    @Benchmark
+    public List<OAIMetadataBitstream> bitstreams() {
+        return parsed[next()].getBitstreams();
+    }
+
+    @Benchmark
+    public String xpathExpression() {
+        return XOAIXPATHHelper.getXPATH("dc.contributor.author.*", true, true);
+    }
+
+    @Benchmark
+    public List<Node> domNodeList() throws Exception {
+        return MedatadaDOMHelper.getListOfNodes(parsed[next()].getDOMDocument(),
+                XOAIXPATHHelper.getXPATH("dc.subject.*"));
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.lareferencia.core.domain.Network;
+import org.lareferencia.core.metadata.IMetadataStore;
+import org.lareferencia.core.metadata.MetadataStoreFSImpl;
+import org.lareferencia.core.metadata.MetadataStorePerNetworkH2Impl;
+import org.lareferencia.core.metadata.MetadataStorePerNetworkSQLiteImpl;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.util.hashing.XXHash64Hashing;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Store and get of each {@link IMetadataStore} implementation, on a temporary
+ * directory.
+ * <p>
+ * {@link #store()} writes new content on every call; {@link #storeExisting()}
+ * measures the deduplicated path, where the hash already exists.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetadataStoreBenchmark {
+
+    private static final int RECORDS = 1024;
+
+    @Param({ "fs", "sqlite", "h2" })
+    String store;
+
+    @Param({ "typical" })
+    String profile;
+
+    private Path basePath;
+    private IMetadataStore metadataStore;
+    private SnapshotMetadata snapshotMetadata;
+
+    private String[] xml;
+    private String[] hashes;
+    private int cursor;
+    private long written;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        basePath = Files.createTempDirectory("lrharvester-benchmark-store");
+
+        switch (store) {
+        case "fs":
+            metadataStore = new MetadataStoreFSImpl();
+            break;
+        case "sqlite":
+            metadataStore = new MetadataStorePerNetworkSQLiteImpl();
+            break;
+        case "h2":
+            metadataStore = new MetadataStorePerNetworkH2Impl();
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown store: " + store);
+        }
+        ReflectionTestUtils.setField(metadataStore, "basePath", basePath.toString());
+        ReflectionTestUtils.setField(metadataStore, "hashing", new XXHash64Hashing());
+        ReflectionTestUtils.invokeMethod(metadataStore, "init");
+
+        Network network = new Network();
+        network.setAcronym("BENCHMARK");
+        snapshotMetadata = new SnapshotMetadata(1L);
+        snapshotMetadata.setNetwork(network);
+
+        SyntheticRecordGenerator generator = SyntheticRecordGenerator.forProfile(profile, 42);
+        xml = new String[RECORDS];
+        hashes = new String[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            xml[i] = generator.record(i);
+            hashes[i] = metadataStore.storeAndReturnHash(snapshotMetadata, xml[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (metadataStore instanceof MetadataStorePerNetworkSQLiteImpl)
+            ((MetadataStorePerNetworkSQLiteImpl) metadataStore).closeAllConnections();
+        if (metadataStore instanceof MetadataStorePerNetworkH2Impl)
+            ((MetadataStorePerNetworkH2Impl) metadataStore).closeAllConnections();
+        FileSystemUtils.deleteRecursively(basePath);
+    }
+
+    private int next() {
+        cursor = (cursor + 1) % RECORDS;
+        return cursor;
+    }
+
+    @Benchmark
+    public String store() {
+        // contenido distinto en cada llamada para no medir la deduplicación
+        return metadataStore.storeAndReturnHash(snapshotMetadata, xml[next()] + "<!-- " + written++ + " -->");
+    }
+
+    @Benchmark
+    public String storeExisting() {
+        return metadataStore.storeAndReturnHash(snapshotMetadata, xml[next()]);
+    }
+
+    @Benchmark
+    public String get() throws Exception {
+        return metadataStore.getMetadata(snapshotMetadata, hashes[next()]);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.lareferencia.core.domain.Network;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.repository.catalog.CatalogDatabaseManager;
+import org.lareferencia.core.repository.catalog.OAIRecord;
+import org.lareferencia.core.repository.catalog.OAIRecordCatalogRepository;
+import org.lareferencia.core.repository.validation.RecordValidationRepository;
+import org.lareferencia.core.repository.validation.ValidationDatabaseManager;
+import org.lareferencia.core.repository.validation.ValidationRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+
+/**
+ * Batch writes and scans of the per-snapshot SQLite repositories: the OAI
+ * record catalog and the validation records. Each operation processes one
+ * batch of {@code batchSize} records.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    private static final List<Long> RULE_IDS = Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L);
+
+    @Param({ "1000" })
+    int batchSize;
+
+    @Param({ "100000" })
+    int catalogSize;
+
+    private Path basePath;
+    private SnapshotMetadata snapshotMetadata;
+
+    private CatalogDatabaseManager catalogManager;
+    private OAIRecordCatalogRepository catalogRepository;
+    private ValidationDatabaseManager validationManager;
+    private RecordValidationRepository validationRepository;
+
+    private List<OAIRecord> catalogBatch;
+    private List<ValidationRecord> validationBatch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        basePath = Files.createTempDirectory("lrharvester-benchmark-repository");
+
+        Network network = new Network();
+        network.setAcronym("BENCHMARK");
+        snapshotMetadata = new SnapshotMetadata(1L);
+        snapshotMetadata.setNetwork(network);
+
+        catalogManager = new CatalogDatabaseManager();
+        ReflectionTestUtils.setField(catalogManager, "basePath", basePath.toString());
+        ReflectionTestUtils.setField(catalogManager, "walMode", true);
+        catalogRepository = new OAIRecordCatalogRepository();
+        ReflectionTestUtils.setField(catalogRepository, "dbManager", catalogManager);
+        ReflectionTestUtils.setField(catalogRepository, "batchSize", batchSize);
+        catalogRepository.initializeSnapshot(snapshotMetadata, null);
+
+        validationManager = new ValidationDatabaseManager();
+        ReflectionTestUtils.setField(validationManager, "basePath", basePath.toString());
+        validationRepository = new RecordValidationRepository();
+        ReflectionTestUtils.setField(validationRepository, "dbManager", validationManager);
+        ReflectionTestUtils.setField(validationRepository, "batchSize", batchSize);
+        validationManager.initializeSnapshot(snapshotMetadata, RULE_IDS);
+        validationRepository.registerRuleIds(1L, RULE_IDS);
+
+        SyntheticRecordGenerator generator = new SyntheticRecordGenerator(42);
+        LocalDateTime datestamp = LocalDateTime.now();
+
+        // catálogo inicial para los recorridos
+        List<OAIRecord> records = new ArrayList<>(batchSize);
+        for (int i = 0; i < catalogSize; i++) {
+            records.add(OAIRecord.create(generator.identifier(i), datestamp, Long.toHexString(i * 31L), i % 20 == 0));
+            if (records.size() == batchSize) {
+                catalogRepository.upsertBatch(1L, records);
+                records.clear();
+            }
+        }
+        catalogRepository.upsertBatch(1L, records);
+
+        catalogBatch = new ArrayList<>(batchSize);
+        validationBatch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            catalogBatch.add(OAIRecord.create(generator.identifier(i), datestamp, Long.toHexString(i * 17L), false));
+            validationBatch.add(validationRecord(generator.identifier(i), i));
+        }
+    }
+
+    private static ValidationRecord validationRecord(String identifier, int i) {
+        Map<Long, Boolean> results = new HashMap<>();
+        for (Long ruleId : RULE_IDS)
+            results.put(ruleId, (i + ruleId) % 7 != 0);
+
+        ValidationRecord record = new ValidationRecord();
+        record.setIdentifierHash(Long.toHexString(identifier.hashCode() * 31L + i));
+        record.setIdentifier(identifier);
+        record.setValid(!results.containsValue(false));
+        record.setOriginalMetadataHash(Long.toHexString(i * 17L));
+        record.setPublishedMetadataHash(Long.toHexString(i * 17L));
+        record.setRuleResults(results);
+        return record;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        catalogManager.closeAll();
+        validationManager.cleanup();
+        FileSystemUtils.deleteRecursively(basePath);
+    }
+
+    @Benchmark
+    public List<OAIRecord> catalogUpsertBatch() {
+        catalogRepository.upsertBatch(1L, catalogBatch);
+        return catalogBatch;
+    }
+
+    @Benchmark
+    public long catalogStreamNotDeleted() {
+        try (Stream<OAIRecord> stream = catalogRepository.streamNotDeleted(snapshotMetadata)) {
+            return stream.count();
+        }
+    }
+
+    @Benchmark
+    public List<ValidationRecord> validationInsertBatch() throws IOException {
+        validationRepository.insertBatch(1L, validationBatch);
+        return validationBatch;
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.benchmark;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates synthetic xoai records for benchmarks and load tests.
+ * <p>
+ * The number of occurrences of each repeated field (titles, authors, subjects,
+ * bitstreams) and the length of the abstracts follow configurable
+ * {@link SizeDistribution}s, so the same code measures typical records and the
+ * long tail of records with hundreds of authors or files. Records are
+ * reproducible: the same seed and index always give the same record.
+ * </p>
+ */
+public class SyntheticRecordGenerator {
+
+    private static final String[] TYPES = { "info:eu-repo/semantics/article",
+            "info:eu-repo/semantics/doctoralThesis", "info:eu-repo/semantics/masterThesis",
+            "info:eu-repo/semantics/bachelorThesis", "info:eu-repo/semantics/conferenceObject", "Artículo" };
+
+    private static final String[] LANGUAGES = { "spa", "por", "eng", "es", "pt_BR" };
+
+    private static final String[] WORDS = { "análisis", "desarrollo", "educação", "social", "universidad",
+            "research", "modelo", "sistema", "políticas", "salud", "agua", "clima", "historia", "learning",
+            "gestión", "pública", "território", "evaluation", "datos", "rede", "comunidad", "energía" };
+
+    private final long seed;
+
+    private SizeDistribution titles = SizeDistribution.parse("1-2");
+    private SizeDistribution authors = SizeDistribution.parse("1-5");
+    private SizeDistribution subjects = SizeDistribution.parse("3-10");
+    private SizeDistribution abstractWords = SizeDistribution.parse("100-400");
+    private SizeDistribution bitstreams = SizeDistribution.parse("0-2");
+
+    public SyntheticRecordGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a generator with the distributions of a named profile:
+     * {@code typical} (a few authors and files) or {@code heavy} (long tails up to
+     * hundreds of authors, subjects and files).
+     *
+     * @param profile the profile name
+     * @param seed    the seed of the records
+     * @return the generator
+     */
+    public static SyntheticRecordGenerator forProfile(String profile, long seed) {
+        SyntheticRecordGenerator generator = new SyntheticRecordGenerator(seed);
+        switch (profile) {
+        case "typical":
+            return generator;
+        case "heavy":
+            return generator.titles("1-3").authors("1-300~").subjects("5-100~").abstractWords("200-2000~")
+                    .bitstreams("1-80~");
+        default:
+            throw new IllegalArgumentException("Unknown record profile: " + profile);
+        }
+    }
+
+    public SyntheticRecordGenerator titles(String distribution) {
+        this.titles = SizeDistribution.parse(distribution);
+        return this;
+    }
+
+    public SyntheticRecordGenerator authors(String distribution) {
+        this.authors = SizeDistribution.parse(distribution);
+        return this;
+    }
+
+    public SyntheticRecordGenerator subjects(String distribution) {
+        this.subjects = SizeDistribution.parse(distribution);
+        return this;
+    }
+
+    public SyntheticRecordGenerator abstractWords(String distribution) {
+        this.abstractWords = SizeDistribution.parse(distribution);
+        return this;
+    }
+
+    public SyntheticRecordGenerator bitstreams(String distribution) {
+        this.bitstreams = SizeDistribution.parse(distribution);
+        return this;
+    }
+
+    /**
+     * @param index the record number
+     * @return the OAI identifier of the record
+     */
+    public String identifier(long index) {
+        return "oai:synthetic.lareferencia.info:" + index;
+    }
+
+    /**
+     * Generates the xoai metadata of a record.
+     *
+     * @param index the record number
+     * @return the record as an xoai document string
+     */
+    public String record(long index) {
+        Random random = new Random(seed * 31 + index);
+        StringBuilder xml = new StringBuilder(4096);
+
+        xml.append("<metadata xmlns=\"http://www.lyncode.com/xoai\">");
+        xml.append("<element name=\"dc\">");
+
+        open(xml, "title");
+        for (int i = titles.sample(random); i > 0; i--)
+            value(xml, sentence(random, 6 + random.nextInt(10)));
+        close(xml);
+
+        open(xml, "creator");
+        for (int i = authors.sample(random); i > 0; i--)
+            value(xml, capitalize(word(random)) + ", " + capitalize(word(random)) + " " + (char) ('A' + random.nextInt(26))
+                    + ".");
+        close(xml);
+
+        open(xml, "subject");
+        for (int i = subjects.sample(random); i > 0; i--)
+            value(xml, sentence(random, 1 + random.nextInt(3)));
+        close(xml);
+
+        open(xml, "description");
+        value(xml, sentence(random, abstractWords.sample(random)));
+        close(xml);
+
+        open(xml, "date");
+        value(xml, String.format(Locale.ROOT, "%04d-%02d-%02d", 1990 + random.nextInt(35), 1 + random.nextInt(12),
+                1 + random.nextInt(28)));
+        close(xml);
+
+        open(xml, "type");
+        value(xml, TYPES[random.nextInt(TYPES.length)]);
+        close(xml);
+
+        open(xml, "identifier");
+        value(xml, "https://repositorio.example.org/handle/123456789/" + index);
+        if (random.nextBoolean())
+            value(xml, "10." + (1000 + random.nextInt(9000)) + "/synthetic." + index);
+        close(xml);
+
+        open(xml, "language");
+        value(xml, LANGUAGES[random.nextInt(LANGUAGES.length)]);
+        close(xml);
+
+        open(xml, "rights");
+        value(xml, random.nextInt(4) == 0 ? "info:eu-repo/semantics/embargoedAccess"
+                : "info:eu-repo/semantics/openAccess");
+        close(xml);
+
+        xml.append("</element>");
+
+        xml.append("<element name=\"bundles\">");
+        int files = bitstreams.sample(random);
+        if (files > 0) {
+            xml.append("<element name=\"bundle\"><field name=\"name\">ORIGINAL</field><element name=\"bitstreams\">");
+            for (int i = 0; i < files; i++) {
+                xml.append("<element name=\"bitstream\">");
+                field(xml, "name", "file-" + index + "-" + i + ".pdf");
+                field(xml, "format", "application/pdf");
+                field(xml, "size", Integer.toString(10000 + random.nextInt(5000000)));
+                field(xml, "url", "https://repositorio.example.org/bitstream/" + index + "/" + i + "/file.pdf");
+                field(xml, "checksum", Long.toHexString(random.nextLong()));
+                field(xml, "sid", Integer.toString(i + 1));
+                xml.append("</element>");
+            }
+            xml.append("</element></element>");
+        }
+        xml.append("</element>");
+
+        xml.append("<element name=\"others\">");
+        field(xml, "identifier", identifier(index));
+        field(xml, "lastModifyDate", "2024-01-01T00:00:00Z");
+        xml.append("</element>");
+        xml.append("<element name=\"repository\">");
+        field(xml, "name", "Repositorio Sintético");
+        field(xml, "mail", "repositorio@example.org");
+        xml.append("</element>");
+
+        xml.append("</metadata>");
+        return xml.toString();
+    }
+
+    private static void open(StringBuilder xml, String name) {
+        xml.append("<element name=\"").append(name).append("\"><element name=\"none\">");
+    }
+
+    private static void close(StringBuilder xml) {
+        xml.append("</element></element>");
+    }
+
+    private static void value(StringBuilder xml, String content) {
+        field(xml, "value", content);
+    }
+
+    private static void field(StringBuilder xml, String name, String content) {
+        xml.append("<field name=\"").append(name).append("\">").append(content).append("</field>");
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sentence = new StringBuilder(words * 10);
+        for (int i = 0; i < words; i++) {
+            if (i > 0)
+                sentence.append(' ');
+            sentence.append(word(random));
+        }
+        return capitalize(sentence.toString());
+    }
+
+    private static String capitalize(String text) {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    /**
+     * Distribution of a size: {@code "5"} (fixed), {@code "1-20"} (uniform) or
+     * {@code "1-500~"} (long tail: most values near the minimum, a few up to the
+     * maximum).
+     */
+    public static final class SizeDistribution {
+
+        private final int min;
+        private final int max;
+        private final boolean longTail;
+
+        private SizeDistribution(int min, int max, boolean longTail) {
+            if (min < 0 || max < min)
+                throw new IllegalArgumentException("Invalid size range: " + min + "-" + max);
+            this.min = min;
+            this.max = max;
+            this.longTail = longTail;
+        }
+
+        public static SizeDistribution parse(String spec) {
+            String value = spec.trim();
+            boolean longTail = value.endsWith("~");
+            if (longTail)
+                value = value.substring(0, value.length() - 1);
+
+            int dash = value.indexOf('-');
+            if (dash < 0) {
+                int fixed = Integer.parseInt(value);
+                return new SizeDistribution(fixed, fixed, false);
+            }
+            return new SizeDistribution(Integer.parseInt(value.substring(0, dash)),
+                    Integer.parseInt(value.substring(dash + 1)), longTail);
+        }
+
+        public int sample(Random random) {
+            if (min == max)
+                return min;
+            if (!longTail)
+                return min + random.nextInt(max - min + 1);
+
+            // cúbica de una uniforme: la mayoría cerca del mínimo
+            double u = random.nextDouble();
+            return min + (int) Math.round(u * u * u * (max - min));
+        }
+
+        @Override
+        public String toString() {
+            return min == max ? Integer.toString(min) : min + "-" + max + (longTail ? "~" : "");
+        }
+    }
+}
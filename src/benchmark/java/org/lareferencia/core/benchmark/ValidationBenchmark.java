@@ -0,0 +1,225 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.lareferencia.core.domain.Network;
+import org.lareferencia.core.metadata.OAIRecordMetadata;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.metadata.XsltMDFormatTransformer;
+import org.lareferencia.core.repository.catalog.OAIRecord;
+import org.lareferencia.core.worker.validation.IValidatorRule;
+import org.lareferencia.core.worker.validation.ITransformerRule;
+import org.lareferencia.core.worker.validation.QuantifierValues;
+import org.lareferencia.core.worker.validation.TransformerImpl;
+import org.lareferencia.core.worker.validation.Translation;
+import org.lareferencia.core.worker.validation.ValidatorImpl;
+import org.lareferencia.core.worker.validation.ValidatorResult;
+import org.lareferencia.core.worker.validation.transformer.FieldContentTranslateRule;
+import org.lareferencia.core.worker.validation.transformer.FieldNameTranslateRule;
+import org.lareferencia.core.worker.validation.transformer.RemoveDuplicateOccrsRule;
+import org.lareferencia.core.worker.validation.validator.ContentLengthFieldContentValidatorRule;
+import org.lareferencia.core.worker.validation.validator.ControlledValueFieldContentValidatorRule;
+import org.lareferencia.core.worker.validation.validator.FieldExpressionValidatorRule;
+import org.lareferencia.core.worker.validation.validator.RegexFieldContentValidatorRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.w3c.dom.Document;
+
+/**
+ * Validation, transformation and XSLT of records, with a rule set like the
+ * ones configured for the networks (field presence, controlled vocabularies,
+ * regular expressions, type translations).
+ * <p>
+ * Transformations modify the record, so they run on a copy of its document;
+ * {@link #copyOnly()} measures that copy.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final int RECORDS = 256;
+
+    private static final List<String> DRIVER_TYPES = Arrays.asList("info:eu-repo/semantics/article",
+            "info:eu-repo/semantics/doctoralThesis", "info:eu-repo/semantics/masterThesis",
+            "info:eu-repo/semantics/bachelorThesis", "info:eu-repo/semantics/conferenceObject",
+            "info:eu-repo/semantics/book", "info:eu-repo/semantics/report");
+
+    @Param({ "typical", "heavy" })
+    String profile;
+
+    private OAIRecordMetadata[] records;
+    private OAIRecord[] catalogRecords;
+    private SnapshotMetadata snapshotMetadata;
+
+    private ValidatorImpl validator;
+    private TransformerImpl transformer;
+    private XsltMDFormatTransformer xslt;
+    private final ValidatorResult result = new ValidatorResult();
+
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SyntheticRecordGenerator generator = SyntheticRecordGenerator.forProfile(profile, 42);
+        records = new OAIRecordMetadata[RECORDS];
+        catalogRecords = new OAIRecord[RECORDS];
+        for (int i = 0; i < RECORDS; i++) {
+            records[i] = new OAIRecordMetadata(generator.identifier(i), generator.record(i));
+            catalogRecords[i] = OAIRecord.create(generator.identifier(i), LocalDateTime.now(), null, false);
+        }
+
+        Network network = new Network();
+        network.setAcronym("BENCHMARK");
+        snapshotMetadata = new SnapshotMetadata(1L);
+        snapshotMetadata.setNetwork(network);
+
+        validator = new ValidatorImpl();
+        validator.setRules(validatorRules());
+
+        transformer = new TransformerImpl();
+        transformer.setRules(transformerRules());
+
+        xslt = new XsltMDFormatTransformer("xoai", "benchmark",
+                new ClassPathResource("test-transform.xsl").getFile().getAbsolutePath());
+    }
+
+    /**
+     * @return the validation rules, also used by the load test
+     */
+    public static List<IValidatorRule> validatorRules() {
+        ContentLengthFieldContentValidatorRule title = new ContentLengthFieldContentValidatorRule();
+        title.setFieldname("dc.title.*");
+        title.setMinLength(3);
+        title.setMandatory(true);
+
+        ContentLengthFieldContentValidatorRule creator = new ContentLengthFieldContentValidatorRule();
+        creator.setFieldname("dc.creator.*");
+        creator.setMinLength(2);
+        creator.setMandatory(true);
+
+        ControlledValueFieldContentValidatorRule type = new ControlledValueFieldContentValidatorRule();
+        type.setFieldname("dc.type.*");
+        type.setControlledValues(DRIVER_TYPES);
+        type.setQuantifier(QuantifierValues.ONE_ONLY);
+        type.setMandatory(true);
+
+        RegexFieldContentValidatorRule date = new RegexFieldContentValidatorRule();
+        date.setFieldname("dc.date.*");
+        date.setRegexString("^\\d{4}(-\\d{2}(-\\d{2})?)?$");
+        date.setMandatory(true);
+
+        RegexFieldContentValidatorRule rights = new RegexFieldContentValidatorRule();
+        rights.setFieldname("dc.rights.*");
+        rights.setRegexString("^info:eu-repo/semantics/(open|embargoed|restricted|closed)Access$");
+        rights.setMandatory(false);
+
+        FieldExpressionValidatorRule identifier = new FieldExpressionValidatorRule();
+        identifier.setExpression("dc.identifier.*=%'https?://.*'");
+        identifier.setMandatory(true);
+
+        List<IValidatorRule> rules = Arrays.asList(title, creator, type, date, rights, identifier);
+        long ruleId = 1;
+        for (IValidatorRule rule : rules)
+            rule.setRuleId(ruleId++);
+        return rules;
+    }
+
+    /**
+     * @return the transformation rules, also used by the load test
+     */
+    public static List<ITransformerRule> transformerRules() {
+        FieldContentTranslateRule type = new FieldContentTranslateRule();
+        type.setTestFieldName("dc.type.none");
+        type.setWriteFieldName("dc.type.none");
+        type.setTranslationArray(Arrays.asList(new Translation("Artículo", "info:eu-repo/semantics/article"),
+                new Translation("Tesis", "info:eu-repo/semantics/doctoralThesis")));
+
+        FieldNameTranslateRule abstracts = new FieldNameTranslateRule();
+        abstracts.setSourceFieldName("dc.description.none");
+        abstracts.setTargetFieldName("dc.description.abstract");
+
+        RemoveDuplicateOccrsRule subjects = new RemoveDuplicateOccrsRule();
+        subjects.setFieldName("dc.subject.none");
+
+        List<ITransformerRule> rules = Arrays.asList(type, abstracts, subjects);
+        long ruleId = 100;
+        for (ITransformerRule rule : rules)
+            rule.setRuleId(ruleId++);
+        return rules;
+    }
+
+    private int next() {
+        cursor = (cursor + 1) % RECORDS;
+        return cursor;
+    }
+
+    private OAIRecordMetadata copy(int i) {
+        return new OAIRecordMetadata(records[i].getIdentifier(),
+                (Document) records[i].getDOMDocument().cloneNode(true));
+    }
+
+    @Benchmark
+    public ValidatorResult validate() throws Exception {
+        return validator.validate(records[next()], result);
+    }
+
+    @Benchmark
+    public OAIRecordMetadata copyOnly() {
+        return copy(next());
+    }
+
+    @Benchmark
+    public boolean transform() throws Exception {
+        int i = next();
+        return transformer.transform(snapshotMetadata, catalogRecords[i], copy(i));
+    }
+
+    @Benchmark
+    public Document xslt() throws Exception {
+        return xslt.transform(records[next()].getDOMDocument());
+    }
+
+    @Benchmark
+    public String xsltToString() throws Exception {
+        return xslt.transformToString(records[next()].getDOMDocument());
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.benchmark.load;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Embedding API with the OpenAI request and response format, returning
+ * deterministic unit vectors of the configured dimension derived from each
+ * input text.
+ */
+public class EmbeddingStandIn extends StandInServer {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final int dimension;
+
+    private final AtomicLong texts = new AtomicLong();
+
+    /**
+     * @param dimension     the dimension of the vectors
+     * @param latencyMillis the latency added to every response
+     * @throws IOException if the server cannot be created
+     */
+    public EmbeddingStandIn(int dimension, long latencyMillis) throws IOException {
+        super("/v1/embeddings", 4, latencyMillis);
+        this.dimension = dimension;
+    }
+
+    /**
+     * @return the texts embedded
+     */
+    public long getTexts() {
+        return texts.get();
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws Exception {
+        JsonNode request = mapper.readTree(exchange.getRequestBody());
+
+        List<String> inputs = new ArrayList<>();
+        JsonNode input = request.path("input");
+        if (input.isArray())
+            input.forEach(text -> inputs.add(text.asText()));
+        else
+            inputs.add(input.asText());
+
+        ObjectNode response = mapper.createObjectNode();
+        response.put("object", "list");
+        response.put("model", request.path("model").asText());
+
+        ArrayNode data = response.putArray("data");
+        int tokens = 0;
+        for (int i = 0; i < inputs.size(); i++) {
+            ObjectNode embedding = data.addObject();
+            embedding.put("object", "embedding");
+            embedding.put("index", i);
+            ArrayNode vector = embedding.putArray("embedding");
+            for (float value : vector(inputs.get(i)))
+                vector.add(value);
+            tokens += inputs.get(i).split("\\s+").length;
+        }
+
+        ObjectNode usage = response.putObject("usage");
+        usage.put("prompt_tokens", tokens);
+        usage.put("total_tokens", tokens);
+
+        texts.addAndGet(inputs.size());
+        respond(exchange, 200, "application/json", mapper.writeValueAsBytes(response));
+    }
+
+    private float[] vector(String text) {
+        SplittableRandom random = new SplittableRandom(text.hashCode());
+        float[] vector = new float[dimension];
+        double norm = 0;
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) (random.nextDouble() * 2 - 1);
+            norm += vector[i] * vector[i];
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < dimension; i++)
+            vector[i] *= scale;
+        return vector;
+    }
+}
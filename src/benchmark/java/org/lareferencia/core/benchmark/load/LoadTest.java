@@ -0,0 +1,338 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.benchmark.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.lareferencia.core.benchmark.SyntheticRecordGenerator;
+import org.lareferencia.core.benchmark.ValidationBenchmark;
+import org.lareferencia.core.domain.Network;
+import org.lareferencia.core.domain.SnapshotIndexStatus;
+import org.lareferencia.core.domain.SnapshotStatus;
+import org.lareferencia.core.domain.Transformer;
+import org.lareferencia.core.domain.TransformerRule;
+import org.lareferencia.core.metadata.ISnapshotStore;
+import org.lareferencia.core.metrics.PipelineMetrics;
+import org.lareferencia.core.repository.jpa.NetworkRepository;
+import org.lareferencia.core.repository.jpa.TransformerRepository;
+import org.lareferencia.core.repository.jpa.ValidatorRepository;
+import org.lareferencia.core.service.validation.ValidationService;
+import org.lareferencia.core.worker.IWorker;
+import org.lareferencia.core.worker.NetworkRunningContext;
+import org.lareferencia.core.worker.harvesting.HarvestingWorker;
+import org.lareferencia.core.worker.indexing.IndexerWorker;
+import org.lareferencia.core.worker.indexing.SemanticIndexerWorker;
+import org.lareferencia.core.worker.validation.ITransformerRule;
+import org.lareferencia.core.worker.validation.RuleSerializer;
+import org.lareferencia.core.worker.validation.ValidationWorker;
+import org.lareferencia.core.worker.validation.ValidatorImpl;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * End to end load test of the pipeline: harvesting, validation, indexing and
+ * semantic indexing of a synthetic network.
+ * <p>
+ * The external services are replaced by in-process stand-ins (an OAI-PMH
+ * provider with resumption tokens, deletions and sets, a Solr core and an
+ * embedding API), so the measures show the cost of the pipeline itself, plus
+ * the latency configured for each service. Each stage reports its throughput,
+ * latency percentiles, heap peak and disk usage ({@link LoadTestReport}).
+ * </p>
+ * <p>
+ * Options, as {@code --name=value}:
+ * </p>
+ * <ul>
+ * <li>{@code records} (10000), {@code profile} (typical, heavy), {@code seed}:
+ * the synthetic repository</li>
+ * <li>{@code oai-page-size} (100), {@code sets} (4), {@code by-set} (false),
+ * {@code deleted-every} (50): the OAI-PMH provider and how it is harvested</li>
+ * <li>{@code oai-latency}, {@code solr-latency}, {@code embedding-latency}
+ * (0): milliseconds added to each response of the stand-ins</li>
+ * <li>{@code page-size} (1000): the page size of the batch workers</li>
+ * <li>{@code store} (fs, sqlite, h2): the metadata store</li>
+ * <li>{@code dimension} (384): the dimension of the embeddings</li>
+ * <li>{@code stages} (harvesting,validation,indexing,semantic): the stages to
+ * run, in order</li>
+ * <li>{@code dir}: the working directory, a temporary one removed at the end if
+ * not given</li>
+ * <li>{@code log} (WARN): the log level of the workers</li>
+ * </ul>
+ */
+public class LoadTest {
+
+    public static final String SOLR_SCHEMA = "solr";
+
+    private static final String NETWORK_ACRONYM = "LOADTEST";
+    private static final String NETWORK_ID_FIELD = "network_acronym_s";
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("records", "10000");
+        DEFAULTS.put("profile", "typical");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("oai-page-size", "100");
+        DEFAULTS.put("sets", "4");
+        DEFAULTS.put("by-set", "false");
+        DEFAULTS.put("deleted-every", "50");
+        DEFAULTS.put("oai-latency", "0");
+        DEFAULTS.put("solr-latency", "0");
+        DEFAULTS.put("embedding-latency", "0");
+        DEFAULTS.put("page-size", "1000");
+        DEFAULTS.put("store", "fs");
+        DEFAULTS.put("dimension", "384");
+        DEFAULTS.put("stages", "harvesting,validation,indexing,semantic");
+        DEFAULTS.put("dir", "");
+        DEFAULTS.put("log", "WARN");
+    }
+
+    private final Map<String, String> options;
+
+    private LoadTest(Map<String, String> options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            String name = arg.startsWith("--") ? arg.substring(2, separator > 0 ? separator : arg.length()) : arg;
+            if (!DEFAULTS.containsKey(name))
+                throw new IllegalArgumentException("Unknown option: " + arg + ", options: " + DEFAULTS.keySet());
+            options.put(name, separator > 0 ? arg.substring(separator + 1) : "true");
+        }
+
+        new LoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        boolean temporary = option("dir").isEmpty();
+        Path workDir = temporary ? Files.createTempDirectory("lrharvester-load") : Paths.get(option("dir"));
+        Path storePath = workDir.resolve("data");
+        Files.createDirectories(storePath);
+
+        Path stylesheet = workDir.resolve("load-test-solr.xsl");
+        try (InputStream in = new ClassPathResource("load-test-solr.xsl").getInputStream()) {
+            Files.copy(in, stylesheet, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        SyntheticRecordGenerator generator = SyntheticRecordGenerator.forProfile(option("profile"),
+                longOption("seed"));
+        int records = (int) longOption("records");
+
+        LoadTestReport report = new LoadTestReport(storePath);
+
+        try (OAIPMHStandIn oai = new OAIPMHStandIn(generator, records, (int) longOption("oai-page-size"),
+                (int) longOption("sets"), (int) longOption("deleted-every"), longOption("oai-latency"));
+                SolrStandIn solr = new SolrStandIn(longOption("solr-latency"));
+                EmbeddingStandIn embeddings = new EmbeddingStandIn((int) longOption("dimension"),
+                        longOption("embedding-latency"))) {
+
+            oai.start();
+            solr.start();
+            embeddings.start();
+
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("spring.datasource.url", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1");
+            properties.put("spring.datasource.username", "sa");
+            properties.put("spring.datasource.password", "");
+            properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+            properties.put("spring.jpa.open-in-view", "false");
+            properties.put("store.basepath", storePath.toString());
+            properties.put("harvester.max.retries", "3");
+            properties.put("harvester.retry.seconds", "1");
+            properties.put("harvester.retry.factor", "2");
+            properties.put("frontend.solr.url", solr.getURL());
+            properties.put("embedding.api.url", embeddings.getURL());
+            properties.put("embedding.model.name", "load-test");
+            properties.put("embedding.model.dimension", option("dimension"));
+            properties.put("loadtest.metadata.store", option("store"));
+            properties.put("loadtest.solr.xsl", stylesheet.toString());
+            properties.put("logging.level.org.lareferencia", option("log"));
+
+            try (ConfigurableApplicationContext context = new SpringApplicationBuilder(LoadTestConfiguration.class)
+                    .web(WebApplicationType.NONE).bannerMode(Banner.Mode.OFF).properties(properties).run()) {
+
+                Network network = createNetwork(context, oai);
+                ISnapshotStore snapshotStore = context.getBean(ISnapshotStore.class);
+
+                System.out.println(String.format("Load test: %d %s records, %s store, OAI-PMH %s, Solr %s, embeddings %s",
+                        records, option("profile"), option("store"), oai.getURL(), solr.getURL(),
+                        embeddings.getURL()));
+
+                for (String name : option("stages").split(",")) {
+                    LoadTestReport.Stage stage = report.begin(name.trim());
+                    long served = oai.getRecordsServed();
+                    long sent = solr.getDocumentsReceived();
+                    long embedded = embeddings.getTexts();
+
+                    switch (name.trim()) {
+                    case "harvesting": {
+                        runWorker(context.getBean(HarvestingWorker.class), network);
+                        Long snapshotId = snapshotStore.findLastHarvestingSnapshot(network);
+                        stage.note("OAI-PMH: " + oai.getRequests() + " requests, "
+                                + (oai.getRecordsServed() - served) + " records, " + oai.getDeletedServed()
+                                + " deleted");
+                        stage.end(snapshotId != null && snapshotStore
+                                .getSnapshotStatus(snapshotId) == SnapshotStatus.HARVESTING_FINISHED_VALID,
+                                oai.getRecordsServed() - served);
+                        break;
+                    }
+                    case "validation": {
+                        ValidationWorker worker = context.getBean(ValidationWorker.class);
+                        worker.setPageSize((int) longOption("page-size"));
+                        runWorker(worker, network);
+                        Long snapshotId = snapshotStore.findLastGoodKnownSnapshot(network);
+                        if (snapshotId != null)
+                            stage.note("Valid: " + snapshotStore.getSnapshotValidSize(snapshotId) + " of "
+                                    + snapshotStore.getSnapshotSize(snapshotId) + ", transformed: "
+                                    + snapshotStore.getSnapshotTransformedSize(snapshotId));
+                        stage.end(snapshotId != null, 0);
+                        break;
+                    }
+                    case "indexing": {
+                        IndexerWorker worker = context.getBean(IndexerWorker.class, solr.getURL());
+                        worker.setTargetSchemaName(SOLR_SCHEMA);
+                        worker.setSolrNetworkIDField(NETWORK_ID_FIELD);
+                        worker.setExecuteDeletion(true);
+                        worker.setExecuteIndexing(true);
+                        worker.setPageSize((int) longOption("page-size"));
+                        runWorker(worker, network);
+                        stage.note("Solr: " + (solr.getDocumentsReceived() - sent) + " documents");
+                        stage.end(indexed(snapshotStore, network), 0);
+                        break;
+                    }
+                    case "semantic": {
+                        SemanticIndexerWorker worker = context.getBean(SemanticIndexerWorker.class);
+                        worker.setTargetSchemaName(SOLR_SCHEMA);
+                        worker.setSolrNetworkIDField(NETWORK_ID_FIELD);
+                        worker.setExecuteDeletion(true);
+                        worker.setExecuteIndexing(true);
+                        worker.setPageSize((int) longOption("page-size"));
+                        runWorker(worker, network);
+                        long documents = solr.getDocumentsReceived() - sent;
+                        stage.note("Solr: " + documents + " documents, embeddings: "
+                                + (embeddings.getTexts() - embedded) + " texts");
+                        stage.end(documents > 0 && indexed(snapshotStore, network), 0);
+                        break;
+                    }
+                    default:
+                        throw new IllegalArgumentException("Unknown stage: " + name);
+                    }
+                }
+            }
+        } finally {
+            report.print(System.out);
+            report.close();
+            if (temporary)
+                delete(workDir);
+        }
+    }
+
+    /**
+     * Creates the network harvested from the stand-in, with the validator and
+     * transformer of the validation benchmark.
+     */
+    private Network createNetwork(ConfigurableApplicationContext context, OAIPMHStandIn oai) {
+        ValidationService validationService = context.getBean(ValidationService.class);
+        RuleSerializer serializer = context.getBean(RuleSerializer.class);
+
+        ValidatorImpl validator = new ValidatorImpl();
+        validator.setRules(ValidationBenchmark.validatorRules());
+
+        Transformer transformer = new Transformer();
+        transformer.setName("load test");
+        transformer.setDescription("");
+        int order = 0;
+        for (ITransformerRule rule : ValidationBenchmark.transformerRules()) {
+            TransformerRule ruleModel = new TransformerRule();
+            ruleModel.setName(rule.getClass().getSimpleName());
+            ruleModel.setDescription("");
+            ruleModel.setRunorder(order++);
+            ruleModel.setJsonserialization(serializer.serializeTransformerToJsonString(rule));
+            transformer.getRules().add(ruleModel);
+        }
+
+        Network network = new Network();
+        network.setAcronym(NETWORK_ACRONYM);
+        network.setName("Load test network");
+        network.setInstitutionAcronym(NETWORK_ACRONYM);
+        network.setInstitutionName("Load test institution");
+        network.setPublished(true);
+        network.setOriginURL(oai.getURL());
+        network.setMetadataPrefix(OAIPMHStandIn.METADATA_PREFIX);
+        network.setMetadataStoreSchema(OAIPMHStandIn.METADATA_PREFIX);
+        network.setValidator(context.getBean(ValidatorRepository.class)
+                .save(validationService.createModelFromValidator(validator, "load test", "")));
+        network.setTransformer(context.getBean(TransformerRepository.class).save(transformer));
+
+        if (Boolean.parseBoolean(option("by-set"))) {
+            List<String> sets = new ArrayList<>();
+            for (int set = 0; set < longOption("sets"); set++)
+                sets.add(OAIPMHStandIn.setSpec(set));
+            network.setSets(sets);
+        }
+
+        return context.getBean(NetworkRepository.class).save(network);
+    }
+
+    private static void runWorker(IWorker<NetworkRunningContext> worker, Network network) {
+        worker.setIncremental(false);
+        worker.setRunningContext(new NetworkRunningContext(network));
+        PipelineMetrics.run(worker);
+    }
+
+    private static boolean indexed(ISnapshotStore snapshotStore, Network network) {
+        Long snapshotId = snapshotStore.findLastGoodKnownSnapshot(network);
+        return snapshotId != null && snapshotStore.getSnapshotIndexStatus(snapshotId) == SnapshotIndexStatus.INDEXED;
+    }
+
+    private String option(String name) {
+        return options.get(name);
+    }
+
+    private long longOption(String name) {
+        return Long.parseLong(option(name));
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+                Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.benchmark.load;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.lareferencia.core.embedding.EmbeddingService;
+import org.lareferencia.core.embedding.chunks.ChunkingService;
+import org.lareferencia.core.embedding.config.EmbeddingAPIConfig;
+import org.lareferencia.core.metadata.IMetadataStore;
+import org.lareferencia.core.metadata.ISnapshotStore;
+import org.lareferencia.core.metadata.MDFormatTransformerService;
+import org.lareferencia.core.metadata.MetadataStoreFSImpl;
+import org.lareferencia.core.metadata.MetadataStorePerNetworkH2Impl;
+import org.lareferencia.core.metadata.MetadataStorePerNetworkSQLiteImpl;
+import org.lareferencia.core.metadata.SnapshotStoreSQLImpl;
+import org.lareferencia.core.metadata.XsltMDFormatTransformer;
+import org.lareferencia.core.repository.catalog.CatalogDatabaseManager;
+import org.lareferencia.core.repository.catalog.OAIRecordCatalogRepository;
+import org.lareferencia.core.repository.validation.RecordValidationRepository;
+import org.lareferencia.core.repository.validation.RuleOccurrenceRepository;
+import org.lareferencia.core.repository.validation.TransformationCache;
+import org.lareferencia.core.repository.validation.ValidationDatabaseManager;
+import org.lareferencia.core.service.management.SnapshotLogService;
+import org.lareferencia.core.service.validation.ValidationService;
+import org.lareferencia.core.service.validation.ValidationStatisticsSQLiteService;
+import org.lareferencia.core.util.date.DateHelper;
+import org.lareferencia.core.util.date.IDateTimeFormatter;
+import org.lareferencia.core.util.date.SystemDateFormatter;
+import org.lareferencia.core.util.date.YearDateFormatter;
+import org.lareferencia.core.util.date.YearMonthDateFormatter;
+import org.lareferencia.core.util.date.YearMonthDayDateFormatter;
+import org.lareferencia.core.util.hashing.IHashingHelper;
+import org.lareferencia.core.util.hashing.XXHash64Hashing;
+import org.lareferencia.core.worker.harvesting.HarvestingWorker;
+import org.lareferencia.core.worker.harvesting.OCLCBasedHarvesterImpl;
+import org.lareferencia.core.worker.indexing.IndexerWorker;
+import org.lareferencia.core.worker.indexing.SemanticIndexerWorker;
+import org.lareferencia.core.worker.validation.RuleSerializer;
+import org.lareferencia.core.worker.validation.ValidationWorker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Application context of the load test: the harvesting, validation and
+ * indexing workers with the services they use, on an in-memory H2 database.
+ * <p>
+ * The beans that the applications declare in their XML context (stores,
+ * hashing, dates and metadata transformers) are declared here, with the
+ * indexing stylesheet of {@code loadtest.solr.xsl}.
+ * </p>
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = { SecurityAutoConfiguration.class })
+@EntityScan("org.lareferencia.core.domain")
+@EnableJpaRepositories("org.lareferencia.core.repository.jpa")
+@Import({ HarvestingWorker.class, OCLCBasedHarvesterImpl.class, ValidationWorker.class, IndexerWorker.class,
+        SemanticIndexerWorker.class, ValidationService.class, RuleSerializer.class, SnapshotLogService.class,
+        OAIRecordCatalogRepository.class, CatalogDatabaseManager.class, ValidationDatabaseManager.class,
+        RecordValidationRepository.class, RuleOccurrenceRepository.class, ValidationStatisticsSQLiteService.class,
+        TransformationCache.class, EmbeddingService.class, ChunkingService.class, EmbeddingAPIConfig.class })
+public class LoadTestConfiguration {
+
+    @Bean
+    public IHashingHelper hashing() {
+        return new XXHash64Hashing();
+    }
+
+    @Bean
+    public IMetadataStore metadataStore(@Value("${loadtest.metadata.store:fs}") String store) {
+        switch (store) {
+        case "fs":
+            return new MetadataStoreFSImpl();
+        case "sqlite":
+            return new MetadataStorePerNetworkSQLiteImpl();
+        case "h2":
+            return new MetadataStorePerNetworkH2Impl();
+        default:
+            throw new IllegalArgumentException("Unknown metadata store: " + store);
+        }
+    }
+
+    @Bean
+    public ISnapshotStore snapshotStore() {
+        return new SnapshotStoreSQLImpl();
+    }
+
+    @Bean
+    public DateHelper dateHelper() {
+        DateHelper dateHelper = new DateHelper();
+        dateHelper.setDateTimeFormatters(new HashSet<IDateTimeFormatter>(Arrays.asList(new SystemDateFormatter(),
+                new YearDateFormatter(), new YearMonthDateFormatter(), new YearMonthDayDateFormatter())));
+        return dateHelper;
+    }
+
+    @Bean
+    public MDFormatTransformerService metadataTransformerService(@Value("${loadtest.solr.xsl}") String stylesheet) {
+        MDFormatTransformerService service = new MDFormatTransformerService();
+        service.setTransformers(Arrays.asList(
+                new XsltMDFormatTransformer(OAIPMHStandIn.METADATA_PREFIX, LoadTest.SOLR_SCHEMA, stylesheet)));
+        return service;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.benchmark.load;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.lareferencia.core.metrics.PipelineMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Per stage measures of a load test run.
+ * <p>
+ * Latencies come from the pipeline metrics ({@link PipelineMetrics}) recorded
+ * while the stage runs, with client side percentiles enabled on a registry
+ * attached to the global one. Each stage also reports its throughput, the peak
+ * of the heap pools and the size of the store directory. Meters are removed
+ * when a stage ends, so each stage only reports its own measures.
+ * </p>
+ */
+public class LoadTestReport {
+
+    private static final double[] PERCENTILES = { 0.5, 0.95, 0.99 };
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Path storePath;
+    private final List<Stage> stages = new ArrayList<>();
+
+    /**
+     * @param storePath the store base path, measured after each stage
+     */
+    public LoadTestReport(Path storePath) {
+        this.storePath = storePath;
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (id.getType() == Meter.Type.TIMER && id.getName().startsWith(PipelineMetrics.PREFIX))
+                    return DistributionStatisticConfig.builder().percentiles(PERCENTILES).build().merge(config);
+                return config;
+            }
+        });
+        Metrics.addRegistry(registry);
+    }
+
+    /**
+     * Starts measuring a stage.
+     *
+     * @param name the stage name
+     * @return the stage, to be ended with {@link Stage#end}
+     */
+    public Stage begin(String name) {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            if (pool.getType() == MemoryType.HEAP)
+                pool.resetPeakUsage();
+
+        Stage stage = new Stage(name, diskUsage());
+        stages.add(stage);
+        return stage;
+    }
+
+    /**
+     * Prints the measures of all stages.
+     *
+     * @param out the output
+     */
+    public void print(PrintStream out) {
+        for (Stage stage : stages) {
+            out.println(String.format(Locale.ROOT,
+                    "== %-10s %-6s %8.1f s %9d items %9.1f items/s  heap peak %s  disk %s (+%s)", stage.name,
+                    stage.succeeded ? "OK" : "FAILED", stage.wallNanos / 1e9, stage.items, stage.throughput(),
+                    size(stage.heapPeak), size(stage.diskAfter), size(stage.diskAfter - stage.diskBefore)));
+            if (!stage.latencies.isEmpty())
+                out.println(String.format(Locale.ROOT, "   %-24s %9s %9s %9s %9s %9s %9s %10s", "latency (ms)", "count",
+                        "mean", "p50", "p95", "p99", "max", "bytes"));
+            for (Latency latency : stage.latencies)
+                out.println(String.format(Locale.ROOT, "   %-24s %9d %9.2f %9.2f %9.2f %9.2f %9.2f %10s", latency.name,
+                        latency.count, latency.mean, latency.percentiles[0], latency.percentiles[1],
+                        latency.percentiles[2], latency.max, latency.bytes < 0 ? "" : size(latency.bytes)));
+            for (String note : stage.notes)
+                out.println("   " + note);
+        }
+    }
+
+    /**
+     * Detaches the registry from the global one.
+     */
+    public void close() {
+        removeMeters();
+        Metrics.removeRegistry(registry);
+    }
+
+    private void removeMeters() {
+        for (Meter meter : Metrics.globalRegistry.getMeters())
+            Metrics.globalRegistry.remove(meter);
+        registry.clear();
+    }
+
+    private long diskUsage() {
+        if (!Files.exists(storePath))
+            return 0;
+        try (Stream<Path> files = Files.walk(storePath)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> {
+                try {
+                    return Files.size(file);
+                } catch (IOException e) {
+                    // removed while walking
+                    return 0;
+                }
+            }).sum();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String size(long bytes) {
+        if (bytes < 1024)
+            return bytes + " B";
+        if (bytes < 1024 * 1024)
+            return String.format(Locale.ROOT, "%.1f KB", bytes / 1024.0);
+        if (bytes < 1024L * 1024 * 1024)
+            return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024));
+        return String.format(Locale.ROOT, "%.2f GB", bytes / (1024.0 * 1024 * 1024));
+    }
+
+    /**
+     * Measures of one stage.
+     */
+    public class Stage {
+
+        private final String name;
+        private final long start = System.nanoTime();
+        private final long diskBefore;
+
+        private long wallNanos;
+        private long items;
+        private boolean succeeded;
+        private long heapPeak;
+        private long diskAfter;
+        private final List<Latency> latencies = new ArrayList<>();
+        private final List<String> notes = new ArrayList<>();
+
+        private Stage(String name, long diskBefore) {
+            this.name = name;
+            this.diskBefore = diskBefore;
+        }
+
+        /**
+         * Adds a line to the report of the stage.
+         *
+         * @param note the line
+         */
+        public void note(String note) {
+            notes.add(note);
+        }
+
+        /**
+         * Ends the stage and collects its measures.
+         *
+         * @param succeeded     if the stage finished without errors
+         * @param fallbackItems the items processed, used when the worker does not
+         *                      record pages
+         */
+        public void end(boolean succeeded, long fallbackItems) {
+            wallNanos = System.nanoTime() - start;
+            this.succeeded = succeeded;
+
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+                if (pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null)
+                    heapPeak += pool.getPeakUsage().getUsed();
+            diskAfter = diskUsage();
+
+            double counted = registry.find(PipelineMetrics.WORKER_ITEMS).counters().stream()
+                    .mapToDouble(Counter::count).sum();
+            items = counted > 0 ? (long) counted : fallbackItems;
+
+            for (Timer timer : registry.find(PipelineMetrics.WORKER_PAGES).timers())
+                latencies.add(new Latency("page", timer, -1));
+            for (Timer timer : registry.find(PipelineMetrics.STAGE).timers()) {
+                String stage = timer.getId().getTag(PipelineMetrics.TAG_STAGE);
+                long bytes = (long) registry.find(PipelineMetrics.STAGE_BYTES)
+                        .tag(PipelineMetrics.TAG_STAGE, stage).summaries().stream()
+                        .mapToDouble(DistributionSummary::totalAmount).sum();
+                latencies.add(new Latency(stage, timer, bytes > 0 ? bytes : -1));
+            }
+
+            removeMeters();
+        }
+
+        private double throughput() {
+            return wallNanos > 0 ? items / (wallNanos / 1e9) : 0;
+        }
+    }
+
+    private static class Latency {
+
+        private final String name;
+        private final long count;
+        private final double mean;
+        private final double max;
+        private final double[] percentiles = new double[PERCENTILES.length];
+        private final long bytes;
+
+        private Latency(String name, Timer timer, long bytes) {
+            this.name = name;
+            this.count = timer.count();
+            this.mean = timer.mean(TimeUnit.MILLISECONDS);
+            this.max = timer.max(TimeUnit.MILLISECONDS);
+            this.bytes = bytes;
+
+            ValueAtPercentile[] values = timer.takeSnapshot().percentileValues();
+            for (int i = 0; i < values.length && i < percentiles.length; i++)
+                percentiles[i] = values[i].value(TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.benchmark.load;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.lareferencia.core.benchmark.SyntheticRecordGenerator;
+
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * OAI-PMH 2.0 provider serving synthetic xoai records.
+ * <p>
+ * Supports Identify, ListMetadataFormats, ListSets and ListRecords with
+ * resumption tokens and set selection. Record {@code i} belongs to set
+ * {@code set<i % sets>} and every {@code deletedEvery}-th record is served as
+ * deleted, so the harvester goes through the same paths as with a real
+ * repository. The token carries the cursor and the set, so the server keeps no
+ * state between requests.
+ * </p>
+ */
+public class OAIPMHStandIn extends StandInServer {
+
+    public static final String METADATA_PREFIX = "xoai";
+
+    private static final String SCHEMA_LOCATION = "http://www.openarchives.org/OAI/2.0/ http://www.openarchives.org/OAI/2.0/OAI-PMH.xsd";
+
+    private static final Instant EARLIEST_DATESTAMP = Instant.parse("2020-01-01T00:00:00Z");
+
+    private final SyntheticRecordGenerator generator;
+    private final int records;
+    private final int pageSize;
+    private final int sets;
+    private final int deletedEvery;
+
+    private final AtomicLong recordsServed = new AtomicLong();
+    private final AtomicLong deletedServed = new AtomicLong();
+
+    /**
+     * @param generator     the generator of the records
+     * @param records       the size of the repository
+     * @param pageSize      the records of each ListRecords response
+     * @param sets          the number of sets
+     * @param deletedEvery  serve one of every this many records as deleted, 0 for none
+     * @param latencyMillis the latency added to every response
+     * @throws IOException if the server cannot be created
+     */
+    public OAIPMHStandIn(SyntheticRecordGenerator generator, int records, int pageSize, int sets, int deletedEvery,
+            long latencyMillis) throws IOException {
+        super("/oai/request", 4, latencyMillis);
+        this.generator = generator;
+        this.records = records;
+        this.pageSize = pageSize;
+        this.sets = Math.max(1, sets);
+        this.deletedEvery = deletedEvery;
+    }
+
+    /**
+     * @return the records served, not including the deleted ones
+     */
+    public long getRecordsServed() {
+        return recordsServed.get();
+    }
+
+    public long getDeletedServed() {
+        return deletedServed.get();
+    }
+
+    /**
+     * @param set the set index
+     * @return the setSpec of the set
+     */
+    public static String setSpec(int set) {
+        return "set" + set;
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws Exception {
+        Map<String, String> params = parameters(exchange);
+        String verb = params.getOrDefault("verb", "");
+
+        StringBuilder xml = new StringBuilder(pageSize * 8192);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>");
+        xml.append("<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\"")
+                .append(" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"")
+                .append(" xsi:schemaLocation=\"").append(SCHEMA_LOCATION).append("\">");
+        xml.append("<responseDate>").append(datestamp(Instant.now())).append("</responseDate>");
+        xml.append("<request verb=\"").append(verb).append("\">").append(getURL()).append("</request>");
+
+        switch (verb) {
+        case "Identify":
+            identify(xml);
+            break;
+        case "ListMetadataFormats":
+            xml.append("<ListMetadataFormats><metadataFormat><metadataPrefix>").append(METADATA_PREFIX)
+                    .append("</metadataPrefix><schema>http://www.lyncode.com/xsd/xoai.xsd</schema>")
+                    .append("<metadataNamespace>http://www.lyncode.com/xoai</metadataNamespace>")
+                    .append("</metadataFormat></ListMetadataFormats>");
+            break;
+        case "ListSets":
+            xml.append("<ListSets>");
+            for (int set = 0; set < sets; set++)
+                xml.append("<set><setSpec>").append(setSpec(set)).append("</setSpec><setName>Synthetic set ")
+                        .append(set).append("</setName></set>");
+            xml.append("</ListSets>");
+            break;
+        case "ListRecords":
+            listRecords(xml, params);
+            break;
+        default:
+            error(xml, "badVerb", "Illegal OAI verb");
+        }
+
+        xml.append("</OAI-PMH>");
+        respond(exchange, 200, "text/xml; charset=UTF-8", xml.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void identify(StringBuilder xml) {
+        xml.append("<Identify><repositoryName>Synthetic repository</repositoryName>")
+                .append("<baseURL>").append(getURL()).append("</baseURL>")
+                .append("<protocolVersion>2.0</protocolVersion>")
+                .append("<adminEmail>loadtest@lareferencia.info</adminEmail>")
+                .append("<earliestDatestamp>").append(datestamp(EARLIEST_DATESTAMP)).append("</earliestDatestamp>")
+                .append("<deletedRecord>persistent</deletedRecord>")
+                .append("<granularity>YYYY-MM-DDThh:mm:ssZ</granularity></Identify>");
+    }
+
+    private void listRecords(StringBuilder xml, Map<String, String> params) {
+        int cursor = 0;
+        String set = params.get("set");
+        String prefix = params.get("metadataPrefix");
+
+        String token = params.get("resumptionToken");
+        if (token != null) {
+            // cursor:set:prefix
+            String[] parts = token.split(":", -1);
+            if (parts.length != 3) {
+                error(xml, "badResumptionToken", "Invalid resumption token");
+                return;
+            }
+            cursor = Integer.parseInt(parts[0]);
+            set = parts[1].isEmpty() ? null : parts[1];
+            prefix = parts[2];
+        }
+
+        if (!METADATA_PREFIX.equals(prefix)) {
+            error(xml, "cannotDisseminateFormat", "Only " + METADATA_PREFIX + " is supported");
+            return;
+        }
+
+        int setIndex = -1;
+        if (set != null) {
+            setIndex = set.startsWith("set") ? Integer.parseInt(set.substring(3)) : -1;
+            if (setIndex < 0 || setIndex >= sets) {
+                error(xml, "noRecordsMatch", "Unknown set " + set);
+                return;
+            }
+        }
+
+        // records of the set, as positions in the set
+        int total = setIndex < 0 ? records : (records - setIndex + sets - 1) / sets;
+        if (total == 0) {
+            error(xml, "noRecordsMatch", "No records");
+            return;
+        }
+
+        int end = Math.min(cursor + pageSize, total);
+        xml.append("<ListRecords>");
+        for (int position = cursor; position < end; position++) {
+            long index = setIndex < 0 ? position : (long) position * sets + setIndex;
+            record(xml, index);
+        }
+        if (end < total || token != null) {
+            xml.append("<resumptionToken completeListSize=\"").append(total).append("\" cursor=\"").append(cursor)
+                    .append("\">");
+            if (end < total)
+                xml.append(end).append(':').append(set != null ? set : "").append(':').append(prefix);
+            xml.append("</resumptionToken>");
+        }
+        xml.append("</ListRecords>");
+    }
+
+    private void record(StringBuilder xml, long index) {
+        boolean deleted = deletedEvery > 0 && index % deletedEvery == deletedEvery - 1;
+
+        xml.append("<record><header");
+        if (deleted)
+            xml.append(" status=\"deleted\"");
+        xml.append("><identifier>").append(generator.identifier(index)).append("</identifier>")
+                .append("<datestamp>").append(datestamp(EARLIEST_DATESTAMP.plusSeconds(index))).append("</datestamp>")
+                .append("<setSpec>").append(setSpec((int) (index % sets))).append("</setSpec></header>");
+
+        if (deleted) {
+            deletedServed.incrementAndGet();
+        } else {
+            xml.append("<metadata>").append(generator.record(index)).append("</metadata>");
+            recordsServed.incrementAndGet();
+        }
+        xml.append("</record>");
+    }
+
+    private static void error(StringBuilder xml, String code, String message) {
+        xml.append("<error code=\"").append(code).append("\">").append(message).append("</error>");
+    }
+
+    private static String datestamp(Instant instant) {
+        return DateTimeFormatter.ISO_INSTANT.format(instant.truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    private static Map<String, String> parameters(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        if ("POST".equals(exchange.getRequestMethod()))
+            query = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+
+        Map<String, String> params = new HashMap<>();
+        if (query != null)
+            for (String pair : query.split("&")) {
+                int separator = pair.indexOf('=');
+                if (separator > 0)
+                    params.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                            URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        return params;
+    }
+}
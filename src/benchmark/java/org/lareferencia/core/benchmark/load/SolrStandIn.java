@@ -0,0 +1,137 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.benchmark.load;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.solr.client.solrj.request.JavaBinUpdateRequestCodec;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.util.JavaBinCodec;
+import org.apache.solr.common.util.NamedList;
+import org.apache.solr.common.util.SimpleOrderedMap;
+
+import com.sun.net.httpserver.HttpExchange;
+
+/**
+ * Solr core that accepts updates without indexing them.
+ * <p>
+ * Counts the documents of XML updates (sent by the indexer) and javabin updates
+ * (sent by the semantic indexer), resets the count on deletions and answers
+ * {@code /select} with that count. Responses use the javabin format expected
+ * by the default response parser of {@code HttpSolrClient}.
+ * </p>
+ */
+public class SolrStandIn extends StandInServer {
+
+    private final AtomicLong documents = new AtomicLong();
+    private final AtomicLong documentsReceived = new AtomicLong();
+    private final AtomicLong bytesReceived = new AtomicLong();
+
+    /**
+     * @param latencyMillis the latency added to every response
+     * @throws IOException if the server cannot be created
+     */
+    public SolrStandIn(long latencyMillis) throws IOException {
+        super("/solr/biblio", 4, latencyMillis);
+    }
+
+    /**
+     * @return the documents received in all updates
+     */
+    public long getDocumentsReceived() {
+        return documentsReceived.get();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    @Override
+    protected void handle(HttpExchange exchange) throws Exception {
+        String path = exchange.getRequestURI().getPath();
+
+        NamedList<Object> response = new NamedList<>();
+        SimpleOrderedMap<Object> header = new SimpleOrderedMap<>();
+        header.add("status", 0);
+        header.add("QTime", 0);
+        response.add("responseHeader", header);
+
+        if (path.endsWith("/update")) {
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            if (contentType != null && contentType.contains("javabin"))
+                javabinUpdate(exchange.getRequestBody());
+            else
+                xmlUpdate(exchange.getRequestBody());
+        } else if (path.endsWith("/select")) {
+            SolrDocumentList results = new SolrDocumentList();
+            results.setNumFound(documents.get());
+            results.setStart(0);
+            response.add("response", results);
+        } else {
+            respond(exchange, 404, "text/plain", new byte[0]);
+            return;
+        }
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        new JavaBinCodec().marshal(response, body);
+        respond(exchange, 200, "application/octet-stream", body.toByteArray());
+    }
+
+    private void xmlUpdate(InputStream in) throws IOException {
+        byte[] body = in.readAllBytes();
+        bytesReceived.addAndGet(body.length);
+
+        String xml = new String(body, StandardCharsets.UTF_8);
+        if (xml.contains("<delete>"))
+            documents.set(0);
+
+        long count = 0;
+        for (int i = xml.indexOf("<doc"); i >= 0; i = xml.indexOf("<doc", i + 4)) {
+            char next = xml.charAt(i + 4);
+            if (next == '>' || next == ' ' || next == '/')
+                count++;
+        }
+        added(count);
+    }
+
+    private void javabinUpdate(InputStream in) throws IOException {
+        byte[] body = in.readAllBytes();
+        bytesReceived.addAndGet(body.length);
+
+        AtomicLong count = new AtomicLong();
+        UpdateRequest request = new JavaBinUpdateRequestCodec().unmarshal(new ByteArrayInputStream(body),
+                (document, update, commitWithin, overwrite) -> count.incrementAndGet());
+        if (request.getDeleteQuery() != null && !request.getDeleteQuery().isEmpty())
+            documents.set(0);
+        added(count.get());
+    }
+
+    private void added(long count) {
+        documents.addAndGet(count);
+        documentsReceived.addAndGet(count);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.benchmark.load;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Base of the in-process HTTP servers that stand in for the external services
+ * of the pipeline (OAI-PMH providers, Solr, embedding API) in the load test.
+ * <p>
+ * Listens on a free local port, counts requests and bytes sent and can add a
+ * fixed latency to every response to simulate a remote service.
+ * </p>
+ */
+public abstract class StandInServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String path;
+    private final long latencyMillis;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    /**
+     * @param path          the context path of the service
+     * @param threads       the threads serving requests
+     * @param latencyMillis the latency added to every response
+     * @throws IOException if the server cannot be created
+     */
+    protected StandInServer(String path, int threads, long latencyMillis) throws IOException {
+        this.path = path;
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext(path, exchange -> {
+            try {
+                requests.incrementAndGet();
+                if (latencyMillis > 0)
+                    Thread.sleep(latencyMillis);
+                handle(exchange);
+            } catch (Exception e) {
+                if (exchange.getResponseCode() == -1)
+                    respond(exchange, 500, "text/plain", String.valueOf(e.getMessage()).getBytes());
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    /**
+     * Handles one request, answering with {@link #respond}.
+     *
+     * @param exchange the request
+     * @throws Exception if the request cannot be handled
+     */
+    protected abstract void handle(HttpExchange exchange) throws Exception;
+
+    public StandInServer start() {
+        server.start();
+        return this;
+    }
+
+    /**
+     * @return the base URL of the service
+     */
+    public String getURL() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    protected void respond(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+        bytesSent.addAndGet(body.length);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,52 @@
+<?xml version="1.0" encoding="UTF-8"?>
+<!-- Indexing stylesheet of the load test: a reduced version of the frontend
+     ones, with the same parameters and a few fields of each kind. -->
+<xsl:stylesheet version="2.0"
+    xmlns:xsl="http://www.w3.org/1999/XSL/Transform"
+    xmlns:xoai="http://www.lyncode.com/xoai"
+    exclude-result-prefixes="xoai">
+
+    <xsl:output method="xml" indent="no" omit-xml-declaration="yes"/>
+
+    <xsl:param name="networkAcronym"/>
+    <xsl:param name="networkName"/>
+    <xsl:param name="institutionName"/>
+    <xsl:param name="fingerprint"/>
+    <xsl:param name="identifier"/>
+    <xsl:param name="record_id"/>
+    <xsl:param name="timestamp"/>
+    <xsl:param name="deleted"/>
+
+    <xsl:variable name="dc" select="/xoai:metadata/xoai:element[@name='dc']"/>
+
+    <xsl:template match="/">
+        <doc>
+            <field name="id"><xsl:value-of select="$fingerprint"/></field>
+            <field name="record_id"><xsl:value-of select="$record_id"/></field>
+            <field name="oai_identifier"><xsl:value-of select="$identifier"/></field>
+            <field name="network_acronym_s"><xsl:value-of select="$networkAcronym"/></field>
+            <field name="network_name_s"><xsl:value-of select="$networkName"/></field>
+            <field name="institution_name_s"><xsl:value-of select="$institutionName"/></field>
+            <field name="timestamp"><xsl:value-of select="$timestamp"/></field>
+            <field name="deleted"><xsl:value-of select="$deleted"/></field>
+
+            <xsl:call-template name="fields"><xsl:with-param name="element" select="'title'"/><xsl:with-param name="field" select="'title'"/></xsl:call-template>
+            <xsl:call-template name="fields"><xsl:with-param name="element" select="'creator'"/><xsl:with-param name="field" select="'author'"/></xsl:call-template>
+            <xsl:call-template name="fields"><xsl:with-param name="element" select="'subject'"/><xsl:with-param name="field" select="'topic'"/></xsl:call-template>
+            <xsl:call-template name="fields"><xsl:with-param name="element" select="'description'"/><xsl:with-param name="field" select="'description'"/></xsl:call-template>
+            <xsl:call-template name="fields"><xsl:with-param name="element" select="'type'"/><xsl:with-param name="field" select="'format'"/></xsl:call-template>
+            <xsl:call-template name="fields"><xsl:with-param name="element" select="'language'"/><xsl:with-param name="field" select="'language'"/></xsl:call-template>
+            <xsl:call-template name="fields"><xsl:with-param name="element" select="'date'"/><xsl:with-param name="field" select="'publishDate'"/></xsl:call-template>
+            <xsl:call-template name="fields"><xsl:with-param name="element" select="'identifier'"/><xsl:with-param name="field" select="'url'"/></xsl:call-template>
+        </doc>
+    </xsl:template>
+
+    <xsl:template name="fields">
+        <xsl:param name="element"/>
+        <xsl:param name="field"/>
+        <xsl:for-each select="$dc/xoai:element[@name=$element]//xoai:field[@name='value']">
+            <field name="{$field}"><xsl:value-of select="."/></field>
+        </xsl:for-each>
+    </xsl:template>
+
+</xsl:stylesheet>
@@ -77,6 +77,19 @@ public class OAIBitstream  {
 	@JdbcTypeCode(SqlTypes.LONGVARCHAR)
 	private String fulltext;
 	
+	/**
+	 * Failed download attempts since the last successful download.
+	 */
+	@Column
+	private Integer attempts;
+	
+	/**
+	 * Date of the last download attempt.
+	 */
+	@Temporal(TemporalType.TIMESTAMP)
+	@Column
+	private Date lastAttempt;
+	
 	/**
 	 * Constructs a new OAI bitstream with default values.
 	 * Sets the status to NEW and the datestamp to the current date.
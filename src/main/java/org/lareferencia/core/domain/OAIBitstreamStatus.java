@@ -32,5 +32,7 @@ public enum OAIBitstreamStatus {
 	/** Bitstream has been indexed in the search engine */
 	INDEXED, 
 	/** Bitstream has been marked for deletion */
-	DELETED 
+	DELETED,
+	/** Bitstream download failed or its content did not match the checksum */
+	FAILED
 }
@@ -63,7 +63,7 @@ public class EmbeddingService implements IEmbeddingService {
    * {@inheritDoc}
    */
   @Override
-  public Optional<List<Float>> embed(String text) {
+  public Optional<float[]> embed(String text) {
     return callEmbeddingAPI(text)
         .filter(list -> !list.isEmpty())
         .map(list -> list.get(0));
@@ -73,7 +73,7 @@ public class EmbeddingService implements IEmbeddingService {
    * {@inheritDoc}
    */
   @Override
-  public Optional<List<List<Float>>> embed(List<String> texts) {
+  public Optional<List<float[]>> embed(List<String> texts) {
     logger.debug(MessageFormat.format("Count of texts for embeddings: {0}", texts.size()));
     return callEmbeddingAPI(texts);
   }
@@ -94,7 +94,7 @@ public class EmbeddingService implements IEmbeddingService {
    * @return an {@link Optional} with all returned vectors when the API call and
    *         validation succeed, otherwise {@link Optional#empty()}
    */
-  private Optional<List<List<Float>>> callEmbeddingAPI(Object textForEmbedding) {
+  private Optional<List<float[]>> callEmbeddingAPI(Object textForEmbedding) {
     try {
       EmbeddingResponse response = embeddingAPIClient.generateEmbedding(
           new EmbeddingRequest(textForEmbedding,
@@ -105,7 +105,7 @@ public class EmbeddingService implements IEmbeddingService {
 
       if (response != null && response.getData() != null && !response.getData().isEmpty()) {
 
-        List<List<Float>> embeddings = response.getData()
+        List<float[]> embeddings = response.getData()
             .stream()
             .map(EmbeddingData::getEmbedding)
             .toList();
@@ -117,7 +117,7 @@ public class EmbeddingService implements IEmbeddingService {
 
         logger.debug(MessageFormat.format("Count of vectors: {0}", embeddings.size()));
 
-        var vectorsDimension = embeddings.get(0).size();
+        var vectorsDimension = embeddings.get(0).length;
 
         if (vectorsDimension != embeddingModelDimension) {
           logger.warn(MessageFormat.format(
@@ -0,0 +1,174 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.embedding;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Helpers for the primitive {@code float[]} vectors produced by
+ * {@link IEmbeddingService}.
+ *
+ * <p>
+ * Vectors travel through the pipeline as primitive arrays. Solr field
+ * population receives read-only {@link List} views over those arrays, so
+ * values are only boxed transiently while the document is serialized instead
+ * of being materialized as one {@link Float} object per dimension.
+ * </p>
+ *
+ * <p>
+ * Optional int8 scalar quantization maps each component of a unit-normalized
+ * vector from [-1, 1] to [-127, 127], matching Solr dense vector fields
+ * declared with {@code vectorEncoding="BYTE"}.
+ * </p>
+ */
+public final class EmbeddingVectors {
+
+  /** Scale factor applied to normalized components during int8 quantization. */
+  public static final float INT8_SCALE = 127.0f;
+
+  private EmbeddingVectors() {
+    // Utility class
+  }
+
+  /**
+   * Quantizes a float vector to signed bytes, clamping components outside the
+   * [-1, 1] range.
+   *
+   * @param vector the float vector, expected to be unit-normalized
+   * @return a new byte array with one quantized value per dimension
+   */
+  public static byte[] quantizeInt8(float[] vector) {
+    byte[] quantized = new byte[vector.length];
+    for (int i = 0; i < vector.length; i++) {
+      int value = Math.round(vector[i] * INT8_SCALE);
+      if (value > 127) {
+        value = 127;
+      } else if (value < -127) {
+        value = -127;
+      }
+      quantized[i] = (byte) value;
+    }
+    return quantized;
+  }
+
+  /**
+   * Restores an approximate float vector from its int8 representation.
+   *
+   * @param quantized the quantized vector
+   * @return a new float array with the dequantized components
+   */
+  public static float[] dequantizeInt8(byte[] quantized) {
+    float[] vector = new float[quantized.length];
+    for (int i = 0; i < quantized.length; i++) {
+      vector[i] = quantized[i] / INT8_SCALE;
+    }
+    return vector;
+  }
+
+  /**
+   * Returns a read-only list view over a float vector. The array is not
+   * copied, so it must not be modified while the view is in use.
+   *
+   * @param vector the backing array
+   * @return a fixed-size, unmodifiable list backed by {@code vector}
+   */
+  public static List<Float> asList(float[] vector) {
+    return new FloatArrayList(vector);
+  }
+
+  /**
+   * Returns a read-only list view over a quantized vector, exposing each
+   * component as an {@link Integer} as expected by byte-encoded Solr vector
+   * fields.
+   *
+   * @param vector the backing array
+   * @return a fixed-size, unmodifiable list backed by {@code vector}
+   */
+  public static List<Integer> asList(byte[] vector) {
+    return new ByteArrayList(vector);
+  }
+
+  /**
+   * Builds the Solr field value for a single vector, optionally quantized.
+   *
+   * @param vector the float vector
+   * @param quantizeInt8 whether to store the vector as int8
+   * @return a list view suitable for {@code SolrInputDocument#setField}
+   */
+  public static List<? extends Number> toFieldValue(float[] vector, boolean quantizeInt8) {
+    return quantizeInt8 ? asList(quantizeInt8(vector)) : asList(vector);
+  }
+
+  /**
+   * Builds the Solr field value for a multivalued vector field, optionally
+   * quantized.
+   *
+   * @param vectors the float vectors
+   * @param quantizeInt8 whether to store the vectors as int8
+   * @return one list view per vector
+   */
+  public static List<List<? extends Number>> toFieldValue(List<float[]> vectors, boolean quantizeInt8) {
+    return vectors.stream()
+        .<List<? extends Number>>map(vector -> toFieldValue(vector, quantizeInt8))
+        .toList();
+  }
+
+  private static final class FloatArrayList extends AbstractList<Float> implements RandomAccess {
+
+    private final float[] values;
+
+    FloatArrayList(float[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public Float get(int index) {
+      return values[index];
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+  }
+
+  private static final class ByteArrayList extends AbstractList<Integer> implements RandomAccess {
+
+    private final byte[] values;
+
+    ByteArrayList(byte[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public Integer get(int index) {
+      return (int) values[index];
+    }
+
+    @Override
+    public int size() {
+      return values.length;
+    }
+  }
+
+}
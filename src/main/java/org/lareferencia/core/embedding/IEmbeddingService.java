@@ -53,11 +53,11 @@ public interface IEmbeddingService {
      * Generates a semantic embedding vector for the given text.
      *
      * @param text the text to embed (pre-truncated to model limits if necessary)
-     * @return an {@link Optional} containing the embedding vector as a list of
-     *         floats,
+     * @return an {@link Optional} containing the embedding vector as a primitive
+     *         float array,
      *         or {@link Optional#empty()} if generation fails for any reason
      */
-    Optional<List<Float>> embed(String text);
+    Optional<float[]> embed(String text);
 
     /**
      * Generates semantic embedding vectors for multiple texts in one request.
@@ -66,7 +66,7 @@ public interface IEmbeddingService {
      * @return an {@link Optional} containing one vector per input text,
      *         or {@link Optional#empty()} if generation fails
      */
-    Optional<List<List<Float>>> embed(List<String> texts);
+    Optional<List<float[]>> embed(List<String> texts);
 
     /**
      * Returns the configured embedding dimension for this service instance.
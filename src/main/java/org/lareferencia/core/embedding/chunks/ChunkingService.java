@@ -43,6 +43,8 @@ import dev.langchain4j.data.segment.TextSegment;
 @Service
 public class ChunkingService {
   private final DocumentSplitter documentSplitter;
+  private final CustomTokenCountEstimator tokenCountEstimator;
+  private final int maxChunkSize;
   private final int maxChunksSize;
 
   /**
@@ -57,11 +59,12 @@ public class ChunkingService {
       @Value("${embedding.max.segment.size.tokens:128}") int maxChunkSize,
       @Value("${embedding.max.overlap.size.tokens:0}") int maxOverlapSize,
       @Value("${embedding.max.chunks.size:5}") int maxChunksSize) {
-    CustomTokenCountEstimator customTokenCountEstimator = new CustomTokenCountEstimator();
+    this.tokenCountEstimator = new CustomTokenCountEstimator();
     this.documentSplitter = DocumentSplitters.recursive(
         maxChunkSize,
         maxOverlapSize,
-        customTokenCountEstimator);
+        tokenCountEstimator);
+    this.maxChunkSize = maxChunkSize;
     this.maxChunksSize = maxChunksSize;
   }
 
@@ -93,7 +96,10 @@ public class ChunkingService {
    * <p>
    * The splitter first tries to preserve larger structures (paragraphs and
    * lines) and recursively falls back to sentences, words, and characters when
-   * needed to respect token limits.
+   * needed to respect token limits. Abstracts that already fit in a single
+   * chunk are estimated once and returned without invoking the splitter, which
+   * yields the same single segment the splitter would produce for normalized
+   * (single-line) text.
    * </p>
    *
    * @param title        document title to prepend to each chunk
@@ -110,10 +116,16 @@ public class ChunkingService {
       return List.of();
     }
 
-    List<TextSegment> segments = documentSplitter.split(Document.from(normalizedAbstract));
+    List<String> fragments;
+    if (tokenCountEstimator.estimateTokenCountInText(normalizedAbstract) <= maxChunkSize) {
+      fragments = List.of(normalizedAbstract);
+    } else {
+      fragments = documentSplitter.split(Document.from(normalizedAbstract)).stream()
+          .map(TextSegment::text)
+          .toList();
+    }
 
-    return segments.stream()
-        .map(TextSegment::text)
+    return fragments.stream()
         .filter(fragment -> !fragment.isBlank())
         .limit(maxChunksSize)
         .map(fragment -> formatChunk(normalizedTitle, fragment))
@@ -20,9 +20,6 @@
 
 package org.lareferencia.core.embedding.chunks;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import org.springframework.stereotype.Component;
 
 import dev.langchain4j.data.message.ChatMessage;
@@ -40,8 +37,12 @@ import dev.langchain4j.model.TokenCountEstimator;
 @Component
 public class CustomTokenCountEstimator implements TokenCountEstimator {
 
-    private static final Pattern WORD_OR_NUMBER = Pattern.compile("[\\p{L}\\p{N}]+(?:['’-][\\p{L}\\p{N}]+)*");
-    private static final Pattern PUNCTUATION = Pattern.compile("[\\p{Punct}]");
+    private static final double WORD_WEIGHT = 1.10d;
+    private static final double PUNCTUATION_WEIGHT = 0.35d;
+    private static final double CJK_WEIGHT = 0.65d;
+
+    /** Lowest code point of the CJK-related blocks, see {@link #isCjkBlock}. */
+    private static final int MIN_CJK_CODE_POINT = 0x3040;
 
     /**
      * Estimates token count for plain text.
@@ -55,15 +56,45 @@ public class CustomTokenCountEstimator implements TokenCountEstimator {
             return 0;
         }
 
-        int wordsAndNumbers = countMatches(WORD_OR_NUMBER, text);
-        int punctuation = countMatches(PUNCTUATION, text);
-        int cjkChars = countCjkCodePoints(text);
+        // Single pass over the code points, equivalent to counting matches of
+        // [\p{L}\p{N}]+(?:['’-][\p{L}\p{N}]+)* and [\p{Punct}] plus CJK code points,
+        // without creating matchers or intermediate objects.
+        int wordsAndNumbers = 0;
+        int punctuation = 0;
+        int cjkChars = 0;
+        boolean inWord = false;
+
+        int length = text.length();
+        for (int i = 0; i < length;) {
+            int codePoint = text.codePointAt(i);
+            int next = i + Character.charCount(codePoint);
+
+            if (isLetterOrNumber(codePoint)) {
+                if (!inWord) {
+                    wordsAndNumbers++;
+                    inWord = true;
+                }
+            } else if (!inWord || !isWordConnector(codePoint) || next >= length
+                    || !isLetterOrNumber(text.codePointAt(next))) {
+                // a connector only keeps the current word open when a letter/number follows
+                inWord = false;
+            }
+
+            if (isAsciiPunctuation(codePoint)) {
+                punctuation++;
+            } else if (codePoint >= MIN_CJK_CODE_POINT && isCjkBlock(Character.UnicodeBlock.of(codePoint))) {
+                cjkChars++;
+            }
+
+            i = next;
+        }
 
         // Approximation tuned for transformer BPE tokenization:
         // - base lexical units
         // - punctuation contributes as standalone tokens in many vocabularies
         // - CJK scripts typically split into more granular units
-        double estimate = (wordsAndNumbers * 1.10d) + (punctuation * 0.35d) + (cjkChars * 0.65d);
+        double estimate = (wordsAndNumbers * WORD_WEIGHT) + (punctuation * PUNCTUATION_WEIGHT)
+                + (cjkChars * CJK_WEIGHT);
 
         int count = Math.max(1, (int) Math.ceil(estimate));
         return count;
@@ -112,38 +143,45 @@ public class CustomTokenCountEstimator implements TokenCountEstimator {
     }
 
     /**
-     * Counts regex matches in a text.
+     * Indicates whether a code point belongs to the {@code \p{L}} or
+     * {@code \p{N}} general categories.
      *
-     * @param pattern compiled pattern to apply
-     * @param text    source text
-     * @return number of matches
+     * @param codePoint code point to evaluate
+     * @return true for letters and numbers of any script
      */
-    private static int countMatches(Pattern pattern, String text) {
-        Matcher matcher = pattern.matcher(text);
-        int count = 0;
-        while (matcher.find()) {
-            count++;
+    private static boolean isLetterOrNumber(int codePoint) {
+        if (codePoint < 0x80) {
+            return (codePoint >= 'a' && codePoint <= 'z') || (codePoint >= 'A' && codePoint <= 'Z')
+                    || (codePoint >= '0' && codePoint <= '9');
         }
-        return count;
+        if (Character.isLetter(codePoint)) {
+            return true;
+        }
+        int type = Character.getType(codePoint);
+        return type == Character.DECIMAL_DIGIT_NUMBER || type == Character.LETTER_NUMBER
+                || type == Character.OTHER_NUMBER;
     }
 
     /**
-     * Counts code points that belong to CJK-related Unicode blocks.
+     * Indicates whether a code point may join two lexical units into a single
+     * word (apostrophes and hyphen).
      *
-     * @param text source text
-     * @return number of CJK code points detected in the text
+     * @param codePoint code point to evaluate
+     * @return true for {@code '}, {@code ’} and {@code -}
      */
-    private static int countCjkCodePoints(String text) {
-        int count = 0;
-        for (int i = 0; i < text.length();) {
-            int codePoint = text.codePointAt(i);
-            Character.UnicodeBlock block = Character.UnicodeBlock.of(codePoint);
-            if (isCjkBlock(block)) {
-                count++;
-            }
-            i += Character.charCount(codePoint);
-        }
-        return count;
+    private static boolean isWordConnector(int codePoint) {
+        return codePoint == '\'' || codePoint == '\u2019' || codePoint == '-';
+    }
+
+    /**
+     * Indicates whether a code point is POSIX punctuation ({@code \p{Punct}}).
+     *
+     * @param codePoint code point to evaluate
+     * @return true for ASCII punctuation characters
+     */
+    private static boolean isAsciiPunctuation(int codePoint) {
+        return (codePoint >= '!' && codePoint <= '/') || (codePoint >= ':' && codePoint <= '@')
+                || (codePoint >= '[' && codePoint <= '`') || (codePoint >= '{' && codePoint <= '~');
     }
 
     /**
@@ -20,7 +20,6 @@
 
 package org.lareferencia.core.embedding.client;
 
-import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -28,6 +27,8 @@ import lombok.Setter;
 
 /**
  * DTO for a single embedding item (OpenAI-compatible format).
+ * The vector is bound directly to a primitive array to avoid boxing one
+ * {@link Float} per dimension.
  */
 @Getter
 @Setter
@@ -35,6 +36,6 @@ import lombok.Setter;
 @AllArgsConstructor
 public class EmbeddingData {
     private String object;
-    private List<Float> embedding;
+    private float[] embedding;
     private int index;
 }
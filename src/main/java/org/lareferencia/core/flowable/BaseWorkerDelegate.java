@@ -26,6 +26,7 @@ import org.flowable.engine.RuntimeService;
 import org.flowable.engine.delegate.BpmnError;
 import org.flowable.engine.delegate.DelegateExecution;
 import org.flowable.engine.delegate.JavaDelegate;
+import org.lareferencia.core.metrics.PipelineMetrics;
 import org.lareferencia.core.worker.IRunningContext;
 import org.lareferencia.core.worker.IWorker;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -97,6 +98,15 @@ public abstract class BaseWorkerDelegate<W extends IWorker<?>> implements JavaDe
             worker.setIncremental(incremental);
         }
 
+        // Set on recovered processes, or by the caller to continue a stopped run. It is
+        // process scoped, so it is consumed by the first worker executed: the later
+        // workers of the process start their runs from the beginning
+        Boolean resume = (Boolean) execution.getVariable("resume");
+        if (resume != null) {
+            worker.setResume(resume);
+            execution.removeVariable("resume");
+        }
+
         logger.info("FLOWABLE DELEGATE: Executing worker {} with context {}",
                 worker.getName(), context.getId());
 
@@ -106,8 +116,8 @@ public abstract class BaseWorkerDelegate<W extends IWorker<?>> implements JavaDe
         workflowService.subscribeToStatus(processInstanceId, () -> worker.getStatus());
 
         try {
-            // Execute the worker
-            worker.run();
+            // Execute the worker, measuring its duration
+            PipelineMetrics.run(worker);
 
             // Set completion variables
             execution.setVariable("workerSuccess", true);
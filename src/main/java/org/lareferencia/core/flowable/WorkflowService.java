@@ -37,6 +37,9 @@ import org.lareferencia.core.flowable.dto.WorkflowDefinitionInfo;
 import org.lareferencia.core.flowable.dto.ProcessInstanceInfo;
 import org.lareferencia.core.flowable.dto.ScheduledProcessInfo;
 import org.lareferencia.core.flowable.exception.QueueFullException;
+import org.lareferencia.core.metadata.ISnapshotStore;
+import org.lareferencia.core.task.ResourceScheduler;
+import org.lareferencia.core.worker.ResourceProfile;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -65,6 +68,12 @@ import java.util.stream.Collectors;
  * serially,
  * while processes in different lanes can run in parallel.
  * </p>
+ * <p>
+ * Each running process also takes a slot of the budget of its
+ * {@link ResourceProfile}, resolved from the process key (see
+ * {@link WorkflowProperties#getResourceProfiles()}). Queued processes are
+ * launched by priority: overdue ones first, then smaller networks.
+ * </p>
  * 
  * @author LA Referencia Team
  */
@@ -89,6 +98,12 @@ public class WorkflowService {
     @Autowired
     private WorkflowProperties config;
 
+    @Autowired(required = false)
+    private ISnapshotStore snapshotStore;
+
+    /** Concurrency budgets by resource profile, created on first use */
+    private ResourceScheduler resourceScheduler;
+
     // ========== Concurrency Control State ==========
 
     /** Tracks running process by lane: laneId -> processInstanceId */
@@ -157,13 +172,21 @@ public class WorkflowService {
                         runningByLane.put(laneId, process.getId());
 
                         // Reconstruct processStates
+                        ResourceProfile profile = resolveProfile(process.getProcessDefinitionKey());
+                        getResourceScheduler().acquire(profile);
+
                         processStates.put(process.getId(), ProcessState.builder()
                                 .processInstanceId(process.getId())
                                 .laneId(laneId)
+                                .profile(profile)
                                 .build());
 
+                        // The worker re-executed by Flowable continues from its last checkpoint
+                        // (the delegate consumes the variable, the next workers start anew)
+                        runtimeService.setVariable(process.getId(), "resume", true);
+
                         recoveredCount++;
-                        logger.info("Recovered running process: {} (definition: {}, lane: '{}')",
+                        logger.info("Recovered running process: {} (definition: {}, lane: '{}'), resuming from last checkpoint",
                                 process.getId(), process.getProcessDefinitionKey(), laneId);
                     } else {
                         logger.warn("Process {} has no laneId, skipping recovery tracking",
@@ -270,7 +293,13 @@ public class WorkflowService {
      * @throws IllegalArgumentException if laneId is missing
      * @throws QueueFullException       if the queue is at maximum capacity
      */
-    public synchronized ProcessInstanceInfo submitProcess(String processKey, Map<String, Object> variables) {
+    public ProcessInstanceInfo submitProcess(String processKey, Map<String, Object> variables) {
+        // the estimate queries the snapshot store, computed outside the submission lock
+        return submitProcess(processKey, variables, estimateNetworkSize(variables));
+    }
+
+    private synchronized ProcessInstanceInfo submitProcess(String processKey, Map<String, Object> variables,
+            long estimatedSize) {
         String laneId = (String) variables.get("laneId");
 
         if (laneId == null || laneId.isBlank()) {
@@ -279,8 +308,10 @@ public class WorkflowService {
 
         logger.info("Submitting process '{}' for lane '{}'", processKey, laneId);
 
-        if (isLaneAvailable(laneId)) {
-            return launchProcess(processKey, variables, laneId);
+        // processes already waiting in the lane go first
+        if (isLaneAvailable(laneId) && getQueuedCountForLane(laneId) == 0
+                && getResourceScheduler().hasCapacity(resolveProfile(processKey))) {
+            return launchProcess(processKey, variables, laneId, 0);
         } else {
             // Check queue limits
             if (getTotalQueuedCount() >= config.getMaxQueuedProcesses()) {
@@ -290,7 +321,7 @@ public class WorkflowService {
                 throw new QueueFullException("Max queued for lane '" + laneId + "': " + config.getMaxQueuedPerLane());
             }
 
-            enqueueForLane(processKey, variables, laneId);
+            enqueueForLane(processKey, variables, laneId, estimatedSize);
             logger.info("Process '{}' queued for lane '{}'", processKey, laneId);
 
             return ProcessInstanceInfo.builder()
@@ -302,17 +333,22 @@ public class WorkflowService {
         }
     }
 
-    private ProcessInstanceInfo launchProcess(String processKey, Map<String, Object> variables, String laneId) {
-        logger.info("Launching process '{}' in lane '{}'", processKey, laneId);
+    private ProcessInstanceInfo launchProcess(String processKey, Map<String, Object> variables, String laneId,
+            long waitMillis) {
+        ResourceProfile profile = resolveProfile(processKey);
+        logger.info("Launching process '{}' in lane '{}' [{}]", processKey, laneId, profile);
 
         ProcessInstance instance = runtimeService.startProcessInstanceByKey(processKey, variables);
 
         // Track state
         runningByLane.put(laneId, instance.getId());
+        getResourceScheduler().acquire(profile);
+        getResourceScheduler().recordWait(profile, waitMillis);
 
         processStates.put(instance.getId(), ProcessState.builder()
                 .processInstanceId(instance.getId())
                 .laneId(laneId)
+                .profile(profile)
                 .build());
 
         logger.info("Started process '{}' with instance ID: {}", processKey, instance.getId());
@@ -322,16 +358,61 @@ public class WorkflowService {
 
     // ========== Queue Management ==========
 
-    private void enqueueForLane(String processKey, Map<String, Object> variables, String laneId) {
+    private void enqueueForLane(String processKey, Map<String, Object> variables, String laneId, long estimatedSize) {
         queuedByLane.computeIfAbsent(laneId, k -> new ConcurrentLinkedQueue<>())
                 .add(PendingProcess.builder()
                         .processKey(processKey)
                         .variables(new HashMap<>(variables))
                         .laneId(laneId)
                         .queuedAt(LocalDateTime.now())
+                        .size(estimatedSize)
                         .build());
     }
 
+    // ========== Resource Budgets ==========
+
+    private synchronized ResourceScheduler getResourceScheduler() {
+        if (resourceScheduler == null) {
+            resourceScheduler = new ResourceScheduler(config.getNetworkBudget(), config.getCpuBudget(),
+                    config.getDiskBudget(), config.getMaxWaitMinutes() * 60_000L);
+        }
+        return resourceScheduler;
+    }
+
+    private ResourceProfile resolveProfile(String processKey) {
+        ResourceProfile profile = config.getResourceProfiles().get(processKey);
+        return profile != null ? profile : ResourceProfile.fromName(processKey);
+    }
+
+    /**
+     * Estimates the network size by its last good known snapshot, used to run
+     * the smaller networks first.
+     */
+    private long estimateNetworkSize(Map<String, Object> variables) {
+        Object networkId = variables.get("networkId");
+        if (snapshotStore == null || !(networkId instanceof Number)) {
+            return -1;
+        }
+
+        try {
+            Long snapshotId = snapshotStore.findLastGoodKnownSnapshot(((Number) networkId).longValue());
+            Integer size = snapshotId != null ? snapshotStore.getSnapshotSize(snapshotId) : null;
+            return size != null ? size : -1;
+        } catch (Exception e) {
+            logger.debug("Network size not available for network {}: {}", networkId, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Gets running processes, budget and queue wait times by resource profile.
+     *
+     * @return one line per resource profile
+     */
+    public List<String> getResourceStatistics() {
+        return getResourceScheduler().getStatistics();
+    }
+
     // ========== Status Checks ==========
 
     public boolean isLaneAvailable(String laneId) {
@@ -395,23 +476,45 @@ public class WorkflowService {
             return;
         }
 
+        if (state.profile != null) {
+            getResourceScheduler().release(state.profile);
+        }
+
         // Release lane
         if (state.laneId != null) {
             runningByLane.remove(state.laneId);
             logger.debug("Released lane '{}' for process {}", state.laneId, processInstanceId);
-
-            // Try to run next queued process for this lane
-            runNextForLane(state.laneId);
         }
+
+        // The released lane and budget may let queued processes run, in this or other lanes
+        runQueuedByPriority();
     }
 
-    private void runNextForLane(String laneId) {
-        Queue<PendingProcess> queue = queuedByLane.get(laneId);
-        if (queue != null && !queue.isEmpty() && isLaneAvailable(laneId)) {
-            PendingProcess pending = queue.poll();
-            if (pending != null) {
-                logger.info("Launching next queued process for lane '{}'", laneId);
-                launchProcess(pending.processKey, pending.variables, pending.laneId);
+    private void runQueuedByPriority() {
+        long now = System.currentTimeMillis();
+
+        // The head of each available lane is a candidate, ordered by priority
+        List<ResourceScheduler.Ticket<PendingProcess>> candidates = new ArrayList<>();
+        for (Map.Entry<String, Queue<PendingProcess>> entry : queuedByLane.entrySet()) {
+            PendingProcess pending = entry.getValue().peek();
+            if (pending != null && isLaneAvailable(entry.getKey())) {
+                candidates.add(new ResourceScheduler.Ticket<>(pending, resolveProfile(pending.processKey),
+                        pending.size, pending.queuedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+            }
+        }
+        candidates.sort(getResourceScheduler().priorityOrder(now));
+
+        for (ResourceScheduler.Ticket<PendingProcess> ticket : candidates) {
+            PendingProcess pending = ticket.getItem();
+            if (getResourceScheduler().hasCapacity(ticket.getProfile()) && isLaneAvailable(pending.laneId)) {
+                queuedByLane.get(pending.laneId).remove(pending);
+                logger.info("Launching next queued process for lane '{}'", pending.laneId);
+                try {
+                    launchProcess(pending.processKey, pending.variables, pending.laneId, now - ticket.getEnqueuedAt());
+                } catch (Exception e) {
+                    logger.error("Error launching queued process '{}' for lane '{}': {}",
+                            pending.processKey, pending.laneId, e.getMessage(), e);
+                }
             }
         }
     }
@@ -436,6 +539,9 @@ public class WorkflowService {
         for (String processInstanceId : toRemove) {
             onProcessCompleted(processInstanceId);
         }
+
+        // Processes queued while their budget was full
+        runQueuedByPriority();
     }
 
     // ========== Direct Process Methods ==========
@@ -574,6 +680,7 @@ public class WorkflowService {
         private Map<String, Object> variables;
         private String laneId;
         private LocalDateTime queuedAt;
+        private long size;
     }
 
     @Data
@@ -581,6 +688,7 @@ public class WorkflowService {
     private static class ProcessState {
         private String processInstanceId;
         private String laneId;
+        private ResourceProfile profile;
     }
 
     @Data
@@ -21,9 +21,13 @@
 package org.lareferencia.core.flowable.config;
 
 import lombok.Data;
+import org.lareferencia.core.worker.ResourceProfile;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Configuration properties for workflow management.
  * <p>
@@ -35,6 +39,12 @@ import org.springframework.stereotype.Component;
  *   max-queued-processes: 32
  *   max-queued-per-lane: 10
  *   scheduler-pool-size: 5
+ *   network-budget: 4
+ *   cpu-budget: 2
+ *   disk-budget: 1
+ *   max-wait-minutes: 60
+ *   resource-profiles:
+ *     networkProcessing: NETWORK_IO
  * </pre>
  * 
  * @author LA Referencia Team
@@ -52,4 +62,22 @@ public class WorkflowProperties {
 
     /** Thread pool size for scheduled tasks */
     private int schedulerPoolSize = 5;
+
+    /** Maximum number of network bound processes running at once, 0 for no limit */
+    private int networkBudget = 0;
+
+    /** Maximum number of CPU bound processes running at once, 0 for no limit */
+    private int cpuBudget = 0;
+
+    /** Maximum number of disk bound processes running at once, 0 for no limit */
+    private int diskBudget = 0;
+
+    /** Minutes after which a queued process goes before the smaller networks */
+    private long maxWaitMinutes = 60;
+
+    /**
+     * Resource profile by process key, for keys not classified by name
+     * (see {@link ResourceProfile#fromName(String)})
+     */
+    private Map<String, ResourceProfile> resourceProfiles = new HashMap<>();
 }
@@ -40,6 +40,19 @@ public interface IMetadataStore {
 	 * @return the calculated hash of the metadata
 	 */
 	String storeAndReturnHash(SnapshotMetadata snapshotMetadata, String metadata);
+
+	/**
+	 * Stores a metadata document in its canonical serialization (see
+	 * {@link MetadataSerializer}) and returns its hash. Implementations should
+	 * hash and write the serialized bytes without building a string.
+	 * 
+	 * @param metadata the metadata document to store
+	 * @return the calculated hash of the serialized metadata
+	 */
+	default String storeAndReturnHash(SnapshotMetadata snapshotMetadata, OAIRecordMetadata metadata) {
+		return storeAndReturnHash(snapshotMetadata,
+				MetadataSerializer.forCurrentThread().serialize(metadata.getDOMDocument()).toString());
+	}
 	
 	/**
 	 * Retrieves metadata by its hash.
@@ -67,6 +80,22 @@ public interface IMetadataStore {
 	 */
 	boolean deleteMetadata(SnapshotMetadata snapshotMetadata, String hash) throws MetadataRecordStoreException;
 
+	/**
+	 * Deletes metadata by its hash, returning the space it used, so the
+	 * {@link MetadataGarbageCollector} can report the bytes reclaimed.
+	 * <p>
+	 * The default implementation only deletes and reports 0 bytes.
+	 * </p>
+	 * 
+	 * @param snapshotMetadata context containing network information
+	 * @param hash the metadata hash to delete
+	 * @return the bytes used by the metadata in the store, -1 if it didn't exist
+	 * @throws MetadataRecordStoreException if deletion fails due to an error
+	 */
+	default long reclaimMetadata(SnapshotMetadata snapshotMetadata, String hash) throws MetadataRecordStoreException {
+		return deleteMetadata(snapshotMetadata, hash) ? 0 : -1;
+	}
+
 	/**
 	 * Iterates over all metadata hashes in the store, applying the given consumer to each.
 	 * <p>
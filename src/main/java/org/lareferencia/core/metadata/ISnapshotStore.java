@@ -396,6 +396,16 @@ public interface ISnapshotStore {
 	 */
 	void resetSnapshotValidationCounts(Long snapshotId);
 
+	/**
+	 * Establece los contadores de validación del snapshot, al reanudar una
+	 * validación interrumpida desde su checkpoint.
+	 * 
+	 * @param snapshotId      el ID del snapshot
+	 * @param validSize       cantidad de records válidos
+	 * @param transformedSize cantidad de records transformados
+	 */
+	void setSnapshotValidationCounts(Long snapshotId, Integer validSize, Integer transformedSize);
+
 	/**
 	 * Fuerza la persistencia de cambios pendientes a la BD.
 	 * 
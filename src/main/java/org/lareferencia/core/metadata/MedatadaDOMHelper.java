@@ -24,15 +24,16 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Result;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
@@ -51,6 +52,13 @@ import org.xml.sax.SAXException;
 
 /**
  * Abstract helper class for DOM manipulation of metadata XML documents.
+ * <p>
+ * Parsers and serializers are not thread safe and are costly to create, so they
+ * are kept in bounded pools shared by all threads: each call takes one, or
+ * creates it if the pool is empty, and returns it when done. This works the
+ * same with pooled and virtual threads, without keeping one instance per
+ * thread.
+ * </p>
  */
 public abstract class MedatadaDOMHelper {
 
@@ -64,7 +72,15 @@ public abstract class MedatadaDOMHelper {
 	private static Element namespaceElement = null;
 	private static DocumentBuilderFactory factory;
 	private static TransformerFactory xformFactory = new net.sf.saxon.TransformerFactoryImpl();
-	private static HashMap<String, DocumentBuilder> builderMap = new HashMap<String, DocumentBuilder>();
+
+	/** Instances kept in each pool, enough for the workers running in parallel. */
+	private static final int POOL_SIZE = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+
+	/** Serialization buffers grown over this size are not reused. */
+	private static final int RETAINED_BUFFER_SIZE = 1024 * 1024;
+
+	private static final BlockingQueue<DocumentBuilder> builderPool = new ArrayBlockingQueue<DocumentBuilder>(POOL_SIZE);
+	private static final BlockingQueue<Serializer> serializerPool = new ArrayBlockingQueue<Serializer>(POOL_SIZE);
 
 	static {
 		try {
@@ -72,7 +88,7 @@ public abstract class MedatadaDOMHelper {
 			factory.setNamespaceAware(true);
 			//factory.setExpandEntityReferences(false);
 
-			DOMImplementation impl = obtainThreadBuider().getDOMImplementation();
+			DOMImplementation impl = factory.newDocumentBuilder().getDOMImplementation();
 			Document namespaceHolder = impl.createDocument("http://www.openarchives.org/OAI/2.0/oai_dc", "oaidc:namespaceHolder", null);
 
 			/**
@@ -103,10 +119,13 @@ public abstract class MedatadaDOMHelper {
 	 * @return a new Document containing the node
 	 */
 	public static Document  createDocumentFromNode(Node node) {
-		DocumentBuilder builder = obtainThreadBuider();
-		Document document = builder.newDocument();
-		
-		//logger.debug(( node2XMLString(node)));
+		DocumentBuilder builder = acquireBuilder();
+		Document document;
+		try {
+			document = builder.newDocument();
+		} finally {
+			releaseBuilder(builder);
+		}
 		
 		Node newNode = document.importNode(node, true);
 		document.appendChild(newNode);
@@ -126,7 +145,13 @@ public abstract class MedatadaDOMHelper {
 	public static Document XMLString2Document(String xmlstring) throws ParserConfigurationException, SAXException, IOException {
 		InputSource is = new InputSource();
 		is.setCharacterStream(new StringReader(xmlstring));
-		return obtainThreadBuider().parse(is);
+
+		DocumentBuilder builder = acquireBuilder();
+		try {
+			return builder.parse(is);
+		} finally {
+			releaseBuilder(builder);
+		}
 	}
 	
 	/**
@@ -137,14 +162,7 @@ public abstract class MedatadaDOMHelper {
 	 */
 	public static String document2XMLString(Document document) {
 		try {
-			StringWriter sw = new StringWriter();
-			Result output = new StreamResult(sw);
-			Transformer idTransformer = xformFactory.newTransformer();
-			idTransformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-			idTransformer.setOutputProperty(OutputKeys.INDENT, "yes");
-			idTransformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-			idTransformer.transform(new DOMSource(document), output);
-			return sw.toString();
+			return Node2XMLString(document);
 		} catch (TransformerException e) {
 			throw new RuntimeException("Error converting document to XML string", e);
 		}
@@ -345,23 +363,77 @@ public abstract class MedatadaDOMHelper {
 	
 	
 	/**
-	 * Obtains a thread-local DocumentBuilder instance.
+	 * Takes a DocumentBuilder from the pool, creating one if the pool is empty.
+	 * Must be returned with {@link #releaseBuilder(DocumentBuilder)}.
+	 *
+	 * @return a DocumentBuilder used only by the caller
+	 */
+	private static DocumentBuilder acquireBuilder() {
+		DocumentBuilder builder = builderPool.poll();
+		if (builder != null)
+			return builder;
+
+		try {
+			return factory.newDocumentBuilder();
+		} catch (ParserConfigurationException e) {
+			throw new IllegalStateException("Error creating XML parser", e);
+		}
+	}
+
+	/**
+	 * Obtains a DocumentBuilder for the exclusive use of the caller.
+	 * <p>
+	 * The builder is taken from the pool and not returned to it, since callers of
+	 * this method do not release it.
+	 * </p>
 	 *
-	 * @return the DocumentBuilder for the current thread
+	 * @return a DocumentBuilder used only by the caller
+	 * @deprecated builders are pooled and shared by all threads; use the parsing
+	 *             methods of this class ({@link #XMLString2Document(String)},
+	 *             {@link #createDocumentFromNode(Node)}) instead
 	 */
+	@Deprecated
 	protected static DocumentBuilder obtainThreadBuider() {
+		return acquireBuilder();
+	}
 
-		DocumentBuilder builder = builderMap.get(Thread.currentThread().getName());
-		if (builder == null) {
-			try {
-				builder = factory.newDocumentBuilder();
-			} catch (ParserConfigurationException e) {
-				e.printStackTrace();
-				return null;
-			}
-			builderMap.put(Thread.currentThread().getName(), builder);
+	/**
+	 * Returns a DocumentBuilder to the pool, discarding it if the pool is full.
+	 *
+	 * @param builder the builder taken with {@link #acquireBuilder()}
+	 */
+	private static void releaseBuilder(DocumentBuilder builder) {
+		builder.reset();
+		builderPool.offer(builder);
+	}
+
+	/**
+	 * Identity transformer with the output properties of the serialization, and
+	 * the buffer it writes to.
+	 */
+	private static final class Serializer {
+
+		private final Transformer transformer;
+		private StringWriter writer = new StringWriter();
+
+		private Serializer() throws TransformerConfigurationException {
+			transformer = xformFactory.newTransformer();
+			transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+			transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+			transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+		}
+
+		private String serialize(Node node) throws TransformerException {
+			transformer.transform(new DOMSource(node), new StreamResult(writer));
+			return writer.toString();
+		}
+
+		private void clear() {
+			if (writer.getBuffer().capacity() > RETAINED_BUFFER_SIZE)
+				writer = new StringWriter();
+			else
+				writer.getBuffer().setLength(0);
 		}
-		return builder;
 	}
 
 	/**
@@ -377,18 +449,15 @@ public abstract class MedatadaDOMHelper {
 	 */
 	public static String Node2XMLString(Node node) throws TransformerException {
 
-		StringWriter sw = new StringWriter();
-		Result output = new StreamResult(sw);
-		Transformer idTransformer = xformFactory.newTransformer();
-		idTransformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
-		idTransformer.setOutputProperty(OutputKeys.INDENT, "yes");
-		idTransformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
-		idTransformer.transform(new DOMSource(node), output);
-
-		String result = sw.toString();
+		Serializer serializer = serializerPool.poll();
+		if (serializer == null)
+			serializer = new Serializer();
 
-		//result = result.replaceAll("&#5[0-9]{4}", " ");
-
-		return result;
+		try {
+			return serializer.serialize(node);
+		} finally {
+			serializer.clear();
+			serializerPool.offer(serializer);
+		}
 	}
 }
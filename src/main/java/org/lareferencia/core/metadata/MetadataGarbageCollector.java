@@ -0,0 +1,514 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+package org.lareferencia.core.metadata;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.domain.Network;
+import org.lareferencia.core.repository.catalog.OAIRecordCatalogRepository;
+import org.lareferencia.core.repository.validation.RecordValidationRepository;
+import org.lareferencia.core.util.HashFingerprintSet;
+import org.lareferencia.core.util.OperationThrottle;
+import org.lareferencia.core.util.PathUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Reference counting garbage collector of the metadata store.
+ * <p>
+ * The references of a snapshot are the original_metadata_hash of its catalog
+ * and the published_metadata_hash of its validation. When snapshots are
+ * cleaned, {@link #collect} computes the hashes referenced by them and by none
+ * of the retained snapshots, and queues them in
+ * {@code {basePath}/{NETWORK}/metadata_gc}. The queue is reclaimed in the
+ * background, a bounded number of entries per network and run, through
+ * {@link IMetadataStore#reclaimMetadata}, so it works with every store and
+ * reports the bytes reclaimed.
+ * </p>
+ * <p>
+ * {@link #collect} must run while no other worker uses the network, as the
+ * cleaner does in its serial lane: afterwards the candidates stored again are
+ * rescued by the {@link MetadataReclaimGuard}.
+ * </p>
+ *
+ * @author LA Referencia Team
+ * @see MetadataReclaimGuard
+ */
+@Component
+@ManagedResource(objectName = "backend:name=metadataGarbageCollector", description = "Metadata store garbage collector LRHarvester")
+public class MetadataGarbageCollector {
+
+	private static final Logger logger = LogManager.getLogger(MetadataGarbageCollector.class);
+
+	private static final String NETWORK_FILE = "network";
+	private static final String RESCUED_FILE = "rescued.txt";
+	private static final String PENDING_PREFIX = "pending-";
+	private static final String PENDING_SUFFIX = ".txt";
+	private static final String OFFSET_SUFFIX = ".offset";
+
+	private static final int OFFSET_INTERVAL = 1000;
+
+	@Value("${metadata.gc.enabled:true}")
+	private boolean enabled = true;
+
+	@Value("${store.basepath:/tmp/data}")
+	private String basePath;
+
+	/**
+	 * Maximum entries reclaimed per network in each run.
+	 */
+	@Value("${metadata.gc.batch.size:5000}")
+	private int batchSize = 5000;
+
+	@Value("${metadata.gc.max.operations.per.second:500}")
+	private int maxOperationsPerSecond = 500;
+
+	@Autowired
+	private IMetadataStore metadataStore;
+
+	@Autowired
+	private OAIRecordCatalogRepository catalogRepository;
+
+	@Autowired
+	private RecordValidationRepository validationRepository;
+
+	// serializa las colas: collect, reclaim y discard
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private OperationThrottle throttle;
+
+	private final AtomicLong pendingEntries = new AtomicLong();
+	private final AtomicLong reclaimedEntries = new AtomicLong();
+	private final AtomicLong reclaimedBytes = new AtomicLong();
+	private final AtomicLong rescuedEntries = new AtomicLong();
+	private final AtomicLong failedEntries = new AtomicLong();
+
+	@PostConstruct
+	public void init() {
+		throttle = new OperationThrottle(maxOperationsPerSecond);
+		if (!enabled) {
+			logger.info("Metadata garbage collector disabled (metadata.gc.enabled=false)");
+			return;
+		}
+
+		// las colas de una ejecución anterior se protegen antes de que corra ningún worker
+		Path base = Paths.get(basePath);
+		if (!Files.isDirectory(base))
+			return;
+
+		try (DirectoryStream<Path> networks = Files.newDirectoryStream(base, Files::isDirectory)) {
+			for (Path networkPath : networks) {
+				Path directory = networkPath.resolve("metadata_gc");
+				if (Files.exists(directory.resolve(NETWORK_FILE)))
+					restore(directory);
+			}
+		} catch (IOException e) {
+			logger.error("METADATA GC: Unable to load pending queues from {}: {}", basePath, e.getMessage(), e);
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Queues the metadata referenced by the removed snapshots and by none of the
+	 * retained ones. Must be called before the catalogs and validation of the
+	 * removed snapshots are deleted, while no other worker uses the network.
+	 *
+	 * @param network  any snapshot of the network, identifies its metadata store
+	 * @param removed  the snapshots being removed
+	 * @param retained the snapshots whose metadata must be kept
+	 * @return the number of hashes queued
+	 * @throws IOException if the references of a retained snapshot cannot be read
+	 */
+	public long collect(SnapshotMetadata network, Collection<SnapshotMetadata> removed,
+			Collection<SnapshotMetadata> retained) throws IOException {
+
+		long start = System.currentTimeMillis();
+
+		HashFingerprintSet live = new HashFingerprintSet();
+		for (SnapshotMetadata snapshot : retained)
+			forEachReference(snapshot, live::add);
+
+		Path directory = getDirectory(network);
+		HashFingerprintSet candidates = new HashFingerprintSet();
+		Set<String> released = new HashSet<>();
+
+		lock.lock();
+		try {
+			// los rescatados que vuelven a ser candidatos ya no están referenciados
+			MetadataReclaimGuard.Fence existing = MetadataReclaimGuard.get(MetadataReclaimGuard.networkOf(network));
+
+			Files.createDirectories(directory);
+			Path temp = Files.createTempFile(directory, PENDING_PREFIX, ".tmp");
+			try {
+				try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+					for (SnapshotMetadata snapshot : removed) {
+						try {
+							forEachReference(snapshot, hash -> {
+								if (!live.contains(hash) && candidates.add(hash)) {
+									writeLine(writer, hash);
+									if (existing != null && existing.isRescued(hash))
+										released.add(hash);
+								}
+							});
+						} catch (IOException e) {
+							// sin catálogo no hay referencias que recolectar
+							logger.warn("METADATA GC: Unable to read references of snapshot {}: {}",
+									snapshot.getSnapshotId(), e.getMessage());
+						}
+					}
+				} catch (UncheckedIOException e) {
+					throw e.getCause();
+				}
+
+				if (candidates.isEmpty())
+					return 0;
+
+				Files.writeString(directory.resolve(NETWORK_FILE), MetadataReclaimGuard.networkOf(network),
+						StandardCharsets.UTF_8);
+				Files.move(temp, newPendingFile(directory), StandardCopyOption.ATOMIC_MOVE);
+
+				MetadataReclaimGuard.Fence fence = MetadataReclaimGuard
+						.activate(MetadataReclaimGuard.networkOf(network), directory.resolve(RESCUED_FILE));
+				fence.addCandidates(candidates, released);
+				pendingEntries.addAndGet(candidates.size());
+
+			} finally {
+				Files.deleteIfExists(temp);
+				if (candidates.isEmpty())
+					deleteIfEmpty(directory);
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		logger.info("METADATA GC: {} unreferenced hashes of {} queued in {} ms",
+				candidates.size(), MetadataReclaimGuard.networkOf(network), System.currentTimeMillis() - start);
+		return candidates.size();
+	}
+
+	/**
+	 * Drops the queue of a network whose metadata is deleted entirely.
+	 *
+	 * @param network any snapshot of the network
+	 * @throws IOException if the queue cannot be deleted
+	 */
+	public void discard(SnapshotMetadata network) throws IOException {
+		lock.lock();
+		try {
+			MetadataReclaimGuard.Fence fence = MetadataReclaimGuard.get(MetadataReclaimGuard.networkOf(network));
+			if (fence != null)
+				MetadataReclaimGuard.deactivate(fence);
+
+			Path directory = getDirectory(network);
+			for (Path pending : listPending(directory))
+				pendingEntries.addAndGet(-countRemaining(pending));
+			deleteDirectory(directory);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Reclaims the queued metadata of every network, up to the batch size per
+	 * network.
+	 */
+	@ManagedOperation
+	@Scheduled(fixedDelayString = "${metadata.gc.interval:60000}")
+	public void reclaim() {
+		if (!enabled)
+			return;
+
+		for (MetadataReclaimGuard.Fence fence : MetadataReclaimGuard.fences()) {
+			try {
+				reclaim(fence, batchSize);
+			} catch (IOException e) {
+				logger.error("METADATA GC: Unable to reclaim metadata of {}: {}", fence.getNetwork(), e.getMessage(), e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Reclaims up to the given number of queued entries of a network, releasing
+	 * its fence once the queue is empty.
+	 *
+	 * @return the number of entries processed
+	 */
+	long reclaim(MetadataReclaimGuard.Fence fence, long budget) throws IOException, InterruptedException {
+		lock.lock();
+		try {
+			Path directory = fence.getRescueLog().getParent();
+			SnapshotMetadata network = networkMetadata(fence.getNetwork());
+
+			long start = System.currentTimeMillis();
+			long bytesBefore = reclaimedBytes.get();
+			long processed = 0;
+
+			for (Path pending : listPending(directory)) {
+				if (processed >= budget)
+					break;
+				processed += reclaimFile(fence, network, pending, budget - processed);
+			}
+
+			if (processed > 0)
+				logger.info("METADATA GC: {} entries of {} processed in {} ms, {} KB reclaimed, {} pending",
+						processed, fence.getNetwork(), System.currentTimeMillis() - start,
+						(reclaimedBytes.get() - bytesBefore) / 1024, pendingEntries.get());
+
+			// sin pendientes la red deja de estar protegida
+			if (listPending(directory).isEmpty()) {
+				MetadataReclaimGuard.deactivate(fence);
+				deleteDirectory(directory);
+				logger.info("METADATA GC: Queue of {} completed", fence.getNetwork());
+			}
+			return processed;
+
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private long reclaimFile(MetadataReclaimGuard.Fence fence, SnapshotMetadata network, Path pending, long budget)
+			throws IOException, InterruptedException {
+
+		Path offsetFile = offsetFile(pending);
+		long offset = readOffset(offsetFile);
+		long processed = 0;
+		boolean finished;
+
+		try (BufferedReader reader = Files.newBufferedReader(pending, StandardCharsets.UTF_8)) {
+			for (long i = 0; i < offset; i++)
+				reader.readLine();
+
+			String hash;
+			try {
+				while (processed < budget && (hash = reader.readLine()) != null) {
+					throttle.acquire();
+					reclaimEntry(fence, network, hash);
+					processed++;
+					pendingEntries.decrementAndGet();
+
+					if (processed % OFFSET_INTERVAL == 0)
+						writeOffset(offsetFile, offset + processed);
+				}
+			} finally {
+				writeOffset(offsetFile, offset + processed);
+			}
+			finished = processed < budget || reader.readLine() == null;
+		}
+
+		if (finished) {
+			Files.deleteIfExists(pending);
+			Files.deleteIfExists(offsetFile);
+		}
+		return processed;
+	}
+
+	private void reclaimEntry(MetadataReclaimGuard.Fence fence, SnapshotMetadata network, String hash) {
+		try {
+			long size = fence.reclaim(hash, candidate -> metadataStore.reclaimMetadata(network, candidate));
+			if (size == MetadataReclaimGuard.Fence.RESCUED) {
+				rescuedEntries.incrementAndGet();
+			} else if (size >= 0) {
+				reclaimedEntries.incrementAndGet();
+				reclaimedBytes.addAndGet(size);
+			}
+		} catch (MetadataRecordStoreException e) {
+			failedEntries.incrementAndGet();
+			logger.warn("METADATA GC: Unable to reclaim metadata {} of {}: {}", hash, fence.getNetwork(),
+					e.getMessage());
+		}
+	}
+
+	private void restore(Path directory) throws IOException {
+		String network = Files.readString(directory.resolve(NETWORK_FILE), StandardCharsets.UTF_8).trim();
+		List<Path> pendingFiles = listPending(directory);
+		if (pendingFiles.isEmpty())
+			return;
+
+		HashFingerprintSet candidates = new HashFingerprintSet();
+		long remaining = 0;
+		for (Path pending : pendingFiles) {
+			long offset = readOffset(offsetFile(pending));
+			try (BufferedReader reader = Files.newBufferedReader(pending, StandardCharsets.UTF_8)) {
+				String hash;
+				for (long line = 0; (hash = reader.readLine()) != null; line++) {
+					if (line >= offset) {
+						candidates.add(hash);
+						remaining++;
+					}
+				}
+			}
+		}
+
+		MetadataReclaimGuard.activate(network, directory.resolve(RESCUED_FILE)).restore(candidates);
+		pendingEntries.addAndGet(remaining);
+		logger.info("METADATA GC: {} hashes of {} pending from a previous run", remaining, network);
+	}
+
+	private void forEachReference(SnapshotMetadata snapshot, Consumer<String> consumer) throws IOException {
+		catalogRepository.forEachMetadataHash(snapshot, consumer);
+		validationRepository.forEachPublishedMetadataHash(snapshot, consumer);
+	}
+
+	private Path getDirectory(SnapshotMetadata network) {
+		return Paths.get(PathUtils.getMetadataGCPath(basePath, network));
+	}
+
+	private static SnapshotMetadata networkMetadata(String acronym) {
+		Network network = new Network();
+		network.setAcronym(acronym);
+		SnapshotMetadata snapshotMetadata = new SnapshotMetadata();
+		snapshotMetadata.setNetwork(network);
+		return snapshotMetadata;
+	}
+
+	private static Path newPendingFile(Path directory) {
+		long sequence = System.currentTimeMillis();
+		Path pending;
+		while (Files.exists(pending = directory.resolve(PENDING_PREFIX + sequence + PENDING_SUFFIX)))
+			sequence++;
+		return pending;
+	}
+
+	private static List<Path> listPending(Path directory) throws IOException {
+		List<Path> pending = new ArrayList<>();
+		if (!Files.isDirectory(directory))
+			return pending;
+
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+				PENDING_PREFIX + "*" + PENDING_SUFFIX)) {
+			files.forEach(pending::add);
+		}
+		// los nombres llevan el instante de creación: se procesan en orden
+		pending.sort(Comparator.comparingLong(MetadataGarbageCollector::sequenceOf));
+		return pending;
+	}
+
+	private static long sequenceOf(Path pending) {
+		String name = pending.getFileName().toString();
+		return Long.parseLong(name.substring(PENDING_PREFIX.length(), name.length() - PENDING_SUFFIX.length()));
+	}
+
+	private static long countRemaining(Path pending) throws IOException {
+		try (Stream<String> lines = Files.lines(pending, StandardCharsets.UTF_8)) {
+			return Math.max(0, lines.count() - readOffset(offsetFile(pending)));
+		}
+	}
+
+	private static Path offsetFile(Path pending) {
+		return pending.resolveSibling(pending.getFileName() + OFFSET_SUFFIX);
+	}
+
+	private static long readOffset(Path offsetFile) throws IOException {
+		if (!Files.exists(offsetFile))
+			return 0;
+		return Long.parseLong(Files.readString(offsetFile, StandardCharsets.UTF_8).trim());
+	}
+
+	private static void writeOffset(Path offsetFile, long offset) throws IOException {
+		Files.writeString(offsetFile, Long.toString(offset), StandardCharsets.UTF_8);
+	}
+
+	private static void writeLine(BufferedWriter writer, String line) {
+		try {
+			writer.write(line);
+			writer.newLine();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void deleteIfEmpty(Path directory) throws IOException {
+		try {
+			Files.deleteIfExists(directory);
+		} catch (DirectoryNotEmptyException e) {
+			// ya hay una cola para la red
+		}
+	}
+
+	private static void deleteDirectory(Path directory) throws IOException {
+		if (!Files.exists(directory))
+			return;
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator)
+				Files.deleteIfExists(path);
+		}
+	}
+
+	@ManagedAttribute
+	public long getPendingEntries() {
+		return pendingEntries.get();
+	}
+
+	@ManagedAttribute
+	public long getReclaimedEntries() {
+		return reclaimedEntries.get();
+	}
+
+	@ManagedAttribute
+	public long getReclaimedBytes() {
+		return reclaimedBytes.get();
+	}
+
+	@ManagedAttribute
+	public long getRescuedEntries() {
+		return rescuedEntries.get();
+	}
+
+	@ManagedAttribute
+	public long getFailedEntries() {
+		return failedEntries.get();
+	}
+}
@@ -0,0 +1,237 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+package org.lareferencia.core.metadata;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.util.HashFingerprintSet;
+
+/**
+ * Protects the metadata pending reclamation by the
+ * {@link MetadataGarbageCollector} once it is referenced again.
+ * <p>
+ * Candidates are computed while the network is idle but reclaimed later, in
+ * the background, when a harvest or validation may be storing the same content
+ * again: since the stores deduplicate by hash, the new reference would point to
+ * metadata about to be deleted. Stores call {@link #enter} before storing a
+ * hash and {@link Fence#exit} after, as does validation before reusing the
+ * published hash of a cached transformation, and a candidate entered is marked
+ * as rescued so the collector keeps it. Both sides lock the same stripe of the
+ * hash, so a candidate is either rescued before its deletion or written again
+ * after it.
+ * </p>
+ * <p>
+ * Only networks with pending candidates have a fence; for the others entering
+ * costs a map lookup.
+ * </p>
+ *
+ * @author LA Referencia Team
+ * @see MetadataGarbageCollector
+ */
+public final class MetadataReclaimGuard {
+
+	private static final Logger logger = LogManager.getLogger(MetadataReclaimGuard.class);
+
+	private static final ConcurrentHashMap<String, Fence> FENCES = new ConcurrentHashMap<>();
+
+	private MetadataReclaimGuard() {
+	}
+
+	/**
+	 * Called before storing a hash, or before referencing an already stored one.
+	 *
+	 * @param snapshotMetadata context containing network information
+	 * @param hash             the hash about to be stored or referenced
+	 * @return the fence to {@link Fence#exit} once stored, null if the network
+	 *         has nothing pending
+	 */
+	public static Fence enter(SnapshotMetadata snapshotMetadata, String hash) {
+		if (FENCES.isEmpty())
+			return null;
+
+		Fence fence = FENCES.get(networkOf(snapshotMetadata));
+		if (fence != null)
+			fence.enter(hash);
+		return fence;
+	}
+
+	static Fence activate(String network, Path rescueLog) {
+		return FENCES.computeIfAbsent(network, key -> new Fence(key, rescueLog));
+	}
+
+	static Fence get(String network) {
+		return FENCES.get(network);
+	}
+
+	static void deactivate(Fence fence) {
+		FENCES.remove(fence.network, fence);
+	}
+
+	static Collection<Fence> fences() {
+		return new ArrayList<>(FENCES.values());
+	}
+
+	static String networkOf(SnapshotMetadata snapshotMetadata) {
+		if (snapshotMetadata == null || snapshotMetadata.getNetwork() == null
+				|| snapshotMetadata.getNetwork().getAcronym() == null)
+			return "UNKNOWN";
+		return snapshotMetadata.getNetwork().getAcronym();
+	}
+
+	/**
+	 * Deletes a candidate from the store.
+	 */
+	@FunctionalInterface
+	interface Reclaimer {
+		long reclaim(String hash) throws MetadataRecordStoreException;
+	}
+
+	/**
+	 * Candidates and rescued hashes of a network. Rescued hashes are also
+	 * appended to a log, so they are still kept after a restart.
+	 */
+	public static final class Fence {
+
+		/** Returned by {@link #reclaim} for rescued candidates. */
+		static final long RESCUED = -2;
+
+		private static final int STRIPES = 64;
+
+		private final String network;
+		private final Path rescueLog;
+		private final ReadWriteLock[] stripes = new ReadWriteLock[STRIPES];
+
+		// cada conjunto se publica completo y no se modifica después
+		private final List<HashFingerprintSet> candidates = new CopyOnWriteArrayList<>();
+		private final Set<String> rescued = ConcurrentHashMap.newKeySet();
+
+		private Fence(String network, Path rescueLog) {
+			this.network = network;
+			this.rescueLog = rescueLog;
+			for (int i = 0; i < STRIPES; i++)
+				stripes[i] = new ReentrantReadWriteLock();
+		}
+
+		private void enter(String hash) {
+			stripe(hash).readLock().lock();
+			if (isCandidate(hash) && rescued.add(hash))
+				logRescue(hash);
+		}
+
+		/**
+		 * Called once the hash entered is stored or referenced.
+		 *
+		 * @param hash the hash entered
+		 */
+		public void exit(String hash) {
+			stripe(hash).readLock().unlock();
+		}
+
+		String getNetwork() {
+			return network;
+		}
+
+		Path getRescueLog() {
+			return rescueLog;
+		}
+
+		int getRescuedCount() {
+			return rescued.size();
+		}
+
+		boolean isRescued(String hash) {
+			return rescued.contains(hash);
+		}
+
+		/**
+		 * Adds candidates computed while the network is idle, releasing the
+		 * rescued hashes that are candidates again, since they are no longer
+		 * referenced.
+		 */
+		synchronized void addCandidates(HashFingerprintSet added, Collection<String> released) throws IOException {
+			candidates.add(added);
+			if (rescued.removeAll(released))
+				Files.write(rescueLog, new ArrayList<>(rescued), StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * Loads the candidates and rescued hashes pending from a previous run.
+		 */
+		synchronized void restore(HashFingerprintSet pending) throws IOException {
+			candidates.add(pending);
+			if (Files.exists(rescueLog))
+				rescued.addAll(Files.readAllLines(rescueLog, StandardCharsets.UTF_8));
+		}
+
+		/**
+		 * Reclaims a candidate unless it was rescued.
+		 *
+		 * @return the bytes reclaimed, -1 if not in the store, {@link #RESCUED} if
+		 *         kept
+		 */
+		long reclaim(String hash, Reclaimer reclaimer) throws MetadataRecordStoreException {
+			Lock lock = stripe(hash).writeLock();
+			lock.lock();
+			try {
+				if (rescued.contains(hash))
+					return RESCUED;
+				return reclaimer.reclaim(hash);
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		private boolean isCandidate(String hash) {
+			for (HashFingerprintSet set : candidates)
+				if (set.contains(hash))
+					return true;
+			return false;
+		}
+
+		private synchronized void logRescue(String hash) {
+			try {
+				Files.writeString(rescueLog, hash + System.lineSeparator(), StandardCharsets.UTF_8,
+						StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+			} catch (IOException e) {
+				// sigue protegido en memoria hasta el próximo reinicio
+				logger.warn("METADATA GC: Unable to log rescued hash {} of {}: {}", hash, network, e.getMessage());
+			}
+		}
+
+		private ReadWriteLock stripe(String hash) {
+			return stripes[Math.floorMod(hash.hashCode(), STRIPES)];
+		}
+	}
+}
@@ -0,0 +1,380 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.metadata;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.lareferencia.core.util.hashing.IHashingHelper;
+import org.w3c.dom.Attr;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * Canonical serializer of metadata documents to UTF-8 bytes.
+ * <p>
+ * Writes the DOM tree directly into a reusable byte buffer, without XML
+ * declaration nor indentation, so the same bytes are hashed and written to the
+ * metadata store without building intermediate strings. Namespace declarations
+ * missing from imported nodes are added where the namespace is first used.
+ * </p>
+ * <p>
+ * Instances are not thread safe: use {@link #forCurrentThread()}, whose buffer
+ * is valid until the next call to {@link #serialize(Node)} on the same thread.
+ * </p>
+ *
+ * @author LA Referencia Team
+ * @see IMetadataStore#storeAndReturnHash(SnapshotMetadata, OAIRecordMetadata)
+ */
+public final class MetadataSerializer {
+
+	private static final ThreadLocal<MetadataSerializer> THREAD_SERIALIZER = ThreadLocal
+			.withInitial(MetadataSerializer::new);
+
+	private static final String XMLNS_URI = "http://www.w3.org/2000/xmlns/";
+
+	private static final int INITIAL_CAPACITY = 16 * 1024;
+
+	/** Buffers grown over this size are released after being reused. */
+	private static final int RETAINED_CAPACITY = 1024 * 1024;
+
+	private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+	private byte[] buffer = new byte[INITIAL_CAPACITY];
+	private int length;
+
+	// namespace bindings in scope, as a stack of prefix/uri pairs
+	private String[] bindings = new String[32];
+	private int bindingCount;
+
+	/**
+	 * @return the serializer of the current thread
+	 */
+	public static MetadataSerializer forCurrentThread() {
+		return THREAD_SERIALIZER.get();
+	}
+
+	/**
+	 * Serializes a document or node, replacing the previous content of the buffer.
+	 *
+	 * @param node the document or node to serialize
+	 * @return this serializer, holding the serialized bytes
+	 */
+	public MetadataSerializer serialize(Node node) {
+		if (buffer.length > RETAINED_CAPACITY)
+			buffer = new byte[INITIAL_CAPACITY];
+		length = 0;
+		bindingCount = 0;
+
+		if (node.getNodeType() == Node.DOCUMENT_NODE || node.getNodeType() == Node.DOCUMENT_FRAGMENT_NODE)
+			writeChildren(node);
+		else
+			writeNode(node);
+		return this;
+	}
+
+	/**
+	 * @return the buffer holding the serialized bytes, from 0 to {@link #getLength()}
+	 */
+	public byte[] getBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * @return the number of serialized bytes
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * @return a copy of the serialized bytes
+	 */
+	public byte[] toByteArray() {
+		return Arrays.copyOf(buffer, length);
+	}
+
+	/**
+	 * Hashes the serialized bytes.
+	 *
+	 * @param hashing the hashing algorithm
+	 * @return the hash
+	 */
+	public String hash(IHashingHelper hashing) {
+		return hashing.calculateHash(buffer, 0, length);
+	}
+
+	/**
+	 * Writes the serialized bytes to a stream.
+	 *
+	 * @param out the stream
+	 * @throws IOException if the write fails
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		out.write(buffer, 0, length);
+	}
+
+	/**
+	 * @return the serialized document as a string
+	 */
+	@Override
+	public String toString() {
+		return new String(buffer, 0, length, StandardCharsets.UTF_8);
+	}
+
+	private void writeChildren(Node node) {
+		for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling())
+			writeNode(child);
+	}
+
+	private void writeNode(Node node) {
+		switch (node.getNodeType()) {
+		case Node.ELEMENT_NODE:
+			writeElement(node);
+			break;
+		case Node.TEXT_NODE:
+		case Node.CDATA_SECTION_NODE:
+			writeEscaped(node.getNodeValue(), false);
+			break;
+		case Node.ENTITY_REFERENCE_NODE:
+			writeChildren(node);
+			break;
+		case Node.COMMENT_NODE:
+			writeAscii("<!--");
+			writeText(node.getNodeValue());
+			writeAscii("-->");
+			break;
+		case Node.PROCESSING_INSTRUCTION_NODE:
+			writeAscii("<?");
+			writeText(node.getNodeName());
+			String data = node.getNodeValue();
+			if (data != null && !data.isEmpty()) {
+				writeByte(' ');
+				writeText(data);
+			}
+			writeAscii("?>");
+			break;
+		default:
+			// document type and other nodes are not part of the metadata
+			break;
+		}
+	}
+
+	private void writeElement(Node element) {
+		int scope = bindingCount;
+		String name = element.getNodeName();
+
+		writeByte('<');
+		writeText(name);
+
+		NamedNodeMap attributes = element.getAttributes();
+		int attributeCount = attributes.getLength();
+
+		// declarations present in the document
+		for (int i = 0; i < attributeCount; i++) {
+			Attr attr = (Attr) attributes.item(i);
+			if (isNamespaceDeclaration(attr)) {
+				String prefix = attr.getName().length() > 5 ? attr.getName().substring(6) : "";
+				if (!attr.getValue().equals(lookup(prefix))) {
+					bind(prefix, attr.getValue());
+					writeAttribute(attr.getName(), attr.getValue());
+				}
+			}
+		}
+
+		// declarations missing for the element and attribute namespaces
+		declareIfMissing(element.getPrefix(), element.getNamespaceURI(), true);
+		for (int i = 0; i < attributeCount; i++) {
+			Attr attr = (Attr) attributes.item(i);
+			if (!isNamespaceDeclaration(attr) && attr.getPrefix() != null)
+				declareIfMissing(attr.getPrefix(), attr.getNamespaceURI(), false);
+		}
+
+		for (int i = 0; i < attributeCount; i++) {
+			Attr attr = (Attr) attributes.item(i);
+			if (!isNamespaceDeclaration(attr))
+				writeAttribute(attr.getName(), attr.getValue());
+		}
+
+		if (element.hasChildNodes()) {
+			writeByte('>');
+			writeChildren(element);
+			writeAscii("</");
+			writeText(name);
+			writeByte('>');
+		} else {
+			writeAscii("/>");
+		}
+
+		bindingCount = scope;
+	}
+
+	private static boolean isNamespaceDeclaration(Attr attr) {
+		return XMLNS_URI.equals(attr.getNamespaceURI()) || "xmlns".equals(attr.getName())
+				|| attr.getName().startsWith("xmlns:");
+	}
+
+	private void declareIfMissing(String prefix, String uri, boolean element) {
+		String key = prefix == null ? "" : prefix;
+		String value = uri == null ? "" : uri;
+
+		// unprefixed attributes have no namespace, only elements use the default one
+		if ((key.isEmpty() && !element) || "xml".equals(key))
+			return;
+		if (value.equals(lookup(key)))
+			return;
+
+		bind(key, value);
+		writeAttribute(key.isEmpty() ? "xmlns" : "xmlns:" + key, value);
+	}
+
+	private String lookup(String prefix) {
+		for (int i = bindingCount - 2; i >= 0; i -= 2)
+			if (bindings[i].equals(prefix))
+				return bindings[i + 1];
+		return prefix.isEmpty() ? "" : null;
+	}
+
+	private void bind(String prefix, String uri) {
+		if (bindingCount + 2 > bindings.length)
+			bindings = Arrays.copyOf(bindings, bindings.length * 2);
+		bindings[bindingCount++] = prefix;
+		bindings[bindingCount++] = uri;
+	}
+
+	private void writeAttribute(String name, String value) {
+		writeByte(' ');
+		writeText(name);
+		writeAscii("=\"");
+		writeEscaped(value, true);
+		writeByte('"');
+	}
+
+	private void writeEscaped(String text, boolean attribute) {
+		if (text == null)
+			return;
+
+		int size = text.length();
+		for (int i = 0; i < size; i++) {
+			char c = text.charAt(i);
+			switch (c) {
+			case '&':
+				writeAscii("&amp;");
+				break;
+			case '<':
+				writeAscii("&lt;");
+				break;
+			case '>':
+				writeAscii("&gt;");
+				break;
+			case '"':
+				if (attribute)
+					writeAscii("&quot;");
+				else
+					writeByte(c);
+				break;
+			case '\r':
+				writeCharReference(c);
+				break;
+			case '\n':
+			case '\t':
+				if (attribute)
+					writeCharReference(c);
+				else
+					writeByte(c);
+				break;
+			default:
+				i = writeChar(text, i, c);
+			}
+		}
+	}
+
+	private void writeText(String text) {
+		if (text == null)
+			return;
+
+		int size = text.length();
+		for (int i = 0; i < size; i++)
+			i = writeChar(text, i, text.charAt(i));
+	}
+
+	/**
+	 * Writes one character as UTF-8.
+	 *
+	 * @return the index of the last char consumed, the next one for surrogate pairs
+	 */
+	private int writeChar(String text, int index, char c) {
+		if (c < 0x80) {
+			writeByte(c);
+		} else if (c < 0x800) {
+			ensureCapacity(2);
+			buffer[length++] = (byte) (0xC0 | (c >> 6));
+			buffer[length++] = (byte) (0x80 | (c & 0x3F));
+		} else if (Character.isHighSurrogate(c) && index + 1 < text.length()
+				&& Character.isLowSurrogate(text.charAt(index + 1))) {
+			int codePoint = Character.toCodePoint(c, text.charAt(index + 1));
+			ensureCapacity(4);
+			buffer[length++] = (byte) (0xF0 | (codePoint >> 18));
+			buffer[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+			buffer[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+			buffer[length++] = (byte) (0x80 | (codePoint & 0x3F));
+			return index + 1;
+		} else if (Character.isSurrogate(c)) {
+			// unpaired surrogate, same replacement as String.getBytes
+			writeByte('?');
+		} else {
+			ensureCapacity(3);
+			buffer[length++] = (byte) (0xE0 | (c >> 12));
+			buffer[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+			buffer[length++] = (byte) (0x80 | (c & 0x3F));
+		}
+		return index;
+	}
+
+	private void writeCharReference(char c) {
+		ensureCapacity(6);
+		buffer[length++] = '&';
+		buffer[length++] = '#';
+		buffer[length++] = 'x';
+		buffer[length++] = HEX[(c >> 4) & 0xF];
+		buffer[length++] = HEX[c & 0xF];
+		buffer[length++] = ';';
+	}
+
+	private void writeAscii(String text) {
+		int size = text.length();
+		ensureCapacity(size);
+		for (int i = 0; i < size; i++)
+			buffer[length++] = (byte) text.charAt(i);
+	}
+
+	private void writeByte(int b) {
+		ensureCapacity(1);
+		buffer[length++] = (byte) b;
+	}
+
+	private void ensureCapacity(int extra) {
+		if (length + extra > buffer.length)
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+	}
+}
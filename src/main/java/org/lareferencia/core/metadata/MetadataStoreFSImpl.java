@@ -36,6 +36,7 @@ import java.util.zip.GZIPOutputStream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.metrics.PipelineMetrics;
 import org.lareferencia.core.util.PathUtils;
 import org.lareferencia.core.util.hashing.IHashingHelper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -164,10 +165,12 @@ public class MetadataStoreFSImpl implements IMetadataStore {
      * Writes compressed XML to file
      * 
      * @param file    File to write to
-     * @param content XML content
+     * @param content Buffer holding the UTF-8 encoded XML
+     * @param offset  Start of the XML in the buffer
+     * @param length  Number of bytes of the XML
      * @throws IOException If write fails
      */
-    private void writeCompressed(File file, String content) throws IOException {
+    private void writeCompressed(File file, byte[] content, int offset, int length) throws IOException {
         // Create parent directories if needed
         File parentDir = file.getParentFile();
         if (!parentDir.exists()) {
@@ -179,7 +182,7 @@ public class MetadataStoreFSImpl implements IMetadataStore {
                 BufferedOutputStream bos = new BufferedOutputStream(fos);
                 GZIPOutputStream gzos = new GZIPOutputStream(bos)) {
 
-            gzos.write(content.getBytes(StandardCharsets.UTF_8));
+            gzos.write(content, offset, length);
         }
     }
 
@@ -202,18 +205,33 @@ public class MetadataStoreFSImpl implements IMetadataStore {
 
     @Override
     public String storeAndReturnHash(SnapshotMetadata snapshotMetadata, String metadata) {
-        try {
-            // Calculate hash
-            String hash = hashing.calculateHash(metadata);
+        byte[] content = metadata.getBytes(StandardCharsets.UTF_8);
+        return store(snapshotMetadata, hashing.calculateHash(metadata), content, content.length);
+    }
+
+    @Override
+    public String storeAndReturnHash(SnapshotMetadata snapshotMetadata, OAIRecordMetadata metadata) {
+        // hashed and written from the serializer buffer, without intermediate strings
+        MetadataSerializer serializer = MetadataSerializer.forCurrentThread().serialize(metadata.getDOMDocument());
+        return store(snapshotMetadata, serializer.hash(hashing), serializer.getBuffer(), serializer.getLength());
+    }
 
+    private String store(SnapshotMetadata snapshotMetadata, String hash, byte[] content, int length) {
+        MetadataReclaimGuard.Fence fence = MetadataReclaimGuard.enter(snapshotMetadata, hash);
+        try {
             // Get file path using SnapshotMetadata
             File file = getFileForHash(snapshotMetadata, hash);
 
             // Only write if file doesn't exist (deduplication)
             if (!file.exists()) {
                 long startTime = System.currentTimeMillis();
-                writeCompressed(file, metadata);
+                long start = PipelineMetrics.start();
+                writeCompressed(file, content, 0, length);
                 long duration = System.currentTimeMillis() - startTime;
+                // bytes en disco, comprimidos; length() solo se consulta con métricas activas
+                if (start != 0L)
+                    PipelineMetrics.recordStage(PipelineMetrics.METADATA_WRITE, PipelineMetrics.tags(snapshotMetadata),
+                            start, file.length());
 
                 String networkAcronym = snapshotMetadata != null ? snapshotMetadata.getNetwork().getAcronym()
                         : "UNKNOWN";
@@ -231,6 +249,9 @@ public class MetadataStoreFSImpl implements IMetadataStore {
         } catch (Exception e) {
             logger.error("Error storing metadata", e);
             throw new RuntimeException("Failed to store metadata", e);
+        } finally {
+            if (fence != null)
+                fence.exit(hash);
         }
     }
 
@@ -247,8 +268,12 @@ public class MetadataStoreFSImpl implements IMetadataStore {
             }
 
             long startTime = System.currentTimeMillis();
+            long start = PipelineMetrics.start();
             String metadata = readCompressed(file);
             long duration = System.currentTimeMillis() - startTime;
+            if (start != 0L)
+                PipelineMetrics.recordStage(PipelineMetrics.METADATA_READ, PipelineMetrics.tags(snapshotMetadata),
+                        start, file.length());
 
             logger.debug("Retrieved metadata with hash {} in {}ms (network: {})",
                     hash, duration, networkAcronym);
@@ -338,6 +363,19 @@ public class MetadataStoreFSImpl implements IMetadataStore {
         }
     }
 
+    @Override
+    public long reclaimMetadata(SnapshotMetadata snapshotMetadata, String hash) throws MetadataRecordStoreException {
+        File file = getFileForHash(snapshotMetadata, hash);
+        if (!file.exists())
+            return -1;
+
+        // tamaño comprimido, lo que se libera en disco
+        long size = file.length();
+        if (!file.delete())
+            throw new MetadataRecordStoreException("Failed to delete metadata file for hash: " + hash);
+        return size;
+    }
+
     @Override
     public void forEachHash(SnapshotMetadata snapshotMetadata, Consumer<String> hashConsumer) throws MetadataRecordStoreException {
         try {
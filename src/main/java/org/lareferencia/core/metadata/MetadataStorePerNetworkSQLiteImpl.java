@@ -57,6 +57,7 @@ public class MetadataStorePerNetworkSQLiteImpl implements IMetadataStore {
     private static final String INSERT_SQL = "INSERT OR IGNORE INTO metadata_records (hash, content) VALUES (?, ?)";
     private static final String SELECT_SQL = "SELECT content FROM metadata_records WHERE hash = ?";
     private static final String DELETE_SQL = "DELETE FROM metadata_records WHERE hash = ?";
+    private static final String SELECT_SIZE_SQL = "SELECT length(CAST(content AS BLOB)) FROM metadata_records WHERE hash = ?";
     private static final String SELECT_ALL_HASHES_SQL = "SELECT hash FROM metadata_records";
 
     @PostConstruct
@@ -130,8 +131,17 @@ public class MetadataStorePerNetworkSQLiteImpl implements IMetadataStore {
 
     @Override
     public String storeAndReturnHash(SnapshotMetadata snapshotMetadata, String metadata) {
-        String hash = hashing.calculateHash(metadata);
+        return store(snapshotMetadata, hashing.calculateHash(metadata), metadata);
+    }
+
+    @Override
+    public String storeAndReturnHash(SnapshotMetadata snapshotMetadata, OAIRecordMetadata metadata) {
+        MetadataSerializer serializer = MetadataSerializer.forCurrentThread().serialize(metadata.getDOMDocument());
+        return store(snapshotMetadata, serializer.hash(hashing), serializer.toString());
+    }
 
+    private String store(SnapshotMetadata snapshotMetadata, String hash, String metadata) {
+        MetadataReclaimGuard.Fence fence = MetadataReclaimGuard.enter(snapshotMetadata, hash);
         try {
             Connection conn = getConnection(snapshotMetadata);
 
@@ -149,6 +159,9 @@ public class MetadataStorePerNetworkSQLiteImpl implements IMetadataStore {
         } catch (SQLException e) {
             logger.error("Error storing metadata for hash: {}", hash, e);
             throw new RuntimeException("Failed to store metadata in SQLite", e);
+        } finally {
+            if (fence != null)
+                fence.exit(hash);
         }
     }
 
@@ -226,6 +239,32 @@ public class MetadataStorePerNetworkSQLiteImpl implements IMetadataStore {
         }
     }
 
+    @Override
+    public long reclaimMetadata(SnapshotMetadata snapshotMetadata, String hash) throws MetadataRecordStoreException {
+        try {
+            Connection conn = getConnection(snapshotMetadata);
+
+            long size;
+            try (PreparedStatement stmt = conn.prepareStatement(SELECT_SIZE_SQL)) {
+                stmt.setString(1, hash);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next())
+                        return -1;
+                    size = rs.getLong(1);
+                }
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) {
+                stmt.setString(1, hash);
+                return stmt.executeUpdate() > 0 ? size : -1;
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error reclaiming metadata for hash: {}", hash, e);
+            throw new MetadataRecordStoreException("Failed to delete metadata from SQLite", e);
+        }
+    }
+
     @Override
     public void forEachHash(SnapshotMetadata snapshotMetadata, Consumer<String> hashConsumer) throws MetadataRecordStoreException {
         try {
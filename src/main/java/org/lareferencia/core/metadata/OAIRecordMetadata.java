@@ -44,6 +44,12 @@ import java.util.List;
 /**
  * Represents OAI record metadata with DOM-based XML manipulation capabilities.
  * Provides methods for querying, modifying, and transforming metadata fields using XPath expressions.
+ * <p>
+ * The occurrences returned by {@link #getFieldMetadataOccurrences(String)} are views over the
+ * nodes of this record: read-only queries are evaluated against the original node, and the node
+ * is copied into its own document only when the view is modified or its document or nodes are
+ * requested.
+ * </p>
  */
 public class OAIRecordMetadata {
 	
@@ -56,9 +62,15 @@ public class OAIRecordMetadata {
 	
 	/**
 	 * The internal DOM document representation of the metadata.
+	 * Null in views until they are copied.
 	 */
 	private Document DOMDocument;
 
+	/**
+	 * The node of another record this view is over, null once copied or if this is not a view.
+	 */
+	private Node viewNode;
+
 	/**
 	 * The unique identifier for this OAI record.
 	 */
@@ -101,6 +113,10 @@ public class OAIRecordMetadata {
 	 * @return the DOM document
 	 */
 	public Document getDOMDocument() {
+		if ( DOMDocument == null ) {
+			DOMDocument = MedatadaDOMHelper.createDocumentFromNode(viewNode);
+			viewNode = null;
+		}
 		return DOMDocument;
 	}
 
@@ -173,6 +189,55 @@ public class OAIRecordMetadata {
 		this.identifier = identifier;
 		this.DOMDocument = document;
 	}
+	
+	private OAIRecordMetadata(Node viewNode, String identifier) {
+		this.identifier = identifier;
+		this.viewNode = viewNode;
+	}
+	
+	/**
+	 * Creates a view over a node of a record, with the same content as
+	 * {@link #OAIRecordMetadata(String, Node)} but without copying the node.
+	 * The node must not be modified while the view is in use.
+	 * 
+	 * @param identifier the unique identifier for this record
+	 * @param node the node of the original record
+	 * @return the view
+	 */
+	static OAIRecordMetadata view(String identifier, Node node) {
+		return new OAIRecordMetadata(node, identifier);
+	}
+	
+	/**
+	 * Evaluates a read-only expression, against the original node in views when the expression
+	 * can be made relative to it and against the document otherwise.
+	 */
+	private List<Node> selectNodes(String xpath) throws TransformerException {
+		String relative = viewNode != null ? XOAIXPATHHelper.getNodeRelativeXPATH(xpath) : null;
+		
+		if ( relative != null )
+			return MedatadaDOMHelper.getListOfNodes(viewNode, relative);
+		else
+			return MedatadaDOMHelper.getListOfNodes(getDOMDocument(), xpath);
+	}
+	
+	private NodeList selectNodeList(String xpath) throws TransformerException {
+		String relative = viewNode != null ? XOAIXPATHHelper.getNodeRelativeXPATH(xpath) : null;
+		
+		if ( relative != null )
+			return MedatadaDOMHelper.getNodeList(viewNode, relative);
+		else
+			return MedatadaDOMHelper.getNodeList(getDOMDocument(), xpath);
+	}
+	
+	private String selectString(String xpath) throws TransformerException {
+		String relative = viewNode != null ? XOAIXPATHHelper.getNodeRelativeXPATH(xpath) : null;
+		
+		if ( relative != null )
+			return MedatadaDOMHelper.getSingleString(viewNode, relative);
+		else
+			return MedatadaDOMHelper.getSingleString(getDOMDocument(), xpath);
+	}
 
 	/**
 	 * Retrieves all occurrences of a field as a list of string values.
@@ -184,7 +249,7 @@ public class OAIRecordMetadata {
 		
 		
 		try {
-			NodeList nodelist = MedatadaDOMHelper.getNodeList(DOMDocument, XOAIXPATHHelper.getXPATH(fieldName) );
+			NodeList nodelist = selectNodeList( XOAIXPATHHelper.getXPATH(fieldName) );
 			List<String> contents = new ArrayList<String>(nodelist.getLength());
 			
 			for (int i = 0; i < nodelist.getLength(); i++) {
@@ -221,9 +286,9 @@ public class OAIRecordMetadata {
 			
 			String xpath =  XOAIXPATHHelper.getXPATH(fieldName);
 			
-			if ( MedatadaDOMHelper.isNodeDefined(DOMDocument,xpath) ) {
+			if ( MedatadaDOMHelper.isNodeDefined(getDOMDocument(),xpath) ) {
 				
-				Node node = MedatadaDOMHelper.getSingleNode(DOMDocument, xpath);
+				Node node = MedatadaDOMHelper.getSingleNode(getDOMDocument(), xpath);
 				MedatadaDOMHelper.setNodeText(node, content);
 				
 			}
@@ -249,9 +314,9 @@ public class OAIRecordMetadata {
 			
 			String xpath =  XOAIXPATHHelper.getXPATH(fieldName);
 			
-			if ( MedatadaDOMHelper.isNodeDefined(DOMDocument,xpath) ) {
+			if ( MedatadaDOMHelper.isNodeDefined(getDOMDocument(),xpath) ) {
 				
-				NodeList nodes = MedatadaDOMHelper.getNodeList(DOMDocument, xpath);
+				NodeList nodes = MedatadaDOMHelper.getNodeList(getDOMDocument(), xpath);
 				
 				for (int i=0; i<nodes.getLength();i++)
 					MedatadaDOMHelper.removeNodeAndEmptyParents(nodes.item(i));
@@ -299,7 +364,7 @@ public class OAIRecordMetadata {
 		try {
 			
 			String parentXPATH = XOAIXPATHHelper.getRootXPATH();
-			Node parentNode = MedatadaDOMHelper.getSingleNode(DOMDocument, parentXPATH);
+			Node parentNode = MedatadaDOMHelper.getSingleNode(getDOMDocument(), parentXPATH);
 			
 			List<OAIMetadataElement> elements = XOAIXPATHHelper.getXPATHList(fieldName);
 
@@ -309,12 +374,12 @@ public class OAIRecordMetadata {
 				OAIMetadataElement elem = elements.get(i);
 				String xpath =  elem.getXpath();
 		
-				if ( !MedatadaDOMHelper.isNodeDefined(DOMDocument, xpath) ) {
+				if ( !MedatadaDOMHelper.isNodeDefined(getDOMDocument(), xpath) ) {
 					Node newNode = MedatadaDOMHelper.addChildElementWithNameAttr(parentNode, elem.getType().toString(), elem.getName());
 				}
 				
 					
-				parentNode = MedatadaDOMHelper.getSingleNode(DOMDocument, xpath);
+				parentNode = MedatadaDOMHelper.getSingleNode(getDOMDocument(), xpath);
 			}
 			
 			// trata el ultimo elemento aparte
@@ -323,10 +388,10 @@ public class OAIRecordMetadata {
 			String xpath =  lastElem.getXpath();
 			
 			// si el ultimo elemento ya esta definido
-			if ( MedatadaDOMHelper.isNodeDefined(DOMDocument, xpath) ) {
+			if ( MedatadaDOMHelper.isNodeDefined(getDOMDocument(), xpath) ) {
 				
 				// lo obtiene
-				Node node = MedatadaDOMHelper.getSingleNode(DOMDocument, xpath);
+				Node node = MedatadaDOMHelper.getSingleNode(getDOMDocument(), xpath);
 				
 				if ( lastElem.getType() == Type.field ) { // si es de tipo field
 					
@@ -420,7 +485,7 @@ public class OAIRecordMetadata {
 
         try {
 
-            return MedatadaDOMHelper.getListOfTextNodes(DOMDocument, xpathSelector );
+            return MedatadaDOMHelper.getListOfTextNodes(getDOMDocument(), xpathSelector );
 
         } catch (Exception e) {
             // TODO: mejorar el tratamiento de esto
@@ -441,7 +506,7 @@ public class OAIRecordMetadata {
 
 		try {
 
-			return MedatadaDOMHelper.getListOfTextNodes(DOMDocument, XOAIXPATHHelper.getXPATH(fieldName) );
+			return MedatadaDOMHelper.getListOfTextNodes(getDOMDocument(), XOAIXPATHHelper.getXPATH(fieldName) );
 
 		} catch (Exception e) {
 			// TODO: mejorar el tratamiento de esto
@@ -463,26 +528,18 @@ public class OAIRecordMetadata {
 		
 		try {
 			
-			List<Node> bundleNodes = MedatadaDOMHelper.getListOfNodes(
-					DOMDocument, XOAIXPATHHelper.getXPATH("bundles.bundle", false, true) 
-			);
+			List<Node> bundleNodes = selectNodes( XOAIXPATHHelper.getXPATH("bundles.bundle", false, true) );
 			
 			
 			for (int i=0; i<bundleNodes.size(); i++ ) {
 				
 				
-				Node bundleNode = bundleNodes.get(i);
-				
-				
-				Document bundleDoc = MedatadaDOMHelper.createDocumentFromNode(bundleNode);
-				
-				//System.out.println( MedatadaDOMHelper.Node2XMLString(bundleDoc) );
-				
-				List<Node> bitstreamNodes = MedatadaDOMHelper.getListOfNodes(
-						bundleDoc, XOAIXPATHHelper.getXPATH("bundle.bitstreams.bitstream", false, false)) ;
+				// el bundle se consulta como vista, sin copiarlo a un documento propio
+				OAIRecordMetadata bundle = view(identifier, bundleNodes.get(i));
 				
+				List<Node> bitstreamNodes = bundle.selectNodes( XOAIXPATHHelper.getXPATH("bundle.bitstreams.bitstream", false, false) );
 				
-				String type = MedatadaDOMHelper.getSingleString(bundleDoc, XOAIXPATHHelper.getXPATH("bundle:name", true, false) );
+				String type = bundle.selectString( XOAIXPATHHelper.getXPATH("bundle:name", true, false) );
 				
 				
 				for (Node bitstreamNode : bitstreamNodes ) {
@@ -550,7 +607,7 @@ public class OAIRecordMetadata {
 
 	@Override
 	public String toString() {
-			return MedatadaDOMHelper.document2XMLString(this.DOMDocument);
+			return MedatadaDOMHelper.document2XMLString(getDOMDocument());
 		
 	}
 
@@ -579,10 +636,10 @@ public class OAIRecordMetadata {
 		
 		try {
 			String xpath = XOAIXPATHHelper.getXPATH(metadataExpression, false, false);
-			List<Node> nodes = MedatadaDOMHelper.getListOfNodes(DOMDocument, xpath);
+			List<Node> nodes = selectNodes(xpath);
 					
 			for (Node n : nodes ) {
-				result.add( new OAIRecordMetadata(this.identifier, n) );
+				result.add( view(this.identifier, n) );
 			}
 			
 			return result;
@@ -605,10 +662,10 @@ public class OAIRecordMetadata {
 		List< OAIRecordMetadata > result = new ArrayList<OAIRecordMetadata>();
 		
 		try {
-			List<Node> nodes = MedatadaDOMHelper.getListOfNodes(DOMDocument, xpathExpression);
+			List<Node> nodes = selectNodes(xpathExpression);
 					
 			for (Node n : nodes ) {
-				result.add( new OAIRecordMetadata(this.identifier, n) );
+				result.add( view(this.identifier, n) );
 			}
 			
 			return result;
@@ -629,7 +686,7 @@ public class OAIRecordMetadata {
 	public String getFieldValue(String fieldName) {
 		
 		try {
-			return MedatadaDOMHelper.getSingleString(DOMDocument, XOAIXPATHHelper.getXPATH(fieldName, true, false) );
+			return selectString( XOAIXPATHHelper.getXPATH(fieldName, true, false) );
 		} catch (TransformerException e) {
 			// TODO Auto-generated catch block
 			logger.error( "OAIRecordMetadata.getFieldValue:" + fieldName + " error: " + e.getMessage() );
@@ -647,7 +704,7 @@ public class OAIRecordMetadata {
 	public String getFieldValueFromXPATHExpression(String xpathExpression) {
 		
 		try {
-			return MedatadaDOMHelper.getSingleString(DOMDocument, xpathExpression );
+			return selectString( xpathExpression );
 		} catch (TransformerException e) {
 			// TODO Auto-generated catch block
 			logger.error( "OAIRecordMetadata.getFieldValueFromXpath:" + xpathExpression + " error: " + e.getMessage() );
@@ -572,6 +572,22 @@ public class SnapshotStoreSQLImpl implements ISnapshotStore {
 		}
 	}
 
+	@Override
+	@Transactional
+	public void setSnapshotValidationCounts(Long snapshotId, Integer validSize, Integer transformedSize) {
+		try {
+			NetworkSnapshot snapshot = getSnapshot(snapshotId);
+			snapshot.setValidSize(validSize);
+			snapshot.setTransformedSize(transformedSize);
+			trackUpdateAndAutoFlush(snapshotId);
+			logger.info("SNAPSHOT STORE: Restored validation counts for snapshot {} (valid: {}, transformed: {})",
+					snapshotId, validSize, transformedSize);
+		} catch (SnapshotStoreException e) {
+			logger.error("SNAPSHOT STORE: Error restoring validation counts for snapshot {}: {}",
+					snapshotId, e.getMessage());
+		}
+	}
+
 	// @Override
 	// public void updateSnapshotCounts(Long snapshotId, Integer size, Integer
 	// validSize, Integer transformedSize) {
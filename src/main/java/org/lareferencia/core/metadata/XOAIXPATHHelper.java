@@ -179,4 +179,87 @@ public class XOAIXPATHHelper {
 	
 	
 
+	/**
+	 * Rewrites an expression written for a document whose root element is a copy
+	 * of some node, so it can be evaluated with that node of the original tree as
+	 * context. This is what lets sub-record views avoid copying the node:
+	 * <ul>
+	 * <li>{@code //step...} becomes {@code descendant-or-self::step...}</li>
+	 * <li>{@code /step...} and {@code step...} become {@code self::step...}</li>
+	 * </ul>
+	 * Only expressions whose first step is a plain name test are rewritten, which
+	 * covers every expression built by {@link #getXPATH(String, Boolean, Boolean)}.
+	 * Unions, paths inside predicates, explicit axes, function calls and positional
+	 * predicates on the first step are not equivalent after the rewrite.
+	 *
+	 * @param xpath the expression relative to the document of the copy
+	 * @return the expression relative to the node, or null if it cannot be rewritten
+	 */
+	public static String getNodeRelativeXPATH(String xpath) {
+		
+		String axis;
+		int start;
+		
+		if ( xpath.startsWith("//") ) {
+			axis = "descendant-or-self::";
+			start = 2;
+		}
+		else {
+			axis = "self::";
+			start = xpath.startsWith("/") ? 1 : 0;
+		}
+		
+		// el primer paso tiene que ser un name test: *, nombre o prefijo:nombre
+		int end = start;
+		while ( end < xpath.length() && isNameTestChar(xpath.charAt(end)) )
+			end++;
+		
+		String nameTest = xpath.substring(start, end);
+		if ( nameTest.isEmpty() || nameTest.contains("::") || !( nameTest.charAt(0) == '*' || nameTest.charAt(0) == '_' || Character.isLetter(nameTest.charAt(0)) ) )
+			return null;
+		if ( end < xpath.length() && xpath.charAt(end) != '[' && xpath.charAt(end) != '/' )
+			return null;
+		
+		int depth = 0;
+		char quote = 0;
+		boolean firstStep = true;
+		int predicateStart = -1;
+		
+		for (int i = end; i < xpath.length(); i++) {
+			char c = xpath.charAt(i);
+			
+			if ( quote != 0 ) {
+				if ( c == quote )
+					quote = 0;
+			}
+			else if ( c == '\'' || c == '"' )
+				quote = c;
+			else if ( c == '[' || c == '(' ) {
+				if ( depth++ == 0 )
+					predicateStart = i + 1;
+			}
+			else if ( c == ']' || c == ')' ) {
+				if ( --depth == 0 && firstStep && isPositional(xpath.substring(predicateStart, i)) )
+					return null;
+			}
+			else if ( c == '|' && depth == 0 )
+				return null;
+			else if ( c == '/' ) {
+				if ( depth > 0 )
+					return null;
+				firstStep = false;
+			}
+		}
+		
+		return quote == 0 && depth == 0 ? axis + xpath.substring(start) : null;
+	}
+	
+	private static boolean isNameTestChar(char c) {
+		return Character.isLetterOrDigit(c) || c == '*' || c == '_' || c == '-' || c == '.' || c == ':';
+	}
+	
+	private static boolean isPositional(String predicate) {
+		return predicate.contains("position()") || predicate.contains("last()") || predicate.trim().matches("[0-9.]+");
+	}
+
 }
@@ -23,6 +23,7 @@ package org.lareferencia.core.metadata;
 import lombok.Getter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.metrics.PipelineMetrics;
 import org.w3c.dom.DOMException;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -159,11 +160,13 @@ public class XsltMDFormatTransformer implements IMDFormatTransformer {
 		StringWriter stringWritter = new StringWriter();
 		Result output = new StreamResult(stringWritter);
 
+		long start = PipelineMetrics.start();
 		try {
 			trf.transform(new DOMSource(source), output);
 		} catch (TransformerException e) {
 			throw new MDFormatTranformationException(e.getMessage(),e.getCause() );
 		}
+		PipelineMetrics.recordStage(PipelineMetrics.XSLT_TRANSFORM, PipelineMetrics.UNTAGGED, start);
 		return stringWritter.toString();
 
 	}
@@ -174,11 +177,13 @@ public class XsltMDFormatTransformer implements IMDFormatTransformer {
 
 		DOMResult result = new DOMResult();
 
+		long start = PipelineMetrics.start();
 		try {
 			trf.transform(new DOMSource(source), result);
 		} catch (TransformerException e) {
 			throw new MDFormatTranformationException(e.getMessage(),e.getCause() );
 		}
+		PipelineMetrics.recordStage(PipelineMetrics.XSLT_TRANSFORM, PipelineMetrics.UNTAGGED, start);
 
 		return (Document) result.getNode();
 	}
@@ -0,0 +1,276 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.ToLongFunction;
+
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.worker.IWorker;
+import org.lareferencia.core.worker.NetworkRunningContext;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Metrics of the processing pipeline: worker runs, page throughput and the
+ * latency and size of each stage (metadata store, catalog, validation
+ * statistics, XSLT, Solr, embeddings, link checks), tagged by network and
+ * snapshot, and the hits and misses of the shared caches.
+ * <p>
+ * Meters are registered in the Micrometer global registry, so classes created
+ * outside of Spring are measured too and any backend added to that registry
+ * receives them. While no registry is attached (tests, metrics disabled) every
+ * method returns without measuring. {@link PipelineMetricsService} attaches an
+ * in-memory registry and exposes its snapshot through JMX.
+ * </p>
+ *
+ * @author LA Referencia Team
+ * @see PipelineMetricsService
+ */
+public final class PipelineMetrics {
+
+	public static final String PREFIX = "lrharvester.";
+
+	public static final String WORKER_RUNS = PREFIX + "worker.runs";
+	public static final String WORKER_ACTIVE = PREFIX + "worker.active";
+	public static final String WORKER_PAGES = PREFIX + "worker.pages";
+	public static final String WORKER_ITEMS = PREFIX + "worker.items";
+	public static final String STAGE = PREFIX + "stage";
+	public static final String STAGE_BYTES = PREFIX + "stage.bytes";
+	public static final String QUEUE_DEPTH = PREFIX + "queue.depth";
+	public static final String CACHE_REQUESTS = PREFIX + "cache.requests";
+	public static final String CACHE_SIZE = PREFIX + "cache.size";
+
+	public static final String TAG_NETWORK = "network";
+	public static final String TAG_SNAPSHOT = "snapshot";
+	public static final String TAG_WORKER = "worker";
+	public static final String TAG_STAGE = "stage";
+	public static final String TAG_OUTCOME = "outcome";
+	public static final String TAG_CACHE = "cache";
+
+	// etapas medidas
+	public static final String METADATA_READ = "metadata.read";
+	public static final String METADATA_WRITE = "metadata.write";
+	public static final String CATALOG_UPSERT = "catalog.upsert";
+	public static final String VALIDATION_STATS_WRITE = "validation.stats.write";
+	public static final String XSLT_TRANSFORM = "xslt.transform";
+	public static final String SOLR_SEND = "solr.send";
+	public static final String EMBEDDING = "embedding";
+	public static final String URL_CHECK = "url.check";
+
+	private static final String NONE = "none";
+
+	/** Tags of the stages shared by all networks, such as the XSLT transformers. */
+	public static final Tags UNTAGGED = Tags.of(TAG_NETWORK, NONE, TAG_SNAPSHOT, NONE);
+
+	private static final AtomicInteger ACTIVE_WORKERS = new AtomicInteger();
+
+	private PipelineMetrics() {
+	}
+
+	/**
+	 * @return true if a registry is attached and measures are recorded
+	 */
+	public static boolean isEnabled() {
+		return !Metrics.globalRegistry.getRegistries().isEmpty();
+	}
+
+	/**
+	 * @return the start time of a measure, 0 if metrics are disabled
+	 */
+	public static long start() {
+		return isEnabled() ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * @param snapshotMetadata the snapshot, may be null
+	 * @return the network and snapshot tags of the snapshot
+	 */
+	public static Tags tags(SnapshotMetadata snapshotMetadata) {
+		if (snapshotMetadata == null)
+			return tags((Long) null);
+
+		String network = snapshotMetadata.getNetwork() != null ? snapshotMetadata.getNetwork().getAcronym() : null;
+		return tags(network, snapshotMetadata.getSnapshotId());
+	}
+
+	/**
+	 * @param snapshotId the snapshot id, may be null
+	 * @return the snapshot tags, for stages that do not know the network
+	 */
+	public static Tags tags(Long snapshotId) {
+		return snapshotId != null ? tags((String) null, snapshotId) : UNTAGGED;
+	}
+
+	/**
+	 * @param network    the network acronym, may be null
+	 * @param snapshotId the snapshot id, may be null
+	 * @return the network and snapshot tags
+	 */
+	public static Tags tags(String network, Long snapshotId) {
+		return Tags.of(TAG_NETWORK, network != null ? network : NONE, TAG_SNAPSHOT,
+				snapshotId != null ? snapshotId.toString() : NONE);
+	}
+
+	/**
+	 * @param worker     the worker
+	 * @param snapshotId the snapshot processed by the worker, may be null
+	 * @return the worker, network and snapshot tags
+	 */
+	public static Tags tags(IWorker<?> worker, Long snapshotId) {
+		return tags(networkOf(worker), snapshotId).and(TAG_WORKER, worker.getName());
+	}
+
+	/**
+	 * Records the latency of one call to a stage, measured from {@link #start()}.
+	 *
+	 * @param stage      the stage name
+	 * @param tags       network and snapshot tags
+	 * @param startNanos the value returned by {@link #start()}
+	 */
+	public static void recordStage(String stage, Tags tags, long startNanos) {
+		if (startNanos == 0L || !isEnabled())
+			return;
+
+		Timer.builder(STAGE).tags(tags).tag(TAG_STAGE, stage).register(Metrics.globalRegistry)
+				.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Records the latency and the bytes read or written by one call to a stage.
+	 *
+	 * @param stage      the stage name
+	 * @param tags       network and snapshot tags
+	 * @param startNanos the value returned by {@link #start()}
+	 * @param bytes      the bytes read or written
+	 */
+	public static void recordStage(String stage, Tags tags, long startNanos, long bytes) {
+		if (startNanos == 0L || !isEnabled())
+			return;
+
+		recordStage(stage, tags, startNanos);
+		DistributionSummary.builder(STAGE_BYTES).baseUnit("bytes").tags(tags).tag(TAG_STAGE, stage)
+				.register(Metrics.globalRegistry).record(bytes);
+	}
+
+	/**
+	 * Records a page processed by a batch or iterator worker.
+	 *
+	 * @param tags       worker, network and snapshot tags
+	 * @param startNanos the value returned by {@link #start()}
+	 * @param items      the items of the page
+	 */
+	public static void recordPage(Tags tags, long startNanos, int items) {
+		if (startNanos == 0L || !isEnabled())
+			return;
+
+		Timer.builder(WORKER_PAGES).tags(tags).register(Metrics.globalRegistry)
+				.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+		Counter.builder(WORKER_ITEMS).tags(tags).register(Metrics.globalRegistry).increment(items);
+	}
+
+	/**
+	 * Runs a worker, measuring its duration by outcome and the workers running.
+	 *
+	 * @param worker the worker
+	 */
+	public static void run(IWorker<?> worker) {
+		if (!isEnabled()) {
+			worker.run();
+			return;
+		}
+
+		Tags tags = Tags.of(TAG_WORKER, worker.getName(), TAG_NETWORK, nonNull(networkOf(worker)));
+		Gauge.builder(WORKER_ACTIVE, ACTIVE_WORKERS, AtomicInteger::get).register(Metrics.globalRegistry);
+
+		ACTIVE_WORKERS.incrementAndGet();
+		long start = System.nanoTime();
+		String outcome = "failed";
+		try {
+			worker.run();
+			outcome = "completed";
+		} finally {
+			ACTIVE_WORKERS.decrementAndGet();
+			Timer.builder(WORKER_RUNS).tags(tags).tag(TAG_OUTCOME, outcome).register(Metrics.globalRegistry)
+					.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	/**
+	 * Registers a gauge with the number of workers waiting in a queue.
+	 *
+	 * @param registry the registry
+	 * @param engine   the name of the engine owning the queue
+	 * @param queue    supplier of the queue depth
+	 */
+	public static void registerQueueDepth(MeterRegistry registry, String engine, IntSupplier queue) {
+		Gauge.builder(QUEUE_DEPTH, queue::getAsInt).tag("engine", engine).register(registry);
+	}
+
+	/**
+	 * Registers the hit and miss counters and the size gauge of a cache, read
+	 * from the cache when the registry is measured. Registering again is a no-op,
+	 * so callers can call it on each use and the meters are created again after
+	 * {@link PipelineMetricsService#reset()}.
+	 *
+	 * @param cache  the name of the cache
+	 * @param tags   the tags of the cache
+	 * @param source the object owning the cache, only weakly referenced
+	 * @param hits   reads the hit count
+	 * @param misses reads the miss count
+	 * @param size   reads the number of entries
+	 * @param <T>    the type of the owner
+	 */
+	public static <T> void registerCache(String cache, Tags tags, T source, ToLongFunction<T> hits,
+			ToLongFunction<T> misses, ToLongFunction<T> size) {
+		if (!isEnabled())
+			return;
+
+		FunctionCounter.builder(CACHE_REQUESTS, source, owner -> hits.applyAsLong(owner)).tags(tags)
+				.tag(TAG_CACHE, cache).tag(TAG_OUTCOME, "hit").register(Metrics.globalRegistry);
+		FunctionCounter.builder(CACHE_REQUESTS, source, owner -> misses.applyAsLong(owner)).tags(tags)
+				.tag(TAG_CACHE, cache).tag(TAG_OUTCOME, "miss").register(Metrics.globalRegistry);
+		Gauge.builder(CACHE_SIZE, source, owner -> size.applyAsLong(owner)).tags(tags).tag(TAG_CACHE, cache)
+				.register(Metrics.globalRegistry);
+	}
+
+	private static String networkOf(IWorker<?> worker) {
+		if (worker.getRunningContext() instanceof NetworkRunningContext) {
+			NetworkRunningContext context = (NetworkRunningContext) worker.getRunningContext();
+			return context.getNetwork() != null ? context.getNetwork().getAcronym() : null;
+		}
+		return null;
+	}
+
+	private static String nonNull(String value) {
+		return value != null ? value : NONE;
+	}
+}
+
@@ -0,0 +1,235 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.flowable.WorkflowService;
+import org.lareferencia.core.task.TaskManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps the pipeline metrics in memory and exposes them through JMX, without
+ * requiring any monitoring backend.
+ * <p>
+ * Attaches a {@link SimpleMeterRegistry} to the Micrometer global registry
+ * where {@link PipelineMetrics} records, and registers the queue depth of the
+ * task engines. Meters of old snapshots are removed periodically, keeping those
+ * of the last {@code metrics.snapshots.retained} snapshots.
+ * </p>
+ *
+ * @author LA Referencia Team
+ * @see PipelineMetrics
+ */
+@Component
+@ManagedResource(objectName = "backend:name=pipelineMetrics", description = "Pipeline metrics LRHarvester")
+public class PipelineMetricsService {
+
+	private static final Logger logger = LogManager.getLogger(PipelineMetricsService.class);
+
+	@Value("${metrics.enabled:true}")
+	private boolean enabled = true;
+
+	@Value("${metrics.snapshots.retained:20}")
+	private int retainedSnapshots = 20;
+
+	@Autowired
+	private ObjectProvider<TaskManager> taskManager;
+
+	@Autowired
+	private ObjectProvider<WorkflowService> workflowService;
+
+	private SimpleMeterRegistry registry;
+
+	@PostConstruct
+	public void init() {
+		if (!enabled) {
+			logger.info("Pipeline metrics disabled (metrics.enabled=false)");
+			return;
+		}
+
+		registry = new SimpleMeterRegistry();
+		Metrics.addRegistry(registry);
+		registerQueueGauges();
+	}
+
+	@PreDestroy
+	public void destroy() {
+		if (registry != null) {
+			removeMeters(meter -> true);
+			Metrics.removeRegistry(registry);
+			registry.close();
+			registry = null;
+		}
+	}
+
+	/**
+	 * Gets one line per meter with its tags and values: count, total, mean and max
+	 * for timers and sizes, and the items per second of the workers.
+	 *
+	 * @return the current values of the pipeline metrics
+	 */
+	@ManagedAttribute
+	public List<String> getSnapshot() {
+		List<String> result = new ArrayList<>();
+		if (registry == null)
+			return result;
+
+		for (Meter meter : registry.getMeters()) {
+			if (meter.getId().getName().startsWith(PipelineMetrics.PREFIX))
+				result.add(describe(meter));
+		}
+		result.sort(null);
+		return result;
+	}
+
+	/**
+	 * Removes all the recorded values.
+	 */
+	@ManagedOperation
+	public void reset() {
+		if (registry == null)
+			return;
+
+		removeMeters(meter -> true);
+		registerQueueGauges();
+	}
+
+	/**
+	 * Removes the meters of the snapshots older than the retained ones.
+	 */
+	@Scheduled(fixedDelayString = "${metrics.prune.interval:300000}")
+	public void pruneSnapshots() {
+		if (registry == null)
+			return;
+
+		TreeSet<Long> snapshots = new TreeSet<>();
+		for (Meter meter : registry.getMeters()) {
+			Long snapshotId = snapshotOf(meter);
+			if (snapshotId != null)
+				snapshots.add(snapshotId);
+		}
+
+		while (snapshots.size() > retainedSnapshots)
+			snapshots.pollFirst();
+		if (snapshots.isEmpty())
+			return;
+
+		removeMeters(meter -> {
+			Long snapshotId = snapshotOf(meter);
+			return snapshotId != null && !snapshots.contains(snapshotId);
+		});
+	}
+
+	private void registerQueueGauges() {
+		TaskManager manager = taskManager != null ? taskManager.getIfAvailable() : null;
+		if (manager != null)
+			PipelineMetrics.registerQueueDepth(Metrics.globalRegistry, "taskmanager", manager::getQueuedCount);
+
+		WorkflowService workflow = workflowService != null ? workflowService.getIfAvailable() : null;
+		if (workflow != null)
+			PipelineMetrics.registerQueueDepth(Metrics.globalRegistry, "flowable", workflow::getTotalQueuedCount);
+	}
+
+	/**
+	 * Removes pipeline meters from the global registry and from the in-memory one,
+	 * so they are created again in both when recorded again.
+	 */
+	private void removeMeters(Predicate<Meter> filter) {
+		for (Meter meter : Metrics.globalRegistry.getMeters()) {
+			if (meter.getId().getName().startsWith(PipelineMetrics.PREFIX) && filter.test(meter)) {
+				Metrics.globalRegistry.remove(meter.getId());
+				registry.remove(meter.getId());
+			}
+		}
+	}
+
+	private static Long snapshotOf(Meter meter) {
+		String value = meter.getId().getTag(PipelineMetrics.TAG_SNAPSHOT);
+		try {
+			return value != null ? Long.valueOf(value) : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	private String describe(Meter meter) {
+		StringBuilder line = new StringBuilder(meter.getId().getName());
+		for (Tag tag : meter.getId().getTags())
+			line.append(' ').append(tag.getKey()).append('=').append(tag.getValue());
+		line.append(" ::");
+
+		if (meter instanceof Timer) {
+			Timer timer = (Timer) meter;
+			line.append(format(" count=%d total=%.1fs mean=%.2fms max=%.2fms", timer.count(),
+					timer.totalTime(TimeUnit.SECONDS), timer.mean(TimeUnit.MILLISECONDS),
+					timer.max(TimeUnit.MILLISECONDS)));
+
+			if (PipelineMetrics.WORKER_PAGES.equals(meter.getId().getName())) {
+				Counter items = registry.find(PipelineMetrics.WORKER_ITEMS).tags(meter.getId().getTags()).counter();
+				double seconds = timer.totalTime(TimeUnit.SECONDS);
+				if (items != null && seconds > 0)
+					line.append(format(" items=%.0f rate=%.1f/s", items.count(), items.count() / seconds));
+			}
+		} else if (meter instanceof DistributionSummary) {
+			DistributionSummary summary = (DistributionSummary) meter;
+			line.append(format(" count=%d total=%.0f mean=%.1f max=%.0f", summary.count(), summary.totalAmount(),
+					summary.mean(), summary.max()));
+		} else if (meter instanceof Counter) {
+			line.append(format(" count=%.0f", ((Counter) meter).count()));
+		} else if (meter instanceof FunctionCounter) {
+			line.append(format(" count=%.0f", ((FunctionCounter) meter).count()));
+		} else if (meter instanceof Gauge) {
+			line.append(format(" value=%.0f", ((Gauge) meter).value()));
+		}
+		return line.toString();
+	}
+
+	private static String format(String pattern, Object... args) {
+		return String.format(Locale.ROOT, pattern, args);
+	}
+}
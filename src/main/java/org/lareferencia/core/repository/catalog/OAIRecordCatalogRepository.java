@@ -31,6 +31,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -39,6 +40,7 @@ import javax.sql.DataSource;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.metrics.PipelineMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
@@ -87,6 +89,12 @@ public class OAIRecordCatalogRepository {
             WHERE deleted = 0
             """;
 
+    private static final String SELECT_METADATA_HASHES_SQL = """
+            SELECT original_metadata_hash
+            FROM oai_record
+            WHERE original_metadata_hash IS NOT NULL
+            """;
+
     private static final String COUNT_SQL = "SELECT COUNT(*) FROM oai_record";
 
     private static final String COUNT_NOT_DELETED_SQL = "SELECT COUNT(*) FROM oai_record WHERE deleted = 0";
@@ -169,6 +177,7 @@ public class OAIRecordCatalogRepository {
         }
 
         long startTime = System.currentTimeMillis();
+        long start = PipelineMetrics.start();
         int totalRecords = records.size();
 
         try (Connection conn = ds.getConnection()) {
@@ -194,6 +203,8 @@ public class OAIRecordCatalogRepository {
                 }
 
                 conn.commit();
+                PipelineMetrics.recordStage(PipelineMetrics.CATALOG_UPSERT, PipelineMetrics.tags(snapshotId),
+                        start);
 
                 long elapsedMs = System.currentTimeMillis() - startTime;
                 double recordsPerSec = totalRecords / (elapsedMs / 1000.0);
@@ -265,6 +276,41 @@ public class OAIRecordCatalogRepository {
         return streamRecords(metadata, SELECT_NOT_DELETED_SQL);
     }
 
+    /**
+     * Recorre los hashes de metadata referenciados por el catálogo, sin
+     * construir los registros. Abre el catálogo si no estaba abierto y en ese
+     * caso lo cierra al terminar.
+     * 
+     * @param metadata     Metadata del snapshot
+     * @param hashConsumer Consumidor de cada original_metadata_hash
+     * @return Número de hashes recorridos
+     * @throws IOException si el catálogo no existe o falla la lectura
+     */
+    public long forEachMetadataHash(SnapshotMetadata metadata, Consumer<String> hashConsumer) throws IOException {
+        Long snapshotId = metadata.getSnapshotId();
+        boolean opened = !dbManager.hasActiveDataSource(snapshotId);
+        if (opened)
+            dbManager.openSnapshotForRead(metadata);
+
+        long count = 0;
+        try (Connection conn = dbManager.getDataSource(snapshotId).getConnection();
+                PreparedStatement stmt = conn.prepareStatement(SELECT_METADATA_HASHES_SQL);
+                ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                hashConsumer.accept(rs.getString(1));
+                count++;
+            }
+            return count;
+
+        } catch (SQLException e) {
+            throw new IOException("Failed to read metadata hashes of snapshot " + snapshotId, e);
+        } finally {
+            if (opened)
+                dbManager.closeDataSource(snapshotId);
+        }
+    }
+
     /**
      * Conteo de registros totales.
      * 
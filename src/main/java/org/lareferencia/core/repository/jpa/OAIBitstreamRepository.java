@@ -20,6 +20,7 @@
 
 package org.lareferencia.core.repository.jpa;
 
+import java.util.Date;
 import java.util.List;
 
 import org.lareferencia.core.domain.OAIBitstream;
@@ -72,6 +73,21 @@ public interface OAIBitstreamRepository extends JpaRepository<OAIBitstream, OAIB
 	@Query("select rc from OAIBitstream rc where rc.id.network.id = ?1 and ((false=?3 AND rc.status=?2) OR (true=?3 AND rc.status<>?2))")
 	Page<OAIBitstream> findByNetworkIdAndStatus(Long networkID, OAIBitstreamStatus status, Boolean negateStatus, Pageable pageable);
 	
+	/**
+	 * Finds the bitstreams of a network pending download: those with the given status and
+	 * those with the retry status that have attempts left and were last tried before the given date.
+	 * 
+	 * @param networkID the network ID
+	 * @param status the status of bitstreams never downloaded
+	 * @param retryStatus the status of bitstreams whose download failed
+	 * @param maxAttempts the maximum number of attempts of a failed bitstream
+	 * @param retryBefore only failed bitstreams last tried before this date are retried
+	 * @param pageable pagination parameters
+	 * @return page of bitstreams pending download
+	 */
+	@Query("select rc from OAIBitstream rc where rc.id.network.id = ?1 and (rc.status = ?2 or (rc.status = ?3 and (rc.attempts is null or rc.attempts < ?4) and (rc.lastAttempt is null or rc.lastAttempt < ?5)))")
+	Page<OAIBitstream> findPendingDownload(Long networkID, OAIBitstreamStatus status, OAIBitstreamStatus retryStatus, Integer maxAttempts, Date retryBefore, Pageable pageable);
+	
 	/**
 	 * Finds all bitstreams for a specific network with pagination.
 	 * 
@@ -22,6 +22,7 @@ package org.lareferencia.core.repository.validation;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.metadata.SnapshotMetadata;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
@@ -32,6 +33,7 @@ import java.sql.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -46,6 +48,8 @@ import lombok.NoArgsConstructor;
  * - streamAll(): Stream all records for iteration
  * - queryByRule(): Query by specific rule validity
  * - count(), countValid(), countTransformed(): Aggregation queries
+ * - openLookup(), markSeen(), deleteUnseen(): Incremental validation over a
+ *   copy of the previous snapshot's records
  * 
  * DYNAMIC SCHEMA:
  * - Columns rule_<id> are created based on validator rules
@@ -76,8 +80,8 @@ public class RecordValidationRepository {
 
         // Build dynamic INSERT SQL
         StringBuilder columns = new StringBuilder(
-                "INSERT INTO record_validation (identifier_hash, identifier, datestamp, is_valid, is_transformed, published_metadata_hash");
-        StringBuilder placeholders = new StringBuilder("VALUES (?, ?, ?, ?, ?, ?");
+                "INSERT OR REPLACE INTO record_validation (identifier_hash, identifier, datestamp, is_valid, is_transformed, published_metadata_hash, original_metadata_hash");
+        StringBuilder placeholders = new StringBuilder("VALUES (?, ?, ?, ?, ?, ?, ?");
 
         for (Long ruleId : ruleIds) {
             columns.append(", rule_").append(ruleId);
@@ -186,6 +190,46 @@ public class RecordValidationRepository {
         }
     }
 
+    /**
+     * Iterates over the published metadata hashes of a snapshot without mapping
+     * the records. Opens the database if it was not open, and then closes it
+     * when done.
+     *
+     * @param snapshotMetadata the snapshot
+     * @param hashConsumer     consumer of each published_metadata_hash
+     * @return the number of hashes iterated, 0 if the snapshot was never validated
+     * @throws IOException if the database cannot be read
+     */
+    public long forEachPublishedMetadataHash(SnapshotMetadata snapshotMetadata, Consumer<String> hashConsumer)
+            throws IOException {
+        Long snapshotId = snapshotMetadata.getSnapshotId();
+        boolean opened = !dbManager.hasActiveDataSource(snapshotId);
+        if (opened) {
+            if (!dbManager.exists(snapshotMetadata))
+                return 0;
+            dbManager.openSnapshotForRead(snapshotMetadata);
+        }
+
+        long count = 0;
+        try (Connection conn = dbManager.getDataSource(snapshotId).getConnection();
+                PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT published_metadata_hash FROM record_validation WHERE published_metadata_hash IS NOT NULL");
+                ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                hashConsumer.accept(rs.getString(1));
+                count++;
+            }
+            return count;
+
+        } catch (SQLException e) {
+            throw new IOException("Failed to read published metadata hashes of snapshot " + snapshotId, e);
+        } finally {
+            if (opened)
+                dbManager.closeDataSource(snapshotId);
+        }
+    }
+
     /**
      * Counts total records.
      */
@@ -514,6 +558,7 @@ public class RecordValidationRepository {
         stmt.setInt(idx++, record.isValid() ? 1 : 0);
         stmt.setInt(idx++, record.isTransformed() ? 1 : 0);
         stmt.setString(idx++, record.getPublishedMetadataHash());
+        stmt.setString(idx++, record.getOriginalMetadataHash());
 
         // Set rule columns
         for (Long ruleId : ruleIds) {
@@ -535,6 +580,7 @@ public class RecordValidationRepository {
         record.setValid(rs.getInt("is_valid") == 1);
         record.setTransformed(rs.getInt("is_transformed") == 1);
         record.setPublishedMetadataHash(rs.getString("published_metadata_hash"));
+        record.setOriginalMetadataHash(getOptionalString(rs, "original_metadata_hash"));
 
         // Map rule columns
         Map<Long, Boolean> ruleResults = new HashMap<>();
@@ -547,6 +593,17 @@ public class RecordValidationRepository {
         return record;
     }
 
+    /**
+     * Reads a column that databases created by older versions do not have.
+     */
+    private String getOptionalString(ResultSet rs, String column) {
+        try {
+            return rs.getString(column);
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
     private long executeCount(Long snapshotId, String sql) {
         return executeCountWithParams(snapshotId, sql, Collections.emptyList());
     }
@@ -648,6 +705,163 @@ public class RecordValidationRepository {
         }
     }
 
+    // ========================================
+    // INCREMENTAL VALIDATION
+    // ========================================
+
+    /**
+     * Starts tracking which records copied from a previous snapshot are still
+     * present: all of them are unseen until marked with {@link #markSeen}.
+     */
+    public void startTrackingUnseen(Long snapshotId) throws IOException {
+        executeUpdates(snapshotId,
+                "DROP TABLE IF EXISTS unseen_record",
+                "CREATE TABLE unseen_record (identifier_hash TEXT PRIMARY KEY) WITHOUT ROWID",
+                "INSERT INTO unseen_record SELECT identifier_hash FROM record_validation");
+    }
+
+    /**
+     * Marks records as present in the snapshot being validated.
+     */
+    public void markSeen(Long snapshotId, Collection<String> identifierHashes) throws IOException {
+        executeBatchByIdentifier(snapshotId, "DELETE FROM unseen_record WHERE identifier_hash = ?", identifierHashes);
+    }
+
+    /**
+     * Deletes the records, and their occurrences, that were not marked as seen
+     * (deleted or no longer harvested) and stops tracking.
+     * 
+     * @return the number of records deleted
+     */
+    public int deleteUnseen(Long snapshotId) throws IOException {
+        DataSource ds = dbManager.getDataSource(snapshotId);
+        if (ds == null) {
+            throw new IOException("Snapshot " + snapshotId + " not initialized");
+        }
+
+        try (Connection conn = ds.getConnection();
+                Statement stmt = conn.createStatement()) {
+            conn.setAutoCommit(false);
+            try {
+                stmt.executeUpdate(
+                        "DELETE FROM rule_occurrences WHERE identifier_hash IN (SELECT identifier_hash FROM unseen_record)");
+                int deleted = stmt.executeUpdate(
+                        "DELETE FROM record_validation WHERE identifier_hash IN (SELECT identifier_hash FROM unseen_record)");
+                stmt.executeUpdate("DROP TABLE unseen_record");
+                conn.commit();
+                return deleted;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to delete unseen records: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Opens a lookup of records by identifier hash that keeps its connection
+     * open, for one query per harvested record.
+     */
+    public Lookup openLookup(Long snapshotId) throws IOException {
+        DataSource ds = dbManager.getDataSource(snapshotId);
+        if (ds == null) {
+            throw new IOException("Snapshot " + snapshotId + " not initialized");
+        }
+
+        try {
+            return new Lookup(ds.getConnection(), ruleIdsCache.getOrDefault(snapshotId, Collections.emptyList()));
+        } catch (SQLException e) {
+            throw new IOException("Failed to open record lookup: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lookup of records by identifier hash, to be used by a single thread.
+     */
+    public class Lookup implements AutoCloseable {
+        private final Connection conn;
+        private final PreparedStatement stmt;
+        private final List<Long> ruleIds;
+
+        private Lookup(Connection conn, List<Long> ruleIds) throws SQLException {
+            this.conn = conn;
+            this.ruleIds = ruleIds;
+            try {
+                this.stmt = conn.prepareStatement("SELECT * FROM record_validation WHERE identifier_hash = ?");
+            } catch (SQLException e) {
+                conn.close();
+                throw e;
+            }
+        }
+
+        /**
+         * @return the record, or null if there is none with that identifier hash
+         */
+        public ValidationRecord find(String identifierHash) throws IOException {
+            try {
+                stmt.setString(1, identifierHash);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? mapRowToRecord(rs, ruleIds) : null;
+                }
+            } catch (SQLException e) {
+                throw new IOException("Failed to find record: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() {
+            closeResources(null, stmt, conn);
+        }
+    }
+
+    private void executeUpdates(Long snapshotId, String... sqls) throws IOException {
+        DataSource ds = dbManager.getDataSource(snapshotId);
+        if (ds == null) {
+            throw new IOException("Snapshot " + snapshotId + " not initialized");
+        }
+
+        try (Connection conn = ds.getConnection();
+                Statement stmt = conn.createStatement()) {
+            for (String sql : sqls) {
+                stmt.executeUpdate(sql);
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to update validation records: " + e.getMessage(), e);
+        }
+    }
+
+    private void executeBatchByIdentifier(Long snapshotId, String sql, Collection<String> identifierHashes)
+            throws IOException {
+        if (identifierHashes == null || identifierHashes.isEmpty()) {
+            return;
+        }
+
+        DataSource ds = dbManager.getDataSource(snapshotId);
+        if (ds == null) {
+            throw new IOException("Snapshot " + snapshotId + " not initialized");
+        }
+
+        try (Connection conn = ds.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (String identifierHash : identifierHashes) {
+                    stmt.setString(1, identifierHash);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            throw new IOException("Failed to update validation records: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Clears cached data for a snapshot.
      */
@@ -41,6 +41,7 @@ import java.util.*;
  * - insertBatch(): Batch insert occurrences
  * - countByRule(): Aggregate occurrence counts by value
  * - getOccurrencesByRecord(): Get all occurrences for a record
+ * - deleteByRecords(): Delete the occurrences of records being revalidated
  */
 @Repository
 public class RuleOccurrenceRepository {
@@ -110,6 +111,46 @@ public class RuleOccurrenceRepository {
         }
     }
 
+    /**
+     * Deletes all occurrences of the given records.
+     * Used before revalidating records copied from a previous snapshot.
+     * 
+     * @param snapshotId       Snapshot ID
+     * @param identifierHashes Record identifier hashes
+     * @throws IOException if delete fails
+     */
+    public void deleteByRecords(Long snapshotId, Collection<String> identifierHashes) throws IOException {
+        if (identifierHashes == null || identifierHashes.isEmpty()) {
+            return;
+        }
+
+        DataSource ds = dbManager.getDataSource(snapshotId);
+        if (ds == null) {
+            throw new IOException("Snapshot " + snapshotId + " not initialized");
+        }
+
+        try (Connection conn = ds.getConnection()) {
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn
+                    .prepareStatement("DELETE FROM rule_occurrences WHERE identifier_hash = ?")) {
+                for (String identifierHash : identifierHashes) {
+                    stmt.setString(1, identifierHash);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+        } catch (SQLException e) {
+            throw new IOException("Failed to delete occurrences: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Counts occurrences by value for a specific rule.
      * Used for occurrence drill-down reports.
@@ -51,6 +51,10 @@ public class SnapshotValidationStats {
     // Facets map: facetName -> Map<value, counter>
     private Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
 
+    // Rule evaluation profiles: ruleID -> timing and hit counters
+    private Map<Long, RuleProfile> validatorRuleProfiles = new LinkedHashMap<>();
+    private Map<Long, RuleProfile> transformerRuleProfiles = new LinkedHashMap<>();
+
     /**
      * Constructor with metadata reference
      */
@@ -82,6 +86,28 @@ public class SnapshotValidationStats {
         }
     }
 
+    /**
+     * Inner class for rule evaluation profiles. Hits are valid results for
+     * validator rules and changed records for transformer rules.
+     */
+    @Data
+    public static class RuleProfile {
+        private String ruleClass;
+        private Long invocations = 0L;
+        private Long hits = 0L;
+        private Double hitRate = 0.0;
+        // Records on which a transformer rule was not applied because its fields were absent
+        private Long skipped = 0L;
+        private Long totalMillis = 0L;
+        private Long meanMicros = 0L;
+        private Long p50Micros = 0L;
+        private Long p99Micros = 0L;
+        private Long maxMicros = 0L;
+        // Memoized field content results, null for rules that do not memoize
+        private Long contentCacheHits;
+        private Long contentCacheMisses;
+    }
+
     // Record count increment methods
     public void incrementTotalRecords() {
         this.totalRecords++;
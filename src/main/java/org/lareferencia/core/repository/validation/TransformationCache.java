@@ -0,0 +1,284 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.repository.validation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.util.PathUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persistent cache of transformation results, one SQLite database per network.
+ *
+ * Maps (original_metadata_hash, transformer fingerprint) to the hash of the
+ * published metadata and whether the transformers changed the record, so that
+ * validation of a later snapshot can skip transforming content already seen.
+ *
+ * INVALIDATION:
+ * - The fingerprint is derived from the Transformer/TransformerRule entities
+ *   and the network properties the rules read, so any change to them yields a
+ *   new fingerprint and the previous entries are no longer found
+ * - Opening a session with a new fingerprint deletes the entries of the
+ *   previous ones
+ *
+ * FILE STRUCTURE:
+ * {basePath}/{NETWORK}/transformation_cache.db
+ *
+ * THREAD SAFETY:
+ * - A session owns its connection and must be used by a single thread
+ */
+@Component
+public class TransformationCache {
+
+    private static final Logger logger = LogManager.getLogger(TransformationCache.class);
+
+    private static final String DB_FILENAME = "transformation_cache.db";
+
+    private static final String CREATE_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS transformation_cache (
+                original_metadata_hash TEXT NOT NULL,
+                fingerprint TEXT NOT NULL,
+                published_metadata_hash TEXT NOT NULL,
+                transformed INTEGER NOT NULL,
+                PRIMARY KEY (original_metadata_hash, fingerprint)
+            ) WITHOUT ROWID""";
+
+    private static final String DELETE_STALE_SQL = "DELETE FROM transformation_cache WHERE fingerprint <> ?";
+    private static final String SELECT_SQL = "SELECT published_metadata_hash, transformed FROM transformation_cache WHERE original_metadata_hash = ? AND fingerprint = ?";
+    private static final String UPSERT_SQL = "INSERT OR REPLACE INTO transformation_cache (original_metadata_hash, fingerprint, published_metadata_hash, transformed) VALUES (?, ?, ?, ?)";
+
+    @Value("${store.basepath:/tmp/data/}")
+    private String basePath;
+
+    @Value("${validation.transformation-cache.batch-size:1000}")
+    private int batchSize = 1000;
+
+    /**
+     * Opens the cache of a network for a transformer fingerprint. Entries stored
+     * with other fingerprints are deleted.
+     *
+     * @param snapshotMetadata snapshot being validated, identifies the network
+     * @param fingerprint      fingerprint of the transformers applied
+     * @return the session, to be closed when validation ends
+     * @throws IOException if the database cannot be opened
+     */
+    public Session open(SnapshotMetadata snapshotMetadata, String fingerprint) throws IOException {
+        Path networkDir = Paths.get(PathUtils.getNetworkPath(basePath, snapshotMetadata));
+        Files.createDirectories(networkDir);
+        Path dbPath = networkDir.resolve(DB_FILENAME);
+
+        Connection conn = null;
+        try {
+            conn = DriverManager.getConnection("jdbc:sqlite:" + dbPath.toAbsolutePath());
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA journal_mode=WAL");
+                stmt.execute("PRAGMA synchronous=NORMAL");
+                stmt.execute(CREATE_TABLE_SQL);
+            }
+
+            try (PreparedStatement stmt = conn.prepareStatement(DELETE_STALE_SQL)) {
+                stmt.setString(1, fingerprint);
+                int deleted = stmt.executeUpdate();
+                if (deleted > 0)
+                    logger.info("TRANSFORMATION CACHE: Transformers changed, {} entries invalidated at {}", deleted, dbPath);
+            }
+
+            conn.setAutoCommit(false);
+            logger.debug("TRANSFORMATION CACHE: Opened {} (fingerprint {})", dbPath, fingerprint);
+            return new Session(conn, fingerprint, batchSize);
+
+        } catch (SQLException e) {
+            closeQuietly(conn);
+            throw new IOException("Failed to open transformation cache at " + dbPath, e);
+        }
+    }
+
+    /**
+     * Deletes the cache of a network.
+     *
+     * @param snapshotMetadata any snapshot of the network
+     * @throws IOException if deletion fails
+     */
+    public void deleteCache(SnapshotMetadata snapshotMetadata) throws IOException {
+        Path networkDir = Paths.get(PathUtils.getNetworkPath(basePath, snapshotMetadata));
+        for (String suffix : new String[] { "", "-wal", "-shm" })
+            Files.deleteIfExists(networkDir.resolve(DB_FILENAME + suffix));
+        logger.info("TRANSFORMATION CACHE: Deleted cache at {}", networkDir);
+    }
+
+    private static void closeQuietly(Connection conn) {
+        if (conn == null)
+            return;
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            logger.warn("TRANSFORMATION CACHE: Error closing connection", e);
+        }
+    }
+
+    /**
+     * Result of transforming a given original metadata.
+     */
+    public static final class Entry {
+
+        private final String publishedMetadataHash;
+        private final boolean transformed;
+
+        Entry(String publishedMetadataHash, boolean transformed) {
+            this.publishedMetadataHash = publishedMetadataHash;
+            this.transformed = transformed;
+        }
+
+        public String getPublishedMetadataHash() {
+            return publishedMetadataHash;
+        }
+
+        public boolean isTransformed() {
+            return transformed;
+        }
+    }
+
+    /**
+     * Open cache of a network for one fingerprint. Writes are committed in
+     * batches and when the session is closed.
+     */
+    public static final class Session implements AutoCloseable {
+
+        private final Connection conn;
+        private final String fingerprint;
+        private final int batchSize;
+        private final PreparedStatement select;
+        private final PreparedStatement upsert;
+
+        private int pending = 0;
+        private long hits = 0;
+        private long misses = 0;
+
+        Session(Connection conn, String fingerprint, int batchSize) throws SQLException {
+            this.conn = conn;
+            this.fingerprint = fingerprint;
+            this.batchSize = Math.max(1, batchSize);
+            this.select = conn.prepareStatement(SELECT_SQL);
+            this.upsert = conn.prepareStatement(UPSERT_SQL);
+        }
+
+        /**
+         * Looks up the result of transforming an original metadata.
+         *
+         * @param originalMetadataHash hash of the original metadata
+         * @return the cached result, or null if unknown
+         * @throws SQLException if the query fails
+         */
+        public Entry get(String originalMetadataHash) throws SQLException {
+            if (originalMetadataHash == null) {
+                misses++;
+                return null;
+            }
+
+            select.setString(1, originalMetadataHash);
+            select.setString(2, fingerprint);
+            try (ResultSet rs = select.executeQuery()) {
+                if (rs.next()) {
+                    hits++;
+                    return new Entry(rs.getString(1), rs.getInt(2) != 0);
+                }
+            }
+            misses++;
+            return null;
+        }
+
+        /**
+         * Stores the result of transforming an original metadata.
+         *
+         * @param originalMetadataHash  hash of the original metadata
+         * @param publishedMetadataHash hash of the metadata after the transformers
+         * @param transformed           whether the transformers changed the metadata
+         * @throws SQLException if the write fails
+         */
+        public void put(String originalMetadataHash, String publishedMetadataHash, boolean transformed)
+                throws SQLException {
+            if (originalMetadataHash == null || publishedMetadataHash == null)
+                return;
+
+            upsert.setString(1, originalMetadataHash);
+            upsert.setString(2, fingerprint);
+            upsert.setString(3, publishedMetadataHash);
+            upsert.setInt(4, transformed ? 1 : 0);
+            upsert.addBatch();
+
+            if (++pending >= batchSize)
+                flush();
+        }
+
+        /**
+         * Writes the pending entries.
+         *
+         * @throws SQLException if the write fails
+         */
+        public void flush() throws SQLException {
+            if (pending == 0)
+                return;
+            upsert.executeBatch();
+            conn.commit();
+            pending = 0;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                flush();
+            } finally {
+                try {
+                    select.close();
+                    upsert.close();
+                } finally {
+                    conn.close();
+                }
+            }
+        }
+    }
+}
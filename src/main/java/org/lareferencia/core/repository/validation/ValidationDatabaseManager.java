@@ -34,7 +34,10 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.List;
@@ -46,6 +49,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * 
  * RESPONSIBILITIES:
  * - Create validation.db with dynamic schema based on validator rules
+ * - Copy validation.db of a previous snapshot (incremental validation)
  * - Manage DataSource connections per snapshot
  * - Handle database cleanup and deletion
  * 
@@ -113,6 +117,119 @@ public class ValidationDatabaseManager {
                 ruleIds.size());
     }
 
+    /**
+     * Initializes the validation database of a snapshot as a copy of the one
+     * of a previous snapshot, so only changed records have to be validated.
+     * 
+     * @param snapshotMetadata Snapshot metadata
+     * @param previousMetadata Metadata of the previous snapshot
+     * @param ruleIds          List of rule IDs to create columns for
+     * @return true if the database was copied, false if the previous snapshot has none
+     * @throws IOException if the copy fails
+     */
+    public boolean initializeSnapshotFromPrevious(SnapshotMetadata snapshotMetadata, SnapshotMetadata previousMetadata,
+            List<Long> ruleIds) throws IOException {
+        Long snapshotId = snapshotMetadata.getSnapshotId();
+
+        Path previousDbPath = Paths.get(PathUtils.getSnapshotPath(basePath, previousMetadata), VALIDATION_SUBDIR,
+                DB_FILENAME);
+        if (!Files.exists(previousDbPath)) {
+            logger.info("VALIDATION DB: Previous snapshot {} has no validation database",
+                    previousMetadata.getSnapshotId());
+            return false;
+        }
+
+        // Release the previous database and start from a clean copy
+        closeDataSource(previousMetadata.getSnapshotId());
+        deleteDatabase(snapshotMetadata);
+
+        Path validationDir = Paths.get(PathUtils.getSnapshotPath(basePath, snapshotMetadata), VALIDATION_SUBDIR);
+        Files.createDirectories(validationDir);
+        Path dbPath = validationDir.resolve(DB_FILENAME);
+
+        logger.info("VALIDATION DB: Copying validation database from snapshot {} to {}",
+                previousMetadata.getSnapshotId(), snapshotId);
+        Files.copy(previousDbPath, dbPath, StandardCopyOption.REPLACE_EXISTING);
+
+        // Uncheckpointed changes of the previous database, if any
+        Path previousWalPath = previousDbPath.resolveSibling(DB_FILENAME + "-wal");
+        if (Files.exists(previousWalPath)) {
+            Files.copy(previousWalPath, validationDir.resolve(DB_FILENAME + "-wal"), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        // Create SQLite DataSource with WAL mode
+        org.sqlite.SQLiteConfig config = new org.sqlite.SQLiteConfig();
+        config.setJournalMode(org.sqlite.SQLiteConfig.JournalMode.WAL);
+        config.setSynchronous(org.sqlite.SQLiteConfig.SynchronousMode.NORMAL);
+
+        SQLiteDataSource ds = new SQLiteDataSource(config);
+        ds.setUrl("jdbc:sqlite:" + dbPath.toAbsolutePath());
+
+        // Tables of databases created by older versions
+        createTables(ds, ruleIds);
+
+        dataSources.put(snapshotId, ds);
+
+        logger.info("VALIDATION DB: Initialized database for snapshot {} from snapshot {} ({} bytes)", snapshotId,
+                previousMetadata.getSnapshotId(), Files.size(dbPath));
+        return true;
+    }
+
+    /**
+     * Reads a value of the validation_info table.
+     * 
+     * @param snapshotId Snapshot ID
+     * @param key        Key of the value
+     * @return the value, or null if not set
+     * @throws IOException if the query fails
+     */
+    public String getInfo(Long snapshotId, String key) throws IOException {
+        DataSource ds = getActiveDataSource(snapshotId);
+
+        try (Connection conn = ds.getConnection();
+                PreparedStatement stmt = conn.prepareStatement("SELECT value FROM validation_info WHERE key = ?")) {
+            stmt.setString(1, key);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to read validation info: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes a value of the validation_info table.
+     * 
+     * @param snapshotId Snapshot ID
+     * @param key        Key of the value
+     * @param value      The value, null to remove it
+     * @throws IOException if the write fails
+     */
+    public void setInfo(Long snapshotId, String key, String value) throws IOException {
+        DataSource ds = getActiveDataSource(snapshotId);
+        String sql = value != null ? "INSERT OR REPLACE INTO validation_info (key, value) VALUES (?, ?)"
+                : "DELETE FROM validation_info WHERE key = ?";
+
+        try (Connection conn = ds.getConnection();
+                PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, key);
+            if (value != null) {
+                stmt.setString(2, value);
+            }
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("Failed to write validation info: " + e.getMessage(), e);
+        }
+    }
+
+    private DataSource getActiveDataSource(Long snapshotId) throws IOException {
+        DataSource ds = dataSources.get(snapshotId);
+        if (ds == null) {
+            throw new IOException("Snapshot " + snapshotId + " not initialized");
+        }
+        return ds;
+    }
+
     /**
      * Opens an existing validation database for reading.
      * 
@@ -145,6 +262,17 @@ public class ValidationDatabaseManager {
         logger.debug("VALIDATION DB: Opened database for reading - snapshot {} (WAL mode)", snapshotId);
     }
 
+    /**
+     * Checks if the validation database of a snapshot exists.
+     * 
+     * @param snapshotMetadata Snapshot metadata
+     * @return true if the snapshot has been validated and its database not deleted
+     */
+    public boolean exists(SnapshotMetadata snapshotMetadata) {
+        String snapshotPath = PathUtils.getSnapshotPath(basePath, snapshotMetadata);
+        return Files.exists(Paths.get(snapshotPath, VALIDATION_SUBDIR, DB_FILENAME));
+    }
+
     /**
      * Returns the DataSource for a snapshot.
      * 
@@ -193,6 +321,10 @@ public class ValidationDatabaseManager {
             Files.delete(dbPath);
             logger.info("VALIDATION DB: Deleted database for snapshot {}", snapshotId);
         }
+
+        // Also delete WAL files, a stale one would be applied to a new database
+        Files.deleteIfExists(dbPath.resolveSibling(DB_FILENAME + "-wal"));
+        Files.deleteIfExists(dbPath.resolveSibling(DB_FILENAME + "-shm"));
     }
 
     /**
@@ -212,7 +344,8 @@ public class ValidationDatabaseManager {
                     datestamp TEXT,
                     is_valid BOOLEAN NOT NULL,
                     is_transformed BOOLEAN NOT NULL,
-                    published_metadata_hash TEXT%s
+                    published_metadata_hash TEXT,
+                    original_metadata_hash TEXT%s
                 )
                 """.formatted(ruleColumns.toString());
 
@@ -227,6 +360,8 @@ public class ValidationDatabaseManager {
                 )
                 """;
 
+        String createValidationInfoSQL = "CREATE TABLE IF NOT EXISTS validation_info (key TEXT PRIMARY KEY, value TEXT)";
+
         String createIndexIdentifierSQL = "CREATE INDEX IF NOT EXISTS idx_rv_identifier ON record_validation(identifier)";
         String createIndexValidSQL = "CREATE INDEX IF NOT EXISTS idx_rv_valid ON record_validation(is_valid)";
         String createIndexTransformedSQL = "CREATE INDEX IF NOT EXISTS idx_rv_transformed ON record_validation(is_transformed)";
@@ -238,6 +373,7 @@ public class ValidationDatabaseManager {
 
             stmt.execute(createRecordValidationSQL);
             stmt.execute(createRuleOccurrencesSQL);
+            stmt.execute(createValidationInfoSQL);
             stmt.execute(createIndexIdentifierSQL);
             stmt.execute(createIndexValidSQL);
             stmt.execute(createIndexTransformedSQL);
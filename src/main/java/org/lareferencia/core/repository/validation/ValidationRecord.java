@@ -37,6 +37,7 @@ import java.util.Map;
  * - isValid: Global validation result
  * - isTransformed: Whether record was transformed
  * - publishedMetadataHash: Hash of XML to index
+ * - originalMetadataHash: Hash of the harvested XML that was validated
  * - ruleResults: Map of ruleId -> validity (dynamic columns)
  */
 @Data
@@ -49,6 +50,7 @@ public class ValidationRecord {
     private boolean valid;
     private boolean transformed;
     private String publishedMetadataHash;
+    private String originalMetadataHash;
 
     // Rule results: ruleId -> isValid
     private Map<Long, Boolean> ruleResults = new HashMap<>();
@@ -67,6 +67,7 @@ public class ValidationRecordPaginator implements IPaginator<ValidationRecord> {
     private final ValidationDatabaseManager dbManager;
 
     private int pageSize = 1000;
+    private int startingPage = 1;
     private int currentPage = 0;
     private int totalPages = 0;
     private long totalCount = 0;
@@ -115,7 +116,17 @@ public class ValidationRecordPaginator implements IPaginator<ValidationRecord> {
 
     @Override
     public int getStartingPage() {
-        return 1; // Pages are 1-indexed for BaseBatchWorker
+        return startingPage; // Pages are 1-indexed for BaseBatchWorker
+    }
+
+    /**
+     * Starts the pagination at a later page, to resume an interrupted run.
+     * 
+     * @param page the first page to read, 1-indexed
+     */
+    public void setStartingPage(int page) {
+        this.startingPage = Math.max(page, 1);
+        this.currentPage = startingPage - 1;
     }
 
     @Override
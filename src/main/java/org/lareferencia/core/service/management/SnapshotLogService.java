@@ -42,6 +42,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Stream;
 
 /**
@@ -77,6 +78,9 @@ public class SnapshotLogService {
 	
 	// Cache de metadata para evitar consultar constantemente el SnapshotStore
 	private final Map<Long, SnapshotMetadata> metadataCache = new ConcurrentHashMap<>();
+	
+	// lock en lugar de synchronized: escribe en disco y no debe fijar el carrier de un virtual thread
+	private final ReentrantLock writeLock = new ReentrantLock();
 
 	private static Logger logger = LogManager.getLogger(SnapshotLogService.class);
 
@@ -165,11 +169,12 @@ public class SnapshotLogService {
 	 * @param snapshotId the ID of the snapshot
 	 * @param message the log message to add
 	 */
-	public synchronized void addEntry(Long snapshotId, String message) {
+	public void addEntry(Long snapshotId, String message) {
 		if (snapshotId == null || message == null) {
 			return;
 		}
 		
+		writeLock.lock();
 		try {
 			Path logFile = getLogFilePath(snapshotId);
 			
@@ -192,6 +197,8 @@ public class SnapshotLogService {
 			logger.error("Error writing log for snapshot {}: {}", snapshotId, e.getMessage(), e);
 		} catch (IllegalArgumentException | IllegalStateException e) {
 			logger.error("Error getting log path for snapshot {}: {}", snapshotId, e.getMessage());
+		} finally {
+			writeLock.unlock();
 		}
 	}
 	
@@ -200,11 +207,12 @@ public class SnapshotLogService {
 	 *
 	 * @param snapshotId the ID of the snapshot whose logs should be deleted
 	 */
-	public synchronized void deleteSnapshotLog(Long snapshotId) {
+	public void deleteSnapshotLog(Long snapshotId) {
 		if (snapshotId == null) {
 			return;
 		}
 		
+		writeLock.lock();
 		try {
 			Path logFile = getLogFilePath(snapshotId);
 			
@@ -216,6 +224,8 @@ public class SnapshotLogService {
 			logger.error("Error deleting log for snapshot {}: {}", snapshotId, e.getMessage(), e);
 		} catch (IllegalArgumentException | IllegalStateException e) {
 			logger.error("Error getting log path for snapshot {}: {}", snapshotId, e.getMessage());
+		} finally {
+			writeLock.unlock();
 		}
 	}
 
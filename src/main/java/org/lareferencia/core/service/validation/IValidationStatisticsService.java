@@ -4,11 +4,13 @@ import org.lareferencia.core.domain.IOAIRecord;
 import org.lareferencia.core.domain.NetworkSnapshot;
 import org.lareferencia.core.repository.validation.RecordValidation;
 import org.lareferencia.core.repository.validation.SnapshotValidationStats;
+import org.lareferencia.core.repository.validation.ValidationRecord;
 import org.lareferencia.core.metadata.SnapshotMetadata;
 import org.lareferencia.core.worker.validation.ValidatorResult;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Main interface for validation statistics services
@@ -73,6 +75,47 @@ public interface IValidationStatisticsService {
      */
     void initializeValidationForSnapshot(SnapshotMetadata metadata);
 
+    /**
+     * Sets the fingerprint of the validator and transformers of the running
+     * validation. It is stored with the results so a later snapshot can reuse
+     * them only if validated with the same definitions
+     * 
+     * @param fingerprint Fingerprint of the validation definitions, null if unknown
+     */
+    void setValidationFingerprint(String fingerprint);
+
+    /**
+     * Initialize a validation that reuses the results of a previous snapshot,
+     * so only new and changed records need to be validated. Records of the
+     * previous snapshot not observed in this validation are removed when it is
+     * finalized
+     * 
+     * @param metadata           Snapshot metadata
+     * @param previousSnapshotId Snapshot whose results are reused
+     * @return true if initialized, false if the previous results cannot be
+     *         reused (then {@link #initializeValidationForSnapshot} must be
+     *         called)
+     */
+    boolean initializeIncrementalValidationForSnapshot(SnapshotMetadata metadata, Long previousSnapshotId);
+
+    /**
+     * Finds the result of the previous snapshot for a record whose original
+     * metadata did not change
+     * 
+     * @param record The record
+     * @return the previous result, or null if the record must be validated
+     */
+    ValidationRecord findReusableObservation(IOAIRecord record);
+
+    /**
+     * Keeps the previous result of a record in the running validation
+     * 
+     * @param snapshotMetadata Snapshot metadata
+     * @param record           The record
+     * @param previous         Result returned by {@link #findReusableObservation}
+     */
+    void retainObservation(SnapshotMetadata snapshotMetadata, IOAIRecord record, ValidationRecord previous);
+
     /**
      * Check if the service is available and working
      * 
@@ -95,7 +138,48 @@ public interface IValidationStatisticsService {
     RecordValidation getRecordValidationListBySnapshotAndIdentifier(Long snapshotID, String identifier)
             throws ValidationStatisticsException;
 
+    /**
+     * Sets the rule evaluation profiles of the running validation, stored with
+     * the snapshot statistics when the validation is finalized
+     * 
+     * @param validatorProfiles   Profiles of validator rules by rule ID
+     * @param transformerProfiles Profiles of transformer rules by rule ID
+     */
+    void setRuleProfiles(Map<Long, SnapshotValidationStats.RuleProfile> validatorProfiles,
+            Map<Long, SnapshotValidationStats.RuleProfile> transformerProfiles);
+
     void finalizeValidationForSnapshot(Long snapshotId);
 
+    /**
+     * Persists the buffered observations of the running validation and returns
+     * its partial statistics, to be saved with a checkpoint of the worker
+     * 
+     * @param snapshotId Snapshot ID
+     * @return the serialized statistics
+     */
+    String checkpointValidationForSnapshot(Long snapshotId);
+
+    /**
+     * Continues an interrupted validation of a snapshot. The stored results are
+     * kept, the statistics are restored from the state returned by
+     * {@link #checkpointValidationForSnapshot} and records validated again
+     * replace their previous results
+     * 
+     * @param metadata Snapshot metadata
+     * @param state    Statistics saved with the checkpoint
+     * @return true if resumed, false if it cannot be resumed (then
+     *         {@link #initializeValidationForSnapshot} must be called)
+     */
+    boolean resumeValidationForSnapshot(SnapshotMetadata metadata, String state);
+
+    /**
+     * Releases an interrupted validation without finalizing it, so it can be
+     * resumed from its last checkpoint. Observations buffered after the
+     * checkpoint are discarded
+     * 
+     * @param snapshotId Snapshot ID
+     */
+    void suspendValidationForSnapshot(Long snapshotId);
+
     SnapshotValidationStats getSnapshotValidationStats(Long snapshotID) throws ValidationStatisticsException;
 }
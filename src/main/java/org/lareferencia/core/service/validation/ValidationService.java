@@ -28,6 +28,8 @@ import org.lareferencia.core.domain.Transformer;
 import org.lareferencia.core.domain.TransformerRule;
 import org.lareferencia.core.domain.Validator;
 import org.lareferencia.core.domain.ValidatorRule;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.util.hashing.IHashingHelper;
 import org.lareferencia.core.worker.validation.TransformerImpl;
 import org.lareferencia.core.worker.validation.ValidatorImpl;
 import org.lareferencia.core.worker.validation.ITransformer;
@@ -39,7 +41,10 @@ import org.lareferencia.core.worker.validation.ValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.TreeMap;
 
 /**
  * Service that manages the creation and serialization of validators and transformers.
@@ -76,6 +81,9 @@ public class ValidationService {
 
 	@Autowired
 	private RuleSerializer serializer;
+
+	@Autowired
+	private IHashingHelper hashing;
 	
 	
 	private Ordering<TransformerRule> ruleByOrderOrdering = new Ordering<TransformerRule>() {
@@ -172,6 +180,85 @@ public class ValidationService {
 		return transformer;
 	}
 
+	/**
+	 * Computes the fingerprint of the transformation applied to the records of a
+	 * network.
+	 * <p>
+	 * It covers the rules of both transformers, in run order, with their ids and
+	 * JSON serializations, and the network properties the rules may read, so it
+	 * changes whenever any Transformer or TransformerRule is edited.
+	 * </p>
+	 * 
+	 * @param primary the primary transformer model, may be null
+	 * @param secondary the secondary transformer model, may be null
+	 * @param network the network of the snapshot being transformed
+	 * @return the fingerprint
+	 */
+	public String transformerFingerprint(Transformer primary, Transformer secondary, SnapshotMetadata.NetworkInfo network) {
+
+		StringBuilder sb = new StringBuilder();
+		appendFingerprint(sb, "primary", primary);
+		appendFingerprint(sb, "secondary", secondary);
+
+		if (network != null) {
+			sb.append("network:").append(network.getAcronym()).append('|').append(network.getName()).append('|')
+					.append(network.getInstitutionName()).append('|').append(network.getInstitutionAcronym()).append('|');
+			if (network.getAttributes() != null)
+				sb.append(new TreeMap<String, Object>(network.getAttributes()));
+		}
+
+		return hashing.calculateHash(sb.toString());
+	}
+
+	/**
+	 * Computes the fingerprint of the validation applied to the records of a
+	 * network.
+	 * <p>
+	 * It covers the validator rules, with their ids, mandatory and quantifier
+	 * settings and JSON serializations, and the transformation fingerprint, so
+	 * results of a snapshot are only reused for another one validated with the
+	 * same definitions.
+	 * </p>
+	 * 
+	 * @param validator the validator model, may be null
+	 * @param primary the primary transformer model, may be null
+	 * @param secondary the secondary transformer model, may be null
+	 * @param network the network of the snapshot being validated
+	 * @return the fingerprint
+	 * @see #transformerFingerprint(Transformer, Transformer, SnapshotMetadata.NetworkInfo)
+	 */
+	public String validationFingerprint(Validator validator, Transformer primary, Transformer secondary,
+			SnapshotMetadata.NetworkInfo network) {
+
+		StringBuilder sb = new StringBuilder("validator:");
+		if (validator == null) {
+			sb.append("none\n");
+		} else {
+			sb.append(validator.getId()).append('\n');
+			List<ValidatorRule> rules = new ArrayList<ValidatorRule>(validator.getRules());
+			rules.sort(Comparator.comparing(ValidatorRule::getId, Comparator.nullsFirst(Comparator.naturalOrder())));
+			for (ValidatorRule vrule : rules)
+				sb.append(vrule.getId()).append('|').append(vrule.getMandatory()).append('|')
+						.append(vrule.getQuantifier()).append('|').append(vrule.getJsonserialization()).append('\n');
+		}
+		sb.append(transformerFingerprint(primary, secondary, network));
+
+		return hashing.calculateHash(sb.toString());
+	}
+
+	private void appendFingerprint(StringBuilder sb, String role, Transformer tmodel) {
+		sb.append(role).append(':');
+		if (tmodel == null) {
+			sb.append("none\n");
+			return;
+		}
+
+		sb.append(tmodel.getId()).append('\n');
+		for (TransformerRule trule : ruleByOrderOrdering.sortedCopy(tmodel.getRules()))
+			sb.append(trule.getId()).append('|').append(trule.getRunorder()).append('|')
+					.append(trule.getJsonserialization()).append('\n');
+	}
+
 	/**
 	 * Creates a persistent validator model from a runtime validator instance.
 	 * <p>
@@ -27,6 +27,7 @@ import org.lareferencia.core.domain.IOAIRecord;
 import org.lareferencia.core.domain.NetworkSnapshot;
 import org.lareferencia.core.metadata.ISnapshotStore;
 import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.metrics.PipelineMetrics;
 
 import org.lareferencia.core.repository.validation.*;
 import org.lareferencia.core.util.PathUtils;
@@ -60,6 +61,16 @@ import java.util.stream.Collectors;
  * - Store validation observations as records
  * - Query validation statistics with filters
  * - Generate and persist statistics JSON
+ * - Reuse the results of a previous snapshot for unchanged records
+ * 
+ * INCREMENTAL VALIDATION:
+ * - validation.db of the previous snapshot is copied and records are looked
+ *   up by identifier hash; those with the same original metadata hash keep
+ *   their results, the rest are validated again and replace them
+ * - Results are reused only if the previous snapshot was validated with the
+ *   same validator, transformers and detailed diagnose setting (fingerprint
+ *   stored in validation_info when the validation is finalized)
+ * - Records not observed are removed when the validation is finalized
  */
 @Service("validationStatisticsSQLiteService")
 @Primary
@@ -70,6 +81,7 @@ public class ValidationStatisticsSQLiteService implements IValidationStatisticsS
 
     private static final String VALIDATION_SUBDIR = "validation";
     private static final String STATS_FILENAME = "validation-stats.json";
+    private static final String FINGERPRINT_INFO_KEY = "validation_fingerprint";
 
     @Value("${store.basepath:/tmp/data/}")
     private String basePath;
@@ -92,6 +104,16 @@ public class ValidationStatisticsSQLiteService implements IValidationStatisticsS
     private boolean detailedDiagnose = false;
     private SnapshotMetadata currentMetadata;
     private List<Long> currentRuleIds;
+    private String validationFingerprint;
+
+    // Incremental validation: previous results, null on full validation
+    private RecordValidationRepository.Lookup previousRecords;
+    private List<String> seenBuffer = new ArrayList<>();
+    private List<String> revalidatedBuffer = new ArrayList<>();
+    private long reusedRecords;
+
+    // Resumed validation: records validated again replace their stored results
+    private boolean replacingResults;
 
     // Batch buffer for records
     private List<ValidationRecord> recordBuffer = new ArrayList<>();
@@ -115,6 +137,19 @@ public class ValidationStatisticsSQLiteService implements IValidationStatisticsS
         return detailedDiagnose;
     }
 
+    @Override
+    public void setValidationFingerprint(String fingerprint) {
+        this.validationFingerprint = fingerprint;
+    }
+
+    /**
+     * Fingerprint stored with the results: occurrences are only stored with
+     * detailed diagnose, so it is part of it.
+     */
+    private String storedFingerprint() {
+        return validationFingerprint != null ? validationFingerprint + "|" + detailedDiagnose : null;
+    }
+
     // ========================================
     // LIFECYCLE
     // ========================================
@@ -131,6 +166,9 @@ public class ValidationStatisticsSQLiteService implements IValidationStatisticsS
                 .sorted()
                 .collect(Collectors.toList());
 
+        closePreviousRecords();
+        replacingResults = false;
+
         try {
             // Create database with dynamic schema
             dbManager.initializeSnapshot(snapshotMetadata, currentRuleIds);
@@ -156,6 +194,115 @@ public class ValidationStatisticsSQLiteService implements IValidationStatisticsS
         }
     }
 
+    @Override
+    public boolean initializeIncrementalValidationForSnapshot(SnapshotMetadata snapshotMetadata,
+            Long previousSnapshotId) {
+        Long snapshotId = snapshotMetadata.getSnapshotId();
+
+        if (validationFingerprint == null || previousSnapshotId == null) {
+            return false;
+        }
+
+        SnapshotMetadata previousMetadata = snapshotStore.getSnapshotMetadata(previousSnapshotId);
+        if (previousMetadata == null) {
+            logger.warn("SQLITE: Previous snapshot {} not found, validating all records", previousSnapshotId);
+            return false;
+        }
+
+        logger.info("SQLITE: Initializing incremental validation for snapshot {} from snapshot {}",
+                snapshotId, previousSnapshotId);
+
+        closePreviousRecords();
+
+        List<Long> ruleIds = snapshotMetadata.getRuleDefinitions().keySet()
+                .stream()
+                .sorted()
+                .collect(Collectors.toList());
+
+        try {
+            if (!dbManager.initializeSnapshotFromPrevious(snapshotMetadata, previousMetadata, ruleIds)) {
+                return false;
+            }
+
+            if (!storedFingerprint().equals(dbManager.getInfo(snapshotId, FINGERPRINT_INFO_KEY))) {
+                logger.info("SQLITE: Snapshot {} was validated with other rules, validating all records",
+                        previousSnapshotId);
+                dbManager.deleteDatabase(snapshotMetadata);
+                return false;
+            }
+
+            // Not reusable by later snapshots until this validation is finalized
+            dbManager.setInfo(snapshotId, FINGERPRINT_INFO_KEY, null);
+
+            recordRepository.registerRuleIds(snapshotId, ruleIds);
+            recordRepository.startTrackingUnseen(snapshotId);
+            previousRecords = recordRepository.openLookup(snapshotId);
+
+            this.currentMetadata = snapshotMetadata;
+            this.currentRuleIds = ruleIds;
+            currentStats = new SnapshotValidationStats(snapshotMetadata);
+            reusedRecords = 0;
+            replacingResults = false;
+
+            recordBuffer.clear();
+            occurrenceBuffer.clear();
+            seenBuffer.clear();
+            revalidatedBuffer.clear();
+
+            return true;
+
+        } catch (IOException e) {
+            logger.warn("SQLITE: Cannot reuse validation of snapshot {}, validating all records: {}",
+                    previousSnapshotId, e.getMessage());
+            closePreviousRecords();
+            try {
+                dbManager.deleteDatabase(snapshotMetadata);
+            } catch (IOException ex) {
+                logger.error("SQLITE: Failed to delete database of snapshot {}: {}", snapshotId, ex.getMessage());
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public ValidationRecord findReusableObservation(IOAIRecord record) {
+        if (previousRecords == null || record.getOriginalMetadataHash() == null) {
+            return null;
+        }
+
+        try {
+            ValidationRecord previous = previousRecords.find(record.getId());
+            if (previous != null && record.getOriginalMetadataHash().equals(previous.getOriginalMetadataHash())) {
+                return previous;
+            }
+        } catch (IOException e) {
+            logger.warn("SQLITE: Failed to look up previous result of record {}: {}", record.getIdentifier(),
+                    e.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    public void retainObservation(SnapshotMetadata snapshotMetadata, IOAIRecord record, ValidationRecord previous) {
+        Long snapshotId = snapshotMetadata.getSnapshotId();
+        logger.debug("SQLITE: Retaining observation for record {} in snapshot {}",
+                record.getIdentifier(), snapshotId);
+
+        currentStats.updateFromRecord(previous);
+        seenBuffer.add(previous.getIdentifierHash());
+        reusedRecords++;
+
+        // Transformed records keep the datestamp of their transformation
+        if (!previous.isTransformed() && !Objects.equals(previous.getDatestamp(), record.getDatestamp())) {
+            previous.setDatestamp(record.getDatestamp());
+            recordBuffer.add(previous);
+        }
+
+        if (recordBuffer.size() >= BUFFER_SIZE || seenBuffer.size() >= BUFFER_SIZE) {
+            flushBuffers(snapshotId);
+        }
+    }
+
     @Override
     public void addObservation(SnapshotMetadata snapshotMetadata, IOAIRecord record, ValidatorResult validationResult) {
         Long snapshotId = snapshotMetadata.getSnapshotId();
@@ -171,6 +318,7 @@ public class ValidationStatisticsSQLiteService implements IValidationStatisticsS
         validationRecord.setValid(validationResult.isValid());
         validationRecord.setTransformed(validationResult.isTransformed());
         validationRecord.setPublishedMetadataHash(validationResult.getMetadataHash());
+        validationRecord.setOriginalMetadataHash(record.getOriginalMetadataHash());
 
         // Build rule results map
         Map<Long, Boolean> ruleResults = new HashMap<>();
@@ -216,6 +364,13 @@ public class ValidationStatisticsSQLiteService implements IValidationStatisticsS
 
         // Buffer the record
         recordBuffer.add(validationRecord);
+        if (previousRecords != null) {
+            seenBuffer.add(validationRecord.getIdentifierHash());
+            revalidatedBuffer.add(validationRecord.getIdentifierHash());
+        } else if (replacingResults && detailedDiagnose) {
+            // may have been stored after the checkpoint, with its occurrences
+            revalidatedBuffer.add(validationRecord.getIdentifierHash());
+        }
 
         // Flush if buffer full
         if (recordBuffer.size() >= BUFFER_SIZE) {
@@ -223,6 +378,17 @@ public class ValidationStatisticsSQLiteService implements IValidationStatisticsS
         }
     }
 
+    @Override
+    public void setRuleProfiles(Map<Long, SnapshotValidationStats.RuleProfile> validatorProfiles,
+            Map<Long, SnapshotValidationStats.RuleProfile> transformerProfiles) {
+        if (currentStats == null) {
+            logger.warn("SQLITE: Rule profiles received before validation was initialized, ignoring");
+            return;
+        }
+        currentStats.setValidatorRuleProfiles(validatorProfiles);
+        currentStats.setTransformerRuleProfiles(transformerProfiles);
+    }
+
     @Override
     public void finalizeValidationForSnapshot(Long snapshotId) {
         logger.info("SQLITE: Finalizing validation for snapshot {}", snapshotId);
@@ -231,6 +397,19 @@ public class ValidationStatisticsSQLiteService implements IValidationStatisticsS
             // Flush remaining records
             flushBuffers(snapshotId);
 
+            // Remove previous results of records no longer in the snapshot
+            if (previousRecords != null) {
+                closePreviousRecords();
+                int removed = recordRepository.deleteUnseen(snapshotId);
+                logger.info("SQLITE: Incremental validation of snapshot {} - {} records reused, {} removed",
+                        snapshotId, reusedRecords, removed);
+            }
+
+            // Results can be reused by later snapshots validated with the same rules
+            if (validationFingerprint != null) {
+                dbManager.setInfo(snapshotId, FINGERPRINT_INFO_KEY, storedFingerprint());
+            }
+
             // Write stats JSON
             writeStatsJson(snapshotId);
 
@@ -247,6 +426,75 @@ public class ValidationStatisticsSQLiteService implements IValidationStatisticsS
         }
     }
 
+    @Override
+    public String checkpointValidationForSnapshot(Long snapshotId) {
+        flushBuffers(snapshotId);
+
+        try {
+            return objectMapper.writeValueAsString(currentStats);
+        } catch (IOException e) {
+            logger.error("SQLITE: Failed to serialize stats of snapshot {}: {}", snapshotId, e.getMessage(), e);
+            throw new RuntimeException("Failed to checkpoint validation for snapshot " + snapshotId, e);
+        }
+    }
+
+    @Override
+    public boolean resumeValidationForSnapshot(SnapshotMetadata snapshotMetadata, String state) {
+        Long snapshotId = snapshotMetadata.getSnapshotId();
+
+        if (state == null) {
+            return false;
+        }
+
+        logger.info("SQLITE: Resuming validation for snapshot {}", snapshotId);
+
+        closePreviousRecords();
+
+        List<Long> ruleIds = snapshotMetadata.getRuleDefinitions().keySet()
+                .stream()
+                .sorted()
+                .collect(Collectors.toList());
+
+        try {
+            SnapshotValidationStats stats = objectMapper.readValue(state, SnapshotValidationStats.class);
+            stats.setSnapshotMetadata(snapshotMetadata);
+
+            // Results stored before the interruption are kept
+            dbManager.openSnapshotForRead(snapshotMetadata);
+            recordRepository.registerRuleIds(snapshotId, ruleIds);
+
+            this.currentMetadata = snapshotMetadata;
+            this.currentRuleIds = ruleIds;
+            currentStats = stats;
+            replacingResults = true;
+
+            recordBuffer.clear();
+            occurrenceBuffer.clear();
+
+            logger.info("SQLITE: Resumed validation for snapshot {} after {} records", snapshotId,
+                    currentStats.getTotalRecords());
+            return true;
+
+        } catch (IOException e) {
+            logger.warn("SQLITE: Cannot resume validation of snapshot {}, validating all records: {}", snapshotId,
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void suspendValidationForSnapshot(Long snapshotId) {
+        logger.info("SQLITE: Suspending validation for snapshot {}", snapshotId);
+
+        // Records after the checkpoint are validated again when resumed
+        closePreviousRecords();
+        recordBuffer.clear();
+        occurrenceBuffer.clear();
+
+        dbManager.closeDataSource(snapshotId);
+        recordRepository.clearCache(snapshotId);
+    }
+
     // ========================================
     // QUERIES
     // ========================================
@@ -465,7 +713,33 @@ public class ValidationStatisticsSQLiteService implements IValidationStatisticsS
         }
     }
 
+    private void closePreviousRecords() {
+        if (previousRecords != null) {
+            previousRecords.close();
+            previousRecords = null;
+        }
+        seenBuffer.clear();
+        revalidatedBuffer.clear();
+    }
+
     private void flushBuffers(Long snapshotId) {
+        if (revalidatedBuffer.isEmpty() && recordBuffer.isEmpty() && occurrenceBuffer.isEmpty()
+                && seenBuffer.isEmpty()) {
+            return;
+        }
+        long start = PipelineMetrics.start();
+
+        // Occurrences of the previous results of revalidated records
+        if (!revalidatedBuffer.isEmpty()) {
+            try {
+                occurrenceRepository.deleteByRecords(snapshotId, revalidatedBuffer);
+                revalidatedBuffer.clear();
+            } catch (IOException e) {
+                logger.error("SQLITE: Failed to delete previous occurrences: {}", e.getMessage(), e);
+                throw new RuntimeException("Failed to delete previous occurrences", e);
+            }
+        }
+
         if (!recordBuffer.isEmpty()) {
             try {
                 recordRepository.insertBatch(snapshotId, recordBuffer);
@@ -487,6 +761,19 @@ public class ValidationStatisticsSQLiteService implements IValidationStatisticsS
                 throw new RuntimeException("Failed to flush occurrences", e);
             }
         }
+
+        if (!seenBuffer.isEmpty()) {
+            try {
+                recordRepository.markSeen(snapshotId, seenBuffer);
+                seenBuffer.clear();
+            } catch (IOException e) {
+                logger.error("SQLITE: Failed to track records: {}", e.getMessage(), e);
+                throw new RuntimeException("Failed to track validation records", e);
+            }
+        }
+
+        PipelineMetrics.recordStage(PipelineMetrics.VALIDATION_STATS_WRITE, PipelineMetrics.tags(currentMetadata),
+                start);
     }
 
     private void writeStatsJson(Long snapshotId) throws IOException {
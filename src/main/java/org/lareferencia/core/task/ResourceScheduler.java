@@ -0,0 +1,207 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.task;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.lareferencia.core.worker.ResourceProfile;
+
+import lombok.Getter;
+
+/**
+ * Concurrency budgets and queue wait statistics by resource profile.
+ * <p>
+ * Shared by {@link TaskManager} and the Flowable WorkflowService: each running
+ * task holds one slot of the budget of its {@link ResourceProfile}, so network
+ * bound, CPU bound and disk bound tasks are limited independently. A budget of
+ * zero or less means no limit for that resource.
+ * </p>
+ * <p>
+ * Queued tasks are ordered by {@link #priorityOrder(long)}: tasks that waited
+ * past their deadline first, then smaller networks first, then by arrival.
+ * </p>
+ *
+ * @author LA Referencia Team
+ */
+public class ResourceScheduler {
+
+	private final Map<ResourceProfile, Integer> budgets = new EnumMap<>(ResourceProfile.class);
+	private final Map<ResourceProfile, Integer> running = new EnumMap<>(ResourceProfile.class);
+
+	private final Map<ResourceProfile, long[]> waits = new EnumMap<>(ResourceProfile.class);
+	private static final int WAIT_COUNT = 0;
+	private static final int WAIT_TOTAL = 1;
+	private static final int WAIT_MAX = 2;
+
+	@Getter
+	private final long maxWaitMillis;
+
+	/**
+	 * Creates a scheduler with the given budgets.
+	 *
+	 * @param networkBudget max concurrent network bound tasks, 0 for no limit
+	 * @param cpuBudget     max concurrent CPU bound tasks, 0 for no limit
+	 * @param diskBudget    max concurrent disk bound tasks, 0 for no limit
+	 * @param maxWaitMillis time after which a queued task goes before the rest
+	 */
+	public ResourceScheduler(int networkBudget, int cpuBudget, int diskBudget, long maxWaitMillis) {
+		budgets.put(ResourceProfile.NETWORK_IO, networkBudget);
+		budgets.put(ResourceProfile.CPU, cpuBudget);
+		budgets.put(ResourceProfile.DISK, diskBudget);
+		this.maxWaitMillis = maxWaitMillis;
+
+		for (ResourceProfile profile : ResourceProfile.values()) {
+			running.put(profile, 0);
+			waits.put(profile, new long[3]);
+		}
+	}
+
+	/**
+	 * @param profile the resource profile
+	 * @return true if a task of this profile can start now
+	 */
+	public synchronized boolean hasCapacity(ResourceProfile profile) {
+		int budget = budgets.get(profile);
+		return budget <= 0 || running.get(profile) < budget;
+	}
+
+	/**
+	 * Takes a slot of the budget. Does not check the capacity, so that tasks
+	 * recovered after a restart are always accounted.
+	 *
+	 * @param profile the resource profile
+	 */
+	public synchronized void acquire(ResourceProfile profile) {
+		running.merge(profile, 1, Integer::sum);
+	}
+
+	/**
+	 * Returns a slot of the budget.
+	 *
+	 * @param profile the resource profile
+	 */
+	public synchronized void release(ResourceProfile profile) {
+		running.computeIfPresent(profile, (p, count) -> Math.max(0, count - 1));
+	}
+
+	/**
+	 * Records the time a task waited in queue before starting.
+	 *
+	 * @param profile    the resource profile of the task
+	 * @param waitMillis the wait time, 0 for tasks started on submission
+	 */
+	public synchronized void recordWait(ResourceProfile profile, long waitMillis) {
+		long[] stats = waits.get(profile);
+		stats[WAIT_COUNT]++;
+		stats[WAIT_TOTAL] += waitMillis;
+		stats[WAIT_MAX] = Math.max(stats[WAIT_MAX], waitMillis);
+	}
+
+	public synchronized int getRunning(ResourceProfile profile) {
+		return running.get(profile);
+	}
+
+	public synchronized int getBudget(ResourceProfile profile) {
+		return budgets.get(profile);
+	}
+
+	public synchronized long getWaitCount(ResourceProfile profile) {
+		return waits.get(profile)[WAIT_COUNT];
+	}
+
+	public synchronized long getAverageWaitMillis(ResourceProfile profile) {
+		long[] stats = waits.get(profile);
+		return stats[WAIT_COUNT] == 0 ? 0 : stats[WAIT_TOTAL] / stats[WAIT_COUNT];
+	}
+
+	public synchronized long getMaxWaitMillis(ResourceProfile profile) {
+		return waits.get(profile)[WAIT_MAX];
+	}
+
+	/**
+	 * @return one line per profile with running tasks, budget and queue wait times
+	 */
+	public synchronized List<String> getStatistics() {
+		List<String> result = new ArrayList<>();
+		for (ResourceProfile profile : ResourceProfile.values()) {
+			int budget = budgets.get(profile);
+			result.add(profile + ": running " + running.get(profile) + "/" + (budget > 0 ? budget : "unlimited")
+					+ ", started " + getWaitCount(profile) + ", avg wait " + getAverageWaitMillis(profile)
+					+ " ms, max wait " + getMaxWaitMillis(profile) + " ms");
+		}
+		return result;
+	}
+
+	/**
+	 * Order in which queued tasks should be considered for launch.
+	 *
+	 * @param <T> the queued item type
+	 * @param now the current time in millis
+	 * @return comparator placing the most urgent ticket first
+	 */
+	public <T> Comparator<Ticket<T>> priorityOrder(long now) {
+		return Comparator.<Ticket<T>, Boolean>comparing(ticket -> !ticket.isOverdue(now, maxWaitMillis))
+				.thenComparingLong(ticket -> ticket.isOverdue(now, maxWaitMillis) ? 0 : ticket.getSortableSize())
+				.thenComparingLong(Ticket::getEnqueuedAt);
+	}
+
+	/**
+	 * A queued task with the data used to prioritize it.
+	 *
+	 * @param <T> the queued item type
+	 */
+	@Getter
+	public static class Ticket<T> {
+
+		private final T item;
+		private final ResourceProfile profile;
+
+		/** Records of the network at its last good snapshot, negative if unknown. */
+		private final long size;
+
+		private final long enqueuedAt;
+
+		public Ticket(T item, ResourceProfile profile, long size, long enqueuedAt) {
+			this.item = item;
+			this.profile = profile;
+			this.size = size;
+			this.enqueuedAt = enqueuedAt;
+		}
+
+		/**
+		 * @param now           the current time in millis
+		 * @param maxWaitMillis the max wait before the deadline, 0 or less for none
+		 * @return true if the ticket waited past its deadline
+		 */
+		public boolean isOverdue(long now, long maxWaitMillis) {
+			return maxWaitMillis > 0 && now - enqueuedAt >= maxWaitMillis;
+		}
+
+		// networks never harvested go after the ones of known size
+		private long getSortableSize() {
+			return size < 0 ? Long.MAX_VALUE : size;
+		}
+	}
+}
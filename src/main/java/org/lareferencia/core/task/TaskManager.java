@@ -24,7 +24,11 @@ import lombok.Getter;
 import lombok.Setter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.metadata.ISnapshotStore;
+import org.lareferencia.core.metrics.PipelineMetrics;
 import org.lareferencia.core.worker.IWorker;
+import org.lareferencia.core.worker.NetworkRunningContext;
+import org.lareferencia.core.worker.ResourceProfile;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jmx.export.annotation.ManagedAttribute;
@@ -36,6 +40,7 @@ import org.springframework.scheduling.support.CronTrigger;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -48,6 +53,12 @@ import java.util.function.Predicate;
  * Provides JMX monitoring capabilities and enforces concurrency limits.
  * 
  * <p>
+ * Besides the global limit, each worker takes a slot of the budget of its
+ * {@link ResourceProfile} (taskmanager.budget.network, .cpu and .disk, 0 for no
+ * limit). Queued workers are launched by priority: the ones waiting longer
+ * than taskmanager.max_wait.minutes first, then the smaller networks.
+ * 
+ * <p>
  * This TaskManager is used in legacy mode (workflow.engine=legacy).
  * When workflow.engine=flowable, WorkflowService is used instead.
  */
@@ -117,6 +128,27 @@ public class TaskManager {
 	@Value("${taskmanager.max_queuded.tasks:32}")
 	private int maxQueuedWorkers = 32;
 
+	@Value("${taskmanager.budget.network:0}")
+	private int networkBudget = 0;
+
+	@Value("${taskmanager.budget.cpu:0}")
+	private int cpuBudget = 0;
+
+	@Value("${taskmanager.budget.disk:0}")
+	private int diskBudget = 0;
+
+	@Value("${taskmanager.max_wait.minutes:60}")
+	private long maxWaitMinutes = 60;
+
+	@Autowired(required = false)
+	private ISnapshotStore snapshotStore;
+
+	private ResourceScheduler resourceScheduler;
+
+	// datos de prioridad de los workers en cola y perfil de los que corren
+	private Map<IWorker<?>, ResourceScheduler.Ticket<IWorker<?>>> queuedTickets;
+	private Map<IWorker<?>, ResourceProfile> runningProfiles;
+
 	// private int currentRunningWorkers = 0;
 
 	/**
@@ -128,9 +160,19 @@ public class TaskManager {
 		queuedWorkers = new QueueMap<IWorker<?>, String>();
 		runningWorkers = new QueueMap<IWorker<?>, String>();
 		serialLane = new QueueMap<IWorker<?>, Long>();
+		queuedTickets = new ConcurrentHashMap<>();
+		runningProfiles = new ConcurrentHashMap<>();
 		// currentRunningWorkers = 0;
 	}
 
+	private synchronized ResourceScheduler getResourceScheduler() {
+		// se crea al primer uso, cuando los valores de configuración ya fueron inyectados
+		if (resourceScheduler == null)
+			resourceScheduler = new ResourceScheduler(networkBudget, cpuBudget, diskBudget,
+					TimeUnit.MINUTES.toMillis(maxWaitMinutes));
+		return resourceScheduler;
+	}
+
 	/***
 	 * Proyectores de información para JMX
 	 */
@@ -155,6 +197,16 @@ public class TaskManager {
 		return queuedWorkers.totalSize();
 	}
 
+	/**
+	 * Gets running workers, budget and queue wait times by resource profile.
+	 *
+	 * @return one line per resource profile
+	 */
+	@ManagedAttribute
+	public List<String> getResourceStatistics() {
+		return getResourceScheduler().getStatistics();
+	}
+
 	/**
 	 * Gets all running workers across all contexts.
 	 *
@@ -308,50 +360,64 @@ public class TaskManager {
 	}
 
 	/**
-	 * Launches a worker task if resource limits and serialization constraints
-	 * allow.
-	 * Enqueues the worker if it cannot be launched immediately.
+	 * Checks if the resource budget of the worker profile has room for it.
 	 * 
-	 * @param worker the worker to launch
+	 * @param worker the worker
+	 * @return true if the worker profile has free budget, false otherwise
 	 */
-	public synchronized void launchWorker(IWorker<?> worker) {
+	public synchronized boolean hasResourceCapacity(IWorker<?> worker) {
+		return getResourceScheduler().hasCapacity(worker.getResourceProfile());
+	}
 
-		String runningContextID = worker.getRunningContext().getId();
+	private boolean canLaunch(IWorker<?> worker) {
 		Long serialLaneID = worker.getSerialLaneId();
 
 		// Para lanzar un proceso se verifica que no haya otro corriendo para esa red
 		// y si su serialLaneID es positivo se verifica que no haya ninguno corriendo
 		// eso asegura la serialidad de los workers cuando tienen serialLanes asignadas
-		if (!isMaxConcurrentRunningWorkersReached() && !isAlreadyProcesingNetwork(runningContextID)
-				&& (serialLaneID < 0 || serialLane.getQueue(serialLaneID).isEmpty())) {
-
-			logger.debug("Launching process: " + worker.toString());
-
-			ScheduledFuture<?> sf = scheduler.schedule(worker, new Date());
-			worker.setScheduledFuture(sf);
+		return !isMaxConcurrentRunningWorkersReached()
+				&& !isAlreadyProcesingNetwork(worker.getRunningContext().getId())
+				&& (serialLaneID < 0 || serialLane.getQueue(serialLaneID).isEmpty())
+				&& hasResourceCapacity(worker);
+	}
 
-			runningWorkers.enqueue(runningContextID, worker);
-			// currentRunningWorkers++;
+	/**
+	 * Launches a worker task if resource limits and serialization constraints
+	 * allow.
+	 * Enqueues the worker if it cannot be launched immediately.
+	 * 
+	 * @param worker the worker to launch
+	 */
+	public void launchWorker(IWorker<?> worker) {
+		// la estimación consulta la base, se calcula fuera del lock de lanzamiento
+		launchWorker(worker, estimateNetworkSize(worker));
+	}
 
-			// se agrega al serial lane
-			if (serialLaneID >= 0) {
-				logger.debug("This process will run serialized in serialLaneID:" + serialLaneID);
-				serialLane.enqueue(serialLaneID, worker);
-			}
+	private synchronized void launchWorker(IWorker<?> worker, long estimatedSize) {
 
-			logger.debug("Process queue :: " + runningWorkers);
+		String runningContextID = worker.getRunningContext().getId();
+		Long serialLaneID = worker.getSerialLaneId();
 
+		if (canLaunch(worker)) {
+			startWorker(worker, 0);
 		} else {
+			ResourceProfile profile = worker.getResourceProfile();
+
 			if (isMaxConcurrentRunningWorkersReached())
 				logger.info("Max concurrent workers limits reached: " + maxConcurrentWorkers +
 						". Worker will be queued. This value can be increased in application.properties :: taskmanager.concurrent.tasks ");
-			else if (serialLaneID > 0)
+			else if (isAlreadyProcesingNetwork(runningContextID))
+				logger.debug("This network: " + runningContextID + " is already in use. Worker will be queued");
+			else if (serialLaneID >= 0 && !serialLane.getQueue(serialLaneID).isEmpty())
 				logger.debug("This serial lane: " + serialLaneID + "  is already in use. Worker will be queued");
 			else
-				logger.debug("This network: " + runningContextID + " is already in use. Worker will be queued");
+				logger.info("Resource budget reached for " + profile + ": " + getResourceScheduler().getBudget(profile)
+						+ ". Worker will be queued. This value can be changed in application.properties :: taskmanager.budget.*");
 
 			if (!isMaxQueudedWorkersReached()) {
 				queuedWorkers.enqueue(runningContextID, worker);
+				queuedTickets.put(worker, new ResourceScheduler.Ticket<IWorker<?>>(worker, profile,
+						estimatedSize, System.currentTimeMillis()));
 				logger.debug("Waiting queue :: " + queuedWorkers);
 			} else
 				logger.info("Waiting queue reached max allowed size: " + maxQueuedWorkers +
@@ -361,6 +427,52 @@ public class TaskManager {
 
 	}
 
+	private void startWorker(IWorker<?> worker, long waitMillis) {
+
+		String runningContextID = worker.getRunningContext().getId();
+		Long serialLaneID = worker.getSerialLaneId();
+		ResourceProfile profile = worker.getResourceProfile();
+
+		logger.debug("Launching process: " + worker.toString() + " [" + profile + "]");
+
+		ScheduledFuture<?> sf = scheduler.schedule(() -> PipelineMetrics.run(worker), new Date());
+		worker.setScheduledFuture(sf);
+
+		runningWorkers.enqueue(runningContextID, worker);
+		// currentRunningWorkers++;
+
+		getResourceScheduler().acquire(profile);
+		getResourceScheduler().recordWait(profile, waitMillis);
+		runningProfiles.put(worker, profile);
+
+		// se agrega al serial lane
+		if (serialLaneID >= 0) {
+			logger.debug("This process will run serialized in serialLaneID:" + serialLaneID);
+			serialLane.enqueue(serialLaneID, worker);
+		}
+
+		logger.debug("Process queue :: " + runningWorkers);
+	}
+
+	/**
+	 * Estimates the network size by its last good known snapshot, used to run
+	 * the smaller networks first.
+	 */
+	private long estimateNetworkSize(IWorker<?> worker) {
+		if (snapshotStore == null || !(worker.getRunningContext() instanceof NetworkRunningContext))
+			return -1;
+
+		try {
+			NetworkRunningContext context = (NetworkRunningContext) worker.getRunningContext();
+			Long snapshotId = snapshotStore.findLastGoodKnownSnapshot(context.getNetwork());
+			Integer size = snapshotId != null ? snapshotStore.getSnapshotSize(snapshotId) : null;
+			return size != null ? size : -1;
+		} catch (Exception e) {
+			logger.debug("Network size not available for " + worker + ": " + e.getMessage());
+			return -1;
+		}
+	}
+
 	@Scheduled(fixedRate = 2000) // Reduced from 10000ms to 2000ms for faster cleanup
 	private synchronized void cleanFinishedTasksAndRunQueued() {
 
@@ -380,6 +492,14 @@ public class TaskManager {
 
 		logger.debug("Cleaning finished process from running queue");
 		for (String runningContextID : runningWorkers.keySet()) {
+			// libera el presupuesto de recursos de los procesos terminados
+			for (IWorker<?> worker : runningWorkers.getQueue(runningContextID)) {
+				if (isDoneOrCancelled.test(worker)) {
+					ResourceProfile profile = runningProfiles.remove(worker);
+					if (profile != null)
+						getResourceScheduler().release(profile);
+				}
+			}
 			// remueve de la cola los procesos terminados
 			boolean removed = runningWorkers.removeIf(runningContextID, isDoneOrCancelled);
 			// if ( removed )
@@ -387,24 +507,35 @@ public class TaskManager {
 		}
 
 		logger.debug("Trying to run queued workers");
-		for (String runningContextID : queuedWorkers.keySet()) {
-			// luego de la limpieza trata de correr nuevos procesos (debe verificar que no
-			// haya otros corriendo)
-			runQueuedByRunningContextID(runningContextID);
-		}
+		// luego de la limpieza trata de correr nuevos procesos (debe verificar que no
+		// haya otros corriendo)
+		runQueuedByPriority();
 
 		logger.debug("Running queue :: " + runningWorkers);
 	}
 
-	private void runQueuedByRunningContextID(String runningContextID) {
+	private void runQueuedByPriority() {
 
-		if (runningWorkers.getQueue(runningContextID).size() == 0
-				&& queuedWorkers.getQueue(runningContextID).size() > 0) {
+		long now = System.currentTimeMillis();
 
-			logger.debug("Unqueue worker with contextID: " + runningContextID);
-			IWorker<?> worker = queuedWorkers.poll(runningContextID);
+		// el primero en cola de cada red es candidato, se ordenan por prioridad
+		List<ResourceScheduler.Ticket<IWorker<?>>> candidates = new ArrayList<>();
+		for (String runningContextID : queuedWorkers.keySet()) {
+			IWorker<?> worker = queuedWorkers.getQueue(runningContextID).peek();
 			if (worker != null)
-				launchWorker(worker);
+				candidates.add(queuedTickets.computeIfAbsent(worker, w -> new ResourceScheduler.Ticket<IWorker<?>>(w,
+						w.getResourceProfile(), -1, now)));
+		}
+		candidates.sort(getResourceScheduler().priorityOrder(now));
+
+		for (ResourceScheduler.Ticket<IWorker<?>> ticket : candidates) {
+			IWorker<?> worker = ticket.getItem();
+			if (canLaunch(worker)) {
+				logger.debug("Unqueue worker with contextID: " + worker.getRunningContext().getId());
+				queuedWorkers.getQueue(worker.getRunningContext().getId()).remove(worker);
+				queuedTickets.remove(worker);
+				startWorker(worker, now - ticket.getEnqueuedAt());
+			}
 		}
 
 	}
@@ -415,6 +546,7 @@ public class TaskManager {
 	 * @param runningContextID the identifier of the running context
 	 */
 	public synchronized void clearQueueByRunningContextID(String runningContextID) {
+		queuedTickets.keySet().removeAll(queuedWorkers.getQueue(runningContextID));
 		queuedWorkers.clearQueue(runningContextID);
 	}
 
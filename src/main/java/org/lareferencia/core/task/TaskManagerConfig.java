@@ -20,6 +20,7 @@
 
 package org.lareferencia.core.task;
 
+import org.lareferencia.core.util.IOExecutors;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -45,15 +46,22 @@ public class TaskManagerConfig {
     /**
      * Creates TaskScheduler bean for legacy workflow execution.
      * This is the same scheduler defined in XML but created conditionally.
+     * With worker.virtual.threads=true the workers run on virtual threads when
+     * the JVM supports them.
      * 
-     * @param poolSize scheduler pool size from properties
+     * @param poolSize       scheduler pool size from properties
+     * @param virtualThreads true to run the workers on virtual threads
      * @return TaskScheduler instance
      */
     @Bean(name = "taskScheduler")
-    public TaskScheduler taskScheduler(@Value("${scheduler.pool.size:10}") int poolSize) {
+    public TaskScheduler taskScheduler(@Value("${scheduler.pool.size:10}") int poolSize,
+            @Value("${worker.virtual.threads:false}") boolean virtualThreads) {
         ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
         scheduler.setPoolSize(poolSize);
         scheduler.setThreadNamePrefix("taskScheduler-");
+        if (virtualThreads) {
+            scheduler.setThreadFactory(IOExecutors.threadFactory("taskScheduler", true));
+        }
         scheduler.setWaitForTasksToCompleteOnShutdown(true);
         scheduler.initialize();
         return scheduler;
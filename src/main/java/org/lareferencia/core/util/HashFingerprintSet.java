@@ -0,0 +1,204 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.util;
+
+/**
+ * Compact set of metadata hashes, stored as 64-bit fingerprints in an open
+ * addressing table of primitive longs (about 16 bytes per hash instead of the
+ * hundred or so of a {@code HashSet<String>}).
+ * <p>
+ * Hexadecimal hashes of up to 16 digits, like the ones of
+ * {@link org.lareferencia.core.util.hashing.XXHash64Hashing}, are stored
+ * exactly. Longer hashes are folded to 64 bits, so two different hashes may
+ * share a fingerprint: {@link #contains(String)} can then answer true for a
+ * hash never added, never false for one that was. That is the safe direction
+ * for a set of referenced hashes, where a false positive only keeps an
+ * unreferenced entry.
+ * </p>
+ * <p>
+ * Not thread safe.
+ * </p>
+ *
+ * @author LA Referencia Team
+ */
+public final class HashFingerprintSet {
+
+	private static final int MIN_CAPACITY = 1024;
+
+	// 0 marca las celdas libres, la huella 0 se guarda aparte
+	private long[] table;
+	private int size;
+	private boolean containsZero;
+
+	/**
+	 * Creates an empty set.
+	 */
+	public HashFingerprintSet() {
+		this(MIN_CAPACITY / 2);
+	}
+
+	/**
+	 * Creates an empty set sized for the expected number of hashes.
+	 *
+	 * @param expectedSize the expected number of hashes
+	 */
+	public HashFingerprintSet(int expectedSize) {
+		table = new long[tableSizeFor(expectedSize)];
+	}
+
+	/**
+	 * Adds a hash.
+	 *
+	 * @param hash the hash, ignored if null
+	 * @return true if the fingerprint of the hash was not in the set
+	 */
+	public boolean add(String hash) {
+		if (hash == null)
+			return false;
+
+		long fingerprint = fingerprint(hash);
+		if (fingerprint == 0L) {
+			if (containsZero)
+				return false;
+			containsZero = true;
+			size++;
+			return true;
+		}
+
+		if ((size + 1) * 2 > table.length)
+			rehash(table.length * 2);
+
+		if (!insert(table, fingerprint))
+			return false;
+		size++;
+		return true;
+	}
+
+	/**
+	 * @param hash the hash
+	 * @return true if the hash, or another one with the same fingerprint, was added
+	 */
+	public boolean contains(String hash) {
+		if (hash == null)
+			return false;
+
+		long fingerprint = fingerprint(hash);
+		if (fingerprint == 0L)
+			return containsZero;
+
+		int mask = table.length - 1;
+		for (int i = slot(fingerprint, mask);; i = (i + 1) & mask) {
+			long current = table[i];
+			if (current == fingerprint)
+				return true;
+			if (current == 0L)
+				return false;
+		}
+	}
+
+	/**
+	 * @return the number of distinct fingerprints in the set
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return true if the set is empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return the approximate memory used by the set, in bytes
+	 */
+	public long getMemoryBytes() {
+		return (long) table.length * Long.BYTES;
+	}
+
+	/**
+	 * Computes the fingerprint of a hash: its value when it is a hexadecimal
+	 * number of up to 64 bits, a 64-bit mix of its characters otherwise.
+	 *
+	 * @param hash the hash
+	 * @return the fingerprint
+	 */
+	static long fingerprint(String hash) {
+		int length = hash.length();
+		if (length > 0 && length <= 16) {
+			long value = 0L;
+			int i = 0;
+			for (; i < length; i++) {
+				int digit = Character.digit(hash.charAt(i), 16);
+				if (digit < 0)
+					break;
+				value = (value << 4) | digit;
+			}
+			if (i == length)
+				return value;
+		}
+
+		long h = 0x9E3779B97F4A7C15L;
+		for (int i = 0; i < length; i++)
+			h = (h ^ hash.charAt(i)) * 0x100000001B3L;
+		return mix(h);
+	}
+
+	private static boolean insert(long[] table, long fingerprint) {
+		int mask = table.length - 1;
+		for (int i = slot(fingerprint, mask);; i = (i + 1) & mask) {
+			long current = table[i];
+			if (current == fingerprint)
+				return false;
+			if (current == 0L) {
+				table[i] = fingerprint;
+				return true;
+			}
+		}
+	}
+
+	private void rehash(int capacity) {
+		long[] rehashed = new long[capacity];
+		for (long fingerprint : table)
+			if (fingerprint != 0L)
+				insert(rehashed, fingerprint);
+		table = rehashed;
+	}
+
+	private static int slot(long fingerprint, int mask) {
+		return (int) mix(fingerprint) & mask;
+	}
+
+	// finalizador de SplitMix64: distribuye huellas con bits bajos poco variados
+	private static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+		return value ^ (value >>> 31);
+	}
+
+	private static int tableSizeFor(int expectedSize) {
+		long capacity = Math.max(MIN_CAPACITY, (long) expectedSize * 2);
+		if (capacity > (1 << 30))
+			throw new IllegalArgumentException("Too many hashes: " + expectedSize);
+		return Integer.highestOneBit((int) capacity - 1) << 1;
+	}
+}
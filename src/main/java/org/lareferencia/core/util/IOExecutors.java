@@ -0,0 +1,279 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Executors for blocking I/O stages (downloads, link checks) that can run on
+ * virtual threads.
+ * <p>
+ * With {@code worker.virtual.threads=true} the threads are virtual when the
+ * running JVM supports them (Java 21 or later) and platform daemon threads
+ * otherwise, so the same build runs on both. Executors stay bounded to the
+ * configured number of threads: with virtual threads that limit can be raised
+ * well above the number of cores, since a blocked virtual thread does not hold
+ * a carrier. Code run on them must not block inside {@code synchronized}
+ * blocks, which pin the carrier thread; use a {@code ReentrantLock} instead.
+ * </p>
+ * <p>
+ * Each executor name accumulates threads created, tasks completed and
+ * throughput, so a run with platform threads can be compared with a run with
+ * virtual threads ({@link #getStatistics()}).
+ * </p>
+ *
+ * @author LA Referencia Team
+ */
+public final class IOExecutors {
+
+	private static final Logger logger = LogManager.getLogger(IOExecutors.class);
+
+	private static final long KEEP_ALIVE_SECONDS = 30;
+
+	private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+	// Thread.ofVirtual() y Thread.Builder, resueltos por reflexión para compilar con Java 17
+	private static final Method OF_VIRTUAL;
+	private static final Method BUILDER_NAME;
+	private static final Method BUILDER_FACTORY;
+
+	static {
+		Method ofVirtual = null, name = null, factory = null;
+		try {
+			Class<?> builder = Class.forName("java.lang.Thread$Builder");
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			name = builder.getMethod("name", String.class, long.class);
+			factory = builder.getMethod("factory");
+			// falla en JVMs donde los virtual threads son preview y no están habilitados
+			factory.invoke(name.invoke(ofVirtual.invoke(null), "probe-", 0L));
+		} catch (Exception | LinkageError e) {
+			ofVirtual = null;
+		}
+		OF_VIRTUAL = ofVirtual;
+		BUILDER_NAME = name;
+		BUILDER_FACTORY = factory;
+	}
+
+	private IOExecutors() {
+	}
+
+	/**
+	 * @return true if the running JVM can create virtual threads
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return OF_VIRTUAL != null;
+	}
+
+	/**
+	 * Creates a thread factory counting the threads it creates.
+	 *
+	 * @param name    name of the threads and of their statistics
+	 * @param virtual true to create virtual threads if supported
+	 * @return the thread factory
+	 */
+	public static ThreadFactory threadFactory(String name, boolean virtual) {
+		Stats stats = STATS.computeIfAbsent(name, Stats::new);
+		ThreadFactory delegate = virtual ? virtualThreadFactory(name) : null;
+		stats.virtual = delegate != null;
+
+		if (delegate == null) {
+			AtomicInteger counter = new AtomicInteger();
+			delegate = runnable -> {
+				Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			};
+		}
+
+		ThreadFactory factory = delegate;
+		return runnable -> {
+			stats.threadsCreated.increment();
+			return factory.newThread(runnable);
+		};
+	}
+
+	/**
+	 * Creates an executor running at most {@code maxThreads} tasks at once;
+	 * idle threads are released after a while.
+	 *
+	 * @param name       name of the threads and of their statistics
+	 * @param maxThreads maximum number of concurrent tasks
+	 * @param virtual    true to use virtual threads if supported
+	 * @return the executor
+	 */
+	public static ThreadPoolExecutor newBoundedExecutor(String name, int maxThreads, boolean virtual) {
+		int threads = Math.max(1, maxThreads);
+		ThreadPoolExecutor executor = new InstrumentedExecutor(threads, threadFactory(name, virtual),
+				STATS.get(name));
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * @param name the executor name
+	 * @return the statistics of the executor, null if it was never created
+	 */
+	public static Stats getStats(String name) {
+		return STATS.get(name);
+	}
+
+	/**
+	 * @return one line per executor name, with the current JVM thread counts
+	 */
+	public static List<String> getStatistics() {
+		List<String> result = new ArrayList<>();
+		for (Stats stats : STATS.values())
+			result.add(stats.toString());
+
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		result.add("JVM platform threads: " + threads.getThreadCount() + " (peak " + threads.getPeakThreadCount() + ")");
+		return result;
+	}
+
+	private static ThreadFactory virtualThreadFactory(String name) {
+		if (!isVirtualThreadSupported()) {
+			logger.warn("Virtual threads are not supported by this JVM (" + Runtime.version()
+					+ "), using platform threads for " + name);
+			return null;
+		}
+		try {
+			return (ThreadFactory) BUILDER_FACTORY.invoke(BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name + "-", 1L));
+		} catch (ReflectiveOperationException e) {
+			logger.warn("Unable to create virtual threads for " + name + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Accumulated counters of the executors created with the same name.
+	 */
+	public static final class Stats {
+
+		private final String name;
+		private volatile boolean virtual;
+
+		private final LongAdder threadsCreated = new LongAdder();
+		private final LongAdder tasksCompleted = new LongAdder();
+		private final LongAdder busyNanos = new LongAdder();
+		private final AtomicInteger active = new AtomicInteger();
+		private final AtomicInteger peakActive = new AtomicInteger();
+
+		private final AtomicLong firstStartNanos = new AtomicLong();
+		private volatile long lastEndNanos;
+
+		private Stats(String name) {
+			this.name = name;
+		}
+
+		public boolean isVirtual() {
+			return virtual;
+		}
+
+		public long getThreadsCreated() {
+			return threadsCreated.sum();
+		}
+
+		public long getTasksCompleted() {
+			return tasksCompleted.sum();
+		}
+
+		public int getPeakActive() {
+			return peakActive.get();
+		}
+
+		/**
+		 * @return tasks completed per second, from the first task started to the last one finished
+		 */
+		public double getThroughput() {
+			long elapsed = lastEndNanos - firstStartNanos.get();
+			return elapsed <= 0 ? 0 : getTasksCompleted() * 1e9 / elapsed;
+		}
+
+		/**
+		 * @return average task duration in milliseconds
+		 */
+		public long getAverageTaskMillis() {
+			long tasks = getTasksCompleted();
+			return tasks == 0 ? 0 : busyNanos.sum() / tasks / 1_000_000;
+		}
+
+		private void taskStarted() {
+			firstStartNanos.compareAndSet(0, System.nanoTime());
+			peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+		}
+
+		private void taskFinished(long nanos) {
+			active.decrementAndGet();
+			tasksCompleted.increment();
+			busyNanos.add(nanos);
+			lastEndNanos = System.nanoTime();
+		}
+
+		@Override
+		public String toString() {
+			return name + " [" + (virtual ? "virtual" : "platform") + " threads] tasks: " + getTasksCompleted()
+					+ " throughput: " + String.format("%.1f", getThroughput()) + "/s avg ms: " + getAverageTaskMillis()
+					+ " threads created: " + getThreadsCreated() + " peak concurrent: " + getPeakActive();
+		}
+	}
+
+	private static final class InstrumentedExecutor extends ThreadPoolExecutor {
+
+		private final Stats stats;
+		private final ThreadLocal<Long> startNanos = new ThreadLocal<>();
+
+		InstrumentedExecutor(int threads, ThreadFactory factory, Stats stats) {
+			super(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+			this.stats = stats;
+		}
+
+		@Override
+		protected void beforeExecute(Thread thread, Runnable task) {
+			super.beforeExecute(thread, task);
+			stats.taskStarted();
+			startNanos.set(System.nanoTime());
+		}
+
+		@Override
+		protected void afterExecute(Runnable task, Throwable error) {
+			Long start = startNanos.get();
+			stats.taskFinished(start == null ? 0 : System.nanoTime() - start);
+			startNanos.remove();
+			super.afterExecute(task, error);
+		}
+	}
+}
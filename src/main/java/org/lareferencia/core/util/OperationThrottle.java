@@ -0,0 +1,61 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+package org.lareferencia.core.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spaces operations to at most a given rate, shared by all the threads calling
+ * {@link #acquire()}.
+ * <p>
+ * Used by the background cleanups so they do not take all the I/O of the
+ * harvests running at the same time. No credit is accumulated while idle, so
+ * a pause is not followed by a burst.
+ * </p>
+ */
+public final class OperationThrottle {
+
+	private final long intervalNanos;
+	private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+	/**
+	 * @param maxOperationsPerSecond the maximum operations per second, 0 for no limit
+	 */
+	public OperationThrottle(int maxOperationsPerSecond) {
+		this.intervalNanos = maxOperationsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / maxOperationsPerSecond : 0;
+	}
+
+	/**
+	 * Waits for the next slot.
+	 *
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public void acquire() throws InterruptedException {
+		if (intervalNanos == 0)
+			return;
+
+		long now = System.nanoTime();
+		long slot = nextSlot.getAndUpdate(previous -> Math.max(previous, now) + intervalNanos);
+		long wait = slot - now;
+		if (wait > 0)
+			TimeUnit.NANOSECONDS.sleep(wait);
+	}
+}
@@ -34,9 +34,11 @@ import org.lareferencia.core.metadata.SnapshotMetadata;
  * 
  * ESTRUCTURA UNIFICADA:
  * {basePath}/
- * ├── {NETWORK}/                    ← sanitizeNetworkAcronym()
+ * ├── {NETWORK}/                    ← sanitizeNetworkAcronym(), getNetworkPath()
+ * │   ├── transformation_cache.db
  * │   ├── metadata/                 ← getMetadataStorePath()
  * │   │   └── {A/B/C/HASH.xml.gz}
+ * │   ├── metadata_gc/              ← getMetadataGCPath()
  * │   └── snapshots/                ← getSnapshotsBasePath()
  * │       └── snapshot_{id}/        ← getSnapshotPath()
  * │           ├── catalog/
@@ -86,6 +88,20 @@ public final class PathUtils {
         return sanitizeNetworkAcronym(acronym);
     }
 
+    /**
+     * Construye la ruta del directorio de una red.
+     * 
+     * RUTA: {basePath}/{NETWORK}
+     * 
+     * @param basePath directorio base
+     * @param snapshotMetadata metadata del snapshot
+     * @return ruta completa al directorio de la red
+     */
+    public static String getNetworkPath(String basePath, SnapshotMetadata snapshotMetadata) {
+        String sanitized = extractNetworkAcronym(snapshotMetadata);
+        return String.format("%s%s%s", basePath, File.separator, sanitized);
+    }
+
     /**
      * Construye la ruta base para metadata store de una red.
      * 
@@ -101,6 +117,21 @@ public final class PathUtils {
             basePath, File.separator, sanitized, File.separator);
     }
 
+    /**
+     * Construye la ruta de la cola de recolección de metadata de una red.
+     * 
+     * RUTA: {basePath}/{NETWORK}/metadata_gc
+     * 
+     * @param basePath directorio base
+     * @param snapshotMetadata metadata del snapshot
+     * @return ruta completa al directorio de recolección
+     */
+    public static String getMetadataGCPath(String basePath, SnapshotMetadata snapshotMetadata) {
+        String sanitized = extractNetworkAcronym(snapshotMetadata);
+        return String.format("%s%s%s%smetadata_gc", 
+            basePath, File.separator, sanitized, File.separator);
+    }
+
     /**
      * Construye la ruta base para snapshots de una red.
      * 
@@ -0,0 +1,118 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Future task that remembers when it started running, so that its time limit
+ * is measured from the start of the work and not from the moment somebody
+ * begins to wait for it.
+ * <p>
+ * While the task is still queued in its executor {@link #getWithin} keeps
+ * waiting without consuming the budget; once started it only waits for the
+ * remainder. Tasks discarded by {@code shutdownNow()} never start and must be
+ * cancelled by whoever discards them.
+ * </p>
+ *
+ * @param <V> the result type
+ * @author LA Referencia Team
+ */
+public class TimedTask<V> extends FutureTask<V> {
+
+	private volatile long startNanos;
+
+	private volatile boolean started;
+
+	private volatile boolean running;
+
+	/**
+	 * Creates a task running the given callable.
+	 *
+	 * @param callable the work to run
+	 */
+	public TimedTask(Callable<V> callable) {
+		super(callable);
+	}
+
+	@Override
+	public void run() {
+		if (!started) {
+			startNanos = System.nanoTime();
+			started = true;
+		}
+		running = true;
+		try {
+			super.run();
+		} finally {
+			running = false;
+		}
+	}
+
+	/**
+	 * @return true once an executor thread has started running the task
+	 */
+	public boolean isStarted() {
+		return started;
+	}
+
+	/**
+	 * @return true while a thread is running the task, even after it was
+	 *         cancelled, when the work ignores the interruption
+	 */
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Waits for the result at most {@code budget} after the start of the task.
+	 *
+	 * @param budget maximum running time of the task
+	 * @param unit unit of the budget
+	 * @return the result of the task
+	 * @throws TimeoutException if the task ran longer than the budget
+	 * @throws ExecutionException if the task failed
+	 * @throws InterruptedException if the waiting thread was interrupted
+	 */
+	public V getWithin(long budget, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+
+		long budgetNanos = unit.toNanos(budget);
+
+		while (true) {
+			// mientras está encolada se espera un presupuesto completo y se vuelve a evaluar
+			long remaining = started ? startNanos + budgetNanos - System.nanoTime() : budgetNanos;
+			if (remaining <= 0 && !isDone())
+				throw new TimeoutException();
+
+			try {
+				return get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+			} catch (TimeoutException e) {
+				if (started && startNanos + budgetNanos - System.nanoTime() <= 0)
+					throw e;
+			}
+		}
+	}
+
+}
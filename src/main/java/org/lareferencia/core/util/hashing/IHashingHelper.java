@@ -21,6 +21,8 @@
 
 package org.lareferencia.core.util.hashing;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Interface for calculating hash values from strings.
  * 
@@ -36,4 +38,18 @@ public interface IHashingHelper {
 	 */
 	String calculateHash(String metadata);
 
+	/**
+	 * Calculates a hash value for UTF-8 encoded metadata, such as the bytes
+	 * written by {@link org.lareferencia.core.metadata.MetadataSerializer}.
+	 * Implementations should hash the bytes without decoding them.
+	 * 
+	 * @param utf8   buffer holding the metadata
+	 * @param offset start of the metadata in the buffer
+	 * @param length number of bytes of the metadata
+	 * @return the calculated hash string
+	 */
+	default String calculateHash(byte[] utf8, int offset, int length) {
+		return calculateHash(new String(utf8, offset, length, StandardCharsets.UTF_8));
+	}
+
 }
\ No newline at end of file
@@ -21,6 +21,8 @@
 
 package org.lareferencia.core.util.hashing;
 
+import java.nio.charset.StandardCharsets;
+
 import net.openhft.hashing.LongHashFunction;
 
 /**
@@ -30,6 +32,10 @@ import net.openhft.hashing.LongHashFunction;
  */
 public class XXHash64Hashing implements IHashingHelper {
 
+	private static final LongHashFunction XX = LongHashFunction.xx();
+
+	private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
 	/**
 	 * Constructs a new XXHash64Hashing instance.
 	 */
@@ -45,8 +51,21 @@ public class XXHash64Hashing implements IHashingHelper {
 	 */
 	@Override
 	public String calculateHash(String metadata) {
-	   	return String.format("%016X", LongHashFunction.xx().hashBytes(  metadata.toString().getBytes() )) ;  
+		return toHex(calculateHashLong(metadata));
+	}
 
+	/**
+	 * Calculates a hexadecimal hash string for UTF-8 encoded metadata using
+	 * XXHash64, directly over the given bytes.
+	 *
+	 * @param utf8   buffer holding the metadata
+	 * @param offset start of the metadata in the buffer
+	 * @param length number of bytes of the metadata
+	 * @return a 16-character hexadecimal string representing the hash value
+	 */
+	@Override
+	public String calculateHash(byte[] utf8, int offset, int length) {
+		return toHex(XX.hashBytes(utf8, offset, length));
 	}
 
 	/**
@@ -56,7 +75,23 @@ public class XXHash64Hashing implements IHashingHelper {
 	 * @return a Long value representing the hash
 	 */
 	public static Long calculateHashLong(String metadata) {
-	   	return LongHashFunction.xx().hashBytes(  metadata.toString().getBytes() );  
+		return XX.hashBytes(metadata.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Formats a hash as 16 uppercase hexadecimal digits, same as
+	 * {@code String.format("%016X", hash)}.
+	 *
+	 * @param hash the hash value
+	 * @return the hexadecimal string
+	 */
+	static String toHex(long hash) {
+		char[] chars = new char[16];
+		for (int i = 15; i >= 0; i--) {
+			chars[i] = HEX_DIGITS[(int) (hash & 0xF)];
+			hash >>>= 4;
+		}
+		return new String(chars);
 	}
 
 }
@@ -24,6 +24,7 @@ import lombok.Getter;
 import lombok.Setter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.metrics.PipelineMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -34,6 +35,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.DefaultTransactionDefinition;
 
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Base implementation for batch workers that process items in pages.
@@ -82,6 +84,8 @@ public abstract class BaseBatchWorker<I, C extends IRunningContext> extends Base
 
 	private boolean wasStopped = false;
 
+	private final ReentrantLock runLock = new ReentrantLock();
+
 	/**
 	 * Creates a batch worker with the specified context.
 	 * 
@@ -100,11 +104,21 @@ public abstract class BaseBatchWorker<I, C extends IRunningContext> extends Base
 
 	/**
 	 * En caso de que varios threads quieran correr una misma instancia de este
-	 * worker se asegura la exclusión
+	 * worker se asegura la exclusión. Se usa un lock en lugar de synchronized
+	 * para no fijar el carrier cuando el worker corre en un virtual thread.
 	 */
 	@Override
 	@Transactional(propagation = Propagation.NOT_SUPPORTED) // we're going to handle transactions manually
-	public synchronized void run() {
+	public void run() {
+		runLock.lock();
+		try {
+			runPages();
+		} finally {
+			runLock.unlock();
+		}
+	}
+
+	private void runPages() {
 
 		DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
 		definition.setIsolationLevel(TransactionDefinition.ISOLATION_DEFAULT);
@@ -123,6 +137,8 @@ public abstract class BaseBatchWorker<I, C extends IRunningContext> extends Base
 
 				logger.info("WORKER: " + getName() + " :: Processing page: " + actualPage + " of " + totalPages);
 
+				long pageStart = PipelineMetrics.start();
+
 				try {
 
 					transactionStatus = transactionManager.getTransaction(definition);
@@ -155,6 +171,8 @@ public abstract class BaseBatchWorker<I, C extends IRunningContext> extends Base
 					if (!wasStopped) { // if wasnt stopped in the middle of the page
 						postPage();
 						transactionManager.commit(transactionStatus);
+						checkpointPage(items.size());
+						PipelineMetrics.recordPage(getMetricsTags(), pageStart, items.size());
 					} else
 						transactionManager.rollback(transactionStatus);
 
@@ -177,13 +195,30 @@ public abstract class BaseBatchWorker<I, C extends IRunningContext> extends Base
 
 			}
 
-			if (!wasStopped)
+			// una ejecución detenida conserva su checkpoint para ser reanudada
+			if (!wasStopped) {
 				postRun();
+				discardCheckpoint();
+			}
 
 		}
 		logger.info("WORKER: " + getName() + " :: END processing " + runningContext.toString());
 	}
 
+	/**
+	 * Guarda el checkpoint al completar una página, salvo que el worker se haya
+	 * detenido durante postPage.
+	 */
+	private void checkpointPage(int items) {
+		WorkerCheckpoint checkpoint = getCheckpoint();
+		if (checkpoint == null || wasStopped)
+			return;
+
+		checkpoint.setPage(actualPage);
+		checkpoint.setProcessed(checkpoint.getProcessed() + items);
+		saveCheckpoint();
+	}
+
 	/**
 	 * Cleanup actions after all batch processing completes.
 	 */
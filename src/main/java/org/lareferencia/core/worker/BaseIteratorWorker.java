@@ -22,6 +22,8 @@ package org.lareferencia.core.worker;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.metrics.PipelineMetrics;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -48,6 +50,7 @@ public abstract class BaseIteratorWorker<I, C extends IRunningContext> extends B
     private static final Logger logger = LogManager.getLogger(BaseIteratorWorker.class);
 
     private volatile boolean wasStopped = false;
+    private volatile boolean failed = false;
 
     private Integer totalRecords = 0;
     private Integer currentRecordIndex = 0;
@@ -78,7 +81,12 @@ public abstract class BaseIteratorWorker<I, C extends IRunningContext> extends B
                     " :: recordIterator not set before run()");
         }
 
+        WorkerCheckpoint checkpoint = getCheckpoint();
+        if (checkpoint != null && checkpoint.isResumed())
+            skipToCheckpoint(checkpoint);
+
         prePage();
+        long pageStart = PipelineMetrics.start();
 
         while (recordIterator.hasNext()) {
             I record = recordIterator.next();
@@ -91,16 +99,62 @@ public abstract class BaseIteratorWorker<I, C extends IRunningContext> extends B
                 logger.debug("Iterator Worker: {} " + percentageFormat.format(this.getCompletionRate()));
 
                 postPage();
+                PipelineMetrics.recordPage(getMetricsTags(), pageStart, pageSize);
 
                 // Check for stop signal and break if set
                 if (wasStopped)
                     break;
 
+                if (checkpoint != null) {
+                    checkpoint.setProcessed(currentRecordIndex);
+                    checkpoint.setLastKey(getCheckpointKey(record));
+                    saveCheckpoint();
+                }
+
                 prePage();
+                pageStart = PipelineMetrics.start();
             }
         }
 
-        postRun();
+        // última página incompleta, procesada por postRun
+        if (!wasStopped && currentRecordIndex % pageSize != 0)
+            PipelineMetrics.recordPage(getMetricsTags(), pageStart, currentRecordIndex % pageSize);
+
+        // con checkpoints una ejecución detenida desde afuera se conserva para ser
+        // reanudada, una detenida por un error finaliza normalmente
+        if (wasStopped && !failed && getCheckpoint() != null) {
+            postInterrupted();
+        } else {
+            postRun();
+            discardCheckpoint();
+        }
+    }
+
+    /**
+     * Avanza el iterador hasta la posición del checkpoint reanudado, verificando
+     * que el último record salteado sea el mismo que al guardarlo. Si los records
+     * cambiaron el checkpoint se descarta y se reinicia desde el primer record.
+     */
+    private void skipToCheckpoint(WorkerCheckpoint checkpoint) {
+        I last = null;
+        while (currentRecordIndex < checkpoint.getProcessed() && recordIterator.hasNext()) {
+            last = recordIterator.next();
+            currentRecordIndex += 1;
+        }
+
+        String key = last != null ? getCheckpointKey(last) : null;
+        if (currentRecordIndex < checkpoint.getProcessed()
+                || (checkpoint.getLastKey() != null && !checkpoint.getLastKey().equals(key))) {
+            logger.warn("Iterator Worker: {} :: records changed since {}, restarting from the first record",
+                    getName(), checkpoint);
+            checkpoint.reset();
+            currentRecordIndex = 0;
+            // solo se reanudan checkpoints de workers reiniciables, ver openCheckpoint
+            ((IRestartableWorker) this).restartFromFirstRecord();
+            return;
+        }
+
+        logger.info("Iterator Worker: {} :: resuming after {} records", getName(), currentRecordIndex);
     }
 
     // @Override
@@ -178,12 +232,51 @@ public abstract class BaseIteratorWorker<I, C extends IRunningContext> extends B
      */
     protected abstract void postRun();
 
+    /**
+     * Finalización de una ejecución detenida desde afuera cuyo checkpoint se conserva para
+     * reanudarla. Por defecto finaliza igual que una ejecución completa.
+     */
+    protected void postInterrupted() {
+        postRun();
+    }
+
+    /**
+     * Un checkpoint reanudado puede no corresponder ya a los records, y solo un
+     * {@link IRestartableWorker} puede volver a empezarlos. Los demás workers
+     * descartan el checkpoint guardado y procesan desde el primer record.
+     */
+    @Override
+    protected WorkerCheckpoint openCheckpoint(SnapshotMetadata snapshotMetadata, String name, String fingerprint) {
+        if (isResume() && !(this instanceof IRestartableWorker)) {
+            logger.warn("Iterator Worker: {} :: cannot restart its records, the checkpoint is not resumed", getName());
+            setResume(false);
+        }
+        return super.openCheckpoint(snapshotMetadata, name, fingerprint);
+    }
+
+    /**
+     * Clave del record guardada en los checkpoints para verificar la posición
+     * al reanudar, null si no se verifica.
+     */
+    protected String getCheckpointKey(I record) {
+        return null;
+    }
+
     @Override
     public void stop() {
         this.wasStopped = true;
         super.stop();
     }
 
+    /**
+     * Detiene la ejecución por un error. A diferencia de {@link #stop()} no
+     * conserva el checkpoint: la ejecución finaliza con postRun().
+     */
+    protected void stopOnError() {
+        this.failed = true;
+        stop();
+    }
+
     public double getCompletionRate() {
         if (totalRecords == 0)
             return 0.0;
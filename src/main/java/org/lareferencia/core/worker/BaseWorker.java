@@ -24,7 +24,12 @@ import java.util.concurrent.ScheduledFuture;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.metrics.PipelineMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 
+import io.micrometer.core.instrument.Tags;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -66,6 +71,28 @@ public abstract class BaseWorker<C extends IRunningContext> implements IWorker<C
 	 */
 	protected boolean incremental = false;
 
+	/**
+	 * Indicates whether this worker continues an interrupted run.
+	 */
+	protected boolean resume = false;
+
+	@Autowired(required = false)
+	private WorkerCheckpointStore checkpointStore;
+
+	/**
+	 * Progress of the current run, null if the worker does not save checkpoints.
+	 */
+	@Getter(AccessLevel.PROTECTED)
+	private WorkerCheckpoint checkpoint;
+
+	/**
+	 * Snapshot processed by the current run, used to tag its metrics.
+	 */
+	@Getter
+	private Long metricsSnapshotId;
+
+	private Tags metricsTags;
+
 	/**
 	 * Human-readable name for this worker instance.
 	 */
@@ -109,6 +136,87 @@ public abstract class BaseWorker<C extends IRunningContext> implements IWorker<C
 		this.incremental = incremental;
 	}
 
+	@Override
+	public boolean isResume() {
+		return resume;
+	}
+
+	@Override
+	public void setResume(boolean resume) {
+		this.resume = resume;
+	}
+
+	/**
+	 * Enables checkpoints for the current run. If the run resumes an interrupted
+	 * one with the same configuration, the returned checkpoint is resumed and the
+	 * worker must restore its state from it.
+	 * 
+	 * @param snapshotMetadata snapshot processed by the worker
+	 * @param name             name of the checkpoint in the snapshot
+	 * @param fingerprint      fingerprint of the worker configuration
+	 * @return the checkpoint, or null if checkpoints are not available
+	 */
+	protected WorkerCheckpoint openCheckpoint(SnapshotMetadata snapshotMetadata, String name, String fingerprint) {
+		setMetricsSnapshot(snapshotMetadata);
+		if (checkpointStore == null)
+			return null;
+
+		checkpoint = checkpointStore.open(snapshotMetadata, name, fingerprint, resume);
+		return checkpoint;
+	}
+
+	/**
+	 * Saves the progress of the current run, after {@link #onCheckpoint} lets the
+	 * worker persist its buffers and add its counters.
+	 */
+	protected void saveCheckpoint() {
+		if (checkpoint == null)
+			return;
+
+		onCheckpoint(checkpoint);
+		checkpointStore.save(checkpoint);
+	}
+
+	/**
+	 * Deletes the checkpoint of the current run, once it completed or cannot be
+	 * resumed.
+	 */
+	protected void discardCheckpoint() {
+		if (checkpoint == null)
+			return;
+
+		checkpointStore.delete(checkpoint);
+		checkpoint = null;
+	}
+
+	/**
+	 * Called before saving a checkpoint. Workers persist here what they buffer
+	 * and store their counters and state in the checkpoint.
+	 * 
+	 * @param checkpoint the checkpoint about to be saved
+	 */
+	protected void onCheckpoint(WorkerCheckpoint checkpoint) {
+	}
+
+	/**
+	 * Sets the snapshot processed by the current run, to tag its metrics.
+	 * 
+	 * @param snapshotMetadata the snapshot, may be null
+	 */
+	protected void setMetricsSnapshot(SnapshotMetadata snapshotMetadata) {
+		metricsSnapshotId = snapshotMetadata != null ? snapshotMetadata.getSnapshotId() : null;
+		metricsTags = null;
+	}
+
+	/**
+	 * @return the worker, network and snapshot tags of the metrics of this run
+	 */
+	protected Tags getMetricsTags() {
+		if (metricsTags == null)
+			metricsTags = PipelineMetrics.tags(this, metricsSnapshotId);
+		return metricsTags;
+	}
+
 	/**
 	 * Gets a human-readable status of the current execution.
 	 * Default implementation returns "Running". Override in subclasses
@@ -30,6 +30,7 @@ import org.lareferencia.core.repository.jpa.OAIBitstreamRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -68,6 +69,10 @@ public class BitstreamPaginator implements IPaginator<OAIBitstream>  {
 	
 	private boolean negateStatus = false;
 	
+	private int maxAttempts;
+	
+	private Date retryBefore;
+	
 	/**
 	 * Creates a paginator for bitstreams filtered by network and status.
 	 * 
@@ -103,6 +108,33 @@ public class BitstreamPaginator implements IPaginator<OAIBitstream>  {
 		this(repository, network, status, false);
 	}
 	
+	/**
+	 * Creates a paginator for the bitstreams of the network pending download:
+	 * {@link OAIBitstreamStatus#NEW} ones and {@link OAIBitstreamStatus#FAILED} ones
+	 * with less than {@code maxAttempts} attempts, last tried before {@code retryBefore}.
+	 * <p>
+	 * As every page is requested from the start, {@code retryBefore} must not be later
+	 * than the start of the run, so that a bitstream failing again leaves the selection.
+	 * </p>
+	 * 
+	 * @param repository the bitstream repository
+	 * @param network the network to filter by
+	 * @param maxAttempts the maximum number of attempts of a failed bitstream
+	 * @param retryBefore only failed bitstreams last tried before this date are retried
+	 */
+	public BitstreamPaginator(OAIBitstreamRepository repository, Network network, int maxAttempts, Date retryBefore) {
+		
+		logger.debug("Creando paginador bitstream - network: " + network.getAcronym() + " status: NEW / FAILED (intentos < " + maxAttempts + ", antes de " + retryBefore + ")" );
+		
+		this.repository = repository;
+		this.network = network;
+		this.status = OAIBitstreamStatus.NEW;
+		this.maxAttempts = maxAttempts;
+		this.retryBefore = retryBefore;
+		
+		this.totalPages = findPendingDownload().getTotalPages();
+	}
+	
 	/**
 	 * Creates a paginator for all bitstreams in the given network.
 	 * 
@@ -140,7 +172,9 @@ public class BitstreamPaginator implements IPaginator<OAIBitstream>  {
 	public Page<OAIBitstream> nextPage() {
 		Page<OAIBitstream> page; 
 		
-		if (status != null)
+		if (retryBefore != null)
+			page = findPendingDownload();
+		else if (status != null)
 			page = repository.findByNetworkIdAndStatus(network.getId(), status, negateStatus, PageRequest.of(0, pageSize));
 		else
 			page = repository.findByNetworkId(network.getId(), PageRequest.of(0, pageSize));
@@ -151,6 +185,10 @@ public class BitstreamPaginator implements IPaginator<OAIBitstream>  {
 		return page;
 	}
 
+	private Page<OAIBitstream> findPendingDownload() {
+		return repository.findPendingDownload(network.getId(), status, OAIBitstreamStatus.FAILED, maxAttempts, retryBefore, PageRequest.of(0, pageSize));
+	}
+
 	public void setPageSize(int size) {
 		this.pageSize = size;
 		
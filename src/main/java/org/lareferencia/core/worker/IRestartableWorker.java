@@ -0,0 +1,45 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker;
+
+/**
+ * Iterator worker able to start its records again when a resumed checkpoint
+ * no longer matches them.
+ * <p>
+ * {@link BaseIteratorWorker} only resumes the checkpoints of workers
+ * implementing this interface; the others discard their checkpoint when
+ * opening it and run from the first record.
+ * </p>
+ *
+ * @author LA Referencia Team
+ * @see BaseIteratorWorker
+ * @see WorkerCheckpoint
+ */
+public interface IRestartableWorker {
+
+	/**
+	 * Called when the resumed checkpoint no longer matches the records. The
+	 * worker discards the results restored with the checkpoint and sets a new
+	 * iterator starting at the first record.
+	 */
+	void restartFromFirstRecord();
+
+}
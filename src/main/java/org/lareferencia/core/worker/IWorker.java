@@ -114,6 +114,22 @@ public interface IWorker<C extends IRunningContext> extends Runnable {
 	 */
 	void setIncremental(boolean incremental);
 
+	/**
+	 * Checks if this worker continues an interrupted run from its last
+	 * checkpoint.
+	 * 
+	 * @return true if resuming, false otherwise
+	 */
+	public boolean isResume();
+
+	/**
+	 * Sets whether this worker continues an interrupted run from its last
+	 * checkpoint. Workers without checkpoints start from the beginning.
+	 * 
+	 * @param resume true to resume from the last checkpoint
+	 */
+	void setResume(boolean resume);
+
 	/**
 	 * Gets a human-readable status of the current execution.
 	 * This is called periodically by Flowable to report progress.
@@ -121,4 +137,14 @@ public interface IWorker<C extends IRunningContext> extends Runnable {
 	 * @return status string (e.g., "Harvested 5000 records", "Validated 45%")
 	 */
 	String getStatus();
+
+	/**
+	 * Gets the resource this worker mostly consumes, used by the task managers
+	 * to apply the concurrency budget of that resource.
+	 * 
+	 * @return the resource profile, CPU by default
+	 */
+	default ResourceProfile getResourceProfile() {
+		return ResourceProfile.CPU;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker;
+
+import java.util.Locale;
+
+/**
+ * Resource a worker mostly consumes while running.
+ * <p>
+ * The task schedulers keep a separate concurrency budget for each profile, so
+ * that network bound harvesting does not wait behind CPU bound validation and
+ * disk bound indexing does not saturate the storage.
+ * </p>
+ *
+ * @author LA Referencia Team
+ * @see IWorker#getResourceProfile()
+ */
+public enum ResourceProfile {
+
+	/** Waits on remote endpoints: harvesting and downloads. */
+	NETWORK_IO,
+
+	/** Computes over the records: validation, transformation and embeddings. */
+	CPU,
+
+	/** Writes to the stores and indexes: indexing and cleanup. */
+	DISK;
+
+	/**
+	 * Classifies a process or action by its name, for schedulers that do not
+	 * have the worker instance at hand.
+	 * <p>
+	 * Only single stage names are classified by their resource. A process that
+	 * runs several stages (such as the full network processing) or an unknown
+	 * one holds a single slot for its whole run and gets {@link #CPU}, where the
+	 * full pipeline spends most of its time (validation and transformation);
+	 * the workflow {@code resourceProfiles} property overrides it by process key.
+	 * </p>
+	 *
+	 * @param name the process key or action name
+	 * @return the profile, {@link #CPU} when the name is not a single known stage
+	 */
+	public static ResourceProfile fromName(String name) {
+		if (name == null)
+			return CPU;
+
+		String lower = name.toLowerCase(Locale.ROOT);
+		if (lower.contains("semantic") || lower.contains("valid") || lower.contains("transform")
+				|| lower.contains("fulltext"))
+			return CPU;
+		if (lower.contains("index") || lower.contains("clean") || lower.contains("delete"))
+			return DISK;
+		if (lower.contains("harvest") || lower.contains("download"))
+			return NETWORK_IO;
+		return CPU;
+	}
+}
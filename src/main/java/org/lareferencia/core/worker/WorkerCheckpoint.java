@@ -0,0 +1,118 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Progress of a worker over the records of a snapshot, saved at page
+ * boundaries by {@link WorkerCheckpointStore} so an interrupted run can
+ * continue from the last saved point instead of starting again.
+ * <p>
+ * Besides the position (processed items, last page and key of the last
+ * item), workers store their counters and an opaque state, such as partial
+ * statistics, that must be restored together with the position.
+ * </p>
+ *
+ * @author LA Referencia Team
+ * @see WorkerCheckpointStore
+ */
+@Getter
+@Setter
+public class WorkerCheckpoint {
+
+	/** Name of the checkpoint, unique for the worker configuration in the snapshot */
+	private String name;
+
+	private Long snapshotId;
+
+	/** Fingerprint of the worker configuration, a checkpoint is only resumed with the same one */
+	private String fingerprint;
+
+	/** Number of items processed up to the checkpoint */
+	private long processed;
+
+	/** Last completed page, for paginated workers */
+	private int page;
+
+	/** Key of the last processed item, to check the position when resuming */
+	private String lastKey;
+
+	/** Opaque state of the worker restored with the position */
+	private String state;
+
+	private Map<String, Long> counters = new LinkedHashMap<>();
+
+	private LocalDateTime updatedAt;
+
+	/** Whether this checkpoint was loaded to resume an interrupted run */
+	private boolean resumed;
+
+	/** File of the checkpoint, set by the store */
+	@Setter(AccessLevel.PACKAGE)
+	private Path path;
+
+	public WorkerCheckpoint() {
+	}
+
+	public WorkerCheckpoint(String name, Long snapshotId, String fingerprint) {
+		this.name = name;
+		this.snapshotId = snapshotId;
+		this.fingerprint = fingerprint;
+	}
+
+	/**
+	 * @param counter name of the counter
+	 * @return the value of the counter, 0 if it was not saved
+	 */
+	public long getCounter(String counter) {
+		return counters.getOrDefault(counter, 0L);
+	}
+
+	public void setCounter(String counter, long value) {
+		counters.put(counter, value);
+	}
+
+	/**
+	 * Discards the saved progress, to start the run from the beginning.
+	 */
+	public void reset() {
+		processed = 0;
+		page = 0;
+		lastKey = null;
+		state = null;
+		counters.clear();
+		resumed = false;
+	}
+
+	@Override
+	public String toString() {
+		return name + "(snapshot " + snapshotId + ", " + processed + " processed"
+				+ (page > 0 ? ", page " + page : "") + ")";
+	}
+}
@@ -0,0 +1,216 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Properties;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.util.PathUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persists the checkpoints of workers, one properties file per worker in the
+ * directory of the snapshot it processes.
+ *
+ * A checkpoint is written to a temporary file and moved over the previous one,
+ * so after a crash the last complete checkpoint is always found. It is only
+ * resumed when the run was asked to resume (see {@link IWorker#setResume}) and
+ * the fingerprint of the worker configuration did not change; otherwise it is
+ * discarded and the run starts from the beginning.
+ *
+ * FILE STRUCTURE:
+ * {basePath}/{NETWORK}/snapshots/snapshot_{id}/checkpoints/{name}.properties
+ */
+@Component
+public class WorkerCheckpointStore {
+
+	private static final Logger logger = LogManager.getLogger(WorkerCheckpointStore.class);
+
+	private static final String CHECKPOINTS_SUBDIR = "checkpoints";
+	private static final String EXTENSION = ".properties";
+	private static final String COUNTER_PREFIX = "counter.";
+
+	@Value("${store.basepath:/tmp/data/}")
+	private String basePath;
+
+	@Value("${worker.checkpoint.enabled:true}")
+	private boolean enabled;
+
+	/**
+	 * Opens the checkpoint of a worker run.
+	 *
+	 * @param snapshotMetadata snapshot processed by the worker
+	 * @param name             name of the checkpoint
+	 * @param fingerprint      fingerprint of the worker configuration
+	 * @param resume           whether the run continues an interrupted one
+	 * @return the saved checkpoint if it can be resumed (then
+	 *         {@link WorkerCheckpoint#isResumed()}), a new one otherwise, or
+	 *         null if checkpoints are disabled
+	 */
+	public WorkerCheckpoint open(SnapshotMetadata snapshotMetadata, String name, String fingerprint, boolean resume) {
+		if (!enabled)
+			return null;
+
+		WorkerCheckpoint saved = load(snapshotMetadata, name);
+
+		if (saved != null) {
+			if (resume && saved.getFingerprint() != null && saved.getFingerprint().equals(fingerprint)) {
+				saved.setResumed(true);
+				logger.info("CHECKPOINT: Resuming {} saved at {}", saved, saved.getUpdatedAt());
+				return saved;
+			}
+
+			logger.info("CHECKPOINT: Discarding {}{}", saved,
+					resume ? ", the configuration of the worker changed" : "");
+			delete(saved);
+		}
+
+		WorkerCheckpoint checkpoint = new WorkerCheckpoint(name, snapshotMetadata.getSnapshotId(), fingerprint);
+		checkpoint.setPath(resolve(snapshotMetadata, name));
+		return checkpoint;
+	}
+
+	/**
+	 * Loads a saved checkpoint.
+	 *
+	 * @param snapshotMetadata snapshot processed by the worker
+	 * @param name             name of the checkpoint
+	 * @return the checkpoint, or null if there is none or it cannot be read
+	 */
+	public WorkerCheckpoint load(SnapshotMetadata snapshotMetadata, String name) {
+		Path path = resolve(snapshotMetadata, name);
+		if (!Files.exists(path))
+			return null;
+
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		} catch (IOException e) {
+			logger.warn("CHECKPOINT: Cannot read {}: {}", path, e.getMessage());
+			return null;
+		}
+
+		WorkerCheckpoint checkpoint = new WorkerCheckpoint(name, snapshotMetadata.getSnapshotId(),
+				properties.getProperty("fingerprint"));
+		checkpoint.setPath(path);
+
+		try {
+			checkpoint.setProcessed(Long.parseLong(properties.getProperty("processed", "0")));
+			checkpoint.setPage(Integer.parseInt(properties.getProperty("page", "0")));
+			checkpoint.setLastKey(properties.getProperty("lastKey"));
+			checkpoint.setState(properties.getProperty("state"));
+
+			String updatedAt = properties.getProperty("updatedAt");
+			if (updatedAt != null)
+				checkpoint.setUpdatedAt(LocalDateTime.parse(updatedAt));
+
+			for (String key : properties.stringPropertyNames()) {
+				if (key.startsWith(COUNTER_PREFIX))
+					checkpoint.setCounter(key.substring(COUNTER_PREFIX.length()),
+							Long.parseLong(properties.getProperty(key)));
+			}
+		} catch (RuntimeException e) {
+			logger.warn("CHECKPOINT: Invalid checkpoint {}: {}", path, e.getMessage());
+			return null;
+		}
+
+		return checkpoint;
+	}
+
+	/**
+	 * Saves a checkpoint, replacing the previous one.
+	 *
+	 * A checkpoint that cannot be written is logged and skipped: the run goes on
+	 * and a later resume starts from the previous one.
+	 *
+	 * @param checkpoint the checkpoint
+	 */
+	public void save(WorkerCheckpoint checkpoint) {
+		checkpoint.setUpdatedAt(LocalDateTime.now());
+
+		Properties properties = new Properties();
+		properties.setProperty("snapshot", String.valueOf(checkpoint.getSnapshotId()));
+		if (checkpoint.getFingerprint() != null)
+			properties.setProperty("fingerprint", checkpoint.getFingerprint());
+		properties.setProperty("processed", String.valueOf(checkpoint.getProcessed()));
+		properties.setProperty("page", String.valueOf(checkpoint.getPage()));
+		if (checkpoint.getLastKey() != null)
+			properties.setProperty("lastKey", checkpoint.getLastKey());
+		if (checkpoint.getState() != null)
+			properties.setProperty("state", checkpoint.getState());
+		properties.setProperty("updatedAt", checkpoint.getUpdatedAt().toString());
+		checkpoint.getCounters().forEach((counter, value) -> properties.setProperty(COUNTER_PREFIX + counter,
+				String.valueOf(value)));
+
+		Path path = checkpoint.getPath();
+		try {
+			Files.createDirectories(path.getParent());
+			Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+			try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+				properties.store(writer, null);
+			}
+
+			try {
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			logger.error("CHECKPOINT: Cannot save {}: {}", checkpoint, e.getMessage());
+			return;
+		}
+
+		logger.debug("CHECKPOINT: Saved {}", checkpoint);
+	}
+
+	/**
+	 * Deletes a checkpoint, once the run completed or cannot be resumed.
+	 *
+	 * @param checkpoint the checkpoint
+	 */
+	public void delete(WorkerCheckpoint checkpoint) {
+		try {
+			if (Files.deleteIfExists(checkpoint.getPath()))
+				logger.debug("CHECKPOINT: Deleted {}", checkpoint);
+		} catch (IOException e) {
+			logger.warn("CHECKPOINT: Cannot delete {}: {}", checkpoint.getPath(), e.getMessage());
+		}
+	}
+
+	private Path resolve(SnapshotMetadata snapshotMetadata, String name) {
+		return Paths.get(PathUtils.getSnapshotPath(basePath, snapshotMetadata), CHECKPOINTS_SUBDIR,
+				name.replaceAll("[^A-Za-z0-9._-]", "_") + EXTENSION);
+	}
+}
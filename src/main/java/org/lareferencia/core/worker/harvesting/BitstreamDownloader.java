@@ -0,0 +1,341 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.harvesting;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Thread-safe bitstream downloader built on {@link HttpClient}.
+ * <p>
+ * Downloads are streamed to a {@code .part} file through NIO channels and
+ * resumed with an HTTP {@code Range} request when a partial file already
+ * exists. Redirects are followed by the client (any number of hops), the
+ * number of simultaneous connections per host is bounded, and the content is
+ * verified against the expected MD5 checksum before the file is moved to its
+ * final location.
+ * </p>
+ * <p>
+ * Every read of the body waits at most the configured timeout, as the
+ * connect/read timeouts of {@code copyURLToFile} did, and a download fails
+ * once it exceeds the transfer time limit, which also covers the wait for a
+ * connection to its host. A stalled or trickling server therefore cannot
+ * hold a download thread forever.
+ * </p>
+ * <p>
+ * Downloads to the same target are serialized, since they share the
+ * {@code .part} file.
+ * </p>
+ *
+ * @author LA Referencia Team
+ * @see DownloaderWorker
+ */
+public class BitstreamDownloader {
+
+	private static Logger logger = LogManager.getLogger(BitstreamDownloader.class);
+
+	/**
+	 * Suffix of the files being downloaded.
+	 */
+	public static final String PARTIAL_SUFFIX = ".part";
+
+	private static final Pattern MD5_PATTERN = Pattern.compile("[0-9a-fA-F]{32}");
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final int TARGET_LOCK_STRIPES = 64;
+
+	private final HttpClient httpClient;
+
+	private final Duration requestTimeout;
+
+	private final Duration transferTimeout;
+
+	private final int maxConnectionsPerHost;
+
+	private final ConcurrentMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+	private final ReentrantLock[] targetLocks = new ReentrantLock[TARGET_LOCK_STRIPES];
+
+	/**
+	 * Creates a downloader with a transfer time limit of one hour.
+	 *
+	 * @param timeOutMillis connect, request and read timeout in milliseconds
+	 * @param maxConnectionsPerHost maximum simultaneous downloads from the same host
+	 */
+	public BitstreamDownloader(int timeOutMillis, int maxConnectionsPerHost) {
+		this(timeOutMillis, TimeUnit.HOURS.toMillis(1), maxConnectionsPerHost);
+	}
+
+	/**
+	 * Creates a downloader.
+	 *
+	 * @param timeOutMillis connect, request and read timeout in milliseconds
+	 * @param transferTimeOutMillis maximum duration of a download in milliseconds
+	 * @param maxConnectionsPerHost maximum simultaneous downloads from the same host
+	 */
+	public BitstreamDownloader(int timeOutMillis, long transferTimeOutMillis, int maxConnectionsPerHost) {
+		this.requestTimeout = Duration.ofMillis(Math.max(1, timeOutMillis));
+		this.transferTimeout = Duration.ofMillis(Math.max(1, transferTimeOutMillis));
+		this.maxConnectionsPerHost = Math.max(1, maxConnectionsPerHost);
+		this.httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_2)
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.connectTimeout(requestTimeout)
+				.build();
+		for (int i = 0; i < targetLocks.length; i++)
+			targetLocks[i] = new ReentrantLock();
+	}
+
+	/**
+	 * Downloads a URL into {@code target}, resuming from {@code target.part} when present.
+	 *
+	 * @param url the source URL
+	 * @param target the final file
+	 * @param expectedChecksum the expected MD5 checksum, verified only when it is an MD5 hex
+	 *        string that was not derived from the URL itself
+	 * @throws DowloaderException if the transfer fails, times out or the checksum does not match
+	 */
+	public void download(String url, Path target, String expectedChecksum) throws DowloaderException {
+
+		long deadline = System.nanoTime() + transferTimeout.toNanos();
+
+		URI uri;
+		try {
+			uri = URI.create(url);
+		} catch (IllegalArgumentException e) {
+			throw new DowloaderException("Invalid URL: " + url, e);
+		}
+
+		Semaphore permits = hostPermits.computeIfAbsent(String.valueOf(uri.getHost()),
+				host -> new Semaphore(maxConnectionsPerHost));
+
+		ReentrantLock targetLock = targetLocks[Math.floorMod(target.toAbsolutePath().hashCode(), targetLocks.length)];
+
+		try {
+			if (!targetLock.tryLock(transferTimeout.toNanos(), TimeUnit.NANOSECONDS))
+				throw new DowloaderException("Transfer time limit exceeded waiting for another download of " + target + ": " + url);
+			try {
+				if (!permits.tryAcquire(remainingNanos(deadline), TimeUnit.NANOSECONDS))
+					throw new DowloaderException("Transfer time limit exceeded waiting for host " + uri.getHost() + ": " + url);
+				try {
+					transfer(uri, target, expectedChecksum, deadline);
+				} finally {
+					permits.release();
+				}
+			} finally {
+				targetLock.unlock();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new DowloaderException("Download interrupted: " + url, e);
+		}
+	}
+
+	private void transfer(URI uri, Path target, String expectedChecksum, long deadline) throws DowloaderException, InterruptedException {
+
+		Path partial = target.resolveSibling(target.getFileName() + PARTIAL_SUFFIX);
+
+		try {
+			Files.createDirectories(target.toAbsolutePath().getParent());
+
+			long offset = Files.exists(partial) ? Files.size(partial) : 0L;
+
+			HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(requestTimeout).GET();
+			if (offset > 0)
+				request.header("Range", "bytes=" + offset + "-");
+
+			HttpResponse<Flow.Publisher<List<ByteBuffer>>> response = httpClient.send(request.build(),
+					HttpResponse.BodyHandlers.ofPublisher());
+			int status = response.statusCode();
+
+			TimedBody body = new TimedBody();
+			response.body().subscribe(body);
+
+			try {
+				if (status == 416 && offset > 0) {
+					// the partial file already holds the whole content
+					logger.debug("Range not satisfiable, partial file complete: " + uri);
+				} else if (status == 206 && offset > 0) {
+					logger.debug("Resuming download at byte " + offset + ": " + uri);
+					writeBody(body, partial, true, deadline);
+				} else if (status == 200) {
+					writeBody(body, partial, false, deadline);
+				} else {
+					throw new DowloaderException("Unexpected HTTP status " + status + " for " + uri);
+				}
+			} finally {
+				body.cancel();
+			}
+
+			if (shouldVerify(uri, expectedChecksum)) {
+				String actual = md5Hex(partial);
+				if (!actual.equalsIgnoreCase(expectedChecksum)) {
+					Files.deleteIfExists(partial);
+					throw new DowloaderException("Checksum mismatch for " + uri + ": expected " + expectedChecksum + " got " + actual);
+				}
+			}
+
+			Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+
+		} catch (IOException e) {
+			throw new DowloaderException("I/O error downloading " + uri + ": " + e.getMessage(), e);
+		}
+	}
+
+	private static long remainingNanos(long deadline) {
+		return Math.max(0, deadline - System.nanoTime());
+	}
+
+	private void writeBody(TimedBody body, Path partial, boolean append, long deadline) throws IOException, InterruptedException {
+
+		StandardOpenOption mode = append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING;
+
+		try (FileChannel destination = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+
+			List<ByteBuffer> buffers;
+			while ((buffers = body.next(requestTimeout.toNanos(), deadline)) != null) {
+				for (ByteBuffer buffer : buffers) {
+					while (buffer.hasRemaining())
+						destination.write(buffer);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checksums generated from the URL (see OAIBitstream) say nothing about the content.
+	 */
+	private static boolean shouldVerify(URI uri, String expectedChecksum) {
+		return expectedChecksum != null && MD5_PATTERN.matcher(expectedChecksum).matches()
+				&& !expectedChecksum.equalsIgnoreCase(DigestUtils.md5Hex(uri.toString()));
+	}
+
+	private static String md5Hex(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			MessageDigest digest = MessageDigest.getInstance("MD5");
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			while (channel.read(buffer) != -1) {
+				buffer.flip();
+				digest.update(buffer);
+				buffer.clear();
+			}
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Response body read one chunk at a time with a timeout, the blocking
+	 * input stream of {@link HttpClient} has no read timeout.
+	 */
+	private static final class TimedBody implements Flow.Subscriber<List<ByteBuffer>> {
+
+		private static final List<ByteBuffer> END = new ArrayList<>(0);
+
+		private final BlockingQueue<List<ByteBuffer>> chunks = new LinkedBlockingQueue<>();
+
+		private volatile Flow.Subscription subscription;
+
+		private volatile Throwable error;
+
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			this.subscription = subscription;
+			subscription.request(1);
+		}
+
+		@Override
+		public void onNext(List<ByteBuffer> item) {
+			chunks.add(item);
+		}
+
+		@Override
+		public void onError(Throwable throwable) {
+			error = throwable;
+			chunks.add(END);
+		}
+
+		@Override
+		public void onComplete() {
+			chunks.add(END);
+		}
+
+		/**
+		 * @return the next chunk of the body, null at its end
+		 */
+		List<ByteBuffer> next(long readTimeoutNanos, long deadline) throws IOException, InterruptedException {
+
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0)
+				throw new IOException("Transfer time limit exceeded");
+
+			List<ByteBuffer> chunk = chunks.poll(Math.min(readTimeoutNanos, remaining), TimeUnit.NANOSECONDS);
+			if (chunk == null)
+				throw new IOException(remaining <= readTimeoutNanos ? "Transfer time limit exceeded" : "Read timed out");
+
+			if (chunk == END) {
+				if (error != null)
+					throw new IOException(error.getMessage(), error);
+				return null;
+			}
+
+			subscription.request(1);
+			return chunk;
+		}
+
+		void cancel() {
+			Flow.Subscription current = subscription;
+			if (current != null)
+				current.cancel();
+		}
+	}
+
+}
@@ -28,6 +28,7 @@ import org.lareferencia.core.repository.jpa.OAIBitstreamRepository;
 import org.lareferencia.core.worker.BaseBatchWorker;
 import org.lareferencia.core.worker.BitstreamPaginator;
 import org.lareferencia.core.worker.NetworkRunningContext;
+import org.lareferencia.core.worker.ResourceProfile;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
@@ -124,6 +125,11 @@ public class DeleteBitstreamWorker extends BaseBatchWorker<OAIBitstream, Network
 
 	
 	
+	@Override
+	public ResourceProfile getResourceProfile() {
+		return ResourceProfile.DISK;
+	}
+
 	@Override
 	public String toString() {
 		return  "Delete File[" + percentajeFormat.format(this.getCompletionRate()) + "]";
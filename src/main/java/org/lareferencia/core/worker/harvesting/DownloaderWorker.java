@@ -22,21 +22,34 @@ package org.lareferencia.core.worker.harvesting;
 
 import lombok.Getter;
 import lombok.Setter;
-import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.lareferencia.core.domain.OAIBitstream;
 import org.lareferencia.core.domain.OAIBitstreamStatus;
 import org.lareferencia.core.repository.jpa.OAIBitstreamRepository;
+import org.lareferencia.core.util.IOExecutors;
+import org.lareferencia.core.util.TimedTask;
 import org.lareferencia.core.worker.BaseBatchWorker;
 import org.lareferencia.core.worker.BitstreamPaginator;
 import org.lareferencia.core.worker.NetworkRunningContext;
+import org.lareferencia.core.worker.ResourceProfile;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.io.File;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Worker that downloads bitstreams from remote URLs.
@@ -44,6 +57,21 @@ import java.text.NumberFormat;
  * Processes bitstream URLs and downloads their content to local storage.
  * Supports incremental downloads and configurable timeouts.
  * </p>
+ * <p>
+ * Downloads of a page run concurrently (up to {@code maxConcurrentDownloads},
+ * with at most {@code maxConnectionsPerHost} per host) through a
+ * {@link BitstreamDownloader}. Each bitstream ends the page as
+ * {@link OAIBitstreamStatus#DOWNLOADED} or {@link OAIBitstreamStatus#FAILED};
+ * a failed download no longer stops the worker. Incremental runs retry the
+ * failed ones, up to {@code maxAttempts} attempts and no sooner than
+ * {@code retryDelayMinutes} after the previous one, resuming the partial
+ * downloads left by earlier attempts. A download taking longer than
+ * {@code transferTimeOut} milliseconds is cancelled and marked as failed.
+ * Bitstreams of a page sharing a checksum (hence the target file) are
+ * downloaded once and share the result. With
+ * {@code worker.virtual.threads} the downloads run on virtual threads
+ * ({@link IOExecutors}).
+ * </p>
  * 
  * @author LA Referencia Team
  * @see BaseBatchWorker
@@ -53,6 +81,8 @@ public class DownloaderWorker extends BaseBatchWorker<OAIBitstream, NetworkRunni
 	
 	
 	private static Logger logger = LogManager.getLogger(DownloaderWorker.class);
+	
+	private static final String EXECUTOR_NAME = "bitstream-downloader";
 
 
 	@Autowired
@@ -61,13 +91,49 @@ public class DownloaderWorker extends BaseBatchWorker<OAIBitstream, NetworkRunni
 	@Getter @Setter
 	private int timeOut;
 	
+	/** Maximum duration of a download in milliseconds, including the wait for its host. */
+	@Getter @Setter
+	private long transferTimeOut;
+	
 	@Getter @Setter
 	private String targetDirectory;
 	
+	@Getter @Setter
+	private int maxConcurrentDownloads;
+	
+	@Getter @Setter
+	private int maxConnectionsPerHost;
+	
+	/** Maximum download attempts of a bitstream retried by incremental runs. */
+	@Getter @Setter
+	private int maxAttempts;
+	
+	/** Minimum delay, in minutes, before an incremental run retries a failed download. */
+	@Getter @Setter
+	private long retryDelayMinutes;
+	
+	/** Runs the downloads on virtual threads when the JVM supports them. */
+	@Getter @Setter
+	@Value("${worker.virtual.threads:false}")
+	private boolean virtualThreads;
+	
 	NumberFormat percentajeFormat = NumberFormat.getPercentInstance();
 	
 	@Autowired
 	private OAIBitstreamRepository bitstreamRepository;
+	
+	private BitstreamDownloader downloader;
+	
+	/** Executor of the run, stop() shuts it down from another thread but never clears it. */
+	private volatile ExecutorService executor;
+	
+	private List<OAIBitstream> pageBitstreams;
+	
+	private List<TimedTask<Boolean>> pageDownloads;
+	
+	private Map<String, TimedTask<Boolean>> downloadsByChecksum;
+	
+	private int failedCount = 0;
 
 	/**
 	 * Creates a new downloader worker with default timeout.
@@ -75,27 +141,35 @@ public class DownloaderWorker extends BaseBatchWorker<OAIBitstream, NetworkRunni
 	public DownloaderWorker() {
 		super();
 		this.timeOut = 10000;
+		this.transferTimeOut = TimeUnit.HOURS.toMillis(1);
+		this.maxConcurrentDownloads = 8;
+		this.maxConnectionsPerHost = 2;
+		this.maxAttempts = 3;
+		this.retryDelayMinutes = 60;
 	
 	}
 
 	@Override
 	public void preRun() {
 		
-		HttpURLConnection.setFollowRedirects(true);
-		
 		if ( runningContext.getNetwork() != null ) { // solo si existe el repositorio
 			
 			
 			// si es incremental
 			if ( this.isIncremental() ) {				
 				logger.debug( "Download de bitstreams (incremental)"  );
-				// establece una paginator para recorrer NEW
-				this.setPaginator( new BitstreamPaginator(repository, runningContext.getNetwork(), OAIBitstreamStatus.NEW) );
+				// establece una paginator para recorrer NEW y los FAILED que pueden reintentarse
+				// (el limite es anterior al inicio, asi los que vuelven a fallar salen de la seleccion)
+				Date retryBefore = new Date( System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(retryDelayMinutes) );
+				this.setPaginator( new BitstreamPaginator(repository, runningContext.getNetwork(), maxAttempts, retryBefore) );
 			}			
 			else {
 				logger.debug( "Download de bitstreams (full)"  );
 				this.setPaginator( new BitstreamPaginator(repository, runningContext.getNetwork()) );
 			}
+			
+			downloader = new BitstreamDownloader(timeOut, transferTimeOut, maxConnectionsPerHost);
+			executor = IOExecutors.newBoundedExecutor(EXECUTOR_NAME, maxConcurrentDownloads, virtualThreads);
 				
 		} else {
 		
@@ -108,77 +182,126 @@ public class DownloaderWorker extends BaseBatchWorker<OAIBitstream, NetworkRunni
 	
 	@Override
 	public void prePage() {
+		pageBitstreams = new ArrayList<>();
+		pageDownloads = new ArrayList<>();
+		downloadsByChecksum = new HashMap<>();
 	}
 	
 	@Override
 	public void processItem(OAIBitstream bitstream) {
 		
+		logger.debug("Descargando Bitstream: " + bitstream.getId().getIdentifier() + " -- " + bitstream.getUrl() );
 		
-		try {
-			
-			logger.debug("Descargando Bitstream: " + bitstream.getId().getIdentifier() + " -- " + bitstream.getUrl() );
-			
+		// el archivo destino es el checksum, una sola descarga por checksum en la página
+		TimedTask<Boolean> download = downloadsByChecksum.get(bitstream.getId().getChecksum());
+		if ( download == null ) {
+			ExecutorService current = executor;
+			if ( current == null )
+				return;
 			
-			String url = bitstream.getUrl();
-			
-			URL urlObj = new URL(url);
-			HttpURLConnection conn = (HttpURLConnection) urlObj.openConnection();
-			conn.setReadTimeout(5000);
-			conn.setInstanceFollowRedirects(true);
-			
-			logger.debug("Request URL ... " + url);
-
-			boolean redirect = false;
-
-			// normally, 3xx is redirect
-			int status = conn.getResponseCode();
-			
-			if (status != HttpURLConnection.HTTP_OK) {
-				if (status == HttpURLConnection.HTTP_MOVED_TEMP
-					|| status == HttpURLConnection.HTTP_MOVED_PERM
-						|| status == HttpURLConnection.HTTP_SEE_OTHER)
-				redirect = true;
+			download = new TimedTask<>(() -> download(bitstream));
+			try {
+				current.execute(download);
+			} catch (RejectedExecutionException e) {
+				// el worker fue detenido, la página se descarta
+				logger.debug( "Descarga no iniciada, worker detenido: " + bitstream.getUrl() );
+				return;
 			}
+			downloadsByChecksum.put(bitstream.getId().getChecksum(), download);
+		}
+		
+		pageBitstreams.add(bitstream);
+		pageDownloads.add(download);
+	}
 
-			logger.debug("Response Code ... " + status + "will redirect? "+redirect);
-
-			if (redirect) {
-				// get redirect url from "location" header field
-				url = conn.getHeaderField("Location");
-				logger.debug("Redirect to URL : " + url);
-
+	/**
+	 * Waits for the downloads of the page and stores the resulting statuses in one batch.
+	 * The downloader enforces its own limits; a download still running after
+	 * them (plus one timeout of margin) is cancelled here.
+	 */
+	@Override
+	public void postPage() {
+		
+		for (int i = 0; i < pageBitstreams.size(); i++) {
+			
+			OAIBitstream bitstream = pageBitstreams.get(i);
+			boolean downloaded = false;
+			
+			try {
+				downloaded = pageDownloads.get(i).getWithin(transferTimeOut + Math.max(0, timeOut), TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				logger.error( "Tiempo de descarga excedido (" + transferTimeOut + "ms): " + bitstream.getUrl() );
+				pageDownloads.get(i).cancel(true);
+			} catch (CancellationException e) {
+				logger.error( "Descarga cancelada: " + bitstream.getUrl() );
+			} catch (ExecutionException e) {
+				logger.error( "Error inesperado en la descarga de " + bitstream.getUrl() + " : " + e.getCause() );
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				logger.error( "Descarga interrumpida: " + bitstream.getUrl() );
 			}
 			
-			FileUtils.copyURLToFile(new URL(url), 
-									new File(getTargetDirectory(), bitstream.getId().getChecksum() ), timeOut, timeOut
-									);
+			if ( !downloaded )
+				failedCount++;
 			
-			bitstream.setStatus( OAIBitstreamStatus.DOWNLOADED );
-			bitstreamRepository.save(bitstream);
+			Integer attempts = bitstream.getAttempts();
+			bitstream.setAttempts( downloaded ? 0 : (attempts == null ? 0 : attempts) + 1 );
+			bitstream.setLastAttempt( new Date() );
+			bitstream.setStatus( downloaded ? OAIBitstreamStatus.DOWNLOADED : OAIBitstreamStatus.FAILED );
+		}
 		
-		} catch (Exception e) {
-			logger.error( "Se detectaron problemas en el proceso de descarga de ODs " + runningContext.getNetwork().getAcronym() );
-			logger.error( e.getMessage() );
-			this.stop();
-			e.printStackTrace();
-		} 
+		bitstreamRepository.saveAll(pageBitstreams);
+	}
+
+	@Override
+	public void postRun() {
+		bitstreamRepository.flush();
+		shutdownExecutor();
 		
+		if ( failedCount > 0 )
+			logger.warn( "Descargas fallidas en " + runningContext.getNetwork().getAcronym() + ": " + failedCount );
 		
+		logger.info( IOExecutors.getStats(EXECUTOR_NAME) );
 	}
-
-
+	
 	@Override
-	public void postPage() {
+	public void stop() {
+		super.stop();
+		shutdownExecutor();
+	}
 	
+	private boolean download(OAIBitstream bitstream) {
+		try {
+			downloader.download(bitstream.getUrl(), new File(getTargetDirectory(), bitstream.getId().getChecksum()).toPath(),
+					bitstream.getId().getChecksum());
+			return true;
+		} catch (DowloaderException e) {
+			logger.error( "Se detectaron problemas en la descarga de " + bitstream.getUrl() + " : " + e.getMessage() );
+			return false;
+		}
 	}
-
-	@Override
-	public void postRun() {
-		bitstreamRepository.flush();
+	
+	/**
+	 * Shuts the executor down, cancelling the downloads still queued so that
+	 * nobody waits for them. The field is kept so a concurrent processItem
+	 * sees a rejected submission instead of a null executor.
+	 */
+	private void shutdownExecutor() {
+		ExecutorService current = executor;
+		if ( current != null ) {
+			for (Runnable queued : current.shutdownNow())
+				if ( queued instanceof Future<?> future )
+					future.cancel(false);
+		}
 	}
 
 	
 	
+	@Override
+	public ResourceProfile getResourceProfile() {
+		return ResourceProfile.NETWORK_IO;
+	}
+
 	@Override
 	public String toString() {
 		return  "Downloader[" + percentajeFormat.format(this.getCompletionRate()) + ""; 
@@ -20,33 +20,62 @@
 
 package org.lareferencia.core.worker.harvesting;
 
+import lombok.Getter;
+import lombok.Setter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.apache.tika.exception.TikaException;
 import org.apache.tika.metadata.Metadata;
 import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
 import org.apache.tika.sax.BodyContentHandler;
 import org.lareferencia.core.domain.OAIBitstream;
 import org.lareferencia.core.domain.OAIBitstreamStatus;
 import org.lareferencia.core.repository.jpa.OAIBitstreamRepository;
+import org.lareferencia.core.util.TimedTask;
 import org.lareferencia.core.worker.BaseBatchWorker;
 import org.lareferencia.core.worker.BitstreamPaginator;
 import org.lareferencia.core.worker.NetworkRunningContext;
+import org.lareferencia.core.worker.ResourceProfile;
+import org.lareferencia.core.worker.WorkerRuntimeException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.xml.sax.SAXException;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
+import java.io.InputStream;
 import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Worker that processes full-text bitstreams for harvested records.
  * <p>
  * Handles downloading and indexing of full-text content.
  * </p>
+ * <p>
+ * Text extraction runs on a bounded pool of {@code extractionThreads} threads
+ * sharing a single Tika parser, outside the page transaction. Files larger
+ * than {@code maxFileSize} are skipped and extractions running longer than
+ * {@code extractionTimeout} seconds since they started are abandoned, so a
+ * pathological file cannot stall the whole run. Tika may ignore the
+ * interruption, so abandoned threads are counted until they end; once more
+ * than {@code maxAbandonedExtractions} are still running the page fails and
+ * the worker stops, before they take all the cores. Extracted texts are
+ * saved in one batch per page.
+ * </p>
  * 
  * @author LA Referencia Team
  */
@@ -55,18 +84,65 @@ public class FulltextWorker extends BaseBatchWorker<OAIBitstream, NetworkRunning
 	
 	private static Logger logger = LogManager.getLogger(FulltextWorker.class);
 	
+	/**
+	 * Tika parser shared by all extractions, AutoDetectParser is thread-safe.
+	 */
+	private static final AutoDetectParser PARSER = new AutoDetectParser();
+	
+	private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+	
 	@Value("${bitstream.path:/tmp/bitstreams}")
 	private String BITSTREAM_PATH;
 
 	@Autowired
 	OAIBitstreamRepository repository;
 	
+	/**
+	 * Number of concurrent extraction threads (1 = sequential extraction).
+	 */
+	@Getter @Setter
+	@Value("${fulltext.extraction.threads:1}")
+	private int extractionThreads = 1;
+	
+	/**
+	 * Maximum time in seconds allowed for the extraction of a single file.
+	 */
+	@Getter @Setter
+	@Value("${fulltext.extraction.timeout:120}")
+	private long extractionTimeout = 120;
+	
+	/**
+	 * Maximum number of abandoned extractions still running before the worker fails.
+	 */
+	@Getter @Setter
+	@Value("${fulltext.extraction.max.abandoned:4}")
+	private int maxAbandonedExtractions = 4;
+	
+	/**
+	 * Maximum size in bytes of a file to be parsed, larger files are skipped (-1 = no limit).
+	 */
+	@Getter @Setter
+	@Value("${fulltext.max.file.size:104857600}")
+	private long maxFileSize = 104857600L;
 	
 	NumberFormat percentajeFormat = NumberFormat.getPercentInstance();
 	
 	@Autowired
 	private OAIBitstreamRepository bitstreamRepository;
 
+	/**
+	 * Pool of the run. stop() shuts it down from another thread but never
+	 * clears it; replacing and shutting it down are serialized by executorLock.
+	 */
+	private volatile ThreadPoolExecutor executor;
+	
+	private final ReentrantLock executorLock = new ReentrantLock();
+	
+	/** Extractions cancelled after a timeout, kept until their threads end. */
+	private final List<TimedTask<String>> abandonedExtractions = new ArrayList<>();
+	
+	private Map<OAIBitstream, TimedTask<String>> pendingExtractions;
+
 
 	/**
 	 * Creates a new full-text worker.
@@ -95,6 +171,8 @@ public class FulltextWorker extends BaseBatchWorker<OAIBitstream, NetworkRunning
 				logger.debug( "Fulltext de bitstreams (full)"  );
 				this.setPaginator( new BitstreamPaginator(repository, runningContext.getNetwork()) );
 			}
+			
+			executor = createExecutor();
 				
 		} else {
 		
@@ -107,40 +185,80 @@ public class FulltextWorker extends BaseBatchWorker<OAIBitstream, NetworkRunning
 	
 	@Override
 	public void prePage() {
+		pendingExtractions = new LinkedHashMap<>();
 	}
 	
 	@Override
 	public void processItem(OAIBitstream bitstream) {
 		
+		File file = new File( BITSTREAM_PATH + "/" + bitstream.getId().getChecksum());
 		
-			BodyContentHandler handler = new BodyContentHandler(-1);
-			AutoDetectParser parser = new AutoDetectParser();
-			Metadata metadata = new Metadata();
-			File file = new File( BITSTREAM_PATH + "/" + bitstream.getId().getChecksum());
-			try {
-				FileInputStream fis = new FileInputStream(file);
-				parser.parse(fis, handler, metadata);
-				bitstream.setFulltext(handler.toString());
-				bitstreamRepository.save(bitstream);
-			} catch (SAXException e) {
-				logger.error( "Problemas en extracción de texto del bitstream: " + bitstream.getId().getChecksum() + " : " + e.getMessage());
-				e.printStackTrace();
-			} catch (FileNotFoundException e) {
-				logger.error( "Problemas en extracción de texto del bitstream: " + bitstream.getId().getChecksum() + " : " + e.getMessage());
-				e.printStackTrace();
-			} catch (TikaException e) {
-				logger.error( "Problemas en extracción de texto del bitstream: " + bitstream.getId().getChecksum() + " : " + e.getMessage());
-				e.printStackTrace();
-			} catch (IOException e) {
-				logger.error( "Problemas en extracción de texto del bitstream: " + bitstream.getId().getChecksum() + " : " + e.getMessage());
-				e.printStackTrace();
-			}
+		if ( maxFileSize >= 0 && file.length() > maxFileSize ) {
+			logger.warn( "Bitstream omitido por tamaño (" + file.length() + " bytes): " + bitstream.getId().getChecksum() );
+			return;
+		}
 		
+		ThreadPoolExecutor current = executor;
+		if ( current == null )
+			return;
+		
+		TimedTask<String> extraction = new TimedTask<>(() -> extractText(file));
+		try {
+			current.execute(extraction);
+			pendingExtractions.put(bitstream, extraction);
+		} catch (RejectedExecutionException e) {
+			// el worker fue detenido, la página se descarta
+			logger.debug( "Extracción no iniciada, worker detenido: " + bitstream.getId().getChecksum() );
+		}
 	}
 
 
+	/**
+	 * Waits for the extractions submitted in the current page and saves the
+	 * extracted texts in a single batch. Each extraction gets
+	 * {@code extractionTimeout} seconds from its start, the time spent queued
+	 * is not counted.
+	 * 
+	 * @throws WorkerRuntimeException if too many abandoned extractions are still running
+	 */
 	@Override
 	public void postPage() {
+		
+		List<OAIBitstream> extracted = new ArrayList<>(pendingExtractions.size());
+		
+		for (Map.Entry<OAIBitstream, TimedTask<String>> entry : pendingExtractions.entrySet()) {
+			
+			OAIBitstream bitstream = entry.getKey();
+			
+			try {
+				bitstream.setFulltext( entry.getValue().getWithin(extractionTimeout, TimeUnit.SECONDS) );
+				extracted.add(bitstream);
+				
+			} catch (TimeoutException e) {
+				logger.error( "Tiempo de extracción de texto excedido (" + extractionTimeout + "s) para el bitstream: " + bitstream.getId().getChecksum() );
+				entry.getValue().cancel(true);
+				abandonedExtractions.add(entry.getValue());
+				replaceExecutor();
+				checkAbandonedExtractions();
+				
+			} catch (CancellationException e) {
+				logger.error( "Extracción de texto cancelada en el bitstream: " + bitstream.getId().getChecksum() );
+				
+			} catch (ExecutionException e) {
+				logger.error( "Problemas en extracción de texto del bitstream: " + bitstream.getId().getChecksum() + " : " + e.getCause().getMessage());
+				
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				logger.error( "Extracción de texto interrumpida en el bitstream: " + bitstream.getId().getChecksum() );
+				break;
+			}
+		}
+		
+		pendingExtractions.clear();
+		
+		if ( !extracted.isEmpty() )
+			bitstreamRepository.saveAll(extracted);
+		
 		bitstreamRepository.flush();
 		
 	}
@@ -148,10 +266,127 @@ public class FulltextWorker extends BaseBatchWorker<OAIBitstream, NetworkRunning
 	@Override
 	public void postRun() {
 		bitstreamRepository.flush();
+		shutdownExecutor();
+		
+		int abandoned = countAbandonedExtractions();
+		if ( abandoned > 0 )
+			logger.warn( "Extracciones abandonadas aún en ejecución al finalizar: " + abandoned );
+	}
+	
+	@Override
+	public void stop() {
+		super.stop();
+		shutdownExecutor();
 	}
 
+	/**
+	 * Extracts the text content of a file using the shared parser.
+	 * 
+	 * @param file the file to parse
+	 * @return the extracted text
+	 * @throws Exception if the file cannot be read or parsed
+	 */
+	private String extractText(File file) throws Exception {
+		BodyContentHandler handler = new BodyContentHandler(-1);
+		try ( InputStream is = new FileInputStream(file) ) {
+			PARSER.parse(is, handler, new Metadata(), newParseContext());
+		}
+		return handler.toString();
+	}
+	
+	/**
+	 * Creates the context of an extraction with the shared parser registered,
+	 * so that embedded documents (attachments, archive entries, OLE parts) are
+	 * parsed too, as the three arguments parse method does.
+	 * 
+	 * @return the parse context
+	 */
+	private static ParseContext newParseContext() {
+		ParseContext context = new ParseContext();
+		context.set(Parser.class, PARSER);
+		return context;
+	}
+	
+	private ThreadPoolExecutor createExecutor() {
+		int threads = Math.max(1, extractionThreads);
+		return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, "fulltext-extractor-" + THREAD_COUNTER.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+	
+	/**
+	 * Replaces the pool after a timed out extraction. Tika may ignore the
+	 * interruption, so the stuck thread is left behind in the old pool while
+	 * the extractions still queued are moved to a fresh one. Nothing is
+	 * replaced once the worker was stopped.
+	 */
+	private void replaceExecutor() {
+		executorLock.lock();
+		try {
+			ThreadPoolExecutor stalled = executor;
+			if ( stalled == null || stalled.isShutdown() )
+				return;
+			
+			List<Runnable> queued = new ArrayList<>();
+			stalled.getQueue().drainTo(queued);
+			stalled.shutdown();
+			
+			ThreadPoolExecutor fresh = createExecutor();
+			queued.forEach(fresh::execute);
+			executor = fresh;
+		} finally {
+			executorLock.unlock();
+		}
+	}
 	
+	/**
+	 * @return the abandoned extractions whose threads are still running
+	 */
+	private int countAbandonedExtractions() {
+		abandonedExtractions.removeIf(extraction -> !extraction.isRunning());
+		return abandonedExtractions.size();
+	}
+	
+	/**
+	 * Fails the page once the abandoned extractions still running exceed the limit.
+	 */
+	private void checkAbandonedExtractions() {
+		int abandoned = countAbandonedExtractions();
+		if ( abandoned > maxAbandonedExtractions ) {
+			throw new WorkerRuntimeException( "Demasiadas extracciones de texto abandonadas en ejecución (" + abandoned
+					+ " > " + maxAbandonedExtractions + "), se detiene el worker" );
+		}
+		if ( abandoned > 0 )
+			logger.warn( "Extracciones de texto abandonadas en ejecución: " + abandoned );
+	}
 	
+	/**
+	 * Shuts the pool down, cancelling the extractions still queued so that
+	 * nobody waits for them. The field is kept so a concurrent processItem
+	 * sees a rejected submission instead of a null pool.
+	 */
+	private void shutdownExecutor() {
+		executorLock.lock();
+		try {
+			ThreadPoolExecutor current = executor;
+			if ( current != null ) {
+				for (Runnable queued : current.shutdownNow())
+					if ( queued instanceof Future<?> future )
+						future.cancel(false);
+			}
+		} finally {
+			executorLock.unlock();
+		}
+	}
+	
+	
+	@Override
+	public ResourceProfile getResourceProfile() {
+		return ResourceProfile.CPU;
+	}
+
 	@Override
 	public String toString() {
 		return  "Fulltext extraction[" + percentajeFormat.format(this.getCompletionRate()) + "]";
@@ -44,6 +44,7 @@ import org.lareferencia.core.worker.validation.ValidationException;
 import org.lareferencia.core.worker.validation.ValidatorResult;
 import org.lareferencia.core.worker.BaseWorker;
 import org.lareferencia.core.worker.NetworkRunningContext;
+import org.lareferencia.core.worker.ResourceProfile;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
@@ -115,6 +116,11 @@ public class HarvestingWorker extends BaseWorker<NetworkRunningContext>
 		setIncremental(false);
 	}
 
+	@Override
+	public ResourceProfile getResourceProfile() {
+		return ResourceProfile.NETWORK_IO;
+	}
+
 	@Override
 	public String toString() {
 		return "Harvesting (SQLite)";
@@ -217,6 +223,7 @@ public class HarvestingWorker extends BaseWorker<NetworkRunningContext>
 		// Crear el snapshot
 		snapshotId = snapshotStore.createSnapshot(runningContext.getNetwork());
 		snapshotMetadata = snapshotStore.getSnapshotMetadata(snapshotId);
+		setMetricsSnapshot(snapshotMetadata);
 		logInfoMessage("SNAPSHOT CREATED: id=" + snapshotId + " for network " + runningContext.toString());
 
 		// El timestamp de inicio se establece en startHarvesting() automáticamente
@@ -591,9 +598,8 @@ public class HarvestingWorker extends BaseWorker<NetworkRunningContext>
 	 */
 	private OAIRecord createRecord(OAIRecordMetadata metadata) throws Exception {
 
-		// 1. Guardar XML en IMetadataStore y obtener hash
-		String metadataStr = metadata.toString();
-		String hash = metadataStore.storeAndReturnHash(snapshotMetadata, metadataStr);
+		// 1. Guardar XML en IMetadataStore y obtener hash (serialización canónica)
+		String hash = metadataStore.storeAndReturnHash(snapshotMetadata, metadata);
 
 		// 2. Crear OAIRecord para catálogo
 		OAIRecord record = OAIRecord.create(
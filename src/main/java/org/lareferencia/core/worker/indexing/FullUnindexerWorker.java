@@ -24,6 +24,7 @@ package org.lareferencia.core.worker.indexing;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.lareferencia.core.worker.NetworkRunningContext;
+import org.lareferencia.core.worker.ResourceProfile;
 import org.lareferencia.core.worker.solr.BaseSolrWorker;
 import lombok.Getter;
 import lombok.Setter;
@@ -90,6 +91,11 @@ public class FullUnindexerWorker extends BaseSolrWorker<NetworkRunningContext> {
         logger.info(message);
     }
 
+    @Override
+    public ResourceProfile getResourceProfile() {
+        return ResourceProfile.DISK;
+    }
+
     @Override
     public String toString() {
         return "UnIndexer[Delete by " + this.solrNetworkIDField + "]";
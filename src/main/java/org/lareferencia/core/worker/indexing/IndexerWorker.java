@@ -45,9 +45,12 @@ import org.lareferencia.core.metadata.MDTransformerParameterSetter;
 import org.lareferencia.core.metadata.OAIRecordMetadata;
 import org.lareferencia.core.metadata.OAIRecordMetadataParseException;
 import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.metrics.PipelineMetrics;
 import org.lareferencia.core.util.date.DateHelper;
 import org.lareferencia.core.worker.BaseBatchWorker;
 import org.lareferencia.core.worker.NetworkRunningContext;
+import org.lareferencia.core.worker.ResourceProfile;
+import org.lareferencia.core.worker.WorkerCheckpoint;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
@@ -61,6 +64,11 @@ import lombok.Setter;
  * <p>
  * Transforms and indexes validated records with optional deletion support.
  * </p>
+ * <p>
+ * A checkpoint is saved after each page sent to Solr; when resumed (see
+ * {@link #setResume}) the indexing continues after the last checkpoint without
+ * deleting the documents already sent.
+ * </p>
  * 
  * @author LA Referencia Team
  */
@@ -79,6 +87,8 @@ public class IndexerWorker extends BaseBatchWorker<ValidationRecord, NetworkRunn
 
 	private static Logger logger = LogManager.getLogger(IndexerWorker.class);
 
+	private static final String RECORDS_COUNTER = "records";
+
 	@Autowired
 	private SnapshotLogService snapshotLogService;
 
@@ -164,12 +174,23 @@ public class IndexerWorker extends BaseBatchWorker<ValidationRecord, NetworkRunn
 
 				snapshotMetadata = snapshotStore.getSnapshotMetadata(snapshotId);
 
-				logger.debug("Executing index deletion: " + runningContext.getNetwork().getAcronym());
-				logInfo("Executing index deletion: " + runningContext.toString() + " (" + this.targetSchemaName + ")");
-				delete(runningContext.getNetwork().getAcronym());
-
-				logger.debug("Full indexing (" + this.targetSchemaName + "): " + snapshotId);
-				logInfo("Full indexing: " + runningContext.toString() + "(" + this.targetSchemaName + ")");
+				// continúa una indexación interrumpida desde su último checkpoint
+				WorkerCheckpoint checkpoint = openCheckpoint(snapshotMetadata, "indexer-" + targetSchemaName,
+						checkpointFingerprint());
+
+				if (checkpoint != null && checkpoint.isResumed()) {
+					recordCounter = (int) checkpoint.getCounter(RECORDS_COUNTER);
+					logInfo("Resuming indexing: " + runningContext.toString() + " (" + this.targetSchemaName
+							+ ") after page " + checkpoint.getPage());
+				} else {
+					logger.debug("Executing index deletion: " + runningContext.getNetwork().getAcronym());
+					logInfo("Executing index deletion: " + runningContext.toString() + " (" + this.targetSchemaName
+							+ ")");
+					delete(runningContext.getNetwork().getAcronym());
+
+					logger.debug("Full indexing (" + this.targetSchemaName + "): " + snapshotId);
+					logInfo("Full indexing: " + runningContext.toString() + "(" + this.targetSchemaName + ")");
+				}
 
 				// establece el transformador para indexación
 				try {
@@ -177,6 +198,8 @@ public class IndexerWorker extends BaseBatchWorker<ValidationRecord, NetworkRunn
 					ValidationRecordPaginator paginator = new ValidationRecordPaginator(
 							snapshotMetadata, dbManager);
 					paginator.setPageSize(getPageSize());
+					if (checkpoint != null && checkpoint.isResumed())
+						paginator.setStartingPage(checkpoint.getPage() + 1);
 					this.setPaginator(paginator);
 
 					metadataTransformer = trfService
@@ -366,7 +389,22 @@ public class IndexerWorker extends BaseBatchWorker<ValidationRecord, NetworkRunn
 		}
 	}
 
+	@Override
+	protected void onCheckpoint(WorkerCheckpoint checkpoint) {
+		checkpoint.setCounter(RECORDS_COUNTER, recordCounter);
+	}
+
 	/******************* Auxiliares ********** */
+
+	/**
+	 * Fingerprint of the indexing configuration: a checkpoint is only resumed with
+	 * the same page size, target schema and filters.
+	 */
+	private String checkpointFingerprint() {
+		return getPageSize() + "|" + targetSchemaName + "|" + solrNetworkIDField + "|" + indexNetworkAttributes
+				+ "|" + contentFiltersByFieldName;
+	}
+
 	/**
 	 * Generates a unique record ID by combining snapshot ID with counter.
 	 * Uses bit shifting: snapshotId in bits 27-62, counter in bits 0-26.
@@ -432,8 +470,11 @@ public class IndexerWorker extends BaseBatchWorker<ValidationRecord, NetworkRunn
 
 	private void sendUpdateToSolr(String data)
 			throws SolrServerException, IOException, HttpSolrClient.RemoteSolrException {
+		long start = PipelineMetrics.start();
 		DirectXmlRequest request = new DirectXmlRequest("/update", data);
 		solrClient.request(request);
+		PipelineMetrics.recordStage(PipelineMetrics.SOLR_SEND, PipelineMetrics.tags(snapshotMetadata), start,
+				data.length());
 	}
 
 	private Long sendCountQueryToSolr(String queryString) {
@@ -452,6 +493,11 @@ public class IndexerWorker extends BaseBatchWorker<ValidationRecord, NetworkRunn
 		return 0L;
 	}
 
+	@Override
+	public ResourceProfile getResourceProfile() {
+		return ResourceProfile.DISK;
+	}
+
 	@Override
 	public String toString() {
 		return "Indexer[" + ((executeDeletion && !executeIndexing) ? "Delete:" : "") + targetSchemaName + "]("
@@ -38,6 +38,7 @@ import org.apache.solr.client.solrj.SolrServerException;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
 import org.apache.solr.common.SolrInputDocument;
 import org.lareferencia.core.domain.SnapshotIndexStatus;
+import org.lareferencia.core.embedding.EmbeddingVectors;
 import org.lareferencia.core.embedding.IEmbeddingService;
 import org.lareferencia.core.embedding.chunks.ChunkingService;
 import org.lareferencia.core.metadata.IMDFormatTransformer;
@@ -49,6 +50,7 @@ import org.lareferencia.core.metadata.MDTransformerParameterSetter;
 import org.lareferencia.core.metadata.OAIRecordMetadata;
 import org.lareferencia.core.metadata.OAIRecordMetadataParseException;
 import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.metrics.PipelineMetrics;
 import org.lareferencia.core.repository.validation.ValidationDatabaseManager;
 import org.lareferencia.core.repository.validation.ValidationRecord;
 import org.lareferencia.core.repository.validation.ValidationRecordPaginator;
@@ -56,6 +58,8 @@ import org.lareferencia.core.service.management.SnapshotLogService;
 import org.lareferencia.core.util.date.DateHelper;
 import org.lareferencia.core.worker.BaseBatchWorker;
 import org.lareferencia.core.worker.NetworkRunningContext;
+import org.lareferencia.core.worker.ResourceProfile;
+import org.lareferencia.core.worker.WorkerCheckpoint;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
@@ -74,6 +78,11 @@ import lombok.Setter;
  * Transforms and indexes validated records with optional deletion support.
  * This is a separate implementation for semantic indexing purposes.
  * </p>
+ * <p>
+ * A checkpoint is saved after each page sent to Solr, so a resumed run (see
+ * {@link #setResume}) does not compute again the embeddings of the records
+ * already indexed.
+ * </p>
  *
  * @author LA Referencia Team
  */
@@ -85,6 +94,11 @@ public class SemanticIndexerWorker extends BaseBatchWorker<ValidationRecord, Net
 	public static final int MAX_EMBEDDING_TEXT_LENGTH = 8000;
 	private static Logger logger = LogManager.getLogger(SemanticIndexerWorker.class);
 
+	private static final String RECORDS_COUNTER = "records";
+	private static final String EMBEDDED_COUNTER = "embedded";
+	private static final String EMPTY_COUNTER = "empty";
+	private static final String FAILED_COUNTER = "failed";
+
 	@Autowired
 	private ISnapshotStore snapshotStore;
 
@@ -162,6 +176,9 @@ public class SemanticIndexerWorker extends BaseBatchWorker<ValidationRecord, Net
 	@Value("${embedding.use.multivalued.vector:false}")
 	@Setter
 	private boolean useMultiValuedVector;
+	@Value("${embedding.vector.quantize.int8:false}")
+	@Setter
+	private boolean quantizeVectorInt8;
     @Value("${embedding.title.standalone.indexing.min.words:5}")
     @Setter
     private int minTitleWordsForEmbedding;
@@ -188,11 +205,22 @@ public class SemanticIndexerWorker extends BaseBatchWorker<ValidationRecord, Net
 			return;
 		}
 
-		if (!prepareForIndexing()) {
+		WorkerCheckpoint checkpoint = openCheckpoint(snapshotMetadata, "semantic-indexer-" + targetSchemaName,
+				checkpointFingerprint());
+		boolean resumed = checkpoint != null && checkpoint.isResumed();
+
+		if (resumed) {
+			restoreCounters(checkpoint);
+			logInfo(MessageFormat.format("Resuming semantic indexing: {0}({1}) after page {2}",
+					runningContext.toString(), this.targetSchemaName, checkpoint.getPage()));
+			if (!initializeTransformer()) {
+				return;
+			}
+		} else if (!prepareForIndexing()) {
 			return;
 		}
 
-		setupPaginator();
+		setupPaginator(resumed ? checkpoint.getPage() + 1 : 1);
 	}
 
 	@Override
@@ -247,7 +275,9 @@ public class SemanticIndexerWorker extends BaseBatchWorker<ValidationRecord, Net
 
 		if (documentsToBeIndexed != null && !documentsToBeIndexed.isEmpty()) {
 			try {
+				long start = PipelineMetrics.start();
 				solrClient.add(documentsToBeIndexed);
+				PipelineMetrics.recordStage(PipelineMetrics.SOLR_SEND, PipelineMetrics.tags(snapshotMetadata), start);
 			} catch (SolrServerException e) {
 				logError(
 						MessageFormat.format("Issues whe connecting to SOLR: {0}: {1}", runningContext.toString(), e.getMessage()));
@@ -298,6 +328,31 @@ public class SemanticIndexerWorker extends BaseBatchWorker<ValidationRecord, Net
 		}
 	}
 
+	@Override
+	protected void onCheckpoint(WorkerCheckpoint checkpoint) {
+		checkpoint.setCounter(RECORDS_COUNTER, recordCounter);
+		checkpoint.setCounter(EMBEDDED_COUNTER, embeddedRecordsCount);
+		checkpoint.setCounter(EMPTY_COUNTER, emptyRecordsCount);
+		checkpoint.setCounter(FAILED_COUNTER, failedEmbeddingsCount);
+	}
+
+	private void restoreCounters(WorkerCheckpoint checkpoint) {
+		recordCounter = (int) checkpoint.getCounter(RECORDS_COUNTER);
+		embeddedRecordsCount = (int) checkpoint.getCounter(EMBEDDED_COUNTER);
+		emptyRecordsCount = (int) checkpoint.getCounter(EMPTY_COUNTER);
+		failedEmbeddingsCount = (int) checkpoint.getCounter(FAILED_COUNTER);
+	}
+
+	/**
+	 * Fingerprint of the indexing configuration: a checkpoint is only resumed with
+	 * the same page size, target schema, embedding settings and filters.
+	 */
+	private String checkpointFingerprint() {
+		return getPageSize() + "|" + targetSchemaName + "|" + solrNetworkIDField + "|" + embeddingModel + "|"
+				+ vectorFieldName + "|" + useMultiValuedVector + "|" + quantizeVectorInt8 + "|"
+				+ indexNetworkAttributes + "|" + contentFiltersByFieldName;
+	}
+
 	private boolean isDeletionOnlyMode() {
 		return executeDeletion && !executeIndexing;
 	}
@@ -316,6 +371,7 @@ public class SemanticIndexerWorker extends BaseBatchWorker<ValidationRecord, Net
 			return false;
 		}
 		snapshotMetadata = snapshotStore.getSnapshotMetadata(snapshotId);
+		setMetricsSnapshot(snapshotMetadata);
 		return true;
 	}
 
@@ -326,8 +382,9 @@ public class SemanticIndexerWorker extends BaseBatchWorker<ValidationRecord, Net
 
 		logger.debug(MessageFormat.format("Full semantic indexing ({0}): {1}", this.targetSchemaName, snapshotId));
 		logInfo(MessageFormat.format("Full semantic indexing: {0}({1})", runningContext.toString(), this.targetSchemaName));
-		logInfo(MessageFormat.format("Embedding API: {0} | Model: {1} | Title field: {2} | Abstract field: {3} | Vector field: {4} | MultiValued vector: {5}",
-				embeddingApiUrl, embeddingModel, titleFieldForEmbedding, abstractFieldForEmbedding, vectorFieldName, useMultiValuedVector));
+		logInfo(MessageFormat.format("Embedding API: {0} | Model: {1} | Title field: {2} | Abstract field: {3} | Vector field: {4} | MultiValued vector: {5} | Int8 quantization: {6}",
+				embeddingApiUrl, embeddingModel, titleFieldForEmbedding, abstractFieldForEmbedding, vectorFieldName, useMultiValuedVector,
+				quantizeVectorInt8));
 
 		return initializeTransformer();
 	}
@@ -356,9 +413,10 @@ public class SemanticIndexerWorker extends BaseBatchWorker<ValidationRecord, Net
 		}
 	}
 
-	private void setupPaginator() {
+	private void setupPaginator(int startingPage) {
 		ValidationRecordPaginator paginator = new ValidationRecordPaginator(snapshotMetadata, dbManager);
 		paginator.setPageSize(getPageSize());
+		paginator.setStartingPage(startingPage);
 		this.setPaginator(paginator);
 	}
 
@@ -406,6 +464,8 @@ public class SemanticIndexerWorker extends BaseBatchWorker<ValidationRecord, Net
 	/**
 	 * Solr DenseVector multivalued fields expect an array of vectors [[...], [...]]
 	 * while single-valued fields expect a single vector [...].
+	 * Vectors are set as list views over the primitive arrays returned by the
+	 * embedding service (int8 quantized when enabled), so no boxed copy is kept.
 	 */
 	private void enrichRecordWithEmbedding(SolrInputDocument recordDoc, OAIRecordMetadata metadata) {
 		String title = extractMetadataValue(metadata, titleFieldForEmbedding);
@@ -433,17 +493,23 @@ public class SemanticIndexerWorker extends BaseBatchWorker<ValidationRecord, Net
                 return;
             }
 
+			long start = PipelineMetrics.start();
 			embeddingService.embed(textsToEmbedding)
 					.filter(vectors -> !vectors.isEmpty())
 					.ifPresentOrElse(
-							vectors -> recordDoc.setField(vectorFieldName, vectors),
+							vectors -> recordDoc.setField(vectorFieldName,
+									EmbeddingVectors.toFieldValue(vectors, quantizeVectorInt8)),
 							() -> logEmbeddingFailure(title));
+			PipelineMetrics.recordStage(PipelineMetrics.EMBEDDING, PipelineMetrics.tags(snapshotMetadata), start);
 		} else {
+			long start = PipelineMetrics.start();
 			embeddingService.embed(chunkingService.normalizeText(title))
-					.filter(vector -> !vector.isEmpty())
+					.filter(vector -> vector.length > 0)
 					.ifPresentOrElse(
-							vector -> recordDoc.setField(vectorFieldName, vector),
+							vector -> recordDoc.setField(vectorFieldName,
+									EmbeddingVectors.toFieldValue(vector, quantizeVectorInt8)),
 							() -> logEmbeddingFailure(title));
+			PipelineMetrics.recordStage(PipelineMetrics.EMBEDDING, PipelineMetrics.tags(snapshotMetadata), start);
 		}
 		embeddedRecordsCount++;
 	}
@@ -526,6 +592,11 @@ public class SemanticIndexerWorker extends BaseBatchWorker<ValidationRecord, Net
 		return 0L;
 	}
 
+	@Override
+	public ResourceProfile getResourceProfile() {
+		return ResourceProfile.CPU;
+	}
+
 	@Override
 	public String toString() {
 		return MessageFormat.format("SemanticIndexer[{0}{1}]({2})",
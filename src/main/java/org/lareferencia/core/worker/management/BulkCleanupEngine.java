@@ -0,0 +1,473 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.management;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.metadata.IMetadataStore;
+import org.lareferencia.core.metadata.MetadataRecordStoreException;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.repository.catalog.OAIRecordCatalogRepository;
+import org.lareferencia.core.repository.validation.RecordValidationRepository;
+import org.lareferencia.core.util.HashFingerprintSet;
+import org.lareferencia.core.util.IOExecutors;
+import org.lareferencia.core.util.OperationThrottle;
+import org.lareferencia.core.util.PathUtils;
+
+/**
+ * Bulk removal of the data of the snapshots of a network.
+ * <p>
+ * Metadata is shared by the snapshots of a network, so it is collected with a
+ * mark and sweep instead of record by record:
+ * </p>
+ * <ul>
+ * <li>Mark: the hashes referenced by the retained snapshots (catalog
+ * original_metadata_hash and validation published_metadata_hash) are loaded in
+ * a {@link HashFingerprintSet}</li>
+ * <li>Sweep: the hashes of the store not in the set are spilled to a temporary
+ * file while iterating the store with
+ * {@link IMetadataStore#forEachHash(SnapshotMetadata, java.util.function.Consumer)},
+ * and then deleted in parallel batches</li>
+ * </ul>
+ * <p>
+ * Snapshot directories are deleted in parallel as well. Every deletion goes
+ * through a shared throttle, so the cleanup does not take all the I/O of
+ * harvests running for other networks, and progress is logged periodically.
+ * The network must not be harvested or validated while the sweep runs, which
+ * the serial lane of the network guarantees for its workers.
+ * </p>
+ *
+ * @author LA Referencia Team
+ * @see NetworkCleanWorker
+ */
+public class BulkCleanupEngine {
+
+	private static Logger logger = LogManager.getLogger(BulkCleanupEngine.class);
+
+	private static final int BATCH_SIZE = 1000;
+
+	private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+	private final IMetadataStore metadataStore;
+	private final OAIRecordCatalogRepository catalogRepository;
+	private final RecordValidationRepository validationRepository;
+	private final String basePath;
+	private final int threads;
+	private final boolean virtualThreads;
+	private final OperationThrottle throttle;
+
+	private volatile Progress progress;
+
+	/**
+	 * Creates an engine.
+	 *
+	 * @param metadataStore           the metadata store of the networks
+	 * @param catalogRepository       the catalogs, for the mark phase
+	 * @param validationRepository    the validation results, for the mark phase
+	 * @param basePath                the base path of the snapshot directories
+	 * @param threads                 the deletions run in parallel
+	 * @param maxOperationsPerSecond  the maximum deletions per second, 0 for no limit
+	 * @param virtualThreads          true to run the deletions on virtual threads
+	 */
+	public BulkCleanupEngine(IMetadataStore metadataStore, OAIRecordCatalogRepository catalogRepository,
+			RecordValidationRepository validationRepository, String basePath, int threads,
+			int maxOperationsPerSecond, boolean virtualThreads) {
+		this.metadataStore = metadataStore;
+		this.catalogRepository = catalogRepository;
+		this.validationRepository = validationRepository;
+		this.basePath = basePath;
+		this.threads = Math.max(1, threads);
+		this.virtualThreads = virtualThreads;
+		this.throttle = new OperationThrottle(maxOperationsPerSecond);
+	}
+
+	/**
+	 * @return the progress of the running phase, null if none is running
+	 */
+	public Progress getProgress() {
+		return progress;
+	}
+
+	/**
+	 * Mark phase: collects the metadata hashes referenced by the given
+	 * snapshots. Fails if any catalog cannot be read, since sweeping with an
+	 * incomplete set would delete live metadata; snapshots never validated only
+	 * contribute their catalog.
+	 *
+	 * @param snapshots the retained snapshots
+	 * @return the referenced hashes
+	 * @throws IOException if a catalog or validation database cannot be read
+	 */
+	public HashFingerprintSet markReferencedHashes(Collection<SnapshotMetadata> snapshots) throws IOException {
+
+		HashFingerprintSet referenced = new HashFingerprintSet();
+		long start = System.currentTimeMillis();
+
+		for (SnapshotMetadata snapshot : snapshots) {
+			long catalogHashes = catalogRepository.forEachMetadataHash(snapshot, referenced::add);
+			long publishedHashes = validationRepository.forEachPublishedMetadataHash(snapshot, referenced::add);
+			logger.info("CLEAN WORKER: Marked snapshot {}: {} catalog and {} published hashes",
+					snapshot.getSnapshotId(), catalogHashes, publishedHashes);
+		}
+
+		logger.info("CLEAN WORKER: {} referenced hashes marked in {} ms ({} KB)", referenced.size(),
+				System.currentTimeMillis() - start, referenced.getMemoryBytes() / 1024);
+		return referenced;
+	}
+
+	/**
+	 * Sweep phase: deletes the metadata of the network not in the referenced set.
+	 *
+	 * @param network    any snapshot of the network, identifies its metadata store
+	 * @param referenced the hashes to keep, empty to delete all the metadata
+	 * @return the result of the sweep
+	 * @throws IOException if the store cannot be iterated or the spill file written
+	 * @throws InterruptedException if interrupted while deleting
+	 */
+	public Result sweepMetadata(SnapshotMetadata network, HashFingerprintSet referenced)
+			throws IOException, InterruptedException {
+
+		Path candidates = Files.createTempFile("metadata-sweep-", ".txt");
+		try {
+			// se vuelca a disco para no borrar mientras se itera el store
+			long[] counts = new long[2];
+			try (BufferedWriter writer = Files.newBufferedWriter(candidates, StandardCharsets.UTF_8)) {
+				metadataStore.forEachHash(network, hash -> {
+					counts[0]++;
+					if (!referenced.contains(hash)) {
+						counts[1]++;
+						try {
+							writer.write(hash);
+							writer.newLine();
+						} catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+					}
+				});
+			} catch (MetadataRecordStoreException e) {
+				throw new IOException("Unable to iterate the metadata store", e);
+			} catch (UncheckedIOException e) {
+				throw e.getCause();
+			}
+
+			logger.info("CLEAN WORKER: {} of {} stored metadata entries are not referenced", counts[1], counts[0]);
+
+			Progress current = progress = new Progress("metadata", counts[1]);
+			try (BufferedReader reader = Files.newBufferedReader(candidates, StandardCharsets.UTF_8)) {
+				return runTasks(current, () -> new BatchReader(reader), hashes -> {
+					long deleted = 0;
+					for (String hash : hashes) {
+						throttle.acquire();
+						try {
+							if (metadataStore.deleteMetadata(network, hash))
+								deleted++;
+						} catch (MetadataRecordStoreException e) {
+							current.failed.incrementAndGet();
+							logger.warn("CLEAN WORKER: Unable to delete metadata {}: {}", hash, e.getMessage());
+						}
+						current.advance(1);
+					}
+					return deleted;
+				}, counts[0]);
+			}
+		} finally {
+			progress = null;
+			Files.deleteIfExists(candidates);
+		}
+	}
+
+	/**
+	 * Deletes the directories of the given snapshots, in parallel.
+	 *
+	 * @param snapshots the snapshots, whose databases must already be closed
+	 * @return the result, counting deleted files
+	 * @throws InterruptedException if interrupted while deleting
+	 */
+	public Result deleteSnapshotDirectories(Collection<SnapshotMetadata> snapshots) throws InterruptedException {
+
+		List<Path> directories = new ArrayList<>();
+		for (SnapshotMetadata snapshot : snapshots) {
+			Path directory = Paths.get(PathUtils.getSnapshotPath(basePath, snapshot));
+			if (Files.isDirectory(directory))
+				directories.add(directory);
+		}
+
+		Progress current = progress = new Progress("snapshots", directories.size());
+		try {
+			return runTasks(current, directories, directory -> {
+				long files = deleteDirectory(directory, current);
+				current.advance(1);
+				return files;
+			}, directories.size());
+		} finally {
+			progress = null;
+		}
+	}
+
+	private long deleteDirectory(Path directory, Progress current) throws InterruptedException {
+		long[] files = { 0 };
+		try {
+			Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+					try {
+						throttle.acquire();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return FileVisitResult.TERMINATE;
+					}
+					Files.deleteIfExists(file);
+					files[0]++;
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+					if (e != null)
+						throw e;
+					Files.deleteIfExists(dir);
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (NoSuchFileException e) {
+			// borrado por otro proceso
+		} catch (IOException e) {
+			current.failed.incrementAndGet();
+			logger.warn("CLEAN WORKER: Unable to delete {}: {}", directory, e.getMessage());
+		}
+		if (Thread.currentThread().isInterrupted())
+			throw new InterruptedException("Snapshot directory deletion interrupted");
+		return files[0];
+	}
+
+	/**
+	 * Runs a task per item on a bounded executor, with a bounded number of items
+	 * in memory at once.
+	 */
+	private <T> Result runTasks(Progress current, Iterable<T> items, Task<T> task, long scanned)
+			throws InterruptedException {
+
+		long start = System.currentTimeMillis();
+		ThreadPoolExecutor executor = IOExecutors.newBoundedExecutor("clean", threads, virtualThreads);
+		Semaphore inFlight = new Semaphore(threads * 2);
+		List<Future<Long>> futures = new ArrayList<>();
+		long deleted = 0;
+
+		try {
+			for (T item : items) {
+				inFlight.acquire();
+				futures.add(executor.submit(() -> {
+					try {
+						return task.run(item);
+					} finally {
+						inFlight.release();
+						current.report();
+					}
+				}));
+
+				// acumula los lotes terminados para no retener todos los futures
+				if (futures.size() >= threads * 4)
+					deleted += collectDone(futures);
+			}
+
+			for (Future<Long> future : futures)
+				deleted += get(future);
+			futures.clear();
+
+		} finally {
+			executor.shutdownNow();
+			executor.awaitTermination(1, TimeUnit.MINUTES);
+		}
+
+		Result result = new Result(scanned, deleted, current.failed.get(), System.currentTimeMillis() - start);
+		logger.info("CLEAN WORKER: {} cleanup finished: {}", current.label, result);
+		return result;
+	}
+
+	private static long collectDone(List<Future<Long>> futures) throws InterruptedException {
+		long deleted = 0;
+		for (int i = futures.size() - 1; i >= 0; i--) {
+			if (futures.get(i).isDone())
+				deleted += get(futures.remove(i));
+		}
+		return deleted;
+	}
+
+	private static long get(Future<Long> future) throws InterruptedException {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof InterruptedException)
+				throw (InterruptedException) e.getCause();
+			throw new IllegalStateException("Cleanup batch failed", e.getCause());
+		}
+	}
+
+	@FunctionalInterface
+	private interface Task<T> {
+		long run(T item) throws InterruptedException;
+	}
+
+	/**
+	 * Reads the spilled hashes in batches, lazily.
+	 */
+	private static final class BatchReader implements Iterator<List<String>> {
+
+		private final BufferedReader reader;
+		private List<String> next;
+
+		private BatchReader(BufferedReader reader) {
+			this.reader = reader;
+			this.next = read();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !next.isEmpty();
+		}
+
+		@Override
+		public List<String> next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			List<String> current = next;
+			next = read();
+			return current;
+		}
+
+		private List<String> read() {
+			List<String> batch = new ArrayList<>(BATCH_SIZE);
+			try {
+				String line;
+				while (batch.size() < BATCH_SIZE && (line = reader.readLine()) != null)
+					batch.add(line);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return batch;
+		}
+	}
+
+	/**
+	 * Progress of a phase, logged every few seconds.
+	 */
+	public static final class Progress {
+
+		private final String label;
+		private final long total;
+		private final long startNanos = System.nanoTime();
+		private final AtomicLong done = new AtomicLong();
+		private final AtomicLong failed = new AtomicLong();
+		private final AtomicLong lastReportNanos = new AtomicLong(startNanos);
+
+		Progress(String label, long total) {
+			this.label = label;
+			this.total = total;
+		}
+
+		void advance(long count) {
+			done.addAndGet(count);
+		}
+
+		void report() {
+			long now = System.nanoTime();
+			long last = lastReportNanos.get();
+			if (now - last < PROGRESS_INTERVAL_NANOS || !lastReportNanos.compareAndSet(last, now))
+				return;
+
+			double seconds = (now - startNanos) / 1e9;
+			logger.info("CLEAN WORKER: {} {}/{} ({}%) at {} per second, {} failed", label, done.get(), total,
+					Math.round(getCompletionRate() * 100), Math.round(done.get() / Math.max(seconds, 1e-3)),
+					failed.get());
+		}
+
+		public String getLabel() {
+			return label;
+		}
+
+		public double getCompletionRate() {
+			return total > 0 ? Math.min(1.0, (double) done.get() / total) : 1.0;
+		}
+	}
+
+	/**
+	 * Counters of a finished phase.
+	 */
+	public static final class Result {
+
+		private final long scanned;
+		private final long deleted;
+		private final long failed;
+		private final long elapsedMillis;
+
+		Result(long scanned, long deleted, long failed, long elapsedMillis) {
+			this.scanned = scanned;
+			this.deleted = deleted;
+			this.failed = failed;
+			this.elapsedMillis = elapsedMillis;
+		}
+
+		public long getScanned() {
+			return scanned;
+		}
+
+		public long getDeleted() {
+			return deleted;
+		}
+
+		public long getFailed() {
+			return failed;
+		}
+
+		public long getElapsedMillis() {
+			return elapsedMillis;
+		}
+
+		@Override
+		public String toString() {
+			return "scanned " + scanned + ", deleted " + deleted + ", failed " + failed + " in " + elapsedMillis + " ms";
+		}
+	}
+}
@@ -20,16 +20,30 @@
 
 package org.lareferencia.core.worker.management;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.lareferencia.core.domain.Network;
 import org.lareferencia.core.repository.jpa.NetworkRepository;
 import org.lareferencia.core.service.validation.IValidationStatisticsService;
 import org.lareferencia.core.service.validation.ValidationStatisticsException;
+import org.lareferencia.core.metadata.IMetadataStore;
 import org.lareferencia.core.metadata.ISnapshotStore;
+import org.lareferencia.core.metadata.MetadataGarbageCollector;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.repository.validation.RecordValidationRepository;
+import org.lareferencia.core.util.HashFingerprintSet;
 import org.lareferencia.core.worker.BaseWorker;
 import org.lareferencia.core.worker.NetworkRunningContext;
+import org.lareferencia.core.worker.ResourceProfile;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import lombok.Getter;
 import lombok.Setter;
@@ -38,17 +52,31 @@ import org.lareferencia.core.repository.catalog.OAIRecordCatalogRepository;
 /**
  * Worker that cleans network snapshot data or deletes an entire network.
  * Removes records, metadata, and associated resources based on configuration.
+ * <p>
+ * After the snapshots are cleaned, their directories are deleted by a
+ * {@link BulkCleanupEngine}. The metadata no longer referenced by the retained
+ * snapshots is queued for the {@link MetadataGarbageCollector}, or swept inline
+ * by the engine when the collector is not available.
+ * </p>
  */
 public class NetworkCleanWorker extends BaseWorker<NetworkRunningContext> {
 
 	private static Logger logger = LogManager.getLogger(NetworkCleanWorker.class);
 
+	@Override
+	public ResourceProfile getResourceProfile() {
+		return ResourceProfile.DISK;
+	}
+
 	@Override
 	public String toString() {
-		if (!deleteEntireNetwork)
-			return "Cleaner";
-		else
-			return "Delete";
+		String name = deleteEntireNetwork ? "Delete" : "Cleaner";
+
+		BulkCleanupEngine engine = cleanupEngine;
+		BulkCleanupEngine.Progress progress = engine != null ? engine.getProgress() : null;
+		if (progress == null)
+			return name;
+		return name + " (" + progress.getLabel() + " " + Math.round(progress.getCompletionRate() * 100) + "%)";
 	}
 
 	@Autowired
@@ -60,6 +88,46 @@ public class NetworkCleanWorker extends BaseWorker<NetworkRunningContext> {
 	@Autowired
 	private OAIRecordCatalogRepository catalogRepo;
 
+	@Autowired
+	private RecordValidationRepository validationRepository;
+
+	@Autowired
+	private IMetadataStore metadataStore;
+
+	@Autowired(required = false)
+	private MetadataGarbageCollector garbageCollector;
+
+	@Value("${store.basepath:/tmp/data}")
+	private String basePath;
+
+	/**
+	 * Whether to sweep the metadata no longer referenced by retained snapshots
+	 * inline, when the garbage collector is disabled or fails and on full
+	 * deletes.
+	 */
+	@Getter @Setter
+	@Value("${clean.metadata.sweep:true}")
+	private boolean metadataSweep = true;
+
+	/**
+	 * Number of parallel deletions.
+	 */
+	@Getter @Setter
+	@Value("${clean.threads:4}")
+	private int cleanThreads = 4;
+
+	/**
+	 * Maximum deletions per second over all threads (0 = no limit).
+	 */
+	@Getter @Setter
+	@Value("${clean.max.operations.per.second:2000}")
+	private int maxOperationsPerSecond = 2000;
+
+	@Value("${worker.virtual.threads:false}")
+	private boolean virtualThreads;
+
+	private volatile BulkCleanupEngine cleanupEngine;
+
 	/**
 	 * Flag indicating whether to delete the entire network or just clean snapshot
 	 * data.
@@ -95,46 +163,185 @@ public class NetworkCleanWorker extends BaseWorker<NetworkRunningContext> {
 
 			Long lgkSnapshotID = snapshotStore.findLastGoodKnownSnapshot(network);
 			Long lhSnapshotID = snapshotStore.findLastHarvestingSnapshot(network);
+			List<SnapshotMetadata> retained = retainedSnapshots(lgkSnapshotID, lhSnapshotID);
 
-			// clean all snapshot data except last harvested and last good known snapshots
+			// all snapshots except last harvested and last good known snapshots
+			Map<Long, SnapshotMetadata> toClean = new LinkedHashMap<>();
 			for (Long snapshotId : snapshotStore.listSnapshotsIds(network.getId(), false)) {
 				// si no es el lgk ni lh
-				if (!snapshotId.equals(lgkSnapshotID) && !snapshotId.equals(lhSnapshotID)) {
+				if (!snapshotId.equals(lgkSnapshotID) && !snapshotId.equals(lhSnapshotID))
+					toClean.put(snapshotId, snapshotStore.getSnapshotMetadata(snapshotId));
+			}
 
-					try {
-						cleanSnapshotStatsData(snapshotId);
-						catalogRepo.deleteSnapshot(snapshotStore.getSnapshotMetadata(snapshotId));
-						snapshotStore.cleanSnapshotData(snapshotId);
+			// las referencias a metadata se leen antes de borrar los catálogos
+			boolean metadataCollected = collectMetadata(network, toClean.values(), retained);
 
-					} catch (Exception e) { // Broadened to catch IOException too
-						logger.error("Error cleaning snapshot " + snapshotId + ": " + e.getMessage(), e);
-					}
+			List<SnapshotMetadata> cleaned = new ArrayList<>();
+			for (Map.Entry<Long, SnapshotMetadata> entry : toClean.entrySet()) {
+				Long snapshotId = entry.getKey();
+				try {
+					cleanSnapshotStatsData(snapshotId);
+					catalogRepo.deleteSnapshot(entry.getValue());
+					snapshotStore.cleanSnapshotData(snapshotId);
+					if (entry.getValue() != null)
+						cleaned.add(entry.getValue());
 
+				} catch (Exception e) { // Broadened to catch IOException too
+					logger.error("Error cleaning snapshot " + snapshotId + ": " + e.getMessage(), e);
 				}
 			}
 
+			bulkCleanup(network, cleaned, retained, false, metadataCollected);
+
 		} else { // caso de borrado completo de la red
 			logger.info("Deleting the entire network/repository: " + network.getAcronym());
 
+			List<SnapshotMetadata> deleted = new ArrayList<>();
+
 			// limpia todos los snapshots
 			for (Long snapshotId : snapshotStore.listSnapshotsIds(network.getId(), true)) {
 				try {
+					SnapshotMetadata snapshotMetadata = snapshotStore.getSnapshotMetadata(snapshotId);
 					cleanSnapshotStatsData(snapshotId);
-					catalogRepo.deleteSnapshot(snapshotStore.getSnapshotMetadata(snapshotId));
+					catalogRepo.deleteSnapshot(snapshotMetadata);
 					snapshotStore.cleanSnapshotData(snapshotId);
 					snapshotStore.deleteSnapshot(snapshotId);
+					if (snapshotMetadata != null)
+						deleted.add(snapshotMetadata);
 
 				} catch (Exception e) { // Broadened to catch IOException too
 					logger.error("Error deleting snapshot " + snapshotId + ": " + e.getMessage(), e);
 				}
 			}
 
+			discardCollectedMetadata(network);
+			bulkCleanup(network, deleted, List.of(), true, false);
+
 			networkRepository.deleteByNetworkID(network.getId());
 			logger.debug("Network/Repository deleted: " + network.getName());
 		}
 
 	}
 
+	/**
+	 * Returns the metadata of the retained snapshots, skipping missing ones.
+	 */
+	private List<SnapshotMetadata> retainedSnapshots(Long... snapshotIds) {
+		Map<Long, SnapshotMetadata> retained = new LinkedHashMap<>();
+		for (Long snapshotId : snapshotIds) {
+			if (snapshotId == null || retained.containsKey(snapshotId))
+				continue;
+			SnapshotMetadata snapshotMetadata = snapshotStore.getSnapshotMetadata(snapshotId);
+			if (snapshotMetadata != null)
+				retained.put(snapshotId, snapshotMetadata);
+		}
+		return new ArrayList<>(retained.values());
+	}
+
+	/**
+	 * Queues the metadata referenced only by the snapshots to clean for the
+	 * {@link MetadataGarbageCollector}, which reclaims it in the background.
+	 *
+	 * @return true if the collector takes care of the metadata
+	 */
+	private boolean collectMetadata(Network network, Collection<SnapshotMetadata> toClean,
+			List<SnapshotMetadata> retained) {
+
+		if (garbageCollector == null || !garbageCollector.isEnabled())
+			return false;
+		if (retained.isEmpty())
+			return false;
+
+		List<SnapshotMetadata> removed = new ArrayList<>();
+		for (SnapshotMetadata snapshotMetadata : toClean)
+			if (snapshotMetadata != null)
+				removed.add(snapshotMetadata);
+		if (removed.isEmpty())
+			return true;
+
+		try {
+			garbageCollector.collect(networkMetadata(network), removed, retained);
+			return true;
+		} catch (IOException e) {
+			logger.error("CLEAN WORKER: Unable to collect metadata of {}, falling back to the sweep: {}",
+					network.getAcronym(), e.getMessage(), e);
+			return false;
+		}
+	}
+
+	private void discardCollectedMetadata(Network network) {
+		if (garbageCollector == null)
+			return;
+		try {
+			garbageCollector.discard(networkMetadata(network));
+		} catch (IOException e) {
+			logger.warn("CLEAN WORKER: Unable to discard the metadata queue of {}: {}", network.getAcronym(),
+					e.getMessage());
+		}
+	}
+
+	/**
+	 * Deletes the directories of the removed snapshots and sweeps the metadata
+	 * not referenced by the retained ones, unless the garbage collector took it.
+	 *
+	 * @param network           the network
+	 * @param removed           the snapshots cleaned or deleted
+	 * @param retained          the snapshots whose metadata must be kept
+	 * @param deleteNetwork     true if the whole network is deleted, so no metadata is kept
+	 * @param metadataCollected true if the metadata was queued for the garbage collector
+	 */
+	private void bulkCleanup(Network network, List<SnapshotMetadata> removed, List<SnapshotMetadata> retained,
+			boolean deleteNetwork, boolean metadataCollected) {
+
+		BulkCleanupEngine engine = new BulkCleanupEngine(metadataStore, catalogRepo, validationRepository, basePath,
+				cleanThreads, maxOperationsPerSecond, virtualThreads);
+		cleanupEngine = engine;
+
+		try {
+			if (basePath != null && !removed.isEmpty())
+				engine.deleteSnapshotDirectories(removed);
+
+			if (metadataCollected || !metadataSweep || metadataStore == null)
+				return;
+
+			HashFingerprintSet referenced;
+			if (deleteNetwork) {
+				referenced = new HashFingerprintSet();
+			} else {
+				if (retained.isEmpty()) {
+					// sin snapshots retenidos no hay cómo saber qué metadata sigue en uso
+					logger.warn("CLEAN WORKER: No retained snapshots for {}, metadata sweep skipped",
+							network.getAcronym());
+					return;
+				}
+				try {
+					referenced = engine.markReferencedHashes(retained);
+				} catch (IOException e) {
+					// con un conjunto incompleto se borraría metadata en uso
+					logger.error("CLEAN WORKER: Unable to mark referenced metadata of {}, metadata sweep skipped: {}",
+							network.getAcronym(), e.getMessage(), e);
+					return;
+				}
+			}
+
+			engine.sweepMetadata(networkMetadata(network), referenced);
+
+		} catch (IOException e) {
+			logger.error("CLEAN WORKER: Metadata sweep failed for {}: {}", network.getAcronym(), e.getMessage(), e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.warn("CLEAN WORKER: Bulk cleanup of {} interrupted", network.getAcronym());
+		} finally {
+			cleanupEngine = null;
+		}
+	}
+
+	private static SnapshotMetadata networkMetadata(Network network) {
+		SnapshotMetadata snapshotMetadata = new SnapshotMetadata();
+		snapshotMetadata.setNetwork(network);
+		return snapshotMetadata;
+	}
+
 	private void cleanSnapshotStatsData(Long snapshotId) throws ValidationStatisticsException {
 
 		// Delete validation results using new multi-file architecture
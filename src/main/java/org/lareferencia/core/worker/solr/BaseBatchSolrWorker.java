@@ -22,6 +22,7 @@
 package org.lareferencia.core.worker.solr;
 
 import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.lareferencia.core.worker.IBatchWorker;
@@ -76,6 +77,8 @@ public abstract class BaseBatchSolrWorker<I, C extends IRunningContext> extends
 
     private boolean wasStopped = false;
 
+    private final ReentrantLock runLock = new ReentrantLock();
+
     /**
      * Processes a single item from the current page.
      * 
@@ -118,10 +121,21 @@ public abstract class BaseBatchSolrWorker<I, C extends IRunningContext> extends
     }
 
     /**
-     * Executes the batch processing workflow across all pages.
+     * Executes the batch processing workflow across all pages. A lock is used
+     * instead of synchronized so a worker on a virtual thread does not pin its
+     * carrier.
      */
     @Override
-    public synchronized void run() {
+    public void run() {
+        runLock.lock();
+        try {
+            runPages();
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    private void runPages() {
         logger.info("WORKER: " + getName() + " :: START processing: " + runningContext.toString());
 
         preRun();
@@ -76,5 +76,13 @@ public abstract class AbstractTransformerRule implements ITransformerRule {
 	 * @throws ValidationException if an error occurs during transformation
 	 */
 	public abstract boolean transform(SnapshotMetadata snapshotMetadata, IOAIRecord record, OAIRecordMetadata metadata) throws ValidationException;
+
+	/**
+	 * Most rules only read the metadata; the ones using the record override this.
+	 */
+	@Override
+	public boolean dependsOnRecord() {
+		return false;
+	}
 	
 }
@@ -23,15 +23,20 @@ package org.lareferencia.core.worker.validation;
 import java.util.ArrayList;
 import java.util.List;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
 import org.lareferencia.core.worker.validation.validator.ContentValidatorResult;
 import org.lareferencia.core.metadata.OAIRecordMetadata;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 /**
  * Abstract base class for field content validation rules.
@@ -40,6 +45,13 @@ import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
  * occurrences of the same metadata field. Provides quantifier-based
  * validation (e.g., ONE_OR_MORE, ZERO_OR_MORE).
  * </p>
+ * <p>
+ * Field values repeat a lot across the records of a network (types,
+ * languages, rights), so the result of {@link #validate(String)} is memoized
+ * per rule for short values. Rules whose result for a value may change
+ * between calls must override {@link #isContentCacheable()}, and rules must
+ * call {@link #clearContentCache()} whenever their configuration changes.
+ * </p>
  * 
  * @author LA Referencia Team
  * @see AbstractValidatorRule
@@ -55,6 +67,21 @@ public abstract class AbstractValidatorFieldContentRule extends AbstractValidato
 	@JsonProperty("fieldname")
 	private String fieldname;
 
+	/**
+	 * Maximum number of distinct values memoized per rule.
+	 */
+	private static final int CONTENT_CACHE_SIZE = 10000;
+
+	/**
+	 * Longer values (titles, abstracts) rarely repeat and are not memoized.
+	 */
+	private static final int MAX_CACHED_CONTENT_LENGTH = 256;
+
+	@JsonIgnore
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private volatile Cache<String, ContentValidatorResult> contentCache;
+
 	/**
 	 * Creates a new field content validator rule.
 	 */
@@ -82,7 +109,7 @@ public abstract class AbstractValidatorFieldContentRule extends AbstractValidato
 		for (String fieldValue : occurrences) {
 
 			// Se valida cada ocurrencia y se obtiene el resultado
-			ContentValidatorResult occurrenceResult = this.validate(fieldValue);
+			ContentValidatorResult occurrenceResult = validateCached(fieldValue);
 
 			// Se agrega a la lista de ocurrencias
 			results.add(occurrenceResult);
@@ -143,6 +170,66 @@ public abstract class AbstractValidatorFieldContentRule extends AbstractValidato
 
 	}
 
+	/**
+	 * Validates a value, reusing the result of a previous validation of the
+	 * same value when possible. Each call returns its own result instance.
+	 */
+	private ContentValidatorResult validateCached(String content) {
+
+		if (content == null || content.length() > MAX_CACHED_CONTENT_LENGTH || !isContentCacheable())
+			return this.validate(content);
+
+		Cache<String, ContentValidatorResult> cache = contentCache;
+		if (cache == null) {
+			synchronized (this) {
+				cache = contentCache;
+				if (cache == null) {
+					cache = Caffeine.newBuilder().maximumSize(CONTENT_CACHE_SIZE).recordStats().build();
+					contentCache = cache;
+				}
+			}
+		}
+
+		ContentValidatorResult cached = cache.getIfPresent(content);
+		if (cached != null)
+			return new ContentValidatorResult(cached.isValid(), cached.getReceivedValue());
+
+		ContentValidatorResult result = this.validate(content);
+		cache.put(content, new ContentValidatorResult(result.isValid(), result.getReceivedValue()));
+		return result;
+	}
+
+	/**
+	 * Whether the result of {@link #validate(String)} depends only on the
+	 * value and the rule configuration, so it can be memoized. Rules with
+	 * side effects or external dependencies must return false.
+	 *
+	 * @return true if results can be memoized
+	 */
+	protected boolean isContentCacheable() {
+		return true;
+	}
+
+	/**
+	 * Discards memoized results. Must be called when the rule configuration changes.
+	 */
+	protected void clearContentCache() {
+		Cache<String, ContentValidatorResult> cache = contentCache;
+		if (cache != null)
+			cache.invalidateAll();
+	}
+
+	/**
+	 * Returns the hit/miss counters of the memoized results.
+	 *
+	 * @return the counters, or null if no value has been memoized yet
+	 */
+	@JsonIgnore
+	public CacheStats getContentCacheStats() {
+		Cache<String, ContentValidatorResult> cache = contentCache;
+		return cache != null ? cache.stats() : null;
+	}
+
 	/**
 	 * Esta función abstracta será implementada en las derivadas y determina la
 	 * valides de un string
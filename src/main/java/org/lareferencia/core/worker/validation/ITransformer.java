@@ -61,4 +61,26 @@ public interface ITransformer {
 	 * @throws ValidationException if transformation fails
 	 */
 	public boolean transform(SnapshotMetadata snapshotMetadata, IOAIRecord record, OAIRecordMetadata metadata) throws ValidationException;
+
+	/**
+	 * Sets the profiler that records the evaluation time of each rule.
+	 * 
+	 * @param ruleProfiler the profiler, or null to disable profiling
+	 */
+	public void setRuleProfiler(RuleProfiler ruleProfiler);
+
+	/**
+	 * Describes how the rules are applied: which ones are skipped when their
+	 * fields are absent and which consecutive ones are independent.
+	 * 
+	 * @return a one-line description of the plan
+	 */
+	public String describePlan();
+
+	/**
+	 * Tells whether any rule depends on the record and not only on its metadata.
+	 * 
+	 * @return true if transformation results cannot be reused by metadata hash
+	 */
+	public boolean dependsOnRecord();
 }
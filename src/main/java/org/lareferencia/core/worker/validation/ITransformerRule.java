@@ -20,6 +20,8 @@
 
 package org.lareferencia.core.worker.validation;
 
+import java.util.Collection;
+
 import org.lareferencia.core.domain.IOAIRecord;
 import org.lareferencia.core.metadata.OAIRecordMetadata;
 import org.lareferencia.core.metadata.SnapshotMetadata;
@@ -61,4 +63,35 @@ public interface ITransformerRule {
 	 */
 	public void setRuleId(Long id);
 
+	/**
+	 * Gets the fields the rule reads. A rule that declares its read fields
+	 * must leave a record untouched, and return false, when none of them is
+	 * present; the transformer then skips it for that record.
+	 * 
+	 * @return the field names, or null if the rule must always be applied
+	 */
+	default Collection<String> readFields() {
+		return null;
+	}
+
+	/**
+	 * Gets the fields to which the rule may add occurrences.
+	 * 
+	 * @return the field names, or null if they are not known
+	 */
+	default Collection<String> writtenFields() {
+		return null;
+	}
+
+	/**
+	 * Tells whether the result of the rule depends on the record (identifier,
+	 * datestamp) and not only on its metadata and the network. Results of
+	 * rules that do not are cached across snapshots by metadata hash.
+	 * 
+	 * @return true if the rule reads or changes the record
+	 */
+	default boolean dependsOnRecord() {
+		return true;
+	}
+
 }
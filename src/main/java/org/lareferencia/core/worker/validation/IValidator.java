@@ -58,4 +58,11 @@ public interface IValidator {
 	 * @param rules the list of rules to apply
 	 */
 	public void setRules(List<IValidatorRule> rules);
+
+	/**
+	 * Sets the profiler that records the evaluation time of each rule.
+	 * 
+	 * @param ruleProfiler the profiler, or null to disable profiling
+	 */
+	public void setRuleProfiler(RuleProfiler ruleProfiler);
 }
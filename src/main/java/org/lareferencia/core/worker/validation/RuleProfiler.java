@@ -0,0 +1,290 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.validation;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.lareferencia.core.repository.validation.SnapshotValidationStats.RuleProfile;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Per-rule evaluation metrics for validators and transformers.
+ * <p>
+ * For each rule it counts invocations and hits (valid results for validator
+ * rules, records changed for transformer rules) and records the evaluation
+ * time in a histogram with four sub-buckets per power of two, so percentiles
+ * are reported within roughly 12% of the actual value. For field content
+ * rules the hits of their memoized results are reported too. Recording only
+ * updates striped counters and is safe from any number of threads.
+ * </p>
+ * <p>
+ * One profiler is meant to cover a single validation run of a snapshot; its
+ * profiles are stored with the snapshot statistics.
+ * </p>
+ *
+ * @author LA Referencia Team
+ * @see ValidatorImpl
+ * @see TransformerImpl
+ */
+public final class RuleProfiler {
+
+	/**
+	 * Key used for rules that have no id (not loaded from the database).
+	 */
+	public static final Long UNSAVED_RULE_ID = -1L;
+
+	private final Map<Long, RuleMetrics> validatorMetrics = new ConcurrentHashMap<>();
+	private final Map<Long, RuleMetrics> transformerMetrics = new ConcurrentHashMap<>();
+
+	/**
+	 * @param rule a validator rule
+	 * @return the metrics of the rule
+	 */
+	public RuleMetrics metricsFor(IValidatorRule rule) {
+		return metricsFor(validatorMetrics, rule.getRuleId(), rule);
+	}
+
+	/**
+	 * @param rule a transformer rule
+	 * @return the metrics of the rule
+	 */
+	public RuleMetrics metricsFor(ITransformerRule rule) {
+		return metricsFor(transformerMetrics, rule.getRuleId(), rule);
+	}
+
+	/**
+	 * @return the profiles of the validator rules, by rule id
+	 */
+	public Map<Long, RuleProfile> getValidatorProfiles() {
+		return profiles(validatorMetrics);
+	}
+
+	/**
+	 * @return the profiles of the transformer rules, by rule id
+	 */
+	public Map<Long, RuleProfile> getTransformerProfiles() {
+		return profiles(transformerMetrics);
+	}
+
+	/**
+	 * Builds a one-line summary of the rules that took most time, validators
+	 * and transformers together.
+	 *
+	 * @param limit maximum number of rules listed
+	 * @return the summary
+	 */
+	public String summary(int limit) {
+		List<RuleMetrics> hottest = Stream
+				.concat(validatorMetrics.values().stream(), transformerMetrics.values().stream())
+				.sorted(Comparator.comparingLong(RuleMetrics::getTotalNanos).reversed())
+				.limit(limit)
+				.collect(Collectors.toList());
+
+		StringBuilder sb = new StringBuilder();
+		for (RuleMetrics metrics : hottest) {
+			if (sb.length() > 0)
+				sb.append(" | ");
+			sb.append(metrics.getRuleId()).append(':').append(metrics.getRuleClass().getSimpleName())
+					.append(' ').append(metrics.getTotalNanos() / 1000000).append(" ms");
+		}
+		return sb.toString();
+	}
+
+	private static RuleMetrics metricsFor(Map<Long, RuleMetrics> metricsMap, Long ruleId, Object rule) {
+		Long key = ruleId != null ? ruleId : UNSAVED_RULE_ID;
+		RuleMetrics metrics = metricsMap.get(key);
+		if (metrics == null)
+			metrics = metricsMap.computeIfAbsent(key, id -> new RuleMetrics(id, rule));
+		return metrics;
+	}
+
+	private static Map<Long, RuleProfile> profiles(Map<Long, RuleMetrics> metricsMap) {
+		Map<Long, RuleProfile> profiles = new LinkedHashMap<>();
+		metricsMap.values().stream()
+				.sorted(Comparator.comparing(RuleMetrics::getRuleId))
+				.forEach(metrics -> profiles.put(metrics.getRuleId(), metrics.toProfile()));
+		return profiles;
+	}
+
+	/**
+	 * Counters of a single rule.
+	 */
+	public static final class RuleMetrics {
+
+		/** 4 exact buckets for 0-3 ns, then 4 buckets for each power of two up to 2^62. */
+		private static final int BUCKETS = 4 * 62;
+
+		private final Long ruleId;
+		private final Object rule;
+
+		private final LongAdder invocations = new LongAdder();
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder skips = new LongAdder();
+		private final LongAdder totalNanos = new LongAdder();
+		private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+		private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+		RuleMetrics(Long ruleId, Object rule) {
+			this.ruleId = ruleId;
+			this.rule = rule;
+		}
+
+		/**
+		 * Records one evaluation of the rule.
+		 *
+		 * @param elapsedNanos evaluation time
+		 * @param hit whether the rule was valid (validators) or changed the record (transformers)
+		 */
+		public void record(long elapsedNanos, boolean hit) {
+			long nanos = Math.max(0L, elapsedNanos);
+			invocations.increment();
+			if (hit)
+				hits.increment();
+			totalNanos.add(nanos);
+			maxNanos.accumulate(nanos);
+			histogram.incrementAndGet(bucket(nanos));
+		}
+
+		/**
+		 * Records that the rule was not applied to a record because its fields were absent.
+		 */
+		public void recordSkip() {
+			skips.increment();
+		}
+
+		public Long getRuleId() {
+			return ruleId;
+		}
+
+		public Class<?> getRuleClass() {
+			return rule.getClass();
+		}
+
+		public long getInvocations() {
+			return invocations.sum();
+		}
+
+		public long getHits() {
+			return hits.sum();
+		}
+
+		public long getSkips() {
+			return skips.sum();
+		}
+
+		public long getTotalNanos() {
+			return totalNanos.sum();
+		}
+
+		public long getMaxNanos() {
+			return maxNanos.get();
+		}
+
+		/**
+		 * Estimates a percentile of the evaluation time.
+		 *
+		 * @param percentile the percentile, between 0 and 100
+		 * @return the estimated evaluation time in nanoseconds, 0 if there are no evaluations
+		 */
+		public long percentileNanos(double percentile) {
+			long[] counts = new long[BUCKETS];
+			long count = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				counts[i] = histogram.get(i);
+				count += counts[i];
+			}
+			if (count == 0)
+				return 0L;
+
+			long rank = Math.max(1L, (long) Math.ceil(count * percentile / 100.0));
+			long seen = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += counts[i];
+				if (seen >= rank)
+					return Math.min(midpoint(i), getMaxNanos());
+			}
+			return getMaxNanos();
+		}
+
+		/**
+		 * @return a snapshot of the counters, in the form stored with the snapshot statistics
+		 */
+		public RuleProfile toProfile() {
+			RuleProfile profile = new RuleProfile();
+			long count = getInvocations();
+			long total = getTotalNanos();
+
+			profile.setRuleClass(getRuleClass().getName());
+			profile.setInvocations(count);
+			profile.setHits(getHits());
+			profile.setHitRate(count == 0 ? 0.0 : (double) getHits() / count);
+			profile.setSkipped(getSkips());
+			profile.setTotalMillis(total / 1000000);
+			profile.setMeanMicros(count == 0 ? 0L : total / count / 1000);
+			profile.setP50Micros(percentileNanos(50) / 1000);
+			profile.setP99Micros(percentileNanos(99) / 1000);
+			profile.setMaxMicros(getMaxNanos() / 1000);
+
+			if (rule instanceof AbstractValidatorFieldContentRule) {
+				CacheStats contentCacheStats = ((AbstractValidatorFieldContentRule) rule).getContentCacheStats();
+				if (contentCacheStats != null) {
+					profile.setContentCacheHits(contentCacheStats.hitCount());
+					profile.setContentCacheMisses(contentCacheStats.missCount());
+				}
+			}
+			return profile;
+		}
+
+		static int bucket(long nanos) {
+			if (nanos < 4)
+				return (int) nanos;
+			int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+			int sub = (int) (nanos >>> (exponent - 2)) & 3;
+			return 4 * (exponent - 1) + sub;
+		}
+
+		static long midpoint(int bucket) {
+			if (bucket < 4)
+				return bucket;
+			int exponent = bucket / 4 + 1;
+			long width = 1L << (exponent - 2);
+			long lower = (4L + bucket % 4) * width;
+			return lower + width / 2;
+		}
+
+		@Override
+		public String toString() {
+			return "RuleMetrics [ruleId=" + ruleId + ", class=" + getRuleClass().getSimpleName() + ", invocations="
+					+ getInvocations() + ", hits=" + getHits() + ", totalMillis=" + getTotalNanos() / 1000000 + "]";
+		}
+	}
+
+}
@@ -0,0 +1,288 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.validation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Regular expression used by a validator or transformer rule.
+ * <p>
+ * Patterns are compiled once and shared by every rule using the same
+ * expression; each rule gets its own instance, which reuses one
+ * {@link Matcher} per thread and keeps timing counters so slow expressions
+ * can be spotted.
+ * </p>
+ * <p>
+ * Expressions come from users, so a single evaluation is bounded in time:
+ * when matching takes longer than the time budget (catastrophic
+ * backtracking) a {@link RegexTimeoutException} is thrown instead of
+ * blocking the worker. The timeout is logged here; the rules catch it and
+ * treat the occurrence as not matching, or leave it untransformed, so one
+ * hostile expression or input does not abort the validation of a snapshot.
+ * </p>
+ *
+ * @author LA Referencia Team
+ */
+public final class RuleRegex {
+
+	private static Logger logger = LogManager.getLogger(RuleRegex.class);
+
+	/**
+	 * Maximum time a single evaluation may take.
+	 */
+	public static final long DEFAULT_TIMEOUT_MILLIS = 2000;
+
+	/**
+	 * Evaluations slower than this are reported once per rule.
+	 */
+	private static final long SLOW_EVALUATION_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+	private static final Cache<String, Pattern> PATTERNS = Caffeine.newBuilder().maximumSize(1024).build();
+
+	private final Pattern pattern;
+
+	private final long timeoutNanos;
+
+	private final ThreadLocal<Matcher> matchers;
+
+	private final LongAdder evaluations = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0L);
+	private final AtomicBoolean slowReported = new AtomicBoolean();
+	private final LongAdder timeouts = new LongAdder();
+
+	/**
+	 * Creates a rule regex with the default time budget.
+	 *
+	 * @param expression the regular expression
+	 * @throws java.util.regex.PatternSyntaxException if the expression is invalid
+	 */
+	public RuleRegex(String expression) {
+		this(expression, DEFAULT_TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Creates a rule regex.
+	 *
+	 * @param expression the regular expression
+	 * @param timeoutMillis maximum time for a single evaluation, 0 for no limit
+	 * @throws java.util.regex.PatternSyntaxException if the expression is invalid
+	 */
+	public RuleRegex(String expression, long timeoutMillis) {
+		this.pattern = PATTERNS.get(expression, Pattern::compile);
+		this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+	}
+
+	/**
+	 * @param input the text
+	 * @return true if the entire text matches the expression
+	 */
+	public boolean matches(String input) {
+		long start = System.nanoTime();
+		try {
+			return matcher(input, start).matches();
+		} finally {
+			record(start);
+		}
+	}
+
+	/**
+	 * Finds the first match of the expression in the text.
+	 *
+	 * @param input the text
+	 * @return the matched text, or null if there is no match
+	 */
+	public String find(String input) {
+		long start = System.nanoTime();
+		try {
+			Matcher matcher = matcher(input, start);
+			return matcher.find() ? matcher.group() : null;
+		} finally {
+			record(start);
+		}
+	}
+
+	/**
+	 * Equivalent to {@link String#replaceFirst(String, String)}.
+	 *
+	 * @param input the text
+	 * @param replacement the replacement, may refer to captured groups
+	 * @return the resulting text
+	 */
+	public String replaceFirst(String input, String replacement) {
+		long start = System.nanoTime();
+		try {
+			return matcher(input, start).replaceFirst(replacement);
+		} finally {
+			record(start);
+		}
+	}
+
+	/**
+	 * Equivalent to {@link String#replaceAll(String, String)}.
+	 *
+	 * @param input the text
+	 * @param replacement the replacement, may refer to captured groups
+	 * @return the resulting text
+	 */
+	public String replaceAll(String input, String replacement) {
+		long start = System.nanoTime();
+		try {
+			return matcher(input, start).replaceAll(replacement);
+		} finally {
+			record(start);
+		}
+	}
+
+	/**
+	 * @return the regular expression
+	 */
+	public String getExpression() {
+		return pattern.pattern();
+	}
+
+	/**
+	 * @return the number of evaluations
+	 */
+	public long getEvaluationCount() {
+		return evaluations.sum();
+	}
+
+	/**
+	 * @return the total evaluation time in nanoseconds
+	 */
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	/**
+	 * @return the slowest evaluation time in nanoseconds
+	 */
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	/**
+	 * @return the number of evaluations aborted by the time budget
+	 */
+	public long getTimeoutCount() {
+		return timeouts.sum();
+	}
+
+	@Override
+	public String toString() {
+		long count = getEvaluationCount();
+		return "RuleRegex [expression=" + getExpression() + ", evaluations=" + count + ", avgMicros="
+				+ (count == 0 ? 0 : getTotalNanos() / count / 1000) + ", maxMicros=" + getMaxNanos() / 1000
+				+ ", timeouts=" + getTimeoutCount() + "]";
+	}
+
+	private Matcher matcher(String input, long start) {
+		CharSequence text = timeoutNanos > 0 ? new DeadlineCharSequence(input, start + timeoutNanos) : input;
+		return matchers.get().reset(text);
+	}
+
+	private void record(long start) {
+		long elapsed = System.nanoTime() - start;
+		evaluations.increment();
+		totalNanos.add(elapsed);
+		maxNanos.accumulate(elapsed);
+
+		if (elapsed > SLOW_EVALUATION_NANOS && slowReported.compareAndSet(false, true))
+			logger.warn("Expresión regular lenta (" + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms): " + getExpression());
+	}
+
+	private RegexTimeoutException timedOut(String input) {
+		timeouts.increment();
+		RegexTimeoutException timeout = new RegexTimeoutException(getExpression(), input);
+		logger.warn(timeout.getMessage() + " (timeouts: " + getTimeoutCount() + ")");
+		return timeout;
+	}
+
+	/**
+	 * Thrown when an evaluation exceeds its time budget.
+	 */
+	public static class RegexTimeoutException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		RegexTimeoutException(String expression, String input) {
+			super("Regular expression timed out: " + expression + " input length: " + input.length());
+		}
+	}
+
+	/**
+	 * Text view that aborts matching once the deadline has passed. The regex
+	 * engine reads the input through {@link #charAt(int)}, so the clock is
+	 * checked there, every few thousand reads.
+	 */
+	private final class DeadlineCharSequence implements CharSequence {
+
+		private static final int CHECK_INTERVAL = 4096;
+
+		private final String text;
+		private final long deadline;
+		private int reads;
+
+		DeadlineCharSequence(String text, long deadline) {
+			this.text = text;
+			this.deadline = deadline;
+		}
+
+		@Override
+		public char charAt(int index) {
+			if (++reads == CHECK_INTERVAL) {
+				reads = 0;
+				if (System.nanoTime() - deadline > 0)
+					throw timedOut(text);
+			}
+			return text.charAt(index);
+		}
+
+		@Override
+		public int length() {
+			return text.length();
+		}
+
+		@Override
+		public CharSequence subSequence(int start, int end) {
+			return text.subSequence(start, end);
+		}
+
+		@Override
+		public String toString() {
+			return text;
+		}
+	}
+
+}
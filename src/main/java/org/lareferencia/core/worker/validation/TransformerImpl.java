@@ -23,6 +23,7 @@ package org.lareferencia.core.worker.validation;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -38,6 +39,10 @@ import lombok.Setter;
  * Default implementation of the ITransformer interface for metadata transformation.
  * Applies a sequence of transformation rules to record metadata, tracking whether
  * any transformations occurred and updating the datestamp accordingly.
+ * <p>
+ * Rules are applied following a {@link TransformerPlan}, which skips the
+ * rules whose fields are absent from the record.
+ * </p>
  */
 @Component
 public class TransformerImpl implements ITransformer {
@@ -49,6 +54,22 @@ public class TransformerImpl implements ITransformer {
 	@Setter
 	List<ITransformerRule> rules;
 
+	/**
+	 * Collects per-rule timings when set, null to disable profiling.
+	 */
+	@Getter
+	@Setter
+	RuleProfiler ruleProfiler;
+
+	/**
+	 * Whether rules whose fields are absent are skipped, true by default.
+	 */
+	@Getter
+	@Setter
+	boolean planning = true;
+
+	private volatile TransformerPlan plan;
+
 	/**
 	 * Constructs a new TransformerImpl with an empty list of transformation rules.
 	 */
@@ -71,11 +92,28 @@ public class TransformerImpl implements ITransformer {
 
 		boolean anyTransformationOccurred = false;
 
+		TransformerPlan currentPlan = getPlan();
+		Set<String> presentFields = planning ? currentPlan.presentFields(metadata) : null;
+		int index = -1;
+
 		for (ITransformerRule rule : rules) {
 
+			index++;
+			if (currentPlan.canSkip(index, presentFields)) {
+				if (ruleProfiler != null)
+					ruleProfiler.metricsFor(rule).recordSkip();
+				continue;
+			}
+
 			try {
 				logger.debug( "RecordID: " + record.getId() + "oai_id:" + record.getIdentifier() +  " rule::" + rule.getRuleId() + "::" + rule.getClass().getName() );
-				anyTransformationOccurred |= rule.transform(snapshotMetadata,record, metadata);
+				long start = ruleProfiler != null ? System.nanoTime() : 0L;
+				boolean transformed = rule.transform(snapshotMetadata,record, metadata);
+				if (ruleProfiler != null)
+					ruleProfiler.metricsFor(rule).record(System.nanoTime() - start, transformed);
+
+				anyTransformationOccurred |= transformed;
+				presentFields = currentPlan.afterApply(index, presentFields);
 				
 			} catch (Exception | Error e) {
 				logger.debug( e + e.getMessage() + "RecordID: " + record.getId() + "oai_id:" + record.getIdentifier() +  " rule"  + rule.getClass().getName()  );
@@ -91,4 +129,32 @@ public class TransformerImpl implements ITransformer {
 		return anyTransformationOccurred;
 	}
 
+	/**
+	 * Returns the plan for the current rules, built again when the rule list changes.
+	 *
+	 * @return the plan
+	 */
+	public TransformerPlan getPlan() {
+		TransformerPlan current = plan;
+		if (current == null || current.rules != rules || current.size != rules.size()) {
+			current = new TransformerPlan(rules);
+			plan = current;
+		}
+		return current;
+	}
+
+	@Override
+	public String describePlan() {
+		return getPlan().describe();
+	}
+
+	@Override
+	public boolean dependsOnRecord() {
+		for (ITransformerRule rule : rules) {
+			if (rule.dependsOnRecord())
+				return true;
+		}
+		return false;
+	}
+
 }
@@ -0,0 +1,338 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.validation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.lareferencia.core.metadata.OAIRecordMetadata;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Execution plan of a transformer rule chain.
+ * <p>
+ * Built once from the fields each rule declares with
+ * {@link ITransformerRule#readFields()} and
+ * {@link ITransformerRule#writtenFields()}. Before a record is transformed,
+ * the top two levels of its document are scanned once to find which fields
+ * are present; rules whose read fields are all absent are skipped, since they
+ * would not change the record. Fields a rule may add are considered present
+ * for the rules after it, so the output is the same as applying every rule.
+ * </p>
+ * <p>
+ * Fields are compared by their first two name components ({@code dc.title}
+ * for {@code dc.title.none:value}); names with wildcards make the rule run
+ * unconditionally.
+ * </p>
+ *
+ * @author LA Referencia Team
+ * @see TransformerImpl
+ */
+public final class TransformerPlan {
+
+	private static final String XOAI_ROOT = "metadata";
+	private static final String XOAI_ELEMENT = "element";
+	private static final String NAME_ATTRIBUTE = "name";
+
+	final List<ITransformerRule> rules;
+	final int size;
+
+	/** Field keys read by each rule, null if the rule always runs. */
+	private final String[][] readKeys;
+
+	/** Field keys written by each rule, null if unknown. */
+	private final String[][] writtenKeys;
+
+	/** Consecutive rules touching disjoint fields, as rule positions. */
+	private final List<int[]> groups;
+
+	private final LongAdder[] skipped;
+
+	/**
+	 * Builds the plan of a rule chain.
+	 *
+	 * @param rules the rules, in application order
+	 */
+	public TransformerPlan(List<ITransformerRule> rules) {
+		this.rules = rules;
+		this.size = rules.size();
+		this.readKeys = new String[size][];
+		this.writtenKeys = new String[size][];
+		this.skipped = new LongAdder[size];
+
+		for (int i = 0; i < size; i++) {
+			ITransformerRule rule = rules.get(i);
+			readKeys[i] = fieldKeys(rule.readFields());
+			writtenKeys[i] = fieldKeys(rule.writtenFields());
+			skipped[i] = new LongAdder();
+		}
+
+		this.groups = buildGroups();
+	}
+
+	/**
+	 * Returns the key used to compare a field name, its first two components.
+	 *
+	 * @param fieldName the field name, as used by the rules
+	 * @return the key, or null if the name cannot be compared (empty, null or with wildcards)
+	 */
+	static String fieldKey(String fieldName) {
+		if (fieldName == null)
+			return null;
+
+		String[] parts = fieldName.split("\\.", 3);
+		int count = Math.min(parts.length, 2);
+		StringBuilder key = new StringBuilder();
+
+		for (int i = 0; i < count; i++) {
+			String part = parts[i];
+			// the last component may name the field node: dc.type:value
+			if (i == parts.length - 1) {
+				int separator = part.indexOf(':');
+				if (separator >= 0)
+					part = part.substring(0, separator);
+			}
+			if (part.isEmpty() || part.equals("*") || part.equals("$"))
+				return null;
+			if (i > 0)
+				key.append('.');
+			key.append(part);
+		}
+		return key.toString();
+	}
+
+	/**
+	 * Converts field names to keys.
+	 *
+	 * @return the keys, or null if the names are unknown or any of them cannot be compared
+	 */
+	private static String[] fieldKeys(Collection<String> fieldNames) {
+		if (fieldNames == null)
+			return null;
+
+		Set<String> keys = new HashSet<String>();
+		for (String fieldName : fieldNames) {
+			String key = fieldKey(fieldName);
+			if (key == null)
+				return null;
+			keys.add(key);
+		}
+		return keys.toArray(new String[0]);
+	}
+
+	/**
+	 * Scans the top levels of a record to find the fields present.
+	 *
+	 * @param metadata the record metadata
+	 * @return the keys of the fields present, or null if the document is not
+	 *         in the expected format and no rule may be skipped
+	 */
+	public Set<String> presentFields(OAIRecordMetadata metadata) {
+
+		Document document = metadata.getDOMDocument();
+		if (document == null || document.getDocumentElement() == null
+				|| !XOAI_ROOT.equals(localName(document.getDocumentElement())))
+			return null;
+
+		Set<String> present = new HashSet<String>();
+
+		for (Node first = document.getDocumentElement().getFirstChild(); first != null; first = first.getNextSibling()) {
+			if (!isElement(first))
+				continue;
+
+			String firstName = ((Element) first).getAttribute(NAME_ATTRIBUTE);
+			present.add(firstName);
+
+			for (Node second = first.getFirstChild(); second != null; second = second.getNextSibling()) {
+				if (isElement(second))
+					present.add(firstName + "." + ((Element) second).getAttribute(NAME_ATTRIBUTE));
+			}
+		}
+		return present;
+	}
+
+	/**
+	 * Checks whether a rule can be skipped for a record.
+	 *
+	 * @param index the position of the rule
+	 * @param present the fields present in the record, null if no rule may be skipped
+	 * @return true if none of the fields read by the rule is present
+	 */
+	public boolean canSkip(int index, Set<String> present) {
+		String[] keys = readKeys[index];
+		if (present == null || keys == null)
+			return false;
+
+		for (String key : keys) {
+			if (present.contains(key))
+				return false;
+		}
+		skipped[index].increment();
+		return true;
+	}
+
+	/**
+	 * Updates the fields present after a rule has been applied.
+	 *
+	 * @param index the position of the rule
+	 * @param present the fields present before the rule
+	 * @return the fields present after the rule, null if they are no longer known
+	 */
+	public Set<String> afterApply(int index, Set<String> present) {
+		String[] keys = writtenKeys[index];
+		if (present == null || keys == null)
+			return null;
+
+		for (String key : keys) {
+			present.add(key);
+			int separator = key.indexOf('.');
+			if (separator > 0)
+				present.add(key.substring(0, separator));
+		}
+		return present;
+	}
+
+	/**
+	 * @param index the position of a rule
+	 * @return the number of records for which the rule was skipped
+	 */
+	public long getSkippedCount(int index) {
+		return skipped[index].sum();
+	}
+
+	/**
+	 * @return the number of rules that are skipped when their fields are absent
+	 */
+	public int getConditionalRuleCount() {
+		int count = 0;
+		for (String[] keys : readKeys) {
+			if (keys != null)
+				count++;
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the groups of consecutive rules that touch disjoint fields, and so
+	 * do not depend on each other.
+	 *
+	 * @return the rule positions of each group
+	 */
+	public List<int[]> getGroups() {
+		return groups;
+	}
+
+	/**
+	 * @return a one-line description of the plan
+	 */
+	public String describe() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(size).append(" rules, ").append(getConditionalRuleCount()).append(" conditional on fields, ")
+				.append(groups.size()).append(" independent groups:");
+
+		for (int[] group : groups) {
+			sb.append(" [");
+			for (int i = 0; i < group.length; i++) {
+				ITransformerRule rule = rules.get(group[i]);
+				if (i > 0)
+					sb.append(", ");
+				sb.append(rule.getRuleId()).append(':').append(rule.getClass().getSimpleName());
+				if (readKeys[group[i]] == null)
+					sb.append('*');
+			}
+			sb.append(']');
+		}
+		return sb.toString();
+	}
+
+	private List<int[]> buildGroups() {
+		List<int[]> result = new ArrayList<int[]>();
+		List<Integer> current = new ArrayList<Integer>();
+		List<String> touched = new ArrayList<String>();
+		boolean unknown = false;
+
+		for (int i = 0; i < size; i++) {
+			String[] keys = touchedKeys(i);
+			boolean joins = !current.isEmpty() && !unknown && keys != null && disjoint(keys, touched);
+
+			if (!joins && !current.isEmpty()) {
+				result.add(current.stream().mapToInt(Integer::intValue).toArray());
+				current.clear();
+				touched.clear();
+				unknown = false;
+			}
+
+			current.add(i);
+			if (keys == null)
+				unknown = true;
+			else
+				touched.addAll(Arrays.asList(keys));
+		}
+
+		if (!current.isEmpty())
+			result.add(current.stream().mapToInt(Integer::intValue).toArray());
+		return result;
+	}
+
+	/**
+	 * Keys of all the fields a rule reads or writes, null if unknown.
+	 */
+	private String[] touchedKeys(int index) {
+		if (readKeys[index] == null || writtenKeys[index] == null)
+			return null;
+		Set<String> keys = new HashSet<String>(Arrays.asList(readKeys[index]));
+		keys.addAll(Arrays.asList(writtenKeys[index]));
+		return keys.toArray(new String[0]);
+	}
+
+	private static boolean disjoint(String[] keys, List<String> touched) {
+		for (String key : keys) {
+			for (String other : touched) {
+				if (key.equals(other) || other.startsWith(key + ".") || key.startsWith(other + "."))
+					return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isElement(Node node) {
+		return node.getNodeType() == Node.ELEMENT_NODE && XOAI_ELEMENT.equals(localName(node));
+	}
+
+	private static String localName(Node node) {
+		String name = node.getLocalName();
+		if (name == null) {
+			name = node.getNodeName();
+			int separator = name.indexOf(':');
+			if (separator >= 0)
+				name = name.substring(separator + 1);
+		}
+		return name;
+	}
+
+}
@@ -20,6 +20,7 @@
 
 package org.lareferencia.core.worker.validation;
 
+import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.time.LocalDateTime;
 import java.util.Iterator;
@@ -29,18 +30,26 @@ import org.apache.logging.log4j.Logger;
 import org.lareferencia.core.repository.catalog.OAIRecord;
 import org.lareferencia.core.repository.catalog.OAIRecordCatalogRepository;
 import org.lareferencia.core.repository.jpa.NetworkRepository;
+import org.lareferencia.core.repository.validation.TransformationCache;
+import org.lareferencia.core.repository.validation.ValidationRecord;
 import org.lareferencia.core.service.management.SnapshotLogService;
 import org.lareferencia.core.service.validation.ValidationService;
 import org.lareferencia.core.service.validation.IValidationStatisticsService;
 import org.lareferencia.core.service.validation.ValidationStatisticsException;
 import org.lareferencia.core.metadata.IMetadataStore;
 import org.lareferencia.core.metadata.ISnapshotStore;
+import org.lareferencia.core.metadata.MetadataReclaimGuard;
+import org.lareferencia.core.metadata.MetadataRecordStoreException;
 import org.lareferencia.core.metadata.OAIRecordMetadata;
 import org.lareferencia.core.metadata.OAIRecordMetadataParseException;
 import org.lareferencia.core.metadata.SnapshotMetadata;
 import org.lareferencia.core.worker.BaseIteratorWorker;
+import org.lareferencia.core.worker.IRestartableWorker;
 import org.lareferencia.core.worker.NetworkRunningContext;
+import org.lareferencia.core.worker.ResourceProfile;
+import org.lareferencia.core.worker.WorkerCheckpoint;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
@@ -71,9 +80,17 @@ import org.springframework.stereotype.Component;
  * <li>Writes validation results to Parquet validation store</li>
  * </ul>
  * <p>
- * In incremental mode, only new (UNTESTED) records are processed. In full mode,
- * all non-deleted records are revalidated, allowing rule changes to be applied
- * retroactively.
+ * In incremental mode, the results of the previous snapshot are reused for
+ * records whose original metadata did not change, if it was validated with the
+ * same validator and transformers; only new and changed records are validated.
+ * In full mode, or when the rules changed, all non-deleted records are
+ * revalidated, allowing rule changes to be applied retroactively.
+ * </p>
+ * <p>
+ * A full validation saves a checkpoint after each page; when resumed (see
+ * {@link #setResume}) it continues after the last checkpoint with the results
+ * and statistics stored up to it. Only runs stopped from outside keep their
+ * checkpoint; a run stopped by an error is finished and its checkpoint discarded.
  * </p>
  * 
  * @author LA Referencia Team
@@ -85,10 +102,14 @@ import org.springframework.stereotype.Component;
  */
 @Component("validationWorkerFlowable")
 @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
-public class ValidationWorker extends BaseIteratorWorker<OAIRecord, NetworkRunningContext> {
+public class ValidationWorker extends BaseIteratorWorker<OAIRecord, NetworkRunningContext> implements IRestartableWorker {
 
 	private static Logger logger = LogManager.getLogger(ValidationWorker.class);
 
+	private static final String CHECKPOINT_NAME = "validation";
+	private static final String VALID_COUNTER = "valid";
+	private static final String TRANSFORMED_COUNTER = "transformed";
+
 	NumberFormat percentajeFormat = NumberFormat.getPercentInstance();
 
 	@Autowired
@@ -122,6 +143,29 @@ public class ValidationWorker extends BaseIteratorWorker<OAIRecord, NetworkRunni
 
 	private SnapshotMetadata snapshotMetadata;
 
+	@Value("${validation.rule.profiling:true}")
+	private boolean ruleProfiling;
+
+	// per-rule timings of the current run, null if profiling is disabled
+	private RuleProfiler ruleProfiler;
+
+	@Autowired
+	private TransformationCache transformationCache;
+
+	@Value("${validation.transformation.cache:true}")
+	private boolean transformationCaching;
+
+	// transformation results of previous snapshots, null if they cannot be reused
+	private TransformationCache.Session transformationCacheSession;
+
+	// whether unchanged records keep the results of the previous snapshot
+	private boolean reusingPreviousResults;
+	private long reusedCount;
+
+	// counts of the run, saved with the checkpoints
+	private long validCount;
+	private long transformedCount;
+
 	/**
 	 * Constructs a new validation worker.
 	 */
@@ -143,6 +187,7 @@ public class ValidationWorker extends BaseIteratorWorker<OAIRecord, NetworkRunni
 
 			// Cargar metadata completo del snapshot y asignarlo al campo del padre
 			this.snapshotMetadata = snapshotStore.getSnapshotMetadata(snapshotId);
+			setMetricsSnapshot(snapshotMetadata);
 
 			try {
 				// Abrir catálogo SQLite para lectura (fue creado durante harvesting)
@@ -155,24 +200,65 @@ public class ValidationWorker extends BaseIteratorWorker<OAIRecord, NetworkRunni
 				this.setIterator(it, snapshotMetadata.getSize());
 			} catch (Exception e) {
 				logError("Error initializing OAIRecord iterator for snapshot " + snapshotId + ": " + e.getMessage());
-				this.stop();
+				this.stopOnError();
 				return;
 			}
 
-			try {
-				validationStatisticsService.deleteValidationStatsObservationsBySnapshotID(snapshotId);
-			} catch (ValidationStatisticsException e) {
-				logError("Error deleting previous validation results: " + e.getMessage());
-				this.stop();
-			}
-
-			// INITIALIZE: Create fresh writers AFTER cleanup
-			logInfo("Initializing validation statistics for snapshot: " + snapshotId);
-			validationStatisticsService.initializeValidationForSnapshot(this.snapshotMetadata);
 			logger.debug(
 					"Detailed diagnose: " + runningContext.getNetwork().getBooleanPropertyValue("DETAILED_DIAGNOSE"));
 			validationStatisticsService
 					.setDetailedDiagnose(runningContext.getNetwork().getBooleanPropertyValue("DETAILED_DIAGNOSE"));
+			String fingerprint = validationManager.validationFingerprint(runningContext.getNetwork().getValidator(),
+					runningContext.getNetwork().getTransformer(),
+					runningContext.getNetwork().getSecondaryTransformer(), snapshotMetadata.getNetwork());
+			validationStatisticsService.setValidationFingerprint(fingerprint);
+
+			// INCREMENTAL: reuse the results of the previous snapshot for unchanged records
+			reusingPreviousResults = false;
+			reusedCount = 0;
+			if (isIncremental()) {
+				Long previousSnapshotId = snapshotStore.getPreviousSnapshotId(snapshotId);
+				if (previousSnapshotId != null && validationStatisticsService
+						.initializeIncrementalValidationForSnapshot(this.snapshotMetadata, previousSnapshotId)) {
+					reusingPreviousResults = true;
+					logInfo("Reusing validation results of snapshot " + previousSnapshotId + " for unchanged records");
+				}
+			}
+
+			// RESUME: continue an interrupted full validation from its last checkpoint
+			WorkerCheckpoint checkpoint = null;
+			if (!reusingPreviousResults) {
+				checkpoint = openCheckpoint(snapshotMetadata, CHECKPOINT_NAME, fingerprint + "|"
+						+ runningContext.getNetwork().getBooleanPropertyValue("DETAILED_DIAGNOSE"));
+
+				if (checkpoint != null && checkpoint.isResumed() && !validationStatisticsService
+						.resumeValidationForSnapshot(snapshotMetadata, checkpoint.getState())) {
+					logInfo("Validation results of " + checkpoint + " not found, validating all records");
+					checkpoint.reset();
+				}
+			}
+			boolean resumed = checkpoint != null && checkpoint.isResumed();
+
+			validCount = 0;
+			transformedCount = 0;
+			if (resumed) {
+				validCount = checkpoint.getCounter(VALID_COUNTER);
+				transformedCount = checkpoint.getCounter(TRANSFORMED_COUNTER);
+				logInfo("Resuming validation after " + checkpoint.getProcessed() + " records");
+			}
+
+			if (!reusingPreviousResults && !resumed) {
+				try {
+					validationStatisticsService.deleteValidationStatsObservationsBySnapshotID(snapshotId);
+				} catch (ValidationStatisticsException e) {
+					logError("Error deleting previous validation results: " + e.getMessage());
+					this.stopOnError();
+				}
+
+				// INITIALIZE: Create fresh writers AFTER cleanup
+				logInfo("Initializing validation statistics for snapshot: " + snapshotId);
+				validationStatisticsService.initializeValidationForSnapshot(this.snapshotMetadata);
+			}
 
 			try {
 
@@ -192,23 +278,45 @@ public class ValidationWorker extends BaseIteratorWorker<OAIRecord, NetworkRunni
 							.createTransformerFromModel(runningContext.getNetwork().getSecondaryTransformer());
 				}
 
+				if (transformer != null)
+					logInfo("Primary transformer plan: " + transformer.describePlan());
+
+				if (secondaryTransformer != null)
+					logInfo("Secondary transformer plan: " + secondaryTransformer.describePlan());
+
 				if (transformer == null && secondaryTransformer == null)
 					logInfo("No transformers for " + runningContext.toString() + "!!!");
 
+				if (ruleProfiling) {
+					ruleProfiler = new RuleProfiler();
+					if (validator != null)
+						validator.setRuleProfiler(ruleProfiler);
+					if (transformer != null)
+						transformer.setRuleProfiler(ruleProfiler);
+					if (secondaryTransformer != null)
+						secondaryTransformer.setRuleProfiler(ruleProfiler);
+				}
+
+				if (transformationCaching)
+					openTransformationCache();
+
 			} catch (ValidationException e) {
 				logError(runningContext.toString() + ": " + e.getMessage());
-				this.stop();
+				this.stopOnError();
 				return;
 			}
 
 		} else {
 			logger.error("There is not a suitable snapshot for validation");
-			this.stop();
+			this.stopOnError();
 		}
 
 		logInfo("Starting Validation/Transformation of " + runningContext.toString());
 		snapshotStore.startValidation(snapshotMetadata.getSnapshotId());
 		snapshotStore.resetSnapshotValidationCounts(snapshotMetadata.getSnapshotId());
+		if (validCount > 0 || transformedCount > 0)
+			snapshotStore.setSnapshotValidationCounts(snapshotMetadata.getSnapshotId(), (int) validCount,
+					(int) transformedCount);
 
 	}
 
@@ -235,25 +343,82 @@ public class ValidationWorker extends BaseIteratorWorker<OAIRecord, NetworkRunni
 			logger.debug("Initial status: " + record.getId() + " :: " + record.getIdentifier() + "::");
 			wasTransformed = false;
 
-			// carga la metadata original sin transformar
-			logger.debug("Load metadata: " + record.getId() + " :: " + record.getIdentifier());
-			String metadataStr = metadataStoreService.getMetadata(snapshotMetadata, record.getOriginalMetadataHash());
-			OAIRecordMetadata metadata = new OAIRecordMetadata(record.getIdentifier(), metadataStr);
+			// si el contenido no cambió desde el snapshot anterior se conserva su resultado
+			if (reusingPreviousResults) {
+				ValidationRecord previous = validationStatisticsService.findReusableObservation(record);
+				if (previous != null) {
+					logger.debug("Unchanged record: " + record.getId() + " :: " + record.getIdentifier());
+					validationStatisticsService.retainObservation(snapshotMetadata, record, previous);
+					reusedCount++;
 
-			// si corresponde lo transforma
+					countResult(previous.isValid(), previous.isTransformed());
+					return;
+				}
+			}
+
+			OAIRecordMetadata metadata = null;
+			String publishedMetadataHash = null;
+
+			// si el mismo contenido ya fue transformado por los mismos transformadores
+			// se reutiliza el resultado
+			TransformationCache.Entry cached = getCachedTransformation(record.getOriginalMetadataHash());
+
+			if (cached != null) {
+				// reusing the published hash is a new reference to it: entering the fence
+				// rescues it if it is pending reclamation, and the load below confirms it
+				// was not reclaimed before
+				MetadataReclaimGuard.Fence fence = MetadataReclaimGuard.enter(snapshotMetadata,
+						cached.getPublishedMetadataHash());
+				try {
+					// the published metadata is needed to validate it, and checked to be still stored
+					boolean load = validator != null || cached.isTransformed();
+					String publishedStr = load ? loadCachedMetadata(cached) : null;
+
+					if (publishedStr != null || !load) {
+						logger.debug("Cached transformation: " + record.getId() + " :: " + record.getIdentifier());
+						wasTransformed = cached.isTransformed();
+						publishedMetadataHash = cached.getPublishedMetadataHash();
+
+						if (validator != null)
+							metadata = new OAIRecordMetadata(record.getIdentifier(), publishedStr);
+					}
+				} finally {
+					if (fence != null)
+						fence.exit(cached.getPublishedMetadataHash());
+				}
+			}
 
-			logger.debug("Starting transformations: " + record.getId() + " :: " + record.getIdentifier());
+			if (publishedMetadataHash == null) {
 
-			// transforma
+				// carga la metadata original sin transformar
+				logger.debug("Load metadata: " + record.getId() + " :: " + record.getIdentifier());
+				String metadataStr = metadataStoreService.getMetadata(snapshotMetadata, record.getOriginalMetadataHash());
+				metadata = new OAIRecordMetadata(record.getIdentifier(), metadataStr);
 
-			if (transformer != null) {
-				logger.debug("Primary transformer: " + record.getId() + " :: " + record.getIdentifier());
-				wasTransformed |= transformer.transform(this.snapshotMetadata, record, metadata);
-			}
+				// si corresponde lo transforma
+
+				logger.debug("Starting transformations: " + record.getId() + " :: " + record.getIdentifier());
+
+				// transforma
 
-			if (secondaryTransformer != null) {
-				logger.debug("Secondary transformer: " + record.getId() + " :: " + record.getIdentifier());
-				wasTransformed |= secondaryTransformer.transform(this.snapshotMetadata, record, metadata);
+				if (transformer != null) {
+					logger.debug("Primary transformer: " + record.getId() + " :: " + record.getIdentifier());
+					wasTransformed |= transformer.transform(this.snapshotMetadata, record, metadata);
+				}
+
+				if (secondaryTransformer != null) {
+					logger.debug("Secondary transformer: " + record.getId() + " :: " + record.getIdentifier());
+					wasTransformed |= secondaryTransformer.transform(this.snapshotMetadata, record, metadata);
+				}
+
+				// store metadata if needed and set publishedMetadataHash
+				publishedMetadataHash = record.getOriginalMetadataHash();
+
+				// if transformed store the metadata and get hash
+				if (wasTransformed)
+					publishedMetadataHash = metadataStoreService.storeAndReturnHash(snapshotMetadata, metadata);
+
+				putCachedTransformation(record.getOriginalMetadataHash(), publishedMetadataHash, wasTransformed);
 			}
 
 			logger.debug(record.getId() + " :: " + record.getIdentifier() + "  Transformed: " + wasTransformed);
@@ -275,14 +440,9 @@ public class ValidationWorker extends BaseIteratorWorker<OAIRecord, NetworkRunni
 
 			logger.debug(record.getId() + " :: " + record.getIdentifier() + " final status: ");
 
-			// store metadata if needed and set publishedMetadataHash
-			String publishedMetadataHash = record.getOriginalMetadataHash();
-
-			// if transformed store the metadata, get hash and set datestamp as now
-			if (wasTransformed) {
-				publishedMetadataHash = metadataStoreService.storeAndReturnHash(snapshotMetadata, metadata.toString());
+			// if transformed set datestamp as now
+			if (wasTransformed)
 				record.setDatestamp(LocalDateTime.now());
-			}
 			// store publishedMetadataHash in validation result
 			reusableValidationResult.setMetadataHash(publishedMetadataHash);
 
@@ -294,13 +454,7 @@ public class ValidationWorker extends BaseIteratorWorker<OAIRecord, NetworkRunni
 			validationStatisticsService.addObservation(snapshotMetadata, record, reusableValidationResult);
 
 			// Update snapshot counts immediately after validation
-			Long snapshotId = snapshotMetadata.getSnapshotId();
-			if (reusableValidationResult.isValid()) {
-				snapshotStore.incrementValidSize(snapshotId);
-			}
-			if (wasTransformed) {
-				snapshotStore.incrementTransformedSize(snapshotId);
-			}
+			countResult(reusableValidationResult.isValid(), wasTransformed);
 
 		} catch (OAIRecordMetadataParseException e) {
 
@@ -308,25 +462,35 @@ public class ValidationWorker extends BaseIteratorWorker<OAIRecord, NetworkRunni
 					+ e.getMessage());
 			// logger.debug( record.getOriginalXML());
 			snapshotStore.finishHarvesting(snapshotMetadata.getSnapshotId());
-			this.stop();
+			this.stopOnError();
 
 		} catch (ValidationException e) {
 			logError("Validation error:" + runningContext.toString() + ": " + e.getMessage());
 			snapshotStore.finishHarvesting(snapshotMetadata.getSnapshotId());
-			this.stop();
+			this.stopOnError();
 
 		} catch (Exception e) {
 			logError("Unknown validation error:" + runningContext.toString() + ": " + e.getMessage());
 			snapshotStore.finishHarvesting(snapshotMetadata.getSnapshotId());
-			this.stop();
+			this.stopOnError();
 		}
 
 	}
 
 	@Override
 	public void postRun() {
+		closeTransformationCache();
+
+		if (reusingPreviousResults)
+			logInfo("Incremental validation: " + reusedCount + " unchanged records kept their previous results");
+
 		// Finalize validation and mark snapshot as complete
 		try {
+			if (ruleProfiler != null) {
+				validationStatisticsService.setRuleProfiles(ruleProfiler.getValidatorProfiles(),
+						ruleProfiler.getTransformerProfiles());
+				logInfo("Reglas con mayor tiempo de evaluación: " + ruleProfiler.summary(5));
+			}
 			validationStatisticsService.finalizeValidationForSnapshot(snapshotMetadata.getSnapshotId());
 		} catch (Exception e) {
 			logger.error("ERROR: Failed to finalize validation data for snapshot {}", snapshotMetadata.getSnapshotId(),
@@ -339,6 +503,163 @@ public class ValidationWorker extends BaseIteratorWorker<OAIRecord, NetworkRunni
 		logInfo("Finishing Validation/Transformation of " + runningContext.toString());
 	}
 
+	@Override
+	protected void postInterrupted() {
+		closeTransformationCache();
+
+		// the results up to the last checkpoint are kept to resume the validation
+		try {
+			validationStatisticsService.suspendValidationForSnapshot(snapshotMetadata.getSnapshotId());
+		} catch (Exception e) {
+			logger.error("ERROR: Failed to suspend validation of snapshot {}", snapshotMetadata.getSnapshotId(), e);
+		}
+
+		logInfo("Validation/Transformation of " + runningContext.toString() + " stopped after "
+				+ getCheckpoint().getProcessed() + " checkpointed records, it can be resumed");
+	}
+
+	@Override
+	protected void onCheckpoint(WorkerCheckpoint checkpoint) {
+		checkpoint.setState(
+				validationStatisticsService.checkpointValidationForSnapshot(snapshotMetadata.getSnapshotId()));
+		checkpoint.setCounter(VALID_COUNTER, validCount);
+		checkpoint.setCounter(TRANSFORMED_COUNTER, transformedCount);
+	}
+
+	@Override
+	public void restartFromFirstRecord() {
+		Long snapshotId = snapshotMetadata.getSnapshotId();
+		logInfo("Records changed since the checkpoint, validating all records");
+
+		// the results restored with the checkpoint are discarded
+		validationStatisticsService.suspendValidationForSnapshot(snapshotId);
+		try {
+			validationStatisticsService.deleteValidationStatsObservationsBySnapshotID(snapshotId);
+		} catch (ValidationStatisticsException e) {
+			logError("Error deleting previous validation results: " + e.getMessage());
+			this.stopOnError();
+		}
+		validationStatisticsService.initializeValidationForSnapshot(snapshotMetadata);
+
+		validCount = 0;
+		transformedCount = 0;
+		snapshotStore.resetSnapshotValidationCounts(snapshotId);
+
+		this.setIterator(catalogRepository.streamNotDeleted(snapshotMetadata).iterator(), snapshotMetadata.getSize());
+	}
+
+	@Override
+	protected String getCheckpointKey(OAIRecord record) {
+		return record.getId();
+	}
+
+	/**
+	 * Updates the snapshot counts with the result of a record.
+	 */
+	private void countResult(boolean valid, boolean transformed) {
+		Long snapshotId = snapshotMetadata.getSnapshotId();
+		if (valid) {
+			snapshotStore.incrementValidSize(snapshotId);
+			validCount++;
+		}
+		if (transformed) {
+			snapshotStore.incrementTransformedSize(snapshotId);
+			transformedCount++;
+		}
+	}
+
+	/**
+	 * Opens the cache of transformation results of the network, if the
+	 * transformers only depend on the metadata of each record.
+	 */
+	private void openTransformationCache() {
+		if (transformer == null && secondaryTransformer == null)
+			return;
+
+		if ((transformer != null && transformer.dependsOnRecord())
+				|| (secondaryTransformer != null && secondaryTransformer.dependsOnRecord())) {
+			logInfo("Transformation cache disabled: some transformer rules depend on the record");
+			return;
+		}
+
+		try {
+			String fingerprint = validationManager.transformerFingerprint(runningContext.getNetwork().getTransformer(),
+					runningContext.getNetwork().getSecondaryTransformer(), snapshotMetadata.getNetwork());
+			transformationCacheSession = transformationCache.open(snapshotMetadata, fingerprint);
+		} catch (Exception e) {
+			logger.warn("Transformation cache not available, records will be transformed: " + e.getMessage());
+			transformationCacheSession = null;
+		}
+	}
+
+	private void closeTransformationCache() {
+		if (transformationCacheSession == null)
+			return;
+
+		try {
+			logInfo("Transformation cache: " + transformationCacheSession.getHits() + " hits, "
+					+ transformationCacheSession.getMisses() + " misses");
+			transformationCacheSession.close();
+		} catch (Exception e) {
+			logger.warn("Error closing transformation cache: " + e.getMessage());
+		}
+		transformationCacheSession = null;
+	}
+
+	/**
+	 * Looks up a cached transformation. The cache is optional: if it fails it is
+	 * disabled for the rest of the run and the records are transformed.
+	 *
+	 * @return the cached result, or null if unknown or the cache is not available
+	 */
+	private TransformationCache.Entry getCachedTransformation(String originalMetadataHash) {
+		if (transformationCacheSession == null)
+			return null;
+
+		try {
+			return transformationCacheSession.get(originalMetadataHash);
+		} catch (SQLException e) {
+			disableTransformationCache(e);
+			return null;
+		}
+	}
+
+	private void putCachedTransformation(String originalMetadataHash, String publishedMetadataHash,
+			boolean transformed) {
+		if (transformationCacheSession == null)
+			return;
+
+		try {
+			transformationCacheSession.put(originalMetadataHash, publishedMetadataHash, transformed);
+		} catch (SQLException e) {
+			disableTransformationCache(e);
+		}
+	}
+
+	private void disableTransformationCache(SQLException e) {
+		logger.warn("Transformation cache error, disabled for the rest of the run: " + e.getMessage());
+		closeTransformationCache();
+	}
+
+	/**
+	 * Loads the published metadata of a cached transformation.
+	 *
+	 * @return the metadata, or null if it is no longer stored
+	 */
+	private String loadCachedMetadata(TransformationCache.Entry cached) {
+		try {
+			return metadataStoreService.getMetadata(snapshotMetadata, cached.getPublishedMetadataHash());
+		} catch (MetadataRecordStoreException e) {
+			logger.debug("Cached metadata not found: " + cached.getPublishedMetadataHash());
+			return null;
+		}
+	}
+
+	@Override
+	public ResourceProfile getResourceProfile() {
+		return ResourceProfile.CPU;
+	}
+
 	@Override
 	public String toString() {
 		return "Transform/Validate(" + percentajeFormat.format(this.getCompletionRate()) + ")"
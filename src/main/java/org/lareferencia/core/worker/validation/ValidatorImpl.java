@@ -44,6 +44,11 @@ public class ValidatorImpl implements IValidator {
 
 	List<IValidatorRule> rules;
 
+	/**
+	 * Collects per-rule timings when set, null to disable profiling.
+	 */
+	RuleProfiler ruleProfiler;
+
 	/**
 	 * Constructs a new ValidatorImpl with an empty list of validation rules.
 	 */
@@ -70,7 +75,11 @@ public class ValidatorImpl implements IValidator {
 
 		for (IValidatorRule rule : rules) {
 			try {
+				long start = ruleProfiler != null ? System.nanoTime() : 0L;
 				ValidatorRuleResult ruleResult = rule.validate(metadata);
+				if (ruleProfiler != null)
+					ruleProfiler.metricsFor(rule).record(System.nanoTime() - start, ruleResult.getValid());
+
 				reusableResult.getRulesResults().add(ruleResult);
 				isRecordValid &= (ruleResult.getValid() || !rule.getMandatory());
 			}
@@ -24,6 +24,8 @@ package org.lareferencia.core.worker.validation.transformer;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Map;
 
 import org.lareferencia.core.domain.Network;
@@ -238,4 +240,18 @@ public class AddProvenanceMetadataRule extends AbstractTransformerRule {
 
 		return true;
 	}
+
+	@Override
+	public boolean dependsOnRecord() {
+		// adds the record identifier and datestamp
+		return true;
+	}
+
+	@Override
+	public Collection<String> writtenFields() {
+		return Arrays.asList(repoTypeField, repoUrlField, instTypeField, instUrlField, oaiUrlField, contactEmailField,
+				countryField, doiField, issnField, issnLField, repoIdField, harvestDateField, repoNameField,
+				oaiIdentifierField);
+	}
+
 }
@@ -21,6 +21,9 @@
 
 package org.lareferencia.core.worker.validation.transformer;
 
+import java.util.Arrays;
+import java.util.Collection;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -127,4 +130,9 @@ public class AddRepoNameRule extends AbstractTransformerRule {
 		return doInstNameAppend || doRepoNameAppend;
 	}
 
+	@Override
+	public Collection<String> writtenFields() {
+		return Arrays.asList(repoNameField, instNameField, instAcronField);
+	}
+
 }
@@ -21,6 +21,9 @@
 
 package org.lareferencia.core.worker.validation.transformer;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -74,4 +77,9 @@ public class FieldAddRule extends AbstractTransformerRule {
 		return wasTransformed;
 	}
 
+	@Override
+	public Collection<String> writtenFields() {
+		return Collections.singletonList(targetFieldName);
+	}
+
 }
@@ -21,6 +21,8 @@
 package org.lareferencia.core.worker.validation.transformer;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -145,4 +147,9 @@ public class FieldContentConditionalAddOccrRule extends AbstractTransformerRule
 		return wasTransformed;
 	}
 
+	@Override
+	public Collection<String> writtenFields() {
+		return Collections.singletonList(fieldName);
+	}
+
 }
@@ -20,6 +20,8 @@
 
 package org.lareferencia.core.worker.validation.transformer;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -115,4 +117,14 @@ public class FieldContentNormalizeRule extends AbstractTransformerRule {
 		return wasTransformed;
 	}
 
+	@Override
+	public Collection<String> readFields() {
+		return Collections.singletonList(fieldName);
+	}
+
+	@Override
+	public Collection<String> writtenFields() {
+		return Collections.emptyList();
+	}
+
 }
@@ -20,6 +20,11 @@
 
 package org.lareferencia.core.worker.validation.transformer;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
@@ -48,6 +53,11 @@ import lombok.Setter;
  * them with corresponding target values. Supports prefix matching and
  * occurrence replacement.
  * </p>
+ * <p>
+ * Translations are indexed by search value (a hash map for whole values, a
+ * prefix trie for prefixes), so each record only visits the translations that
+ * match one of its occurrences, still in priority order.
+ * </p>
  * 
  * @author LA Referencia Team
  * @see AbstractTransformerRule
@@ -99,11 +109,17 @@ public class FieldContentPriorityTranslateRule extends AbstractTransformerRule {
 	 */
 	public void setTranslationArray(List<Translation> list) {
 		this.translationArray = list;
+		this.translationIndex = null;
 		logger.debug(list);
 	}
 
 	Set<String> existingValues = new HashSet<String>();
 
+	/**
+	 * Index of the translation array, null until first used or after the array is replaced.
+	 */
+	private volatile PriorityIndex translationIndex;
+
 	@Override
 	public boolean transform(SnapshotMetadata snapshotMetadata, IOAIRecord record, OAIRecordMetadata metadata) {
 
@@ -112,14 +128,36 @@ public class FieldContentPriorityTranslateRule extends AbstractTransformerRule {
 		for (Node node : metadata.getFieldNodes(testFieldName))
 			existingValues.add(node.getFirstChild().getNodeValue());
 
+		List<Translation> translations = this.getTranslationArray();
+		PriorityIndex index = getTranslationIndex(translations);
+
 		String occr = null;
 
 		boolean matchFound = false;
 
-		for (Translation trl : this.getTranslationArray()) {
+		int from = 0;
+
+		// recorre las traducciones en orden de prioridad, salteando las que no
+		// coinciden con ninguna ocurrencia actual del campo de test
+		while (from < translations.size()) {
+
+			List<Node> nodes = metadata.getFieldNodes(testFieldName);
+
+			int next = translations.size();
+			for (Node node : nodes)
+				next = Math.min(next, index.next(node.getFirstChild().getNodeValue(), from));
+
+			// una traducción sin coincidencias deja matchFound en false si hay ocurrencias
+			if (next > from && !nodes.isEmpty())
+				matchFound = false;
+
+			if (next == translations.size())
+				break;
+
+			Translation trl = translations.get(next);
 
 			// recorre las ocurrencias del campo de test
-			for (Node node : metadata.getFieldNodes(testFieldName)) {
+			for (Node node : nodes) {
 
 				occr = node.getFirstChild().getNodeValue();
 
@@ -148,9 +186,90 @@ public class FieldContentPriorityTranslateRule extends AbstractTransformerRule {
 			// si no deben reemplazare todas las ocurrencias y fue encontrada
 			if (!replaceAllMatchingOccurrences && matchFound)
 				break;
+
+			from = next + 1;
 		}
 
 		return matchFound;
 	}
 
-}
\ No newline at end of file
+	private PriorityIndex getTranslationIndex(List<Translation> translations) {
+		PriorityIndex index = translationIndex;
+		if (index == null || index.translations != translations || index.size != translations.size()
+				|| index.prefix != testValueAsPrefix) {
+			index = new PriorityIndex(translations, testValueAsPrefix);
+			translationIndex = index;
+		}
+		return index;
+	}
+
+	/**
+	 * Positions of the translations in the priority list, by search value.
+	 */
+	static final class PriorityIndex {
+
+		private static final int[] NONE = new int[0];
+
+		final List<Translation> translations;
+		final int size;
+		final boolean prefix;
+
+		private final Map<String, int[]> exact = new HashMap<String, int[]>();
+		private final PrefixTrie<int[]> prefixes = new PrefixTrie<int[]>();
+
+		PriorityIndex(List<Translation> translations, boolean prefix) {
+			this.translations = translations;
+			this.size = translations.size();
+			this.prefix = prefix;
+
+			Map<String, List<Integer>> positions = new HashMap<String, List<Integer>>();
+			for (int i = 0; i < size; i++) {
+				String search = translations.get(i).getSearch();
+				if (search != null)
+					positions.computeIfAbsent(search, k -> new ArrayList<Integer>()).add(i);
+			}
+
+			for (Map.Entry<String, List<Integer>> entry : positions.entrySet()) {
+				int[] sorted = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+				if (prefix)
+					prefixes.put(entry.getKey(), sorted);
+				else
+					exact.put(entry.getKey(), sorted);
+			}
+		}
+
+		/**
+		 * Returns the position of the first translation at or after {@code from}
+		 * that matches the occurrence, or the size of the list if there is none.
+		 */
+		int next(String occr, int from) {
+			if (occr == null)
+				return size;
+
+			if (!prefix)
+				return firstFrom(exact.getOrDefault(occr, NONE), from);
+
+			int[] first = { size };
+			prefixes.forEachPrefixValue(occr, positions -> first[0] = Math.min(first[0], firstFrom(positions, from)));
+			return first[0];
+		}
+
+		private int firstFrom(int[] positions, int from) {
+			int i = Arrays.binarySearch(positions, from);
+			if (i < 0)
+				i = -i - 1;
+			return i < positions.length ? positions[i] : size;
+		}
+	}
+
+	@Override
+	public Collection<String> readFields() {
+		return Collections.singletonList(testFieldName);
+	}
+
+	@Override
+	public Collection<String> writtenFields() {
+		return Collections.singletonList(writeFieldName);
+	}
+
+}
@@ -21,6 +21,10 @@
 
 package org.lareferencia.core.worker.validation.transformer;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.regex.Pattern;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -45,6 +49,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 @ValidatorRuleMeta(name = "Transformación de campo removendo whitespaces", help = "Transformation rule that removes whitespace from field values.")
 public class FieldContentRemoveWhiteSpacesTranslateRule extends AbstractTransformerRule {
 
+    private static final Pattern WHITESPACE = Pattern.compile("\\s");
+
     /**
      * Name of the field to process for removing whitespace.
      */
@@ -80,7 +86,7 @@ public class FieldContentRemoveWhiteSpacesTranslateRule extends AbstractTransfor
 
             int originalSize = occr.length();
             // Replace every whitespace with nothing (removing whitespaces)
-            replace = occr.replaceAll("\\s", "");
+            replace = WHITESPACE.matcher(occr).replaceAll("");
 
             node.getFirstChild().setNodeValue(replace);
 
@@ -94,4 +100,14 @@ public class FieldContentRemoveWhiteSpacesTranslateRule extends AbstractTransfor
         return wasTransformed;
     }
 
+    @Override
+    public Collection<String> readFields() {
+        return Collections.singletonList(fieldName);
+    }
+
+    @Override
+    public Collection<String> writtenFields() {
+        return Collections.emptyList();
+    }
+
 }
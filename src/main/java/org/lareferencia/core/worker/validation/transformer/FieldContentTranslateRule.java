@@ -35,9 +35,13 @@ import org.lareferencia.core.worker.validation.SchemaProperty;
 import org.w3c.dom.Node;
 
 import java.io.*;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
@@ -53,6 +57,11 @@ import java.util.TreeMap;
  * case-sensitive or case-insensitive matching, and can handle prefix-based
  * translations.
  * <p>
+ * Lookups go through an index compiled from the translation map on first use
+ * (a case-insensitive hash map for whole values, a prefix trie for prefixes)
+ * and rebuilt when the map changes.
+ * </p>
+ * <p>
  * Common use cases include:
  * </p>
  * <ul>
@@ -102,11 +111,17 @@ public class FieldContentTranslateRule extends AbstractTransformerRule {
 
 	Set<String> existingValues = new HashSet<String>();
 
+	/**
+	 * Lookup index compiled from the translation map, null until first used
+	 * or after the map changes.
+	 */
+	private volatile TranslationIndex translationIndex;
+
 	/**
 	 * Creates a new field content translation rule.
 	 */
 	public FieldContentTranslateRule() {
-		this.translationMap = new TreeMap<String, String>(CaseInsensitiveComparator.INSTANCE);
+		this.translationMap = new TranslationMap();
 	}
 
 	/**
@@ -181,6 +196,8 @@ public class FieldContentTranslateRule extends AbstractTransformerRule {
 		for (Node node : metadata.getFieldNodes(testFieldName))
 			existingValues.add(node.getFirstChild().getNodeValue());
 
+		TranslationIndex index = getTranslationIndex();
+
 		String occr = null;
 		String translatedOccr = null;
 
@@ -194,8 +211,9 @@ public class FieldContentTranslateRule extends AbstractTransformerRule {
 
 				// if translation contains the value and the translated value does not yet
 				// exists
-				if (translationMap.containsKey(occr) && !existingValues.contains(translationMap.get(occr))) {
-					translatedOccr = translationMap.get(occr);
+				String key = TranslationIndex.foldCase(occr);
+				if (index.values.containsKey(key) && !existingValues.contains(index.values.get(key))) {
+					translatedOccr = index.values.get(key);
 					wasTransformed |= !occr.equals(translatedOccr);
 
 					if (replaceOccurrence)
@@ -208,22 +226,18 @@ public class FieldContentTranslateRule extends AbstractTransformerRule {
 
 			} else { // Busca el prefijo
 
-				Boolean found = false;
-				// recorre los valores del diccionarrio de reemplazo
-				for (String testValue : translationMap.keySet()) {
+				// la primera clave del diccionario (en su orden) que es prefijo de la ocurrencia
+				Translation translation = index.prefixes.firstPrefixValue(occr);
 
-					// si el valor del diccionario de reemplazo es prefijo de la
-					if (!found && occr.startsWith(testValue)) {
-						translatedOccr = translationMap.get(testValue);
-						wasTransformed = true;
+				if (translation != null) {
+					translatedOccr = translation.getReplace();
+					wasTransformed = true;
 
-						if (replaceOccurrence)
-							metadata.removeNode(node);
-
-						metadata.addFieldOcurrence(writeFieldName, translatedOccr);
-						existingValues.add(translatedOccr);
+					if (replaceOccurrence)
+						metadata.removeNode(node);
 
-					}
+					metadata.addFieldOcurrence(writeFieldName, translatedOccr);
+					existingValues.add(translatedOccr);
 				}
 			}
 
@@ -238,10 +252,99 @@ public class FieldContentTranslateRule extends AbstractTransformerRule {
 	 * @param translationMap the map of source to target values
 	 */
 	public void setTranslationMap(Map<String, String> translationMap) {
-		this.translationMap = new TreeMap<String, String>(CaseInsensitiveComparator.INSTANCE);
+		this.translationMap = new TranslationMap();
 		this.translationMap.putAll(translationMap);
 	}
 
+	private TranslationIndex getTranslationIndex() {
+		TranslationIndex index = translationIndex;
+		if (index == null) {
+			index = new TranslationIndex(translationMap);
+			translationIndex = index;
+		}
+		return index;
+	}
+
+	/**
+	 * Case-insensitive translation map that drops the compiled index when it is
+	 * modified through the {@link Map} methods.
+	 */
+	private class TranslationMap extends TreeMap<String, String> {
+
+		private static final long serialVersionUID = 1L;
+
+		TranslationMap() {
+			super(CaseInsensitiveComparator.INSTANCE);
+		}
+
+		@Override
+		public String put(String key, String value) {
+			String previous = super.put(key, value);
+			translationIndex = null;
+			return previous;
+		}
+
+		@Override
+		public void putAll(Map<? extends String, ? extends String> map) {
+			super.putAll(map);
+			translationIndex = null;
+		}
+
+		@Override
+		public String remove(Object key) {
+			String previous = super.remove(key);
+			translationIndex = null;
+			return previous;
+		}
+
+		@Override
+		public void clear() {
+			super.clear();
+			translationIndex = null;
+		}
+	}
+
+	/**
+	 * Immutable lookup structures built from the translation map.
+	 */
+	static final class TranslationIndex {
+
+		/** Replacements by case-folded key, equivalent to the case-insensitive map lookup. */
+		final Map<String, String> values;
+
+		/** Translations by key, for prefix matching. */
+		final PrefixTrie<Translation> prefixes;
+
+		TranslationIndex(Map<String, String> translationMap) {
+			values = new HashMap<String, String>(translationMap.size() * 2);
+			prefixes = new PrefixTrie<Translation>();
+
+			for (Map.Entry<String, String> entry : translationMap.entrySet()) {
+				values.put(foldCase(entry.getKey()), entry.getValue());
+				// the map iterates in case-insensitive order, so among keys that are
+				// prefixes of each other the shortest one, which the trie finds first, wins
+				prefixes.put(entry.getKey(), new Translation(entry.getKey(), entry.getValue()));
+			}
+		}
+
+		/**
+		 * Maps a string to a key that is equal for two strings exactly when
+		 * {@link String#compareToIgnoreCase(String)} considers them equal.
+		 */
+		static String foldCase(String value) {
+			boolean ascii = true;
+			for (int i = 0; i < value.length() && ascii; i++)
+				ascii = value.charAt(i) < 0x80;
+
+			if (ascii)
+				return value.toLowerCase(Locale.ROOT);
+
+			StringBuilder folded = new StringBuilder(value.length());
+			value.codePoints().forEach(cp -> folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(cp))));
+			return folded.toString();
+		}
+	}
+
 	/**
 	 * Case-insensitive string comparator for translation keys.
 	 */
@@ -254,4 +357,14 @@ public class FieldContentTranslateRule extends AbstractTransformerRule {
 		}
 	}
 
+	@Override
+	public Collection<String> readFields() {
+		return Collections.singletonList(testFieldName);
+	}
+
+	@Override
+	public Collection<String> writtenFields() {
+		return Collections.singletonList(writeFieldName);
+	}
+
 }
@@ -25,6 +25,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.lareferencia.core.domain.IOAIRecord;
@@ -96,4 +97,24 @@ public class FieldNameBulkTranslateRule extends AbstractTransformerRule {
 
 	}
 
+	@Override
+	public Collection<String> readFields() {
+		if (translationArray == null)
+			return null;
+		List<String> fields = new ArrayList<String>(translationArray.size());
+		for (Translation translation : translationArray)
+			fields.add(translation.getSearch());
+		return fields;
+	}
+
+	@Override
+	public Collection<String> writtenFields() {
+		if (translationArray == null)
+			return null;
+		List<String> fields = new ArrayList<String>(translationArray.size());
+		for (Translation translation : translationArray)
+			fields.add(translation.getReplace());
+		return fields;
+	}
+
 }
@@ -21,6 +21,9 @@
 
 package org.lareferencia.core.worker.validation.transformer;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -103,4 +106,14 @@ public class FieldNameTranslateRule extends AbstractTransformerRule {
 		return wasTransformed;
 	}
 
+	@Override
+	public Collection<String> readFields() {
+		return Collections.singletonList(sourceFieldName);
+	}
+
+	@Override
+	public Collection<String> writtenFields() {
+		return Collections.singletonList(targetFieldName);
+	}
+
 }
@@ -27,10 +27,15 @@ import org.lareferencia.core.domain.IOAIRecord;
 import org.lareferencia.core.metadata.SnapshotMetadata;
 import org.lareferencia.core.metadata.OAIRecordMetadata;
 import org.lareferencia.core.worker.validation.AbstractTransformerRule;
+import org.lareferencia.core.worker.validation.RuleRegex;
 import org.lareferencia.core.worker.validation.ValidatorRuleMeta;
 import org.lareferencia.core.worker.validation.SchemaProperty;
 import org.w3c.dom.Node;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -71,7 +76,27 @@ public class IdentifierRegexRule extends AbstractTransformerRule {
 	 */
 	public void setRegexSearch(String regexPattern) {
 		this.regexSearch = regexPattern;
-		// regexPredicate = Pattern.compile(regexPattern).asPredicate();
+		this.regex = null;
+	}
+
+	/**
+	 * Search expression compiled on first use.
+	 */
+	private volatile RuleRegex regex;
+
+	/**
+	 * Returns the compiled search expression, with its timing counters.
+	 *
+	 * @return the compiled expression
+	 */
+	@JsonIgnore
+	public RuleRegex getRegex() {
+		RuleRegex compiled = regex;
+		if (compiled == null) {
+			compiled = new RuleRegex(regexSearch);
+			regex = compiled;
+		}
+		return compiled;
 	}
 
 	Set<String> existingValues = new HashSet<String>();
@@ -83,15 +108,31 @@ public class IdentifierRegexRule extends AbstractTransformerRule {
 	 * 
 	 * @param record   the OAI record to transform
 	 * @param metadata the metadata (not used in this rule)
-	 * @return true always, as transformation is always applied
+	 * @return true unless the expression timed out, leaving the identifier unchanged
 	 */
 	@Override
 	public boolean transform(SnapshotMetadata snapshotMetadata, IOAIRecord record, OAIRecordMetadata metadata) {
 
 		// set the new identifier value as the result of the regex replace
-		record.setIdentifier(record.getIdentifier().replaceAll(regexSearch, regexReplace));
+		try {
+			record.setIdentifier(getRegex().replaceAll(record.getIdentifier(), regexReplace));
+		} catch (RuleRegex.RegexTimeoutException e) {
+			// registrado por RuleRegex, el identificador queda sin transformar
+			return false;
+		}
 		return true;
 
 	}
 
+	@Override
+	public boolean dependsOnRecord() {
+		// rewrites the record identifier
+		return true;
+	}
+
+	@Override
+	public Collection<String> writtenFields() {
+		return Collections.emptyList();
+	}
+
 }
@@ -0,0 +1,156 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.validation.transformer;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Character trie mapping string keys to values, used to find which keys are
+ * prefixes of a value in time proportional to the length of the value.
+ * <p>
+ * Children are kept in sorted arrays. Keys are matched exactly (case
+ * sensitive), as {@link String#startsWith(String)} does. A trie must be fully
+ * built before it is shared; lookups are then thread-safe.
+ * </p>
+ *
+ * @param <V> the value type
+ * @author LA Referencia Team
+ */
+final class PrefixTrie<V> {
+
+	private static final char[] NO_LABELS = new char[0];
+	private static final Node[] NO_CHILDREN = new Node[0];
+
+	private static final class Node {
+		char[] labels = NO_LABELS;
+		Node[] children = NO_CHILDREN;
+		Object value;
+
+		Node child(char label) {
+			int i = Arrays.binarySearch(labels, label);
+			return i >= 0 ? children[i] : null;
+		}
+
+		Node addChild(char label) {
+			int i = Arrays.binarySearch(labels, label);
+			if (i >= 0)
+				return children[i];
+
+			int at = -i - 1;
+			Node child = new Node();
+
+			char[] newLabels = new char[labels.length + 1];
+			Node[] newChildren = new Node[children.length + 1];
+			System.arraycopy(labels, 0, newLabels, 0, at);
+			System.arraycopy(children, 0, newChildren, 0, at);
+			newLabels[at] = label;
+			newChildren[at] = child;
+			System.arraycopy(labels, at, newLabels, at + 1, labels.length - at);
+			System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+
+			labels = newLabels;
+			children = newChildren;
+			return child;
+		}
+	}
+
+	private final Node root = new Node();
+
+	private int size;
+
+	/**
+	 * Associates a value with a key, replacing any previous value.
+	 *
+	 * @param key the key
+	 * @param value the value, not null
+	 * @return the previous value, or null
+	 */
+	@SuppressWarnings("unchecked")
+	V put(String key, V value) {
+		Node node = root;
+		for (int i = 0; i < key.length(); i++)
+			node = node.addChild(key.charAt(i));
+
+		V previous = (V) node.value;
+		node.value = value;
+		if (previous == null)
+			size++;
+		return previous;
+	}
+
+	/**
+	 * @param key the key
+	 * @return the value associated with exactly this key, or null
+	 */
+	@SuppressWarnings("unchecked")
+	V get(String key) {
+		Node node = root;
+		for (int i = 0; i < key.length() && node != null; i++)
+			node = node.child(key.charAt(i));
+		return node != null ? (V) node.value : null;
+	}
+
+	/**
+	 * Returns the value of the shortest key that is a prefix of the text.
+	 *
+	 * @param text the text
+	 * @return the value, or null if no key is a prefix of the text
+	 */
+	@SuppressWarnings("unchecked")
+	V firstPrefixValue(String text) {
+		Node node = root;
+		for (int i = 0; node != null; i++) {
+			if (node.value != null)
+				return (V) node.value;
+			if (i == text.length())
+				return null;
+			node = node.child(text.charAt(i));
+		}
+		return null;
+	}
+
+	/**
+	 * Visits the values of all keys that are prefixes of the text, shortest first.
+	 *
+	 * @param text the text
+	 * @param action the action applied to each value
+	 */
+	@SuppressWarnings("unchecked")
+	void forEachPrefixValue(String text, Consumer<? super V> action) {
+		Node node = root;
+		for (int i = 0; node != null; i++) {
+			if (node.value != null)
+				action.accept((V) node.value);
+			if (i == text.length())
+				return;
+			node = node.child(text.charAt(i));
+		}
+	}
+
+	/**
+	 * @return the number of keys
+	 */
+	int size() {
+		return size;
+	}
+
+}
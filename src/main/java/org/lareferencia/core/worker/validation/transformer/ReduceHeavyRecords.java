@@ -20,6 +20,8 @@
 
 package org.lareferencia.core.worker.validation.transformer;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.lareferencia.core.domain.IOAIRecord;
@@ -93,4 +95,14 @@ public class ReduceHeavyRecords extends AbstractTransformerRule {
 		return wasTransformed;
 	}
 
+	@Override
+	public Collection<String> readFields() {
+		return fieldsToRemove;
+	}
+
+	@Override
+	public Collection<String> writtenFields() {
+		return Collections.emptyList();
+	}
+
 }
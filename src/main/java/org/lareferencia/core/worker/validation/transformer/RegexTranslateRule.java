@@ -24,6 +24,8 @@ package org.lareferencia.core.worker.validation.transformer;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Map;
@@ -35,10 +37,13 @@ import org.lareferencia.core.domain.IOAIRecord;
 import org.lareferencia.core.metadata.SnapshotMetadata;
 import org.lareferencia.core.metadata.OAIRecordMetadata;
 import org.lareferencia.core.worker.validation.AbstractTransformerRule;
+import org.lareferencia.core.worker.validation.RuleRegex;
 import org.lareferencia.core.worker.validation.ValidatorRuleMeta;
 import org.lareferencia.core.worker.validation.SchemaProperty;
 import org.w3c.dom.Node;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * Transformer rule that translates field content using regular expression
  * search and replace.
@@ -87,7 +92,10 @@ public class RegexTranslateRule extends AbstractTransformerRule {
 	@SchemaProperty(title = "¿Remover ocurrencia original?", description = "Si es verdadero, elimina la ocurrencia original si hubo coincidencia.", defaultValue = "false", order = 5)
 	Boolean removeMatchingOccurrences = false;
 
-	// private Predicate<String> regexPredicate;
+	/**
+	 * Search expression compiled on first use, so invalid expressions fail when applied as before.
+	 */
+	private volatile RuleRegex regex;
 
 	/**
 	 * Constructs a new regex translate rule with default settings.
@@ -103,7 +111,22 @@ public class RegexTranslateRule extends AbstractTransformerRule {
 	 */
 	public void setRegexSearch(String regexPattern) {
 		this.regexSearch = regexPattern;
-		// regexPredicate = Pattern.compile(regexPattern).asPredicate();
+		this.regex = null;
+	}
+
+	/**
+	 * Returns the compiled search expression, with its timing counters.
+	 *
+	 * @return the compiled expression
+	 */
+	@JsonIgnore
+	public RuleRegex getRegex() {
+		RuleRegex compiled = regex;
+		if (compiled == null) {
+			compiled = new RuleRegex(regexSearch);
+			regex = compiled;
+		}
+		return compiled;
 	}
 
 	Set<String> existingValues = new HashSet<String>();
@@ -130,7 +153,12 @@ public class RegexTranslateRule extends AbstractTransformerRule {
 
 			// if ( regexPredicate.test(occr) ) {
 
-			replace = occr.replaceFirst(regexSearch, regexReplace);
+			try {
+				replace = getRegex().replaceFirst(occr, regexReplace);
+			} catch (RuleRegex.RegexTimeoutException e) {
+				// registrado por RuleRegex, la ocurrencia queda sin transformar
+				continue;
+			}
 
 			// Agrega instancia target con el contenido a reemplazar
 			if (!existingValues.contains(replace)) {
@@ -152,4 +180,14 @@ public class RegexTranslateRule extends AbstractTransformerRule {
 		return wasTransformed;
 	}
 
+	@Override
+	public Collection<String> readFields() {
+		return Collections.singletonList(sourceFieldName);
+	}
+
+	@Override
+	public Collection<String> writtenFields() {
+		return Collections.singletonList(targetFieldName);
+	}
+
 }
@@ -21,6 +21,8 @@
 package org.lareferencia.core.worker.validation.transformer;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import org.lareferencia.core.domain.IOAIRecord;
@@ -100,4 +102,14 @@ public class RemoveBlacklistOccrsRule extends AbstractTransformerRule {
 		return wasTransformed;
 	}
 
+	@Override
+	public Collection<String> readFields() {
+		return Collections.singletonList(fieldName);
+	}
+
+	@Override
+	public Collection<String> writtenFields() {
+		return Collections.emptyList();
+	}
+
 }
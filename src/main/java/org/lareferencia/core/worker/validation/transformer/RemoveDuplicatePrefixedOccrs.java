@@ -21,6 +21,9 @@
 
 package org.lareferencia.core.worker.validation.transformer;
 
+import java.util.Collection;
+import java.util.Collections;
+
 import lombok.Getter;
 import lombok.Setter;
 
@@ -79,4 +82,14 @@ public class RemoveDuplicatePrefixedOccrs extends AbstractTransformerRule {
 		return RepositoryNameHelper.removeDuplicates(metadata, fieldName, prefix);
 	}
 
+	@Override
+	public Collection<String> readFields() {
+		return Collections.singletonList(fieldName);
+	}
+
+	@Override
+	public Collection<String> writtenFields() {
+		return Collections.emptyList();
+	}
+
 }
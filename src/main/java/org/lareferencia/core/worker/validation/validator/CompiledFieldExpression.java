@@ -0,0 +1,327 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.validation.validator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.PatternSyntaxException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.metadata.OAIRecordMetadata;
+import org.lareferencia.core.worker.validation.QuantifierValues;
+import org.lareferencia.core.worker.validation.RuleRegex;
+
+import com.fathzer.soft.javaluator.AbstractEvaluator;
+import com.fathzer.soft.javaluator.Operator;
+
+/**
+ * Field expression compiled once into an immutable predicate tree.
+ * <p>
+ * The expression is parsed with the same tokenizer, operators and precedence
+ * as {@link FieldExpressionEvaluator}, but each literal becomes a predicate
+ * with its regular expression precompiled as a {@link RuleRegex}, so it has
+ * the same time budget and timing counters as the other rules; an occurrence
+ * whose evaluation times out does not match. Evaluation fetches the occurrences
+ * of each distinct field once per record and short-circuits AND/OR/NOT, while
+ * reporting the same {@code no_occurrences_found} results, in the same order,
+ * as the interpreted evaluator. Instances are thread-safe.
+ * </p>
+ *
+ * @author LA Referencia Team
+ * @see FieldExpressionValidatorRule
+ */
+public final class CompiledFieldExpression {
+
+	private static Logger logger = LogManager.getLogger(CompiledFieldExpression.class);
+
+	private static final String REGEX_OPERATOR = "=%";
+
+	private final Node root;
+
+	/** Literals in expression order, as evaluated by the interpreted evaluator. */
+	private final List<Predicate> predicates;
+
+	/** Distinct field names, indexed by {@link Predicate#fieldIndex}. */
+	private final String[] fieldNames;
+
+	private CompiledFieldExpression(Node root, List<Predicate> predicates, List<String> fieldNames) {
+		this.root = root;
+		this.predicates = Collections.unmodifiableList(predicates);
+		this.fieldNames = fieldNames.toArray(new String[0]);
+	}
+
+	/**
+	 * Compiles an expression.
+	 *
+	 * @param expression the field expression
+	 * @return the compiled expression
+	 * @throws IllegalArgumentException if the expression is syntactically invalid
+	 */
+	public static CompiledFieldExpression compile(String expression) {
+		Builder builder = new Builder();
+		Node root = builder.evaluate(expression, null);
+		return new CompiledFieldExpression(root, builder.predicates, new ArrayList<>(builder.fieldIndexes.keySet()));
+	}
+
+	/**
+	 * Evaluates the expression against a record.
+	 *
+	 * @param metadata the record metadata
+	 * @param quantifier the quantifier applied to the occurrences of each literal
+	 * @param results list receiving a {@code no_occurrences_found} result for each literal without occurrences
+	 * @return true if the record satisfies the expression
+	 * @throws PatternSyntaxException if an invalid regular expression is applied to an existing occurrence
+	 */
+	public boolean evaluate(OAIRecordMetadata metadata, QuantifierValues quantifier, List<ContentValidatorResult> results) {
+
+		@SuppressWarnings("unchecked")
+		List<String>[] occurrences = new List[fieldNames.length];
+
+		// every literal is visited in order, as the interpreted evaluator does, so the
+		// reported results and the failure on invalid regular expressions are preserved
+		for (Predicate predicate : predicates) {
+
+			List<String> fieldOccurrences = occurrences[predicate.fieldIndex];
+			if (fieldOccurrences == null) {
+				fieldOccurrences = metadata.getFieldOcurrences(fieldNames[predicate.fieldIndex]);
+				occurrences[predicate.fieldIndex] = fieldOccurrences;
+			}
+
+			if (fieldOccurrences.isEmpty()) {
+				results.add(new ContentValidatorResult(false, "no_occurrences_found"));
+			} else if (predicate.patternError != null) {
+				throw predicate.patternError;
+			}
+		}
+
+		return root.evaluate(occurrences, quantifier);
+	}
+
+	/**
+	 * Node of the predicate tree.
+	 */
+	private interface Node {
+		boolean evaluate(List<String>[] occurrences, QuantifierValues quantifier);
+	}
+
+	/**
+	 * Literal of the form {@code field=='value'} or {@code field=%'regex'}.
+	 */
+	private static final class Predicate implements Node {
+
+		private final int fieldIndex;
+		private final String testValue;
+		private final RuleRegex regex;
+		private final PatternSyntaxException patternError;
+
+		private Predicate(int fieldIndex, String operator, String testValue) {
+			this.fieldIndex = fieldIndex;
+			this.testValue = testValue;
+
+			RuleRegex compiled = null;
+			PatternSyntaxException error = null;
+			if (REGEX_OPERATOR.equals(operator)) {
+				try {
+					compiled = new RuleRegex(testValue);
+				} catch (PatternSyntaxException e) {
+					logger.error("Expresión regular inválida en regla: " + testValue + " :: " + e.getMessage());
+					error = e;
+				}
+			}
+			this.regex = compiled;
+			this.patternError = error;
+		}
+
+		private boolean matches(String fieldValue) {
+			if (regex == null)
+				return testValue.equals(fieldValue);
+			try {
+				return regex.matches(fieldValue);
+			} catch (RuleRegex.RegexTimeoutException e) {
+				// registrado por RuleRegex, la ocurrencia no cumple
+				return false;
+			}
+		}
+
+		@Override
+		public boolean evaluate(List<String>[] occurrences, QuantifierValues quantifier) {
+
+			List<String> values = occurrences[fieldIndex];
+
+			int validOccurrencesCount = 0;
+			int evaluated = 0;
+
+			for (String fieldValue : values) {
+
+				evaluated++;
+				if (matches(fieldValue))
+					validOccurrencesCount++;
+
+				// stop as soon as the quantifier outcome cannot change
+				switch (quantifier) {
+				case ONE_OR_MORE:
+				case ZERO_OR_MORE:
+					if (validOccurrencesCount >= 1)
+						return true;
+					break;
+				case ZERO_ONLY:
+					if (validOccurrencesCount >= 1)
+						return false;
+					break;
+				case ONE_ONLY:
+					if (validOccurrencesCount >= 2)
+						return false;
+					break;
+				case ALL:
+					if (validOccurrencesCount < evaluated)
+						return false;
+					break;
+				default:
+					break;
+				}
+			}
+
+			switch (quantifier) {
+			case ONE_ONLY:
+				return validOccurrencesCount == 1;
+			case ONE_OR_MORE:
+				return validOccurrencesCount >= 1;
+			case ZERO_OR_MORE:
+				return true;
+			case ZERO_ONLY:
+				return validOccurrencesCount == 0;
+			case ALL:
+				return validOccurrencesCount == values.size();
+			default:
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * Literal that does not follow the {@code field op 'value'} syntax, always false.
+	 */
+	private static final Node INVALID_LITERAL = (occurrences, quantifier) -> false;
+
+	private static final class Not implements Node {
+		private final Node operand;
+
+		private Not(Node operand) {
+			this.operand = operand;
+		}
+
+		@Override
+		public boolean evaluate(List<String>[] occurrences, QuantifierValues quantifier) {
+			return !operand.evaluate(occurrences, quantifier);
+		}
+	}
+
+	private static final class And implements Node {
+		private final Node left;
+		private final Node right;
+
+		private And(Node left, Node right) {
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public boolean evaluate(List<String>[] occurrences, QuantifierValues quantifier) {
+			return left.evaluate(occurrences, quantifier) && right.evaluate(occurrences, quantifier);
+		}
+	}
+
+	private static final class Or implements Node {
+		private final Node left;
+		private final Node right;
+
+		private Or(Node left, Node right) {
+			this.left = left;
+			this.right = right;
+		}
+
+		@Override
+		public boolean evaluate(List<String>[] occurrences, QuantifierValues quantifier) {
+			return left.evaluate(occurrences, quantifier) || right.evaluate(occurrences, quantifier);
+		}
+	}
+
+	/**
+	 * Reuses the javaluator parser to build the tree instead of computing values.
+	 */
+	private static final class Builder extends AbstractEvaluator<Node> {
+
+		private final List<Predicate> predicates = new ArrayList<>();
+		private final Map<String, Integer> fieldIndexes = new LinkedHashMap<>();
+
+		private Builder() {
+			super(FieldExpressionEvaluator.PARAMETERS);
+		}
+
+		@Override
+		protected Node toValue(String literal, Object evaluationContext) {
+
+			Matcher matcher = FieldExpressionEvaluator.PATTERN.matcher(literal);
+
+			if (!matcher.matches()) {
+				logger.error("Error en la expresión de regla: " + literal);
+				return INVALID_LITERAL;
+			}
+
+			String fieldName = matcher.group(1);
+			Integer fieldIndex = fieldIndexes.computeIfAbsent(fieldName, name -> fieldIndexes.size());
+
+			Predicate predicate = new Predicate(fieldIndex, matcher.group(2), matcher.group(3));
+			predicates.add(predicate);
+			return predicate;
+		}
+
+		@Override
+		protected Node evaluate(Operator operator, Iterator<Node> operands, Object evaluationContext) {
+			if (operator == FieldExpressionEvaluator.NEGATE) {
+				return new Not(operands.next());
+			} else if (operator == FieldExpressionEvaluator.OR) {
+				return new Or(operands.next(), operands.next());
+			} else if (operator == FieldExpressionEvaluator.AND) {
+				return new And(operands.next(), operands.next());
+			} else {
+				return super.evaluate(operator, operands, evaluationContext);
+			}
+		}
+
+		@Override
+		protected Iterator<String> tokenize(String expression) {
+			List<String> tokens = new ArrayList<String>();
+			Matcher m = FieldExpressionEvaluator.TOKENIZER_PATTERN.matcher(expression);
+			while (m.find()) {
+				tokens.add(expression.substring(m.start(), m.end()));
+			}
+			return tokens.iterator();
+		}
+	}
+
+}
@@ -80,6 +80,14 @@ public class ContentLengthFieldContentValidatorRule extends AbstractValidatorFie
 		return result;
 	}
 
+	/**
+	 * Checking the length is cheaper than looking up a memoized result.
+	 */
+	@Override
+	protected boolean isContentCacheable() {
+		return false;
+	}
+
 	@Override
 	public String toString() {
 		return "ContentLengthValidationRule [minLength=" + minLength + ", maxLength=" + maxLength + ", id=" + ruleId
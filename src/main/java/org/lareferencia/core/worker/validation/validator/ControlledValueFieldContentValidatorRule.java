@@ -20,8 +20,11 @@
 
 package org.lareferencia.core.worker.validation.validator;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.RandomAccess;
 
 import org.lareferencia.core.worker.validation.AbstractValidatorFieldContentRule;
 import org.lareferencia.core.worker.validation.SchemaProperty;
@@ -32,6 +35,7 @@ import lombok.Setter;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 /**
  * Validator rule that checks if field values are in a controlled vocabulary.
@@ -40,6 +44,11 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
  * Useful for enforcing controlled vocabularies, taxonomies, or enumerated
  * lists.
  * </p>
+ * <p>
+ * Lookups go through a {@link ControlledVocabulary} built from the values on
+ * first use and rebuilt whenever the list changes, so validation does not
+ * scan the list.
+ * </p>
  * 
  * @author LA Referencia Team
  * @see AbstractValidatorFieldContentRule
@@ -57,6 +66,20 @@ public class ControlledValueFieldContentValidatorRule extends AbstractValidatorF
 	@SchemaProperty(title = "Valores Controlados", type = "array", order = 2)
 	protected List<String> controlledValues;
 
+	/**
+	 * Whether values are compared ignoring case.
+	 */
+	@SchemaProperty(title = "¿Ignorar mayúsculas/minúsculas?", defaultValue = "false", order = 3)
+	@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+	protected boolean ignoreCase = false;
+
+	/**
+	 * Whether values are compared ignoring accents and other diacritics.
+	 */
+	@SchemaProperty(title = "¿Ignorar acentos?", defaultValue = "false", order = 4)
+	@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+	protected boolean ignoreAccents = false;
+
 	/**
 	 * Creates a new controlled value validator with an empty list of allowed
 	 * values. Sets storeOccurrences=true because this rule benefits from 
@@ -64,10 +87,61 @@ public class ControlledValueFieldContentValidatorRule extends AbstractValidatorF
 	 */
 	public ControlledValueFieldContentValidatorRule() {
 		super();
-		this.controlledValues = new ArrayList<String>();
+		this.controlledValues = new ControlledValueList(new ArrayList<String>());
 		this.storeOccurrences = true; // This rule needs occurrence details for debugging
 	}
 
+	/**
+	 * Sets the allowed values.
+	 *
+	 * @param controlledValues the allowed values
+	 */
+	public void setControlledValues(List<String> controlledValues) {
+		this.controlledValues = new ControlledValueList(controlledValues != null ? controlledValues : new ArrayList<String>());
+		clearContentCache();
+	}
+
+	/**
+	 * Sets whether values are compared ignoring case.
+	 *
+	 * @param ignoreCase true to ignore case
+	 */
+	public void setIgnoreCase(boolean ignoreCase) {
+		this.ignoreCase = ignoreCase;
+		clearContentCache();
+	}
+
+	/**
+	 * Sets whether values are compared ignoring accents and other diacritics.
+	 *
+	 * @param ignoreAccents true to ignore accents
+	 */
+	public void setIgnoreAccents(boolean ignoreAccents) {
+		this.ignoreAccents = ignoreAccents;
+		clearContentCache();
+	}
+
+	/**
+	 * Returns the lookup structure for the current values and options.
+	 *
+	 * @return the vocabulary, or null if the list is not tracked and must be scanned
+	 */
+	private ControlledVocabulary getVocabulary() {
+
+		if (!(controlledValues instanceof ControlledValueList))
+			return null;
+
+		ControlledValueList values = (ControlledValueList) controlledValues;
+		ControlledVocabulary vocabulary = values.vocabulary;
+
+		if (vocabulary == null || vocabulary.isIgnoreCase() != ignoreCase || vocabulary.isIgnoreAccents() != ignoreAccents) {
+			vocabulary = ControlledVocabulary.of(values, ignoreCase, ignoreAccents);
+			values.vocabulary = vocabulary;
+		}
+
+		return vocabulary;
+	}
+
 	/**
 	 * Validates if the content matches one of the controlled values.
 	 * 
@@ -86,7 +160,8 @@ public class ControlledValueFieldContentValidatorRule extends AbstractValidatorF
 			result.setReceivedValue(
 					content.length() > MAX_EXPECTED_LENGTH ? content.substring(0, MAX_EXPECTED_LENGTH) + "..."
 							: content);
-			result.setValid(this.controlledValues.contains(content));
+			ControlledVocabulary vocabulary = getVocabulary();
+			result.setValid(vocabulary != null ? vocabulary.contains(content) : this.controlledValues.contains(content));
 		}
 
 		return result;
@@ -98,4 +173,69 @@ public class ControlledValueFieldContentValidatorRule extends AbstractValidatorF
 				+ ", mandatory=" + mandatory + ", quantifier=" + quantifier + "]";
 	}
 
+	/**
+	 * List of controlled values that drops the cached vocabulary and memoized
+	 * results on every change.
+	 * All mutations of {@link AbstractList}, including those made through
+	 * iterators and sublists, go through {@link #add(int, String)},
+	 * {@link #set(int, String)} and {@link #remove(int)}.
+	 */
+	private final class ControlledValueList extends AbstractList<String> implements RandomAccess {
+
+		private final ArrayList<String> values;
+
+		private volatile ControlledVocabulary vocabulary;
+
+		private ControlledValueList(Collection<String> values) {
+			this.values = new ArrayList<String>(values);
+		}
+
+		private void changed() {
+			vocabulary = null;
+			clearContentCache();
+		}
+
+		@Override
+		public String get(int index) {
+			return values.get(index);
+		}
+
+		@Override
+		public int size() {
+			return values.size();
+		}
+
+		@Override
+		public boolean contains(Object value) {
+			return values.contains(value);
+		}
+
+		@Override
+		public String set(int index, String value) {
+			changed();
+			return values.set(index, value);
+		}
+
+		@Override
+		public void add(int index, String value) {
+			changed();
+			values.add(index, value);
+			modCount++;
+		}
+
+		@Override
+		public String remove(int index) {
+			changed();
+			modCount++;
+			return values.remove(index);
+		}
+
+		@Override
+		protected void removeRange(int fromIndex, int toIndex) {
+			changed();
+			modCount++;
+			values.subList(fromIndex, toIndex).clear();
+		}
+	}
+
 }
@@ -0,0 +1,206 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.validation.validator;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import net.openhft.hashing.LongHashFunction;
+
+/**
+ * Immutable lookup set of controlled values.
+ * <p>
+ * Values are stored in a single open-addressing hash table (linear probing,
+ * load factor at most 0.5), which takes far less memory than a
+ * {@link java.util.HashSet} and answers {@link #contains(String)} in constant
+ * time. Values can optionally be compared ignoring case and/or accents.
+ * </p>
+ * <p>
+ * Instances are shared: rules that load the same list of values with the same
+ * options get the same vocabulary, as long as one of them is still in use.
+ * </p>
+ *
+ * @author LA Referencia Team
+ * @see ControlledValueFieldContentValidatorRule
+ */
+public final class ControlledVocabulary {
+
+	private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+	private static final LongHashFunction HASH = LongHashFunction.xx();
+
+	/**
+	 * Vocabularies in use, indexed by a fingerprint of their source values.
+	 */
+	private static final Cache<Fingerprint, ControlledVocabulary> SHARED = Caffeine.newBuilder().weakValues().build();
+
+	private final String[] table;
+	private final int mask;
+	private final int size;
+	private final boolean ignoreCase;
+	private final boolean ignoreAccents;
+
+	private ControlledVocabulary(Collection<String> values, boolean ignoreCase, boolean ignoreAccents) {
+		this.ignoreCase = ignoreCase;
+		this.ignoreAccents = ignoreAccents;
+
+		int capacity = Integer.highestOneBit(Math.max(2, values.size()) * 2 - 1) << 1;
+		this.table = new String[capacity];
+		this.mask = capacity - 1;
+
+		int count = 0;
+		for (String value : values) {
+			if (value != null && insert(normalize(value)))
+				count++;
+		}
+		this.size = count;
+	}
+
+	/**
+	 * Returns the vocabulary for the given values, reusing a shared instance
+	 * when one was already built from the same values and options.
+	 *
+	 * @param values the controlled values
+	 * @param ignoreCase whether values are compared ignoring case
+	 * @param ignoreAccents whether values are compared ignoring accents and other diacritics
+	 * @return the vocabulary
+	 */
+	public static ControlledVocabulary of(Collection<String> values, boolean ignoreCase, boolean ignoreAccents) {
+
+		Fingerprint fingerprint = Fingerprint.of(values, ignoreCase, ignoreAccents);
+
+		ControlledVocabulary shared = SHARED.getIfPresent(fingerprint);
+		if (shared != null && shared.containsAll(values))
+			return shared;
+
+		ControlledVocabulary vocabulary = new ControlledVocabulary(values, ignoreCase, ignoreAccents);
+		if (shared == null)
+			SHARED.put(fingerprint, vocabulary);
+		return vocabulary;
+	}
+
+	/**
+	 * Checks whether a value belongs to the vocabulary.
+	 *
+	 * @param value the value to check
+	 * @return true if the value, normalized with the vocabulary options, is present
+	 */
+	public boolean contains(String value) {
+		if (value == null)
+			return false;
+
+		String key = normalize(value);
+		for (int i = spread(key.hashCode()) & mask;; i = (i + 1) & mask) {
+			String candidate = table[i];
+			if (candidate == null)
+				return false;
+			if (candidate.equals(key))
+				return true;
+		}
+	}
+
+	/**
+	 * @return the number of distinct normalized values
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return whether values are compared ignoring case
+	 */
+	public boolean isIgnoreCase() {
+		return ignoreCase;
+	}
+
+	/**
+	 * @return whether values are compared ignoring accents
+	 */
+	public boolean isIgnoreAccents() {
+		return ignoreAccents;
+	}
+
+	private boolean insert(String key) {
+		for (int i = spread(key.hashCode()) & mask;; i = (i + 1) & mask) {
+			String candidate = table[i];
+			if (candidate == null) {
+				table[i] = key;
+				return true;
+			}
+			if (candidate.equals(key))
+				return false;
+		}
+	}
+
+	/**
+	 * Guards against fingerprint collisions before sharing an instance.
+	 */
+	private boolean containsAll(Collection<String> values) {
+		for (String value : values) {
+			if (value != null && !contains(value))
+				return false;
+		}
+		return true;
+	}
+
+	private String normalize(String value) {
+		String normalized = value;
+
+		if (ignoreAccents && !isAscii(normalized))
+			normalized = COMBINING_MARKS.matcher(Normalizer.normalize(normalized, Normalizer.Form.NFD)).replaceAll("");
+
+		if (ignoreCase)
+			normalized = normalized.toLowerCase(Locale.ROOT);
+
+		return normalized;
+	}
+
+	private static boolean isAscii(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) > 0x7F)
+				return false;
+		}
+		return true;
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Order-sensitive digest of the source values and options.
+	 */
+	private record Fingerprint(long hash, int count, boolean ignoreCase, boolean ignoreAccents) {
+
+		static Fingerprint of(Collection<String> values, boolean ignoreCase, boolean ignoreAccents) {
+			long hash = 0L;
+			for (String value : values)
+				hash = 31 * hash + (value == null ? 0L : HASH.hashChars(value));
+			return new Fingerprint(hash, values.size(), ignoreCase, ignoreAccents);
+		}
+	}
+
+}
@@ -23,14 +23,14 @@ package org.lareferencia.core.worker.validation.validator;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.Date;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.lareferencia.core.worker.validation.AbstractValidatorFieldContentRule;
+import org.lareferencia.core.worker.validation.RuleRegex;
 import org.lareferencia.core.worker.validation.SchemaProperty;
 import org.lareferencia.core.worker.validation.ValidatorRuleMeta;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import lombok.Getter;
@@ -47,7 +47,7 @@ import lombok.ToString;
  * @author LA Referencia Team
  * @see AbstractValidatorFieldContentRule
  */
-@ToString(exclude = { "pattern" })
+@ToString(exclude = { "regex" })
 @ValidatorRuleMeta(name = "Validación de fechas por rango dinámico de años", help = "Esta regla es válida sólo si valor de año (year) capturado por la expresión regular cumple: year <= año actual - límite inferior Y year >= año actual + limite superior")
 public class DynamicYearRangeFieldContentValidatorRule extends AbstractValidatorFieldContentRule {
 
@@ -57,7 +57,7 @@ public class DynamicYearRangeFieldContentValidatorRule extends AbstractValidator
 	public DynamicYearRangeFieldContentValidatorRule() {
 		super();
 		if (regexString != null)
-			this.pattern = Pattern.compile(regexString);
+			this.regex = new RuleRegex(regexString);
 
 	}
 
@@ -70,18 +70,16 @@ public class DynamicYearRangeFieldContentValidatorRule extends AbstractValidator
 	private String regexString = DEFAULT_REGEX;
 
 	@Getter
-	@Setter
 	@SchemaProperty(title = "límite superior", description = "Cantidad de años a partir del año actual hacia adelante. Ej: valor=2, año actual=2019 => años <= 2021 válidos", order = 4, defaultValue = "2")
 	@JsonProperty("upperLimit")
 	private int upperLimit;
 
 	@Getter
-	@Setter
 	@SchemaProperty(title = "límite inferior", description = "Cantidad de años a partir del año actual hacia atrás. Ej: valor=30, año actual=2019 => años >= 1989 válidos", order = 3, defaultValue = "100")
 	@JsonProperty("lowerLimit")
 	private int lowerLimit;
 
-	private Pattern pattern;
+	private RuleRegex regex;
 
 	/**
 	 * Sets the regex string for year extraction.
@@ -90,7 +88,38 @@ public class DynamicYearRangeFieldContentValidatorRule extends AbstractValidator
 	 */
 	public void setRegexString(String reString) {
 		this.regexString = reString;
-		this.pattern = Pattern.compile(reString);
+		this.regex = new RuleRegex(reString);
+		clearContentCache();
+	}
+
+	/**
+	 * Sets the number of years after the current year accepted.
+	 *
+	 * @param upperLimit the upper limit in years
+	 */
+	public void setUpperLimit(int upperLimit) {
+		this.upperLimit = upperLimit;
+		clearContentCache();
+	}
+
+	/**
+	 * Sets the number of years before the current year accepted.
+	 *
+	 * @param lowerLimit the lower limit in years
+	 */
+	public void setLowerLimit(int lowerLimit) {
+		this.lowerLimit = lowerLimit;
+		clearContentCache();
+	}
+
+	/**
+	 * Returns the compiled expression, with its timing counters.
+	 *
+	 * @return the compiled expression
+	 */
+	@JsonIgnore
+	public RuleRegex getRegex() {
+		return regex;
 	}
 
 	@Override
@@ -105,13 +134,19 @@ public class DynamicYearRangeFieldContentValidatorRule extends AbstractValidator
 
 		} else {
 
-			Matcher matcher = pattern.matcher(content);
-			Boolean containsYear = matcher.find();
+			String match;
+			try {
+				match = regex.find(content);
+			} catch (RuleRegex.RegexTimeoutException e) {
+				// registrado por RuleRegex, la ocurrencia se considera inválida
+				match = null;
+			}
+			Boolean containsYear = match != null;
 
 			// if regex found a match and is numeric
-			if (containsYear && StringUtils.isNumeric(matcher.group())) {
+			if (containsYear && StringUtils.isNumeric(match)) {
 
-				Integer year = Integer.parseInt(matcher.group());
+				Integer year = Integer.parseInt(match);
 
 				// find a dynamic valid range using lower and upper limits
 				Date actualDate = new Date();
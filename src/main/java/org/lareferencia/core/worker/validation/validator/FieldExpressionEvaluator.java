@@ -29,6 +29,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.lareferencia.core.metadata.OAIRecordMetadata;
 import org.lareferencia.core.worker.validation.QuantifierValues;
+import org.lareferencia.core.worker.validation.RuleRegex;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -52,7 +53,7 @@ public class FieldExpressionEvaluator extends AbstractEvaluator<Boolean> {
 	/** The negate unary operator. */
 	public final static Operator NEGATE = new Operator("NOT", 1, Operator.Associativity.RIGHT, 3);
 	/** The logical AND operator. */
-	private static final Operator AND = new Operator("AND", 2, Operator.Associativity.LEFT, 2);
+	static final Operator AND = new Operator("AND", 2, Operator.Associativity.LEFT, 2);
 	/** The logical OR operator. */
 	public final static Operator OR = new Operator("OR", 2, Operator.Associativity.LEFT, 1);
 
@@ -66,7 +67,7 @@ public class FieldExpressionEvaluator extends AbstractEvaluator<Boolean> {
 	 */
 	public final static Pattern TOKENIZER_PATTERN = Pattern.compile("\\(|\\)|[^\\s']+?(==|=%)'[^']*'|[^\\s']+");
 
-	private static final Parameters PARAMETERS;
+	static final Parameters PARAMETERS;
 
 	static {
 		// Create the evaluator's parameters
@@ -82,6 +83,7 @@ public class FieldExpressionEvaluator extends AbstractEvaluator<Boolean> {
 	/**
 	 * Quantifier for field matching.
 	 */
+	@Getter
 	private QuantifierValues quantifier;
 
 	/**
@@ -150,7 +152,7 @@ public class FieldExpressionEvaluator extends AbstractEvaluator<Boolean> {
 				case "=%": /* caso expresiones regulares */
 					
 					try {
-						if (Pattern.matches(testValue, fieldValue)) {
+						if (new RuleRegex(testValue).matches(fieldValue)) {
 							result.setValid(true);
 							validOccurrencesCount++;
 						} 
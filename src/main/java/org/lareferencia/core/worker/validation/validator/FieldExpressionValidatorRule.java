@@ -20,6 +20,9 @@
 
 package org.lareferencia.core.worker.validation.validator;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.lareferencia.core.metadata.OAIRecordMetadata;
@@ -28,10 +31,12 @@ import org.lareferencia.core.worker.validation.SchemaProperty;
 import org.lareferencia.core.worker.validation.ValidatorRuleResult;
 import org.lareferencia.core.worker.validation.ValidatorRuleMeta;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeInfo.As;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -60,6 +65,14 @@ public class FieldExpressionValidatorRule extends AbstractValidatorRule {
 	 */
 	FieldExpressionEvaluator evaluator;
 
+	/**
+	 * Expression compiled once when it is set, null if it could not be parsed.
+	 */
+	@JsonIgnore
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private CompiledFieldExpression compiledExpression;
+
 	/**
 	 * Creates a new field expression validator rule.
 	 */
@@ -67,6 +80,26 @@ public class FieldExpressionValidatorRule extends AbstractValidatorRule {
 		evaluator = new FieldExpressionEvaluator(this.quantifier);
 	}
 
+	/**
+	 * Sets the expression and compiles it. Expressions that cannot be compiled
+	 * are evaluated by the interpreted {@link FieldExpressionEvaluator}.
+	 *
+	 * @param expression the field expression
+	 */
+	public void setExpression(String expression) {
+		this.expression = expression;
+		this.compiledExpression = null;
+
+		if (expression != null) {
+			try {
+				this.compiledExpression = CompiledFieldExpression.compile(expression);
+			} catch (IllegalArgumentException e) {
+				logger.warn("No se pudo compilar la expresión, se usará el evaluador interpretado: " + expression
+						+ " msg:: " + e.getMessage());
+			}
+		}
+	}
+
 	/**
 	 * Validates the metadata against the configured expression.
 	 * 
@@ -79,15 +112,21 @@ public class FieldExpressionValidatorRule extends AbstractValidatorRule {
 
 		boolean isRuleValid = false;
 
+		CompiledFieldExpression compiled = compiledExpression;
+		List<ContentValidatorResult> results = compiled != null ? new ArrayList<ContentValidatorResult>() : null;
+
 		try {
-			isRuleValid = evaluator.evaluate(expression, metadata);
+			if (compiled != null)
+				isRuleValid = compiled.evaluate(metadata, evaluator.getQuantifier(), results);
+			else
+				isRuleValid = evaluator.evaluate(expression, metadata);
 		} catch (Exception | StackOverflowError e) {
 			logger.error(e + " oai_identifier:" + metadata.getIdentifier() + " msg:: " + e.getMessage() + "  regexp= "
 					+ expression);
 		}
 
 		result.setRule(this);
-		result.setResults(evaluator.getEvaluationResults());
+		result.setResults(compiled != null ? results : evaluator.getEvaluationResults());
 		result.setValid(isRuleValid);
 		return result;
 
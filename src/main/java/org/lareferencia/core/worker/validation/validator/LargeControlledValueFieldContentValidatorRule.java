@@ -111,17 +111,7 @@ public class LargeControlledValueFieldContentValidatorRule extends ControlledVal
 	 * @return CSV string representation
 	 */
 	private String getCSVStringFromControlledValues(List<String> controlledList) {
-		// TODO: Cambiar por un String Buffer para mejorar performance
-		String result = "";
-
-		for (int i = 0; i < controlledList.size(); i++) {
-
-			result += controlledList.get(i);
-			if (i < controlledList.size() - 1)
-				result += CSV_SEPARATOR;
-		}
-
-		return result;
+		return String.join(CSV_SEPARATOR, controlledList);
 	}
 
 	/**
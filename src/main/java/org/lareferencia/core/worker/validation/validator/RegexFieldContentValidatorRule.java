@@ -20,12 +20,12 @@
 
 package org.lareferencia.core.worker.validation.validator;
 
-import java.util.regex.Pattern;
-
 import org.lareferencia.core.worker.validation.AbstractValidatorFieldContentRule;
+import org.lareferencia.core.worker.validation.RuleRegex;
 import org.lareferencia.core.worker.validation.SchemaProperty;
 import org.lareferencia.core.worker.validation.ValidatorRuleMeta;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import lombok.Getter;
@@ -37,7 +37,7 @@ import lombok.ToString;
  * pattern.
  * Checks if the content matches the specified regex pattern.
  */
-@ToString(exclude = { "pattern" })
+@ToString(exclude = { "regex" })
 @ValidatorRuleMeta(name = "Validación por expresiones regulares", help = "Esta regla es válida si el campo contiene ocurrencias que cumplen con la expresión regular")
 public class RegexFieldContentValidatorRule extends AbstractValidatorFieldContentRule {
 
@@ -59,9 +59,9 @@ public class RegexFieldContentValidatorRule extends AbstractValidatorFieldConten
 	private String regexString;
 
 	/**
-	 * The compiled regex pattern for efficient matching.
+	 * The compiled regex, shared with other rules using the same expression.
 	 */
-	private Pattern pattern;
+	private RuleRegex regex;
 
 	/**
 	 * Sets the regular expression string and compiles it into a pattern.
@@ -70,7 +70,18 @@ public class RegexFieldContentValidatorRule extends AbstractValidatorFieldConten
 	 */
 	public void setRegexString(String reString) {
 		this.regexString = reString;
-		this.pattern = Pattern.compile(reString);
+		this.regex = new RuleRegex(reString);
+		clearContentCache();
+	}
+
+	/**
+	 * Returns the compiled expression, with its timing counters.
+	 *
+	 * @return the compiled expression
+	 */
+	@JsonIgnore
+	public RuleRegex getRegex() {
+		return regex;
 	}
 
 	/**
@@ -95,7 +106,12 @@ public class RegexFieldContentValidatorRule extends AbstractValidatorFieldConten
 			result.setReceivedValue(
 					content.length() > MAX_EXPECTED_LENGTH ? content.substring(0, MAX_EXPECTED_LENGTH) + "..."
 							: content);
-			result.setValid(pattern.matcher(content).matches());
+			try {
+				result.setValid(regex.matches(content));
+			} catch (RuleRegex.RegexTimeoutException e) {
+				// registrado por RuleRegex, la ocurrencia se considera inválida
+				result.setValid(false);
+			}
 		}
 
 		return result;
@@ -20,87 +20,50 @@
 
 package org.lareferencia.core.worker.validation.validator;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Getter;
 import lombok.Setter;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.metadata.OAIRecordMetadata;
 import org.lareferencia.core.worker.validation.AbstractValidatorFieldContentRule;
 import org.lareferencia.core.worker.validation.ValidatorRuleMeta;
-
-import javax.net.ssl.HttpsURLConnection;
-
-import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.UnknownHostException;
+import org.lareferencia.core.worker.validation.ValidatorRuleResult;
+import org.lareferencia.core.worker.validation.validator.URLStatusChecker.URLStatus;
+import org.springframework.beans.factory.annotation.Autowired;
 
 /**
  * Validation rule that checks if URLs in a metadata field exist and are
  * accessible.
  * Performs HTTP HEAD requests to verify URL availability, following redirects
  * automatically.
+ * <p>
+ * Checks are delegated to the shared {@link URLStatusChecker}, which caches
+ * results across records and snapshots. All occurrences of a record are
+ * probed concurrently before the per-occurrence evaluation.
+ * </p>
  */
 @Getter
 @Setter
 @ValidatorRuleMeta(name = "Validación de existencia de enlaces", help = "Esta regla es válida si la URL apuntada por el metadato existe y es accesible")
 public class URLExistFieldValidatorRule extends AbstractValidatorFieldContentRule {
 
-	private static Logger logger = LogManager.getLogger(URLExistFieldValidatorRule.class);
-
 	/**
-	 * Constructs a new URLExistFieldValidatorRule instance.
+	 * Shared checker injected when the rule is deserialized within the application context.
 	 */
-	public URLExistFieldValidatorRule() {
-	}
+	@JsonIgnore
+	@Autowired(required = false)
+	private URLStatusChecker urlStatusChecker;
 
 	/**
-	 * Checks if the specified URL exists and returns HTTP 200 OK status.
-	 * Automatically follows HTTP redirects (301, 302, 303) to verify final
-	 * destination.
-	 *
-	 * @param url the URL to check for existence
-	 * @return true if the URL exists and is accessible (HTTP 200), false otherwise
-	 * @throws MalformedURLException if the URL format is invalid
-	 * @throws UnknownHostException  if the host cannot be resolved
-	 * @throws IOException           if an I/O error occurs during connection
+	 * Constructs a new URLExistFieldValidatorRule instance.
 	 */
-	private boolean exists(String url) throws MalformedURLException, UnknownHostException, IOException {
-
-		HttpsURLConnection.setFollowRedirects(true);
-		HttpURLConnection.setFollowRedirects(true);
-
-		HttpURLConnection conn = getConnection(url);
-
-		int responseCode = conn.getResponseCode();
-		logger.debug("Verificando: " + url + " :: " + responseCode);
-
-		// si es un redirect
-		if (responseCode == HttpURLConnection.HTTP_MOVED_TEMP || responseCode == HttpURLConnection.HTTP_MOVED_PERM
-				|| responseCode == HttpURLConnection.HTTP_SEE_OTHER) {
-			String redirectUrl = conn.getHeaderField("Location");
-			conn = getConnection(redirectUrl);
-			responseCode = conn.getResponseCode();
-			logger.debug("Verificando Redirect: " + redirectUrl + " :: " + responseCode);
-		}
-
-		return (responseCode == HttpURLConnection.HTTP_OK);
+	public URLExistFieldValidatorRule() {
 	}
 
-	private HttpURLConnection getConnection(String url)
-			throws MalformedURLException, UnknownHostException, IOException {
-
-		HttpURLConnection con;
-
-		if (url.startsWith("https")) {
-			con = (HttpsURLConnection) new URL(url).openConnection();
-			con.setRequestMethod("HEAD");
-		} else {
-			con = (HttpURLConnection) new URL(url).openConnection();
-			con.setRequestMethod("HEAD");
-		}
-
-		return con;
+	@Override
+	public ValidatorRuleResult validate(OAIRecordMetadata metadata) {
+		getChecker().prefetch(metadata.getFieldOcurrences(getFieldname()));
+		return super.validate(metadata);
 	}
 
 	@Override
@@ -112,30 +75,35 @@ public class URLExistFieldValidatorRule extends AbstractValidatorFieldContentRul
 			result.setReceivedValue("NULL");
 			result.setValid(false);
 		} else {
+			URLStatus status = getChecker().check(content);
+			result.setReceivedValue(status.getReceivedValue());
+			result.setValid(status.isValid());
+		}
 
-			boolean exists = false;
-
-			try {
-
-				exists = exists(content);
-				result.setReceivedValue(exists ? "OK" : "ERROR");
-
-			} catch (MalformedURLException e) {
-				result.setReceivedValue("MalformedURL");
-			} catch (UnknownHostException e) {
-				result.setReceivedValue("UnknownHost");
-			} catch (IOException e) {
-				result.setReceivedValue("ConnectionError");
-			} catch (Exception e) {
-				result.setReceivedValue("UnknownError");
-			}
+		return result;
 
-			result.setValid(exists);
+	}
 
-		}
+	/**
+	 * Link status changes over time and is already cached by the checker with
+	 * its own expiration, so results are never memoized by the rule.
+	 */
+	@Override
+	protected boolean isContentCacheable() {
+		return false;
+	}
 
-		return result;
+	private URLStatusChecker getChecker() {
+		if (urlStatusChecker == null)
+			urlStatusChecker = DefaultCheckerHolder.INSTANCE;
+		return urlStatusChecker;
+	}
 
+	/**
+	 * Checker with default settings shared by rules created outside the application context.
+	 */
+	private static class DefaultCheckerHolder {
+		static final URLStatusChecker INSTANCE = new URLStatusChecker(5000, 10000, 168, 500000, 16, 2, "");
 	}
 
 	@Override
@@ -0,0 +1,435 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.validation.validator;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.UnresolvedAddressException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.annotation.PreDestroy;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.lareferencia.core.metrics.PipelineMetrics;
+import org.lareferencia.core.util.IOExecutors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Shared link checker used by {@link URLExistFieldValidatorRule}.
+ * <p>
+ * Probes URLs with HTTP HEAD requests (following redirects) on a bounded
+ * executor, limiting the number of simultaneous requests per host, and caches
+ * the outcome of each URL for {@code validation.url.cache.ttl.hours}. Failures
+ * that may be transient (connection errors, unresolved hosts) are only cached
+ * for {@code validation.url.cache.failure.ttl.minutes}, so a network outage
+ * does not mark links as broken for long. Pending probes are shared, so
+ * concurrent checks of the same URL issue one request. When
+ * {@code validation.url.cache.file} is set the cache is loaded at startup and
+ * written back on shutdown, without the transient failures, so URLs repeated
+ * across snapshots are not re-checked until their entry expires. With {@code worker.virtual.threads}
+ * the probes run on virtual threads ({@link IOExecutors}), so
+ * {@code validation.url.probe.threads} can be raised well above the number
+ * of cores.
+ * </p>
+ * <p>
+ * While the run is in progress the cache hits, misses and size and the latency
+ * of each probe (stage {@code url.check}, by outcome) are recorded through
+ * {@link PipelineMetrics}, so they can be read from the pipeline metrics
+ * snapshot; {@link #getStatsSummary()} is also logged on shutdown.
+ * </p>
+ *
+ * @author LA Referencia Team
+ */
+@Component
+public class URLStatusChecker {
+
+	private static Logger logger = LogManager.getLogger(URLStatusChecker.class);
+
+	private static final String FIELD_SEPARATOR = "\t";
+
+	private static final String EXECUTOR_NAME = "url-checker";
+
+	private static final String CACHE_NAME = "url";
+
+	/**
+	 * Outcome of a link check, mapped to the received value reported by the rule.
+	 */
+	public enum URLStatus {
+		OK("OK"), ERROR("ERROR"), MALFORMED_URL("MalformedURL"), UNKNOWN_HOST("UnknownHost"),
+		CONNECTION_ERROR("ConnectionError"), UNKNOWN_ERROR("UnknownError");
+
+		private final String receivedValue;
+
+		URLStatus(String receivedValue) {
+			this.receivedValue = receivedValue;
+		}
+
+		public String getReceivedValue() {
+			return receivedValue;
+		}
+
+		public boolean isValid() {
+			return this == OK;
+		}
+
+		/**
+		 * @return true if the outcome may change on a later check (the URL could not be reached)
+		 */
+		public boolean isTransient() {
+			return this == UNKNOWN_HOST || this == CONNECTION_ERROR || this == UNKNOWN_ERROR;
+		}
+	}
+
+	/**
+	 * Cached check result with the time it was obtained.
+	 *
+	 * @param status the check outcome
+	 * @param checkedAt epoch millis of the check
+	 */
+	public record URLCheck(URLStatus status, long checkedAt) {
+	}
+
+	private final HttpClient httpClient;
+	private final Duration readTimeout;
+	private final Duration ttl;
+	private final Duration failureTtl;
+	private final int maxRequestsPerHost;
+	private final Path cacheFile;
+
+	private final ExecutorService probeExecutor;
+	private final AsyncCache<String, URLCheck> cache;
+	private final ConcurrentMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+	private final LongAdder probeCount = new LongAdder();
+	private final LongAdder probeNanos = new LongAdder();
+
+	private final ReentrantLock persistLock = new ReentrantLock();
+
+	/**
+	 * Creates a link checker.
+	 *
+	 * @param connectTimeoutMillis connection timeout
+	 * @param readTimeoutMillis response timeout
+	 * @param ttlHours time a result stays in the cache
+	 * @param maxCacheSize maximum number of cached URLs
+	 * @param probeThreads number of threads probing URLs
+	 * @param maxRequestsPerHost maximum simultaneous requests to the same host
+	 * @param cacheFile file used to persist the cache, empty to disable persistence
+	 */
+	public URLStatusChecker(int connectTimeoutMillis, int readTimeoutMillis, long ttlHours, long maxCacheSize,
+			int probeThreads, int maxRequestsPerHost, String cacheFile) {
+		this(connectTimeoutMillis, readTimeoutMillis, ttlHours, 10, maxCacheSize, probeThreads, maxRequestsPerHost,
+				cacheFile, false);
+	}
+
+	/**
+	 * Creates a link checker.
+	 *
+	 * @param connectTimeoutMillis connection timeout
+	 * @param readTimeoutMillis response timeout
+	 * @param ttlHours time a result stays in the cache
+	 * @param failureTtlMinutes time a transient failure stays in the cache
+	 * @param maxCacheSize maximum number of cached URLs
+	 * @param probeThreads number of threads probing URLs
+	 * @param maxRequestsPerHost maximum simultaneous requests to the same host
+	 * @param cacheFile file used to persist the cache, empty to disable persistence
+	 * @param virtualThreads true to probe on virtual threads when the JVM supports them
+	 */
+	@Autowired
+	public URLStatusChecker(
+			@Value("${validation.url.connect.timeout.ms:5000}") int connectTimeoutMillis,
+			@Value("${validation.url.read.timeout.ms:10000}") int readTimeoutMillis,
+			@Value("${validation.url.cache.ttl.hours:168}") long ttlHours,
+			@Value("${validation.url.cache.failure.ttl.minutes:10}") long failureTtlMinutes,
+			@Value("${validation.url.cache.max.size:500000}") long maxCacheSize,
+			@Value("${validation.url.probe.threads:16}") int probeThreads,
+			@Value("${validation.url.max.requests.per.host:2}") int maxRequestsPerHost,
+			@Value("${validation.url.cache.file:}") String cacheFile,
+			@Value("${worker.virtual.threads:false}") boolean virtualThreads) {
+
+		this.readTimeout = Duration.ofMillis(readTimeoutMillis);
+		this.ttl = Duration.ofHours(ttlHours);
+		this.failureTtl = Duration.ofMinutes(failureTtlMinutes);
+		this.maxRequestsPerHost = Math.max(1, maxRequestsPerHost);
+		this.cacheFile = (cacheFile == null || cacheFile.isBlank()) ? null : Paths.get(cacheFile);
+
+		this.httpClient = HttpClient.newBuilder()
+				.followRedirects(HttpClient.Redirect.NORMAL)
+				.connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+				.build();
+
+		this.probeExecutor = IOExecutors.newBoundedExecutor(EXECUTOR_NAME, probeThreads, virtualThreads);
+
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxCacheSize)
+				.expireAfter(new CheckAgeExpiry())
+				.recordStats()
+				.buildAsync();
+
+		loadCache();
+	}
+
+	/**
+	 * Returns the status of a URL, probing it only when it is not cached.
+	 *
+	 * @param url the URL to check
+	 * @return the check outcome
+	 */
+	public URLStatus check(String url) {
+		return lookup(url).join().status();
+	}
+
+	/**
+	 * Starts probing URLs in the background without waiting for the results.
+	 * A following {@link #check(String)} only waits for its own pending probe.
+	 *
+	 * @param urls the URLs to probe
+	 */
+	public void prefetch(Collection<String> urls) {
+		for (String url : urls) {
+			if (url != null)
+				lookup(url);
+		}
+	}
+
+	private CompletableFuture<URLCheck> lookup(String url) {
+		PipelineMetrics.registerCache(CACHE_NAME, PipelineMetrics.UNTAGGED, this,
+				checker -> checker.cache.synchronous().stats().hitCount(),
+				checker -> checker.cache.synchronous().stats().missCount(),
+				checker -> checker.cache.synchronous().estimatedSize());
+		return cache.get(url, (key, executor) -> CompletableFuture.supplyAsync(() -> probe(key), probeExecutor));
+	}
+
+	/**
+	 * Performs the HEAD request for a URL, waiting for a per-host permit.
+	 */
+	private URLCheck probe(String url) {
+
+		HttpRequest request;
+		try {
+			request = HttpRequest.newBuilder(URI.create(url))
+					.method("HEAD", HttpRequest.BodyPublishers.noBody())
+					.timeout(readTimeout)
+					.build();
+		} catch (IllegalArgumentException e) {
+			return new URLCheck(URLStatus.MALFORMED_URL, System.currentTimeMillis());
+		}
+
+		Semaphore permits = hostPermits.computeIfAbsent(String.valueOf(request.uri().getHost()),
+				host -> new Semaphore(maxRequestsPerHost));
+
+		URLStatus status;
+		long start = System.nanoTime();
+		try {
+			permits.acquire();
+			try {
+				start = System.nanoTime();
+				int responseCode = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+				logger.debug("Verificando: " + url + " :: " + responseCode);
+				status = responseCode == 200 ? URLStatus.OK : URLStatus.ERROR;
+			} finally {
+				permits.release();
+			}
+		} catch (IOException e) {
+			status = isUnknownHost(e) ? URLStatus.UNKNOWN_HOST : URLStatus.CONNECTION_ERROR;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			status = URLStatus.CONNECTION_ERROR;
+		} catch (Exception e) {
+			status = URLStatus.UNKNOWN_ERROR;
+		}
+
+		probeCount.increment();
+		probeNanos.add(System.nanoTime() - start);
+		PipelineMetrics.recordStage(PipelineMetrics.URL_CHECK,
+				PipelineMetrics.UNTAGGED.and(PipelineMetrics.TAG_OUTCOME, status.name()), start);
+
+		return new URLCheck(status, System.currentTimeMillis());
+	}
+
+	private static boolean isUnknownHost(Throwable e) {
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof UnresolvedAddressException || cause instanceof UnknownHostException)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns cache hit/miss counts and average probe latency.
+	 *
+	 * @return a human readable summary
+	 */
+	public String getStatsSummary() {
+		CacheStats stats = cache.synchronous().stats();
+		long probes = probeCount.sum();
+		return "URL checks :: cached: " + cache.synchronous().estimatedSize() + " hits: " + stats.hitCount() + " misses: "
+				+ stats.missCount() + " hit rate: " + String.format("%.2f", stats.hitRate()) + " probes: " + probes
+				+ " avg probe ms: " + (probes == 0 ? 0 : probeNanos.sum() / probes / 1_000_000);
+	}
+
+	/**
+	 * Returns the cache statistics.
+	 *
+	 * @return Caffeine cache statistics
+	 */
+	public CacheStats getCacheStats() {
+		return cache.synchronous().stats();
+	}
+
+	/**
+	 * Returns the number of HTTP probes performed.
+	 *
+	 * @return probe count
+	 */
+	public long getProbeCount() {
+		return probeCount.sum();
+	}
+
+	/**
+	 * Writes the completed cache entries to the cache file, if configured.
+	 */
+	public void persist() {
+		if (cacheFile == null)
+			return;
+
+		// lock en lugar de synchronized: no fija el carrier si se llama desde un virtual thread
+		persistLock.lock();
+		try {
+			Path parent = cacheFile.toAbsolutePath().getParent();
+			if (parent != null)
+				Files.createDirectories(parent);
+
+			Path temp = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+			try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+				for (Map.Entry<String, URLCheck> entry : cache.synchronous().asMap().entrySet()) {
+					URLCheck check = entry.getValue();
+					if (check.status().isTransient())
+						continue;
+					writer.write(check.checkedAt() + FIELD_SEPARATOR + check.status().name() + FIELD_SEPARATOR + entry.getKey());
+					writer.newLine();
+				}
+			}
+			Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+			logger.info("URL status cache persisted: " + cacheFile);
+
+		} catch (IOException e) {
+			logger.error("Unable to persist URL status cache " + cacheFile + " : " + e.getMessage());
+		} finally {
+			persistLock.unlock();
+		}
+	}
+
+	private void loadCache() {
+		if (cacheFile == null || !Files.exists(cacheFile))
+			return;
+
+		long oldest = System.currentTimeMillis() - ttl.toMillis();
+		int loaded = 0;
+
+		try (BufferedReader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				String[] fields = line.split(FIELD_SEPARATOR, 3);
+				if (fields.length < 3)
+					continue;
+				try {
+					long checkedAt = Long.parseLong(fields[0]);
+					URLStatus status = URLStatus.valueOf(fields[1]);
+					if (checkedAt >= oldest && !status.isTransient()) {
+						cache.synchronous().put(fields[2], new URLCheck(status, checkedAt));
+						loaded++;
+					}
+				} catch (IllegalArgumentException e) {
+					logger.debug("Skipping invalid URL status cache line: " + line);
+				}
+			}
+			logger.info("URL status cache loaded: " + loaded + " entries from " + cacheFile);
+
+		} catch (IOException e) {
+			logger.error("Unable to load URL status cache " + cacheFile + " : " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Persists the cache and stops the probe threads.
+	 */
+	@PreDestroy
+	public void shutdown() {
+		logger.info(getStatsSummary());
+		logger.info(IOExecutors.getStats(EXECUTOR_NAME));
+		persist();
+		probeExecutor.shutdownNow();
+	}
+
+	/**
+	 * Expires entries {@code ttl} ({@code failureTtl} for transient failures)
+	 * after the check was made, so entries loaded from disk keep their original age.
+	 */
+	private class CheckAgeExpiry implements Expiry<String, URLCheck> {
+
+		@Override
+		public long expireAfterCreate(String url, URLCheck check, long currentTime) {
+			long ageMillis = System.currentTimeMillis() - check.checkedAt();
+			Duration checkTtl = check.status().isTransient() ? failureTtl : ttl;
+			return Math.max(0L, checkTtl.minusMillis(ageMillis).toNanos());
+		}
+
+		@Override
+		public long expireAfterUpdate(String url, URLCheck check, long currentTime, long currentDuration) {
+			return expireAfterCreate(url, check, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String url, URLCheck check, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+
+}
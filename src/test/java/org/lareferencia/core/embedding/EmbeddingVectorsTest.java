@@ -0,0 +1,94 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.embedding;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link EmbeddingVectors} list views and int8 quantization.
+ */
+class EmbeddingVectorsTest {
+
+  /**
+   * Verifies that the float view exposes the backing array without copying.
+   */
+  @Test
+  void shouldExposeFloatArrayAsReadOnlyList() {
+    float[] vector = { 0.25f, -0.5f, 1.0f };
+
+    List<Float> view = EmbeddingVectors.asList(vector);
+
+    assertEquals(List.of(0.25f, -0.5f, 1.0f), view);
+    vector[0] = 0.75f;
+    assertEquals(0.75f, view.get(0));
+    assertThrows(UnsupportedOperationException.class, () -> view.set(0, 0.1f));
+  }
+
+  /**
+   * Verifies int8 quantization scaling and clamping of out-of-range values.
+   */
+  @Test
+  void shouldQuantizeAndClampToInt8Range() {
+    float[] vector = { 1.0f, -1.0f, 0.0f, 0.5f, 2.0f, -3.0f };
+
+    byte[] quantized = EmbeddingVectors.quantizeInt8(vector);
+
+    assertArrayEquals(new byte[] { 127, -127, 0, 64, 127, -127 }, quantized);
+    assertEquals(List.of(127, -127, 0, 64, 127, -127), EmbeddingVectors.asList(quantized));
+  }
+
+  /**
+   * Verifies that dequantization approximates the original vector within one
+   * quantization step.
+   */
+  @Test
+  void shouldDequantizeWithinOneStep() {
+    float[] vector = { 0.123f, -0.987f, 0.5f, -0.001f };
+
+    float[] restored = EmbeddingVectors.dequantizeInt8(EmbeddingVectors.quantizeInt8(vector));
+
+    for (int i = 0; i < vector.length; i++) {
+      assertEquals(vector[i], restored[i], 1.0f / EmbeddingVectors.INT8_SCALE);
+    }
+  }
+
+  /**
+   * Verifies that multivalued field values keep one view per vector.
+   */
+  @Test
+  void shouldBuildMultivaluedFieldValue() {
+    List<float[]> vectors = List.of(new float[] { 0.1f, 0.2f }, new float[] { -0.3f, 0.4f });
+
+    List<List<? extends Number>> value = EmbeddingVectors.toFieldValue(vectors, false);
+
+    assertEquals(2, value.size());
+    assertEquals(List.of(0.1f, 0.2f), value.get(0));
+    assertEquals(List.of(-0.3f, 0.4f), value.get(1));
+    assertEquals(List.of(-38, 51), EmbeddingVectors.toFieldValue(vectors.get(1), true));
+  }
+
+}
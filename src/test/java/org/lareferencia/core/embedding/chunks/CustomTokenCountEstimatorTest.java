@@ -0,0 +1,127 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.embedding.chunks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CustomTokenCountEstimator}.
+ *
+ * <p>
+ * The single-pass estimator is checked against the original regex-based
+ * formulation on multilingual abstracts and on randomized edge-case input.
+ * </p>
+ */
+class CustomTokenCountEstimatorTest {
+
+  private static final Pattern WORD_OR_NUMBER = Pattern.compile("[\\p{L}\\p{N}]+(?:['’-][\\p{L}\\p{N}]+)*");
+  private static final Pattern PUNCTUATION = Pattern.compile("[\\p{Punct}]");
+
+  private static final List<String> ABSTRACTS = List.of(
+      "This study evaluates open-access repositories' metadata quality across 1,250 records (2019-2023).",
+      "El presente trabajo analiza la interoperabilidad semántica de los repositorios institucionales "
+          + "de América Latina; se identificaron 45 categorías y sub-categorías.",
+      "Este artigo discute a preservação digital em bibliotecas universitárias: desafios, práticas e "
+          + "recomendações para o período pós-pandemia.",
+      "L’évaluation d’impact -- résultats préliminaires -- n’est pas concluante!",
+      "语义检索 と カタカナ 및 한국어 mixed with English words, 2024.",
+      "");
+
+  private final CustomTokenCountEstimator estimator = new CustomTokenCountEstimator();
+
+  /**
+   * Verifies identical estimates to the regex formulation on realistic text.
+   */
+  @Test
+  void shouldMatchRegexEstimateOnMultilingualAbstracts() {
+    for (String text : ABSTRACTS) {
+      assertEquals(regexEstimate(text), estimator.estimateTokenCountInText(text), text);
+    }
+  }
+
+  /**
+   * Verifies identical estimates on random combinations of connectors,
+   * punctuation, numbers and supplementary code points.
+   */
+  @Test
+  void shouldMatchRegexEstimateOnRandomInput() {
+    String alphabet = "ab Zé9-'’ .,;!?—_\t漢ひカ한١²Ⅻ🙂()\"ñç";
+    int[] codePoints = alphabet.codePoints().toArray();
+    Random random = new Random(42);
+
+    for (int n = 0; n < 20000; n++) {
+      StringBuilder builder = new StringBuilder();
+      int length = random.nextInt(24);
+      for (int i = 0; i < length; i++) {
+        builder.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+      }
+      String text = builder.toString();
+      assertEquals(regexEstimate(text), estimator.estimateTokenCountInText(text), text);
+    }
+  }
+
+  /**
+   * Verifies null and blank input handling.
+   */
+  @Test
+  void shouldReturnZeroForNullOrBlankText() {
+    assertEquals(0, estimator.estimateTokenCountInText(null));
+    assertEquals(0, estimator.estimateTokenCountInText("  \t "));
+  }
+
+  private static int regexEstimate(String text) {
+    if (text == null || text.isBlank()) {
+      return 0;
+    }
+    double estimate = (countMatches(WORD_OR_NUMBER, text) * 1.10d) + (countMatches(PUNCTUATION, text) * 0.35d)
+        + (countCjk(text) * 0.65d);
+    return Math.max(1, (int) Math.ceil(estimate));
+  }
+
+  private static int countMatches(Pattern pattern, String text) {
+    Matcher matcher = pattern.matcher(text);
+    int count = 0;
+    while (matcher.find()) {
+      count++;
+    }
+    return count;
+  }
+
+  private static int countCjk(String text) {
+    return (int) text.codePoints()
+        .mapToObj(Character.UnicodeBlock::of)
+        .filter(block -> block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS
+            || block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS_EXTENSION_A
+            || block == Character.UnicodeBlock.CJK_UNIFIED_IDEOGRAPHS_EXTENSION_B
+            || block == Character.UnicodeBlock.HIRAGANA
+            || block == Character.UnicodeBlock.KATAKANA
+            || block == Character.UnicodeBlock.HANGUL_SYLLABLES)
+        .count();
+  }
+
+}
@@ -28,7 +28,11 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -467,4 +471,40 @@ class MedatadaDOMHelperTest {
         assertNotNull(doc);
         assertTrue(MedatadaDOMHelper.isNodeDefined(doc, "//dc:title"));
     }
+
+    // ========== Concurrency Tests ==========
+
+    @Test
+    @DisplayName("Should parse and serialize from parallel threads")
+    void testParallelParsingAndSerialization() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                String value = "value-" + i;
+                results.add(executor.submit(() -> {
+                    Document doc = MedatadaDOMHelper.XMLString2Document("<root><field>" + value + "</field></root>");
+                    Document copy = MedatadaDOMHelper.createDocumentFromNode(doc.getDocumentElement());
+                    return MedatadaDOMHelper.document2XMLString(doc).contains(">" + value + "<")
+                            && MedatadaDOMHelper.Node2XMLString(copy).contains(">" + value + "<");
+                }));
+            }
+
+            for (Future<Boolean> result : results)
+                assertTrue(result.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse serializers without keeping previous output")
+    void testSerializerReuse() throws Exception {
+        String first = MedatadaDOMHelper.document2XMLString(MedatadaDOMHelper.XMLString2Document("<a>first</a>"));
+        String second = MedatadaDOMHelper.document2XMLString(MedatadaDOMHelper.XMLString2Document("<b>second</b>"));
+
+        assertTrue(first.contains("first"));
+        assertFalse(second.contains("first"));
+        assertTrue(second.contains("second"));
+    }
 }
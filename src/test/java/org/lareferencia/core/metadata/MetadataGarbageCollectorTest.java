@@ -0,0 +1,208 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+package org.lareferencia.core.metadata;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lareferencia.core.domain.Network;
+import org.lareferencia.core.repository.catalog.OAIRecordCatalogRepository;
+import org.lareferencia.core.repository.validation.RecordValidationRepository;
+import org.lareferencia.core.util.hashing.XXHash64Hashing;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("MetadataGarbageCollector Tests")
+class MetadataGarbageCollectorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MetadataStoreFSImpl store;
+    private OAIRecordCatalogRepository catalogRepository;
+    private RecordValidationRepository validationRepository;
+    private Network network;
+    private SnapshotMetadata removed;
+    private SnapshotMetadata retained;
+    private List<String> hashes;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new MetadataStoreFSImpl();
+        ReflectionTestUtils.setField(store, "basePath", tempDir.toString());
+        ReflectionTestUtils.setField(store, "hashing", new XXHash64Hashing());
+        store.init();
+
+        network = new Network();
+        network.setAcronym("TEST");
+        removed = snapshot(1L);
+        retained = snapshot(2L);
+
+        hashes = new ArrayList<>();
+        for (int i = 0; i < 30; i++)
+            hashes.add(store.storeAndReturnHash(removed, content(i)));
+
+        // el snapshot limpiado referencia 0-19, el retenido 15-29
+        catalogRepository = mock(OAIRecordCatalogRepository.class);
+        validationRepository = mock(RecordValidationRepository.class);
+        when(catalogRepository.forEachMetadataHash(eq(removed), any()))
+                .thenAnswer(invocation -> feed(hashes.subList(0, 20), invocation.<Consumer<String>>getArgument(1)));
+        when(catalogRepository.forEachMetadataHash(eq(retained), any()))
+                .thenAnswer(invocation -> feed(hashes.subList(15, 30), invocation.<Consumer<String>>getArgument(1)));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        collector(100).discard(retained);
+    }
+
+    private SnapshotMetadata snapshot(Long id) {
+        SnapshotMetadata snapshot = new SnapshotMetadata();
+        snapshot.setSnapshotId(id);
+        snapshot.setNetwork(network);
+        return snapshot;
+    }
+
+    private static String content(int i) {
+        return "<metadata><field>" + i + "</field></metadata>";
+    }
+
+    private static Long feed(List<String> hashes, Consumer<String> consumer) {
+        hashes.forEach(consumer);
+        return (long) hashes.size();
+    }
+
+    private MetadataGarbageCollector collector(int batchSize) {
+        MetadataGarbageCollector collector = new MetadataGarbageCollector();
+        ReflectionTestUtils.setField(collector, "basePath", tempDir.toString());
+        ReflectionTestUtils.setField(collector, "batchSize", batchSize);
+        ReflectionTestUtils.setField(collector, "maxOperationsPerSecond", 0);
+        ReflectionTestUtils.setField(collector, "metadataStore", store);
+        ReflectionTestUtils.setField(collector, "catalogRepository", catalogRepository);
+        ReflectionTestUtils.setField(collector, "validationRepository", validationRepository);
+        collector.init();
+        return collector;
+    }
+
+    private List<String> storedHashes() throws Exception {
+        List<String> stored = new ArrayList<>();
+        store.forEachHash(retained, stored::add);
+        return stored;
+    }
+
+    @Test
+    @DisplayName("Should reclaim only the metadata no retained snapshot references")
+    void testCollectAndReclaim() throws Exception {
+        MetadataGarbageCollector collector = collector(100);
+
+        assertEquals(15, collector.collect(retained, List.of(removed), List.of(retained)));
+        assertEquals(15, collector.getPendingEntries());
+        assertEquals(30, storedHashes().size(), "nothing is deleted until reclaimed");
+
+        collector.reclaim();
+
+        List<String> stored = storedHashes();
+        assertEquals(15, stored.size());
+        assertTrue(stored.containsAll(hashes.subList(15, 30)));
+        assertEquals(15, collector.getReclaimedEntries());
+        assertTrue(collector.getReclaimedBytes() > 0);
+        assertEquals(0, collector.getPendingEntries());
+        assertNull(MetadataReclaimGuard.enter(removed, hashes.get(0)), "the fence is released once reclaimed");
+        assertFalse(Files.exists(Path.of(tempDir.toString(), "TEST", "metadata_gc")));
+    }
+
+    @Test
+    @DisplayName("Should keep the candidates stored again before they are reclaimed")
+    void testRescue() throws Exception {
+        MetadataGarbageCollector collector = collector(100);
+        collector.collect(retained, List.of(removed), List.of(retained));
+
+        // una nueva cosecha vuelve a almacenar el mismo contenido
+        assertEquals(hashes.get(3), store.storeAndReturnHash(snapshot(3L), content(3)));
+
+        collector.reclaim();
+
+        assertEquals(1, collector.getRescuedEntries());
+        assertEquals(14, collector.getReclaimedEntries());
+        assertNotNull(store.getMetadata(retained, hashes.get(3)));
+    }
+
+    @Test
+    @DisplayName("Should keep the candidates referenced again without storing them")
+    void testRescueOnReuse() throws Exception {
+        MetadataGarbageCollector collector = collector(100);
+        collector.collect(retained, List.of(removed), List.of(retained));
+
+        // una validación reutiliza el hash publicado de la cache de transformaciones
+        MetadataReclaimGuard.Fence fence = MetadataReclaimGuard.enter(snapshot(3L), hashes.get(5));
+        assertNotNull(fence);
+        fence.exit(hashes.get(5));
+
+        collector.reclaim();
+
+        assertEquals(1, collector.getRescuedEntries());
+        assertNotNull(store.getMetadata(retained, hashes.get(5)));
+    }
+
+    @Test
+    @DisplayName("Should reclaim incrementally and resume the queue after a restart")
+    void testIncrementalAndRestart() throws Exception {
+        MetadataGarbageCollector collector = collector(10);
+        collector.collect(retained, List.of(removed), List.of(retained));
+        store.storeAndReturnHash(snapshot(3L), content(14));
+
+        collector.reclaim();
+        assertEquals(5, collector.getPendingEntries());
+        assertEquals(20, storedHashes().size());
+
+        // el guard es estático: se simula el reinicio liberándolo
+        MetadataReclaimGuard.deactivate(MetadataReclaimGuard.get("TEST"));
+        MetadataGarbageCollector restarted = collector(10);
+        assertEquals(5, restarted.getPendingEntries());
+
+        restarted.reclaim();
+
+        assertEquals(0, restarted.getPendingEntries());
+        assertEquals(16, storedHashes().size());
+        assertNotNull(store.getMetadata(retained, hashes.get(14)), "rescued before the restart");
+    }
+
+    @Test
+    @DisplayName("Should not queue anything when the cleaned snapshot has no catalog")
+    void testMissingCatalog() throws Exception {
+        doThrow(new IOException("missing")).when(catalogRepository).forEachMetadataHash(eq(removed), any());
+
+        assertEquals(0, collector(100).collect(retained, List.of(removed), List.of(retained)));
+        assertNull(MetadataReclaimGuard.enter(removed, hashes.get(0)));
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.metadata;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lareferencia.core.util.hashing.XXHash64Hashing;
+import org.springframework.core.io.ClassPathResource;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+@DisplayName("MetadataSerializer Tests")
+class MetadataSerializerTest {
+
+    private static final String XOAI_NS = "http://www.lyncode.com/xoai";
+
+    @Test
+    @DisplayName("Should write compact XML with escaped content")
+    void testSerialize() throws Exception {
+        String xml = "<metadata xmlns=\"" + XOAI_NS + "\"><element name=\"dc\"><element name=\"title\">"
+                + "<field name=\"value\">A &amp; B &lt;C&gt; \"ñandú\" 😀</field>"
+                + "<field name=\"empty\"/></element></element></metadata>";
+
+        Document document = MedatadaDOMHelper.XMLString2Document(xml);
+        String serialized = MetadataSerializer.forCurrentThread().serialize(document).toString();
+
+        assertEquals(xml, serialized);
+    }
+
+    @Test
+    @DisplayName("Should escape attribute values")
+    void testAttributeEscaping() throws Exception {
+        Document document = MedatadaDOMHelper.XMLString2Document("<metadata/>");
+        document.getDocumentElement().setAttribute("name", "a\"b<c&d\n");
+
+        assertEquals("<metadata name=\"a&quot;b&lt;c&amp;d&#x0A;\"/>",
+                MetadataSerializer.forCurrentThread().serialize(document).toString());
+    }
+
+    @Test
+    @DisplayName("Should declare namespaces missing from imported nodes")
+    void testNamespaceFixup() throws Exception {
+        Document source = MedatadaDOMHelper.XMLString2Document("<oai xmlns:x=\"urn:x\"><metadata xmlns=\""
+                + XOAI_NS + "\"><element name=\"dc\" x:type=\"t\"/></metadata></oai>");
+        Node element = source.getDocumentElement().getFirstChild().getFirstChild();
+
+        Document imported = MedatadaDOMHelper.createDocumentFromNode(element);
+        Element added = (Element) MedatadaDOMHelper.addChildElementWithNameAttr(imported.getDocumentElement(),
+                "field", "value");
+        added.setTextContent("v");
+
+        assertEquals("<element xmlns=\"" + XOAI_NS + "\" xmlns:x=\"urn:x\" name=\"dc\" x:type=\"t\">"
+                + "<field name=\"value\">v</field></element>",
+                MetadataSerializer.forCurrentThread().serialize(imported).toString());
+    }
+
+    @Test
+    @DisplayName("Should keep the content of a full record")
+    void testRoundTrip() throws Exception {
+        String sample = new String(new ClassPathResource("original.xoai.record.xml").getInputStream().readAllBytes(),
+                StandardCharsets.UTF_8);
+        OAIRecordMetadata metadata = new OAIRecordMetadata("oai:test:1", sample);
+
+        MetadataSerializer serializer = MetadataSerializer.forCurrentThread().serialize(metadata.getDOMDocument());
+        String serialized = serializer.toString();
+        OAIRecordMetadata reparsed = new OAIRecordMetadata("oai:test:1", serialized);
+
+        for (String field : new String[] { "dc.title.none", "dc.creator.none", "dc.identifier.none", "dc.type.none" })
+            assertEquals(metadata.getFieldOcurrences(field), reparsed.getFieldOcurrences(field), field);
+
+        // canonical: serializing the parsed output gives the same bytes
+        assertEquals(serialized, MetadataSerializer.forCurrentThread().serialize(reparsed.getDOMDocument()).toString());
+    }
+
+    @Test
+    @DisplayName("Should hash the serialized bytes as the serialized string")
+    void testHash() throws Exception {
+        XXHash64Hashing hashing = new XXHash64Hashing();
+        OAIRecordMetadata metadata = new OAIRecordMetadata("oai:test:1",
+                "<metadata><element name=\"dc\"><field name=\"value\">ação</field></element></metadata>");
+
+        MetadataSerializer serializer = MetadataSerializer.forCurrentThread().serialize(metadata.getDOMDocument());
+
+        assertEquals(hashing.calculateHash(serializer.toString()), serializer.hash(hashing));
+        assertArrayEquals(serializer.toString().getBytes(StandardCharsets.UTF_8), serializer.toByteArray());
+    }
+}
@@ -396,6 +396,21 @@ class MetadataStoreFSImplTest {
         assertEquals(metadata, retrieved, "Roundtrip should preserve content exactly");
     }
 
+    // reclaimMetadata tests
+
+    @Test
+    @DisplayName("reclaimMetadata should delete the file and return its size")
+    void testReclaimMetadata() throws Exception {
+        hashingHelper.setNextHash("ABC123456789");
+        store.storeAndReturnHash(testSnapshotMetadata, "<record><title>Test</title></record>");
+        File file = getExpectedFilePath("ABC123456789");
+        long size = file.length();
+
+        assertEquals(size, store.reclaimMetadata(testSnapshotMetadata, "ABC123456789"));
+        assertFalse(file.exists());
+        assertEquals(-1, store.reclaimMetadata(testSnapshotMetadata, "ABC123456789"));
+    }
+
     // Helper methods
 
     /**
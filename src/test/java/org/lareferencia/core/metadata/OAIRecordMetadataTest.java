@@ -420,6 +420,82 @@ class OAIRecordMetadataTest {
         assertEquals(0, occurrences.size());
     }
 
+    @Test
+    @DisplayName("Should query occurrences as the copied nodes")
+    void testOccurrenceViewsMatchCopies() throws Exception {
+        Document doc = getXmlDocumentFromResourcePath("xoai_openaire.xml");
+        OAIRecordMetadata metadata = new OAIRecordMetadata(TEST_IDENTIFIER, doc);
+
+        List<Node> nodes = MedatadaDOMHelper.getListOfNodes(doc,
+                XOAIXPATHHelper.getXPATH("datacite.contributors.contributor", false, false));
+        assertEquals(nodes.size(), metadata.getFieldMetadataOccurrences("datacite.contributors.contributor").size());
+        assertTrue(nodes.size() > 0);
+
+        for (Node node : nodes) {
+            OAIRecordMetadata copy = new OAIRecordMetadata(TEST_IDENTIFIER, node);
+            OAIRecordMetadata view = OAIRecordMetadata.view(TEST_IDENTIFIER, node);
+
+            for (String field : new String[] { "contributor:contributorType", "contributor.contributorName", "contributorName",
+                    "datacite.contributors.contributor:contributorType" }) {
+                assertEquals(copy.getFieldValue(field), view.getFieldValue(field), field);
+                assertEquals(copy.getFieldOcurrences(field), view.getFieldOcurrences(field), field);
+                assertEquals(copy.getFieldMetadataOccurrences(field).size(), view.getFieldMetadataOccurrences(field).size(), field);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should copy an occurrence before modifying it")
+    void testOccurrenceViewCopyOnWrite() throws Exception {
+        Document doc = getXmlDocumentFromResourcePath("original.xoai.record.xml");
+        OAIRecordMetadata metadata = new OAIRecordMetadata(TEST_IDENTIFIER, doc);
+        List<String> titles = metadata.getFieldOcurrences("dc.title.none");
+
+        OAIRecordMetadata occurrence = metadata.getFieldMetadataOccurrencesFromXPATHExpression(
+                XOAIXPATHHelper.getRootXPATH()).get(0);
+        assertEquals(titles, occurrence.getFieldOcurrences("dc.title.none"));
+        occurrence.removeFieldOcurrence("dc.title.none");
+
+        assertTrue(occurrence.getFieldOcurrences("dc.title.none").isEmpty());
+        assertNotSame(doc, occurrence.getDOMDocument());
+        assertEquals(titles, metadata.getFieldOcurrences("dc.title.none"));
+    }
+
+    @Test
+    @DisplayName("Should get a field value selected by a discriminator")
+    void testGetFieldValueWithDiscriminator() throws Exception {
+        String xml = "<metadata><element name=\"a\"><element name=\"b\"><field name=\"type\">x</field>"
+                + "<field name=\"value\">1</field></element><element name=\"b\"><field name=\"type\">y</field>"
+                + "<field name=\"value\">2</field></element></element></metadata>";
+        OAIRecordMetadata metadata = new OAIRecordMetadata(TEST_IDENTIFIER, xml);
+
+        assertEquals("2", metadata.getFieldValue("b", "b:type", "y"));
+        assertNull(metadata.getFieldValue("b", "b:type", "z"));
+    }
+
+    @Test
+    @DisplayName("Should get bitstreams from bundles")
+    void testGetBitstreamsFromBundles() throws Exception {
+        String xml = "<metadata><element name=\"bundles\"><element name=\"bundle\"><field name=\"name\">ORIGINAL</field>"
+                + "<element name=\"bitstreams\"><element name=\"bitstream\"><field name=\"name\">a.pdf</field>"
+                + "<field name=\"url\">http://host/a.pdf</field><field name=\"format\">application/pdf</field></element>"
+                + "<element name=\"bitstream\"><field name=\"name\">b.pdf</field></element></element></element>"
+                + "<element name=\"bundle\"><field name=\"name\">THUMBNAIL</field><element name=\"bitstreams\">"
+                + "<element name=\"bitstream\"><field name=\"name\">a.jpg</field></element></element></element>"
+                + "</element></metadata>";
+        OAIRecordMetadata metadata = new OAIRecordMetadata(TEST_IDENTIFIER, xml);
+
+        List<OAIMetadataBitstream> bitstreams = metadata.getBitstreams();
+
+        assertEquals(3, bitstreams.size());
+        assertEquals("ORIGINAL", bitstreams.get(0).getType());
+        assertEquals("a.pdf", bitstreams.get(0).getName());
+        assertEquals("http://host/a.pdf", bitstreams.get(0).getUrl());
+        assertEquals("application/pdf", bitstreams.get(0).getFormat());
+        assertEquals("b.pdf", bitstreams.get(1).getName());
+        assertEquals("THUMBNAIL", bitstreams.get(2).getType());
+    }
+
     // ========== Get Bitstreams Tests ==========
 
     @Test
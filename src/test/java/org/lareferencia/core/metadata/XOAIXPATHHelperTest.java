@@ -329,4 +329,26 @@ class XOAIXPATHHelperTest {
         assertTrue(xpath1.contains("@name='dc'"));
         assertTrue(xpath2.contains("@name='dc'"));
     }
+
+    @Test
+    @DisplayName("Should rewrite generated expressions relative to a node")
+    void testNodeRelativeXPATH() {
+        assertEquals("descendant-or-self::*[local-name()='element' and @name='dc']/*[local-name()='field' and @name='value']",
+                XOAIXPATHHelper.getNodeRelativeXPATH(XOAIXPATHHelper.getXPATH("dc", true, false)));
+        assertEquals("self::*[local-name()='metadata']/*[local-name()='element' and @name='dc']",
+                XOAIXPATHHelper.getNodeRelativeXPATH(XOAIXPATHHelper.getXPATH("dc", false, true)));
+        assertEquals("self::element[@name='subject']", XOAIXPATHHelper.getNodeRelativeXPATH("element[@name='subject']"));
+    }
+
+    @Test
+    @DisplayName("Should not rewrite expressions that change meaning relative to a node")
+    void testNodeRelativeXPATHNotRewritten() {
+        assertNull(XOAIXPATHHelper.getNodeRelativeXPATH("//a | //b"));
+        assertNull(XOAIXPATHHelper.getNodeRelativeXPATH("//a[/b]"));
+        assertNull(XOAIXPATHHelper.getNodeRelativeXPATH("//a[2]/b"));
+        assertNull(XOAIXPATHHelper.getNodeRelativeXPATH("count(//a)"));
+        assertNull(XOAIXPATHHelper.getNodeRelativeXPATH("descendant::a"));
+        assertNull(XOAIXPATHHelper.getNodeRelativeXPATH("."));
+        assertNull(XOAIXPATHHelper.getNodeRelativeXPATH("/"));
+    }
 }
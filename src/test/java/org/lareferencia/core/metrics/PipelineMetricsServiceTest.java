@@ -0,0 +1,104 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.Tags;
+
+@DisplayName("PipelineMetricsService Tests")
+class PipelineMetricsServiceTest {
+
+    private PipelineMetricsService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new PipelineMetricsService();
+        ReflectionTestUtils.setField(service, "retainedSnapshots", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    @DisplayName("Should not measure without a registry")
+    void testDisabled() {
+        assertFalse(PipelineMetrics.isEnabled());
+        assertEquals(0L, PipelineMetrics.start());
+
+        service.init();
+        assertTrue(PipelineMetrics.isEnabled());
+
+        service.destroy();
+        assertFalse(PipelineMetrics.isEnabled());
+        assertTrue(service.getSnapshot().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should expose stages and worker throughput")
+    void testSnapshot() {
+        service.init();
+
+        Tags tags = PipelineMetrics.tags("TEST", 1L);
+        PipelineMetrics.recordStage(PipelineMetrics.METADATA_WRITE, tags, PipelineMetrics.start(), 2048);
+        long pageStart = PipelineMetrics.start() - 1_000_000;
+        PipelineMetrics.recordPage(tags.and(PipelineMetrics.TAG_WORKER, "TestWorker"), pageStart, 100);
+
+        List<String> snapshot = service.getSnapshot();
+        assertTrue(snapshot.stream().anyMatch(line -> line.startsWith(PipelineMetrics.STAGE + " ")
+                && line.contains("stage=" + PipelineMetrics.METADATA_WRITE) && line.contains("count=1")));
+        assertTrue(snapshot.stream().anyMatch(line -> line.startsWith(PipelineMetrics.STAGE_BYTES + " ")
+                && line.contains("total=2048")));
+        assertTrue(snapshot.stream().anyMatch(line -> line.startsWith(PipelineMetrics.WORKER_PAGES + " ")
+                && line.contains("network=TEST") && line.contains("items=100") && line.contains("rate=")));
+
+        service.reset();
+        assertTrue(service.getSnapshot().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep the meters of the last snapshots")
+    void testPrune() {
+        service.init();
+
+        for (long snapshotId = 1; snapshotId <= 4; snapshotId++)
+            PipelineMetrics.recordStage(PipelineMetrics.SOLR_SEND, PipelineMetrics.tags("TEST", snapshotId),
+                    PipelineMetrics.start());
+        PipelineMetrics.recordStage(PipelineMetrics.XSLT_TRANSFORM, PipelineMetrics.UNTAGGED, PipelineMetrics.start());
+
+        service.pruneSnapshots();
+
+        List<String> snapshot = service.getSnapshot();
+        assertEquals(3, snapshot.size());
+        assertTrue(snapshot.stream().noneMatch(line -> line.contains("snapshot=1 ") || line.contains("snapshot=2 ")));
+        assertTrue(snapshot.stream().anyMatch(line -> line.contains("snapshot=4 ")));
+    }
+}
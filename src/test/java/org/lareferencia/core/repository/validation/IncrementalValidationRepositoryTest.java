@@ -0,0 +1,153 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.repository.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lareferencia.core.domain.Network;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("Incremental validation storage Tests")
+class IncrementalValidationRepositoryTest {
+
+    private static final List<Long> RULE_IDS = Arrays.asList(1L, 2L);
+
+    @TempDir
+    Path tempDir;
+
+    private ValidationDatabaseManager dbManager;
+    private RecordValidationRepository recordRepository;
+    private RuleOccurrenceRepository occurrenceRepository;
+
+    private SnapshotMetadata previous;
+    private SnapshotMetadata current;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dbManager = new ValidationDatabaseManager();
+        ReflectionTestUtils.setField(dbManager, "basePath", tempDir.toString());
+
+        recordRepository = new RecordValidationRepository();
+        ReflectionTestUtils.setField(recordRepository, "dbManager", dbManager);
+        ReflectionTestUtils.setField(recordRepository, "batchSize", 100);
+
+        occurrenceRepository = new RuleOccurrenceRepository();
+        ReflectionTestUtils.setField(occurrenceRepository, "dbManager", dbManager);
+        ReflectionTestUtils.setField(occurrenceRepository, "batchSize", 100);
+
+        previous = newSnapshot(1L);
+        current = newSnapshot(2L);
+
+        // previous snapshot: three validated records, A with occurrences
+        dbManager.initializeSnapshot(previous, RULE_IDS);
+        recordRepository.registerRuleIds(1L, RULE_IDS);
+        recordRepository.insertBatch(1L, Arrays.asList(newRecord("A", "hA"), newRecord("B", "hB"),
+                newRecord("C", "hC")));
+        occurrenceRepository.insertBatch(1L, Arrays.asList(new RuleOccurrence("A", 1L, true, "x")));
+        dbManager.setInfo(1L, "fingerprint", "F1");
+        dbManager.closeDataSource(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dbManager.cleanup();
+    }
+
+    private SnapshotMetadata newSnapshot(Long id) {
+        Network network = new Network();
+        network.setAcronym("test");
+        SnapshotMetadata metadata = new SnapshotMetadata(id);
+        metadata.setNetwork(network);
+        return metadata;
+    }
+
+    private ValidationRecord newRecord(String identifierHash, String originalMetadataHash) {
+        ValidationRecord record = new ValidationRecord();
+        record.setIdentifierHash(identifierHash);
+        record.setIdentifier("oai:test:" + identifierHash);
+        record.setValid(true);
+        record.setPublishedMetadataHash(originalMetadataHash);
+        record.setOriginalMetadataHash(originalMetadataHash);
+        record.setRuleResults(Map.of(1L, true, 2L, false));
+        return record;
+    }
+
+    @Test
+    @DisplayName("Should copy the results of the previous snapshot")
+    void testCopyFromPrevious() throws Exception {
+        assertTrue(dbManager.initializeSnapshotFromPrevious(current, previous, RULE_IDS));
+        recordRepository.registerRuleIds(2L, RULE_IDS);
+
+        assertEquals("F1", dbManager.getInfo(2L, "fingerprint"));
+        dbManager.setInfo(2L, "fingerprint", null);
+        assertNull(dbManager.getInfo(2L, "fingerprint"));
+
+        try (RecordValidationRepository.Lookup lookup = recordRepository.openLookup(2L)) {
+            ValidationRecord record = lookup.find("B");
+            assertEquals("hB", record.getOriginalMetadataHash());
+            assertTrue(record.getRuleResult(1L));
+            assertFalse(record.getRuleResult(2L));
+            assertNull(lookup.find("Z"));
+        }
+
+        assertFalse(dbManager.initializeSnapshotFromPrevious(newSnapshot(3L), newSnapshot(4L), RULE_IDS));
+    }
+
+    @Test
+    @DisplayName("Should replace revalidated records and remove unseen ones")
+    void testRevalidateAndRemove() throws Exception {
+        dbManager.initializeSnapshotFromPrevious(current, previous, RULE_IDS);
+        recordRepository.registerRuleIds(2L, RULE_IDS);
+        recordRepository.startTrackingUnseen(2L);
+
+        // A changed, B unchanged, C removed, D new
+        occurrenceRepository.deleteByRecords(2L, Arrays.asList("A", "D"));
+        recordRepository.insertBatch(2L, Arrays.asList(newRecord("A", "hA2"), newRecord("D", "hD")));
+        recordRepository.markSeen(2L, Arrays.asList("A", "B", "D"));
+
+        assertEquals(1, recordRepository.deleteUnseen(2L));
+        assertEquals(3, recordRepository.count(2L));
+        assertTrue(occurrenceRepository.getOccurrencesByRecord(2L, "A").isEmpty());
+
+        try (RecordValidationRepository.Lookup lookup = recordRepository.openLookup(2L)) {
+            assertEquals("hA2", lookup.find("A").getOriginalMetadataHash());
+            assertNull(lookup.find("C"));
+        }
+
+        // the previous snapshot is untouched
+        dbManager.openSnapshotForRead(previous);
+        assertEquals(3, recordRepository.count(1L));
+        assertEquals(Collections.singletonList("x"), occurrenceRepository.getOccurrencesByRecord(1L, "A").stream()
+                .map(RuleOccurrence::getOccurrenceValue).toList());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.repository.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lareferencia.core.domain.Network;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("TransformationCache Tests")
+class TransformationCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private TransformationCache cache;
+    private SnapshotMetadata snapshotMetadata;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TransformationCache();
+        ReflectionTestUtils.setField(cache, "basePath", tempDir.toString());
+        ReflectionTestUtils.setField(cache, "batchSize", 2);
+
+        Network network = new Network();
+        network.setAcronym("test");
+        snapshotMetadata = new SnapshotMetadata(1L);
+        snapshotMetadata.setNetwork(network);
+    }
+
+    @Test
+    @DisplayName("Should keep transformation results across sessions")
+    void testPersistence() throws Exception {
+        try (TransformationCache.Session session = cache.open(snapshotMetadata, "F1")) {
+            assertNull(session.get("A"));
+            session.put("A", "B", true);
+            session.put("C", "C", false);
+            session.put("D", "E", true);
+            assertEquals(1, session.getMisses());
+        }
+
+        assertTrue(Files.exists(tempDir.resolve("TEST").resolve("transformation_cache.db")));
+
+        try (TransformationCache.Session session = cache.open(snapshotMetadata, "F1")) {
+            TransformationCache.Entry transformed = session.get("A");
+            assertEquals("B", transformed.getPublishedMetadataHash());
+            assertTrue(transformed.isTransformed());
+
+            TransformationCache.Entry untouched = session.get("C");
+            assertEquals("C", untouched.getPublishedMetadataHash());
+            assertFalse(untouched.isTransformed());
+
+            // written in the last, partial batch
+            assertEquals("E", session.get("D").getPublishedMetadataHash());
+            assertNull(session.get(null));
+            assertEquals(3, session.getHits());
+            assertEquals(1, session.getMisses());
+        }
+    }
+
+    @Test
+    @DisplayName("Should invalidate results when the fingerprint changes")
+    void testInvalidation() throws Exception {
+        try (TransformationCache.Session session = cache.open(snapshotMetadata, "F1")) {
+            session.put("A", "B", true);
+        }
+
+        try (TransformationCache.Session session = cache.open(snapshotMetadata, "F2")) {
+            assertNull(session.get("A"));
+            session.put("A", "X", true);
+        }
+
+        try (TransformationCache.Session session = cache.open(snapshotMetadata, "F1")) {
+            assertNull(session.get("A"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should delete the cache of a network")
+    void testDeleteCache() throws Exception {
+        try (TransformationCache.Session session = cache.open(snapshotMetadata, "F1")) {
+            session.put("A", "B", true);
+        }
+
+        cache.deleteCache(snapshotMetadata);
+
+        try (TransformationCache.Session session = cache.open(snapshotMetadata, "F1")) {
+            assertNull(session.get("A"));
+        }
+    }
+}
@@ -4,9 +4,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.lareferencia.core.domain.Transformer;
+import org.lareferencia.core.domain.TransformerRule;
 import org.lareferencia.core.domain.Validator;
 import org.lareferencia.core.domain.ValidatorRule;
+import org.lareferencia.core.metadata.SnapshotMetadata;
 import org.lareferencia.core.service.validation.ValidationService;
+import org.lareferencia.core.util.hashing.MD5Hashing;
 import org.lareferencia.core.worker.validation.validator.RegexFieldContentValidatorRule;
 import org.lareferencia.core.worker.validation.*;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -28,6 +32,7 @@ class ValidationServiceIntegrationTest {
         
         // Inject the serializer using reflection (simulating @Autowired)
         ReflectionTestUtils.setField(validationService, "serializer", ruleSerializer);
+        ReflectionTestUtils.setField(validationService, "hashing", new MD5Hashing());
     }
 
     @Test
@@ -57,4 +62,36 @@ class ValidationServiceIntegrationTest {
         assertNotNull(validator);
         assertEquals(1, validator.getRules().size());
     }
+
+    @Test
+    @DisplayName("Should change the transformer fingerprint when a rule changes")
+    void testTransformerFingerprint() {
+        Transformer transformerModel = new Transformer();
+        transformerModel.setId(1L);
+        transformerModel.getRules().add(createTransformerRule(2L, 2, "{\"b\":1}"));
+        transformerModel.getRules().add(createTransformerRule(1L, 1, "{\"a\":1}"));
+
+        SnapshotMetadata.NetworkInfo network = new SnapshotMetadata.NetworkInfo();
+        network.setAcronym("TEST");
+
+        String fingerprint = validationService.transformerFingerprint(transformerModel, null, network);
+        assertEquals(fingerprint, validationService.transformerFingerprint(transformerModel, null, network));
+        assertNotEquals(fingerprint, validationService.transformerFingerprint(null, transformerModel, network));
+
+        transformerModel.getRules().get(0).setJsonserialization("{\"b\":2}");
+        String changedRule = validationService.transformerFingerprint(transformerModel, null, network);
+        assertNotEquals(fingerprint, changedRule);
+
+        network.setName("Renamed");
+        assertNotEquals(changedRule, validationService.transformerFingerprint(transformerModel, null, network));
+    }
+
+    private TransformerRule createTransformerRule(Long id, int runorder, String json) {
+        TransformerRule rule = new TransformerRule();
+        rule.setId(id);
+        rule.setName("rule " + id);
+        rule.setRunorder(runorder);
+        rule.setJsonserialization(json);
+        return rule;
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lareferencia.core.worker.ResourceProfile;
+
+@DisplayName("ResourceScheduler Tests")
+class ResourceSchedulerTest {
+
+    @Test
+    @DisplayName("Should limit each resource profile independently")
+    void testBudgets() {
+        ResourceScheduler scheduler = new ResourceScheduler(2, 1, 0, 60000);
+
+        scheduler.acquire(ResourceProfile.CPU);
+        assertFalse(scheduler.hasCapacity(ResourceProfile.CPU));
+        assertTrue(scheduler.hasCapacity(ResourceProfile.NETWORK_IO));
+
+        scheduler.acquire(ResourceProfile.NETWORK_IO);
+        scheduler.acquire(ResourceProfile.NETWORK_IO);
+        assertFalse(scheduler.hasCapacity(ResourceProfile.NETWORK_IO));
+
+        // no budget means no limit
+        for (int i = 0; i < 10; i++)
+            scheduler.acquire(ResourceProfile.DISK);
+        assertTrue(scheduler.hasCapacity(ResourceProfile.DISK));
+
+        scheduler.release(ResourceProfile.CPU);
+        scheduler.release(ResourceProfile.CPU);
+        assertTrue(scheduler.hasCapacity(ResourceProfile.CPU));
+        assertEquals(0, scheduler.getRunning(ResourceProfile.CPU));
+    }
+
+    @Test
+    @DisplayName("Should keep queue wait statistics by profile")
+    void testWaitStatistics() {
+        ResourceScheduler scheduler = new ResourceScheduler(0, 0, 0, 60000);
+
+        scheduler.recordWait(ResourceProfile.CPU, 0);
+        scheduler.recordWait(ResourceProfile.CPU, 3000);
+
+        assertEquals(2, scheduler.getWaitCount(ResourceProfile.CPU));
+        assertEquals(1500, scheduler.getAverageWaitMillis(ResourceProfile.CPU));
+        assertEquals(3000, scheduler.getMaxWaitMillis(ResourceProfile.CPU));
+        assertEquals(0, scheduler.getAverageWaitMillis(ResourceProfile.DISK));
+        assertEquals(ResourceProfile.values().length, scheduler.getStatistics().size());
+    }
+
+    @Test
+    @DisplayName("Should order overdue tickets first, then smaller networks")
+    void testPriorityOrder() {
+        ResourceScheduler scheduler = new ResourceScheduler(0, 0, 0, 60000);
+        long now = 1_000_000;
+
+        ResourceScheduler.Ticket<String> big = new ResourceScheduler.Ticket<>("big", ResourceProfile.CPU, 50000, now - 10);
+        ResourceScheduler.Ticket<String> small = new ResourceScheduler.Ticket<>("small", ResourceProfile.CPU, 100, now - 5);
+        ResourceScheduler.Ticket<String> unknown = new ResourceScheduler.Ticket<>("unknown", ResourceProfile.CPU, -1, now - 20);
+        ResourceScheduler.Ticket<String> overdue = new ResourceScheduler.Ticket<>("overdue", ResourceProfile.CPU, 90000,
+                now - 70000);
+
+        List<ResourceScheduler.Ticket<String>> tickets = new ArrayList<>(Arrays.asList(big, small, unknown, overdue));
+        tickets.sort(scheduler.priorityOrder(now));
+
+        assertEquals(Arrays.asList("overdue", "small", "big", "unknown"),
+                tickets.stream().map(ResourceScheduler.Ticket::getItem).toList());
+    }
+
+    @Test
+    @DisplayName("Should classify processes by name")
+    void testProfileFromName() {
+        assertEquals(ResourceProfile.NETWORK_IO, ResourceProfile.fromName("harvesting"));
+        assertEquals(ResourceProfile.NETWORK_IO, ResourceProfile.fromName("bitstreamDownload"));
+        assertEquals(ResourceProfile.CPU, ResourceProfile.fromName("validation"));
+        assertEquals(ResourceProfile.CPU, ResourceProfile.fromName("semanticIndexing"));
+        assertEquals(ResourceProfile.DISK, ResourceProfile.fromName("indexing"));
+        assertEquals(ResourceProfile.DISK, ResourceProfile.fromName("networkClean"));
+    }
+
+    @Test
+    @DisplayName("Should give the explicit default to composite and unknown processes")
+    void testProfileFromNameDefault() {
+        assertEquals(ResourceProfile.CPU, ResourceProfile.fromName("networkProcessing"));
+        assertEquals(ResourceProfile.CPU, ResourceProfile.fromName("customProcess"));
+        assertEquals(ResourceProfile.CPU, ResourceProfile.fromName(null));
+    }
+}
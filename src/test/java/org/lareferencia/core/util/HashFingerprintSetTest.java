@@ -0,0 +1,69 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+package org.lareferencia.core.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HashFingerprintSet Tests")
+class HashFingerprintSetTest {
+
+    @Test
+    @DisplayName("Should contain the added hashes and grow past its initial capacity")
+    void testAddAndContains() {
+        HashFingerprintSet set = new HashFingerprintSet();
+        for (long i = 0; i < 10000; i++)
+            set.add(String.format("%016X", i * 0x9E3779B97F4A7C15L));
+
+        assertEquals(10000, set.size());
+        for (long i = 0; i < 10000; i++)
+            assertTrue(set.contains(String.format("%016X", i * 0x9E3779B97F4A7C15L)));
+        assertFalse(set.contains("FFFFFFFFFFFFFFF0"));
+        assertTrue(set.getMemoryBytes() >= 10000 * Long.BYTES);
+    }
+
+    @Test
+    @DisplayName("Should count repeated hashes once and match hex case insensitively")
+    void testDuplicatesAndCase() {
+        HashFingerprintSet set = new HashFingerprintSet();
+        set.add("00000000000000ab");
+        set.add("00000000000000AB");
+        set.add("0000000000000000");
+
+        assertEquals(2, set.size());
+        assertTrue(set.contains("00000000000000Ab"));
+        assertTrue(set.contains("0000000000000000"));
+    }
+
+    @Test
+    @DisplayName("Should accept hashes that are not 64 bit hex strings")
+    void testOtherHashes() {
+        HashFingerprintSet set = new HashFingerprintSet();
+        set.add("D41D8CD98F00B204E9800998ECF8427E");
+        set.add("legacy-hash");
+
+        assertTrue(set.contains("D41D8CD98F00B204E9800998ECF8427E"));
+        assertTrue(set.contains("legacy-hash"));
+        assertFalse(set.contains("D41D8CD98F00B204E9800998ECF8427F"));
+        assertTrue(new HashFingerprintSet().isEmpty());
+    }
+}
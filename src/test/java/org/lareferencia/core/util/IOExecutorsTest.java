@@ -0,0 +1,81 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IOExecutors Tests")
+class IOExecutorsTest {
+
+    @Test
+    @DisplayName("Should run at most the configured number of tasks at once")
+    void testBoundedExecutor() throws Exception {
+        ThreadPoolExecutor executor = IOExecutors.newBoundedExecutor("test-bounded", 3, true);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(12);
+
+        for (int i = 0; i < 12; i++) {
+            executor.execute(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertTrue(peak.get() <= 3);
+        IOExecutors.Stats stats = IOExecutors.getStats("test-bounded");
+        assertEquals(12, stats.getTasksCompleted());
+        assertTrue(stats.getThreadsCreated() <= 3);
+        assertTrue(stats.getThroughput() > 0);
+        assertEquals(IOExecutors.isVirtualThreadSupported(), stats.isVirtual());
+    }
+
+    @Test
+    @DisplayName("Should create daemon platform threads when virtual threads are off")
+    void testPlatformThreadFactory() {
+        Thread thread = IOExecutors.threadFactory("test-platform", false).newThread(() -> {
+        });
+
+        assertTrue(thread.isDaemon());
+        assertEquals("test-platform-1", thread.getName());
+        assertFalse(IOExecutors.getStats("test-platform").isVirtual());
+        assertEquals(1, IOExecutors.getStats("test-platform").getThreadsCreated());
+        assertTrue(IOExecutors.getStatistics().stream().anyMatch(line -> line.startsWith("test-platform")));
+    }
+}
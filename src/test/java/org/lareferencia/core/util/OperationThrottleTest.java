@@ -0,0 +1,55 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+package org.lareferencia.core.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("OperationThrottle Tests")
+class OperationThrottleTest {
+
+    @Test
+    @DisplayName("Should space operations to the configured rate")
+    void testRate() throws Exception {
+        OperationThrottle throttle = new OperationThrottle(200);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 21; i++)
+            throttle.acquire();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // 20 intervals of 5 ms
+        assertTrue(elapsedMillis >= 90, "elapsed " + elapsedMillis);
+    }
+
+    @Test
+    @DisplayName("Should not wait without a limit")
+    void testNoLimit() throws Exception {
+        OperationThrottle throttle = new OperationThrottle(0);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 100000; i++)
+            throttle.acquire();
+
+        assertTrue(System.nanoTime() - start < 1_000_000_000L);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TimedTask Tests")
+class TimedTaskTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should return the result of a task finished within its budget")
+    void testResult() throws Exception {
+        TimedTask<String> task = new TimedTask<>(() -> "done");
+        executor.execute(task);
+
+        assertEquals("done", task.getWithin(5, TimeUnit.SECONDS));
+        assertTrue(task.isStarted());
+    }
+
+    @Test
+    @DisplayName("Should time out a task running longer than its budget")
+    void testTimeout() {
+        TimedTask<String> task = new TimedTask<>(() -> {
+            release.await();
+            return "late";
+        });
+        executor.execute(task);
+
+        assertThrows(TimeoutException.class, () -> task.getWithin(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("Should report a cancelled task as running until its thread leaves it")
+    void testRunningAfterCancel() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        TimedTask<String> task = new TimedTask<>(() -> {
+            started.countDown();
+            while (true) {
+                try {
+                    release.await();
+                    return "late";
+                } catch (InterruptedException e) {
+                    // ignora la interrupción, como un parser bloqueado
+                }
+            }
+        });
+        executor.execute(task);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        task.cancel(true);
+        assertTrue(task.isRunning());
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertFalse(task.isRunning());
+    }
+
+    @Test
+    @DisplayName("Should not consume the budget while the task is queued")
+    void testQueuedTask() throws Exception {
+        executor.execute(() -> {
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        TimedTask<String> queued = new TimedTask<>(() -> "queued");
+        executor.execute(queued);
+
+        assertEquals("queued", queued.getWithin(200, TimeUnit.MILLISECONDS));
+    }
+}
@@ -201,4 +201,25 @@ class XXHash64HashingTest {
         
         assertNotEquals(hash1, hash2, "Hashes should differ due to case difference");
     }
+
+    @Test
+    @DisplayName("Should format hashes as String.format(%016X)")
+    void testHexFormat() {
+        for (long value : new long[] { 0L, 1L, 0xABCL, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 0x0123456789ABCDEFL })
+            assertEquals(String.format("%016X", value), XXHash64Hashing.toHex(value));
+
+        String input = "metadata";
+        assertEquals(String.format("%016X", XXHash64Hashing.calculateHashLong(input)),
+                hashingHelper.calculateHash(input));
+    }
+
+    @Test
+    @DisplayName("Should hash UTF-8 bytes as the equivalent string")
+    void testCalculateHashBytes() {
+        String input = "Título: ação & ñandú";
+        byte[] utf8 = ("xx" + input + "yy").getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        int length = utf8.length - 4;
+
+        assertEquals(hashingHelper.calculateHash(input), hashingHelper.calculateHash(utf8, 2, length));
+    }
 }
@@ -0,0 +1,235 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+package org.lareferencia.core.worker;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lareferencia.core.domain.Network;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("BaseIteratorWorker Tests")
+class BaseIteratorWorkerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private WorkerCheckpointStore store;
+    private SnapshotMetadata snapshotMetadata;
+
+    private static final List<String> RECORDS = List.of("a", "b", "c", "d", "e");
+
+    @BeforeEach
+    void setUp() {
+        store = new WorkerCheckpointStore();
+        ReflectionTestUtils.setField(store, "basePath", tempDir.toString());
+        ReflectionTestUtils.setField(store, "enabled", true);
+
+        Network network = new Network();
+        network.setAcronym("test");
+        snapshotMetadata = new SnapshotMetadata(1L);
+        snapshotMetadata.setNetwork(network);
+    }
+
+    private void saveCheckpoint(long processed, String lastKey) {
+        WorkerCheckpoint checkpoint = store.open(snapshotMetadata, "test", "F", false);
+        checkpoint.setProcessed(processed);
+        checkpoint.setLastKey(lastKey);
+        store.save(checkpoint);
+    }
+
+    private TestWorker newWorker() {
+        TestWorker worker = new TestWorker();
+        ReflectionTestUtils.setField(worker, "checkpointStore", store);
+        worker.setPageSize(2);
+        worker.setResume(true);
+        return worker;
+    }
+
+    @Test
+    @DisplayName("Should resume after the checkpointed records")
+    void testResume() {
+        saveCheckpoint(2, "b");
+        TestWorker worker = newWorker();
+
+        worker.run();
+
+        assertEquals(List.of("c", "d", "e"), worker.processed);
+        assertFalse(worker.restarted);
+        assertTrue(worker.finished);
+        assertNull(store.load(snapshotMetadata, "test"));
+    }
+
+    @Test
+    @DisplayName("Should restart from the first record when the records changed since the checkpoint")
+    void testStaleCheckpoint() {
+        saveCheckpoint(2, "x");
+        TestWorker worker = newWorker();
+
+        worker.run();
+
+        assertTrue(worker.restarted);
+        assertEquals(RECORDS, worker.processed);
+        assertTrue(worker.finished);
+        assertNull(store.load(snapshotMetadata, "test"));
+    }
+
+    @Test
+    @DisplayName("Should not resume the checkpoint of a worker that cannot restart its records")
+    void testNotRestartable() {
+        saveCheckpoint(2, "b");
+        SequentialWorker worker = new SequentialWorker();
+        ReflectionTestUtils.setField(worker, "checkpointStore", store);
+        worker.setPageSize(2);
+        worker.setResume(true);
+
+        worker.run();
+
+        assertEquals(RECORDS, worker.processed);
+        assertTrue(worker.finished);
+        assertNull(store.load(snapshotMetadata, "test"));
+    }
+
+    @Test
+    @DisplayName("Should keep the checkpoint of a run stopped from outside")
+    void testExternalStop() {
+        TestWorker worker = newWorker();
+        worker.setResume(false);
+        worker.stopAt = "c";
+
+        worker.run();
+
+        assertTrue(worker.interrupted);
+        assertFalse(worker.finished);
+        assertEquals(2, store.load(snapshotMetadata, "test").getProcessed());
+    }
+
+    @Test
+    @DisplayName("Should finish a run stopped by an error and discard its checkpoint")
+    void testStopOnError() {
+        TestWorker worker = newWorker();
+        worker.setResume(false);
+        worker.failAt = "c";
+
+        worker.run();
+
+        assertFalse(worker.interrupted);
+        assertTrue(worker.finished);
+        assertNull(store.load(snapshotMetadata, "test"));
+    }
+
+    private class SequentialWorker extends BaseIteratorWorker<String, NetworkRunningContext> {
+
+        final List<String> processed = new ArrayList<>();
+        boolean finished;
+
+        @Override
+        protected void preRun() {
+            openCheckpoint(snapshotMetadata, "test", "F");
+            setIterator(RECORDS.iterator(), RECORDS.size());
+        }
+
+        @Override
+        public void prePage() {
+        }
+
+        @Override
+        public void postPage() {
+        }
+
+        @Override
+        public void processItem(String record) {
+            processed.add(record);
+        }
+
+        @Override
+        protected void postRun() {
+            finished = true;
+        }
+
+        @Override
+        protected String getCheckpointKey(String record) {
+            return record;
+        }
+    }
+
+    private class TestWorker extends BaseIteratorWorker<String, NetworkRunningContext> implements IRestartableWorker {
+
+        final List<String> processed = new ArrayList<>();
+        boolean restarted;
+        boolean finished;
+        boolean interrupted;
+        String stopAt;
+        String failAt;
+
+        @Override
+        protected void preRun() {
+            openCheckpoint(snapshotMetadata, "test", "F");
+            setIterator(RECORDS.iterator(), RECORDS.size());
+        }
+
+        @Override
+        public void prePage() {
+        }
+
+        @Override
+        public void postPage() {
+        }
+
+        @Override
+        public void processItem(String record) {
+            processed.add(record);
+            if (record.equals(stopAt))
+                stop();
+            if (record.equals(failAt))
+                stopOnError();
+        }
+
+        @Override
+        protected void postRun() {
+            finished = true;
+        }
+
+        @Override
+        protected void postInterrupted() {
+            interrupted = true;
+        }
+
+        @Override
+        public void restartFromFirstRecord() {
+            restarted = true;
+            processed.clear();
+            setIterator(RECORDS.iterator(), RECORDS.size());
+        }
+
+        @Override
+        protected String getCheckpointKey(String record) {
+            return record;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lareferencia.core.domain.Network;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("WorkerCheckpointStore Tests")
+class WorkerCheckpointStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private WorkerCheckpointStore store;
+    private SnapshotMetadata snapshotMetadata;
+
+    @BeforeEach
+    void setUp() {
+        store = new WorkerCheckpointStore();
+        ReflectionTestUtils.setField(store, "basePath", tempDir.toString());
+        ReflectionTestUtils.setField(store, "enabled", true);
+
+        Network network = new Network();
+        network.setAcronym("test");
+        snapshotMetadata = new SnapshotMetadata(1L);
+        snapshotMetadata.setNetwork(network);
+    }
+
+    private WorkerCheckpoint saveCheckpoint(String fingerprint) {
+        WorkerCheckpoint checkpoint = store.open(snapshotMetadata, "validation", fingerprint, false);
+        checkpoint.setProcessed(2000);
+        checkpoint.setPage(2);
+        checkpoint.setLastKey("abc");
+        checkpoint.setState("{\"totalRecords\":2000,\"facets\":{\"a=b\":{\"ñ\":1}}}");
+        checkpoint.setCounter("valid", 1500);
+        store.save(checkpoint);
+        return checkpoint;
+    }
+
+    @Test
+    @DisplayName("Should resume a saved checkpoint with the same fingerprint")
+    void testResume() {
+        WorkerCheckpoint saved = saveCheckpoint("F1");
+        assertTrue(Files.exists(saved.getPath()));
+        assertFalse(Files.exists(saved.getPath().resolveSibling("validation.properties.tmp")));
+
+        WorkerCheckpoint resumed = store.open(snapshotMetadata, "validation", "F1", true);
+
+        assertTrue(resumed.isResumed());
+        assertEquals(2000, resumed.getProcessed());
+        assertEquals(2, resumed.getPage());
+        assertEquals("abc", resumed.getLastKey());
+        assertEquals(saved.getState(), resumed.getState());
+        assertEquals(1500, resumed.getCounter("valid"));
+        assertEquals(0, resumed.getCounter("transformed"));
+        assertNotNull(resumed.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("Should discard the checkpoint when not resuming or the configuration changed")
+    void testDiscard() {
+        saveCheckpoint("F1");
+
+        WorkerCheckpoint changed = store.open(snapshotMetadata, "validation", "F2", true);
+        assertFalse(changed.isResumed());
+        assertEquals(0, changed.getProcessed());
+        assertNull(store.load(snapshotMetadata, "validation"));
+
+        saveCheckpoint("F1");
+
+        WorkerCheckpoint restarted = store.open(snapshotMetadata, "validation", "F1", false);
+        assertFalse(restarted.isResumed());
+        assertNull(store.load(snapshotMetadata, "validation"));
+    }
+
+    @Test
+    @DisplayName("Should keep checkpoints by name and delete them")
+    void testNamesAndDelete() {
+        saveCheckpoint("F1");
+        WorkerCheckpoint indexer = store.open(snapshotMetadata, "indexer-xoai/solr", "S", false);
+        indexer.setPage(7);
+        store.save(indexer);
+
+        assertEquals(7, store.load(snapshotMetadata, "indexer-xoai/solr").getPage());
+        assertEquals(2, store.load(snapshotMetadata, "validation").getPage());
+
+        store.delete(indexer);
+        assertNull(store.load(snapshotMetadata, "indexer-xoai/solr"));
+        assertNotNull(store.load(snapshotMetadata, "validation"));
+    }
+
+    @Test
+    @DisplayName("Should not open checkpoints when disabled")
+    void testDisabled() {
+        ReflectionTestUtils.setField(store, "enabled", false);
+
+        assertNull(store.open(snapshotMetadata, "validation", "F1", true));
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.harvesting;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+@DisplayName("BitstreamDownloader Tests")
+class BitstreamDownloaderTest {
+
+    private static final byte[] CONTENT = "%PDF-1.4 bitstream content used by the local HTTP stub"
+            .getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicReference<String> lastRange = new AtomicReference<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BitstreamDownloader downloader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/file.pdf", this::serveContent);
+        server.createContext("/redirect1", exchange -> redirect(exchange, "/redirect2"));
+        server.createContext("/redirect2", exchange -> redirect(exchange, "/file.pdf"));
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.createContext("/stalled", this::serveStalled);
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        downloader = new BitstreamDownloader(5000, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should download and verify checksum")
+    void testDownloadWithChecksum() throws Exception {
+        Path target = tempDir.resolve("a");
+
+        downloader.download(baseUrl + "/file.pdf", target, DigestUtils.md5Hex(CONTENT));
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(target));
+        assertFalse(Files.exists(tempDir.resolve("a" + BitstreamDownloader.PARTIAL_SUFFIX)));
+        assertNull(lastRange.get());
+    }
+
+    @Test
+    @DisplayName("Should follow multiple redirect hops")
+    void testRedirectChain() throws Exception {
+        Path target = tempDir.resolve("b");
+
+        downloader.download(baseUrl + "/redirect1", target, null);
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(target));
+    }
+
+    @Test
+    @DisplayName("Should resume a partial download with a Range request")
+    void testResume() throws Exception {
+        Path target = tempDir.resolve("c");
+        Files.write(tempDir.resolve("c" + BitstreamDownloader.PARTIAL_SUFFIX), Arrays.copyOf(CONTENT, 10));
+
+        downloader.download(baseUrl + "/file.pdf", target, DigestUtils.md5Hex(CONTENT));
+
+        assertEquals("bytes=10-", lastRange.get());
+        assertArrayEquals(CONTENT, Files.readAllBytes(target));
+    }
+
+    @Test
+    @DisplayName("Should fail and discard content on checksum mismatch")
+    void testChecksumMismatch() {
+        Path target = tempDir.resolve("d");
+
+        assertThrows(DowloaderException.class,
+                () -> downloader.download(baseUrl + "/file.pdf", target, DigestUtils.md5Hex("other")));
+
+        assertFalse(Files.exists(target));
+        assertFalse(Files.exists(tempDir.resolve("d" + BitstreamDownloader.PARTIAL_SUFFIX)));
+    }
+
+    @Test
+    @DisplayName("Should not verify checksums derived from the URL")
+    void testUrlDerivedChecksumIsIgnored() throws Exception {
+        String url = baseUrl + "/file.pdf";
+        Path target = tempDir.resolve("e");
+
+        downloader.download(url, target, DigestUtils.md5Hex(url));
+
+        assertArrayEquals(CONTENT, Files.readAllBytes(target));
+    }
+
+    @Test
+    @DisplayName("Should fail on HTTP error status")
+    void testHttpError() {
+        assertThrows(DowloaderException.class,
+                () -> downloader.download(baseUrl + "/missing", tempDir.resolve("f"), null));
+    }
+
+    @Test
+    @DisplayName("Should fail when the server stops sending the body")
+    void testReadTimeout() {
+        BitstreamDownloader fast = new BitstreamDownloader(200, 60000, 2);
+        Path target = tempDir.resolve("g");
+
+        long start = System.nanoTime();
+        assertThrows(DowloaderException.class, () -> fast.download(baseUrl + "/stalled", target, null));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    @DisplayName("Should fail when the transfer exceeds its time limit")
+    void testTransferTimeout() {
+        BitstreamDownloader limited = new BitstreamDownloader(60000, 300, 2);
+
+        long start = System.nanoTime();
+        assertThrows(DowloaderException.class, () -> limited.download(baseUrl + "/stalled", tempDir.resolve("h"), null));
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    private void serveStalled(HttpExchange exchange) throws IOException {
+        exchange.sendResponseHeaders(200, CONTENT.length);
+        OutputStream os = exchange.getResponseBody();
+        os.write(CONTENT, 0, 10);
+        os.flush();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.close();
+    }
+
+    private void serveContent(HttpExchange exchange) throws IOException {
+        String range = exchange.getRequestHeaders().getFirst("Range");
+        lastRange.set(range);
+
+        byte[] body = CONTENT;
+        int status = 200;
+        if (range != null && range.startsWith("bytes=")) {
+            int offset = Integer.parseInt(range.substring(6, range.length() - 1));
+            body = Arrays.copyOfRange(CONTENT, offset, CONTENT.length);
+            status = 206;
+            exchange.getResponseHeaders().add("Content-Range",
+                    "bytes " + offset + "-" + (CONTENT.length - 1) + "/" + CONTENT.length);
+        }
+
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().add("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+        exchange.close();
+    }
+}
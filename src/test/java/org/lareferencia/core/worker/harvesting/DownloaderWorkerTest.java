@@ -25,8 +25,27 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.lareferencia.core.worker.NetworkRunningContext;
 import org.lareferencia.core.domain.Network;
+import org.lareferencia.core.domain.OAIBitstream;
+import org.lareferencia.core.domain.OAIBitstreamId;
+import org.lareferencia.core.domain.OAIBitstreamStatus;
+import org.lareferencia.core.repository.jpa.OAIBitstreamRepository;
+import org.lareferencia.core.util.TimedTask;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 @DisplayName("DownloaderWorker Tests")
 class DownloaderWorkerTest {
@@ -172,6 +191,143 @@ class DownloaderWorkerTest {
         assertEquals("/data/downloads", worker.getTargetDirectory());
     }
 
+    @Test
+    @DisplayName("Incremental runs should select new and retryable failed bitstreams")
+    void testIncrementalRetriesFailed() {
+        OAIBitstreamRepository repository = mock(OAIBitstreamRepository.class);
+        Page<OAIBitstream> empty = new PageImpl<>(List.of());
+        when(repository.findPendingDownload(anyLong(), any(), any(), anyInt(), any(), any(Pageable.class))).thenReturn(empty);
+
+        NetworkRunningContext context = createMockContext();
+        ReflectionTestUtils.setField(context.getNetwork(), "id", 1L);
+        ReflectionTestUtils.setField(worker, "repository", repository);
+        worker.setRunningContext(context);
+        worker.setIncremental(true);
+        worker.setMaxAttempts(5);
+        worker.setRetryDelayMinutes(30);
+
+        long start = System.currentTimeMillis();
+        worker.preRun();
+        worker.stop();
+
+        verify(repository).findPendingDownload(eq(1L), eq(OAIBitstreamStatus.NEW), eq(OAIBitstreamStatus.FAILED), eq(5),
+                argThat((Date date) -> date.getTime() <= start - 30 * 60 * 1000L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should count failed attempts and reset them on success")
+    void testAttempts() {
+        OAIBitstreamRepository repository = mock(OAIBitstreamRepository.class);
+        ReflectionTestUtils.setField(worker, "bitstreamRepository", repository);
+
+        OAIBitstream failed = new OAIBitstream();
+        failed.setStatus(OAIBitstreamStatus.FAILED);
+        failed.setAttempts(1);
+        OAIBitstream downloaded = new OAIBitstream();
+        downloaded.setStatus(OAIBitstreamStatus.FAILED);
+        downloaded.setAttempts(2);
+
+        List<TimedTask<Boolean>> downloads = new ArrayList<>();
+        downloads.add(completed(false));
+        downloads.add(completed(true));
+        ReflectionTestUtils.setField(worker, "pageBitstreams", new ArrayList<>(List.of(failed, downloaded)));
+        ReflectionTestUtils.setField(worker, "pageDownloads", downloads);
+
+        worker.postPage();
+
+        assertEquals(OAIBitstreamStatus.FAILED, failed.getStatus());
+        assertEquals(2, failed.getAttempts());
+        assertNotNull(failed.getLastAttempt());
+        assertEquals(OAIBitstreamStatus.DOWNLOADED, downloaded.getStatus());
+        assertEquals(0, downloaded.getAttempts());
+        verify(repository).saveAll(anyList());
+    }
+
+    @Test
+    @DisplayName("Should cancel and fail a download exceeding the transfer timeout")
+    void testDownloadTimeout() throws Exception {
+        OAIBitstreamRepository repository = mock(OAIBitstreamRepository.class);
+        ReflectionTestUtils.setField(worker, "bitstreamRepository", repository);
+        worker.setTimeOut(0);
+        worker.setTransferTimeOut(100);
+
+        CountDownLatch started = new CountDownLatch(1);
+        TimedTask<Boolean> stalled = new TimedTask<>(() -> {
+            started.countDown();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            return true;
+        });
+        Thread thread = new Thread(stalled);
+        thread.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        OAIBitstream bitstream = new OAIBitstream();
+        ReflectionTestUtils.setField(worker, "pageBitstreams", new ArrayList<>(List.of(bitstream)));
+        ReflectionTestUtils.setField(worker, "pageDownloads", new ArrayList<>(List.of(stalled)));
+
+        worker.postPage();
+
+        assertTrue(stalled.isCancelled());
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+        assertFalse(thread.isAlive());
+        assertEquals(OAIBitstreamStatus.FAILED, bitstream.getStatus());
+        assertEquals(1, bitstream.getAttempts());
+    }
+
+    @Test
+    @DisplayName("Should download bitstreams of a page sharing a checksum once")
+    void testSameChecksumDownloadedOnce() {
+        ExecutorService executor = mock(ExecutorService.class);
+        ReflectionTestUtils.setField(worker, "executor", executor);
+        Network network = createMockContext().getNetwork();
+
+        OAIBitstream first = new OAIBitstream();
+        first.setId(new OAIBitstreamId(network, "oai:test:1", "abc"));
+        OAIBitstream second = new OAIBitstream();
+        second.setId(new OAIBitstreamId(network, "oai:test:2", "abc"));
+        OAIBitstream other = new OAIBitstream();
+        other.setId(new OAIBitstreamId(network, "oai:test:3", "def"));
+
+        worker.prePage();
+        worker.processItem(first);
+        worker.processItem(second);
+        worker.processItem(other);
+
+        verify(executor, times(2)).execute(any(Runnable.class));
+        @SuppressWarnings("unchecked")
+        List<TimedTask<Boolean>> downloads = (List<TimedTask<Boolean>>) ReflectionTestUtils.getField(worker, "pageDownloads");
+        assertEquals(3, downloads.size());
+        assertSame(downloads.get(0), downloads.get(1));
+        assertNotSame(downloads.get(0), downloads.get(2));
+    }
+
+    @Test
+    @DisplayName("Should ignore items processed after a concurrent stop")
+    void testProcessItemAfterStop() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ReflectionTestUtils.setField(worker, "executor", executor);
+        NetworkRunningContext context = createMockContext();
+        worker.setRunningContext(context);
+        Network network = context.getNetwork();
+
+        OAIBitstream bitstream = new OAIBitstream();
+        bitstream.setId(new OAIBitstreamId(network, "oai:test:1", "abc"));
+
+        worker.prePage();
+        worker.stop();
+
+        assertDoesNotThrow(() -> worker.processItem(bitstream));
+        assertSame(executor, ReflectionTestUtils.getField(worker, "executor"));
+        assertTrue(executor.isShutdown());
+        assertTrue(((List<?>) ReflectionTestUtils.getField(worker, "pageDownloads")).isEmpty());
+    }
+
+    private static TimedTask<Boolean> completed(boolean result) {
+        TimedTask<Boolean> task = new TimedTask<>(() -> result);
+        task.run();
+        return task;
+    }
+
     // Helper method to create mock context without heavy dependencies
     private NetworkRunningContext createMockContext() {
         Network network = new Network();
@@ -0,0 +1,218 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+package org.lareferencia.core.worker.harvesting;
+
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lareferencia.core.domain.Network;
+import org.lareferencia.core.domain.OAIBitstream;
+import org.lareferencia.core.domain.OAIBitstreamId;
+import org.lareferencia.core.repository.jpa.OAIBitstreamRepository;
+import org.lareferencia.core.util.TimedTask;
+import org.lareferencia.core.worker.NetworkRunningContext;
+import org.lareferencia.core.worker.WorkerRuntimeException;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("FulltextWorker Tests")
+class FulltextWorkerTest {
+
+    @TempDir
+    Path bitstreamPath;
+
+    private FulltextWorker worker;
+    private final CountDownLatch release = new CountDownLatch(1);
+    private OAIBitstreamRepository repository;
+    private Network network;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OAIBitstreamRepository.class);
+        when(repository.findByNetworkId(anyLong(), any(Pageable.class))).thenReturn(new PageImpl<>(List.of()));
+
+        network = new Network();
+        network.setAcronym("TEST");
+        ReflectionTestUtils.setField(network, "id", 1L);
+
+        worker = new FulltextWorker();
+        worker.setRunningContext(new NetworkRunningContext(network));
+        ReflectionTestUtils.setField(worker, "repository", repository);
+        ReflectionTestUtils.setField(worker, "bitstreamRepository", repository);
+        ReflectionTestUtils.setField(worker, "BITSTREAM_PATH", bitstreamPath.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        worker.stop();
+    }
+
+    @Test
+    @DisplayName("Should extract on a pool bounded by extractionThreads")
+    void testBoundedPool() {
+        worker.setExtractionThreads(3);
+        worker.preRun();
+
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(worker, "executor");
+        assertEquals(3, executor.getCorePoolSize());
+        assertEquals(3, executor.getMaximumPoolSize());
+    }
+
+    @Test
+    @DisplayName("Should register the parser in the context to parse embedded documents")
+    void testParseContext() {
+        ParseContext context = ReflectionTestUtils.invokeMethod(FulltextWorker.class, "newParseContext");
+        assertSame(ReflectionTestUtils.getField(FulltextWorker.class, "PARSER"), context.get(Parser.class));
+    }
+
+    @Test
+    @DisplayName("Should skip files larger than maxFileSize")
+    void testMaxFileSize() throws Exception {
+        worker.setMaxFileSize(10);
+        worker.preRun();
+        worker.prePage();
+
+        worker.processItem(bitstream("large", "a text longer than ten bytes"));
+        worker.postPage();
+
+        verify(repository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should save the extracted texts of a page in one batch")
+    void testBatchedSave() throws Exception {
+        worker.setExtractionThreads(2);
+        worker.preRun();
+        worker.prePage();
+
+        OAIBitstream first = bitstream("first", "first text");
+        OAIBitstream second = bitstream("second", "second text");
+        worker.processItem(first);
+        worker.processItem(second);
+        worker.postPage();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OAIBitstream>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(1)).saveAll(saved.capture());
+        assertEquals(List.of(first, second), saved.getValue());
+        assertNotNull(first.getFulltext());
+        assertNotNull(second.getFulltext());
+    }
+
+    @Test
+    @DisplayName("Should abandon an extraction exceeding the timeout and replace the pool")
+    void testExtractionTimeout() {
+        worker.setExtractionTimeout(1);
+        worker.preRun();
+        worker.prePage();
+
+        Object executor = ReflectionTestUtils.getField(worker, "executor");
+        TimedTask<String> stuck = pendingStuckExtraction("stuck", false);
+
+        worker.postPage();
+
+        assertTrue(stuck.isCancelled());
+        assertNotSame(executor, ReflectionTestUtils.getField(worker, "executor"));
+        verify(repository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Should fail once too many abandoned extractions keep running")
+    void testAbandonedExtractionLimit() {
+        worker.setExtractionTimeout(1);
+        worker.setMaxAbandonedExtractions(0);
+        worker.preRun();
+        worker.prePage();
+
+        TimedTask<String> stuck = pendingStuckExtraction("spinning", true);
+
+        assertThrows(WorkerRuntimeException.class, () -> worker.postPage());
+        assertTrue(stuck.isCancelled());
+        assertTrue(stuck.isRunning());
+    }
+
+    @Test
+    @DisplayName("Should keep the shut down pool after a concurrent stop")
+    void testProcessItemAfterStop() throws Exception {
+        worker.preRun();
+        worker.prePage();
+        Object executor = ReflectionTestUtils.getField(worker, "executor");
+
+        worker.stop();
+        OAIBitstream bitstream = bitstream("late", "late text");
+
+        assertDoesNotThrow(() -> worker.processItem(bitstream));
+        ReflectionTestUtils.invokeMethod(worker, "replaceExecutor");
+        assertSame(executor, ReflectionTestUtils.getField(worker, "executor"));
+        assertTrue(((ThreadPoolExecutor) executor).isShutdown());
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(worker, "pendingExtractions")).isEmpty());
+    }
+
+    /**
+     * Adds to the page an extraction blocked until the end of the test, ignoring interruptions if requested.
+     */
+    private TimedTask<String> pendingStuckExtraction(String checksum, boolean ignoreInterrupt) {
+        TimedTask<String> stuck = new TimedTask<>(() -> {
+            while (true) {
+                try {
+                    release.await();
+                    return "late";
+                } catch (InterruptedException e) {
+                    if (!ignoreInterrupt)
+                        throw e;
+                }
+            }
+        });
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(worker, "executor");
+        executor.execute(stuck);
+
+        @SuppressWarnings("unchecked")
+        Map<OAIBitstream, TimedTask<String>> pending = (Map<OAIBitstream, TimedTask<String>>) ReflectionTestUtils.getField(worker, "pendingExtractions");
+        OAIBitstream bitstream = new OAIBitstream();
+        bitstream.setId(new OAIBitstreamId(network, "oai:test:" + checksum, checksum));
+        pending.put(bitstream, stuck);
+        return stuck;
+    }
+
+    private OAIBitstream bitstream(String checksum, String content) throws Exception {
+        Files.writeString(bitstreamPath.resolve(checksum), content);
+        OAIBitstream bitstream = new OAIBitstream();
+        bitstream.setId(new OAIBitstreamId(network, "oai:test:" + checksum, checksum));
+        return bitstream;
+    }
+}
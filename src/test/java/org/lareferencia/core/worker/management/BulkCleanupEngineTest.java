@@ -0,0 +1,151 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+package org.lareferencia.core.worker.management;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lareferencia.core.domain.Network;
+import org.lareferencia.core.metadata.MetadataStoreFSImpl;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.repository.catalog.OAIRecordCatalogRepository;
+import org.lareferencia.core.repository.validation.RecordValidationRepository;
+import org.lareferencia.core.util.HashFingerprintSet;
+import org.lareferencia.core.util.PathUtils;
+import org.lareferencia.core.util.hashing.XXHash64Hashing;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@DisplayName("BulkCleanupEngine Tests")
+class BulkCleanupEngineTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MetadataStoreFSImpl store;
+    private OAIRecordCatalogRepository catalogRepository;
+    private RecordValidationRepository validationRepository;
+    private Network network;
+    private SnapshotMetadata snapshot;
+
+    @BeforeEach
+    void setUp() {
+        store = new MetadataStoreFSImpl();
+        ReflectionTestUtils.setField(store, "basePath", tempDir.toString());
+        ReflectionTestUtils.setField(store, "hashing", new XXHash64Hashing());
+        store.init();
+
+        network = new Network();
+        network.setAcronym("TEST");
+        snapshot = new SnapshotMetadata();
+        snapshot.setSnapshotId(1L);
+        snapshot.setNetwork(network);
+
+        catalogRepository = mock(OAIRecordCatalogRepository.class);
+        validationRepository = mock(RecordValidationRepository.class);
+    }
+
+    private BulkCleanupEngine engine(int maxOperationsPerSecond) {
+        return new BulkCleanupEngine(store, catalogRepository, validationRepository, tempDir.toString(), 3,
+                maxOperationsPerSecond, false);
+    }
+
+    private static Long feed(List<String> hashes, Consumer<String> consumer) {
+        hashes.forEach(consumer);
+        return (long) hashes.size();
+    }
+
+    @Test
+    @DisplayName("Should delete only the metadata not referenced by the retained snapshots")
+    void testSweepKeepsReferencedMetadata() throws Exception {
+        List<String> hashes = new ArrayList<>();
+        for (int i = 0; i < 2500; i++)
+            hashes.add(store.storeAndReturnHash(snapshot, "<metadata><field>" + i + "</field></metadata>"));
+
+        List<String> catalog = hashes.subList(0, 100);
+        List<String> published = hashes.subList(2400, 2410);
+        when(catalogRepository.forEachMetadataHash(eq(snapshot), any()))
+                .thenAnswer(invocation -> feed(catalog, invocation.<Consumer<String>>getArgument(1)));
+        when(validationRepository.forEachPublishedMetadataHash(eq(snapshot), any()))
+                .thenAnswer(invocation -> feed(published, invocation.<Consumer<String>>getArgument(1)));
+
+        BulkCleanupEngine engine = engine(0);
+        HashFingerprintSet referenced = engine.markReferencedHashes(List.of(snapshot));
+        BulkCleanupEngine.Result result = engine.sweepMetadata(snapshot, referenced);
+
+        assertEquals(110, referenced.size());
+        assertEquals(2500, result.getScanned());
+        assertEquals(2390, result.getDeleted());
+        assertEquals(0, result.getFailed());
+        assertNull(engine.getProgress());
+
+        List<String> remaining = new ArrayList<>();
+        store.forEachHash(snapshot, remaining::add);
+        assertEquals(110, remaining.size());
+        for (String hash : catalog)
+            assertNotNull(store.getMetadata(snapshot, hash));
+        for (String hash : published)
+            assertNotNull(store.getMetadata(snapshot, hash));
+    }
+
+    @Test
+    @DisplayName("Should delete all the metadata with an empty referenced set")
+    void testSweepAll() throws Exception {
+        for (int i = 0; i < 50; i++)
+            store.storeAndReturnHash(snapshot, "<metadata>" + i + "</metadata>");
+
+        BulkCleanupEngine.Result result = engine(0).sweepMetadata(snapshot, new HashFingerprintSet());
+
+        assertEquals(50, result.getDeleted());
+        List<String> remaining = new ArrayList<>();
+        store.forEachHash(snapshot, remaining::add);
+        assertTrue(remaining.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should delete the snapshot directories and skip missing ones")
+    void testDeleteSnapshotDirectories() throws Exception {
+        Path directory = Path.of(PathUtils.getSnapshotPath(tempDir.toString(), snapshot));
+        Files.createDirectories(directory.resolve("catalog"));
+        Files.createDirectories(directory.resolve("validation"));
+        for (int i = 0; i < 20; i++)
+            Files.writeString(directory.resolve(i % 2 == 0 ? "catalog" : "validation").resolve("f" + i), "x");
+
+        SnapshotMetadata missing = new SnapshotMetadata();
+        missing.setSnapshotId(2L);
+        missing.setNetwork(network);
+
+        BulkCleanupEngine.Result result = engine(0).deleteSnapshotDirectories(List.of(snapshot, missing));
+
+        assertFalse(Files.exists(directory));
+        assertEquals(20, result.getDeleted());
+        assertEquals(0, result.getFailed());
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lareferencia.core.metadata.OAIRecordMetadata;
+import org.lareferencia.core.repository.validation.SnapshotValidationStats.RuleProfile;
+import org.lareferencia.core.worker.validation.RuleProfiler.RuleMetrics;
+
+@DisplayName("RuleProfiler Tests")
+class RuleProfilerTest {
+
+    private static class FixedResultRule extends AbstractValidatorRule {
+        private final boolean valid;
+
+        FixedResultRule(Long ruleId, boolean valid) {
+            this.valid = valid;
+            setRuleId(ruleId);
+        }
+
+        @Override
+        public ValidatorRuleResult validate(OAIRecordMetadata metadata) {
+            return new ValidatorRuleResult(this, valid, new ArrayList<>());
+        }
+    }
+
+    @Test
+    @DisplayName("Should record invocations and hits of each validator rule")
+    void testValidatorProfiles() throws ValidationException {
+        RuleProfiler profiler = new RuleProfiler();
+        ValidatorImpl validator = new ValidatorImpl();
+        validator.getRules().add(new FixedResultRule(2L, false));
+        validator.getRules().add(new FixedResultRule(1L, true));
+        validator.setRuleProfiler(profiler);
+
+        ValidatorResult result = new ValidatorResult();
+        for (int i = 0; i < 3; i++)
+            validator.validate(null, result);
+
+        Map<Long, RuleProfile> profiles = profiler.getValidatorProfiles();
+        assertArrayEquals(new Long[] { 1L, 2L }, profiles.keySet().toArray());
+
+        RuleProfile valid = profiles.get(1L);
+        assertEquals(FixedResultRule.class.getName(), valid.getRuleClass());
+        assertEquals(3L, valid.getInvocations());
+        assertEquals(3L, valid.getHits());
+        assertEquals(1.0, valid.getHitRate());
+
+        RuleProfile invalid = profiles.get(2L);
+        assertEquals(3L, invalid.getInvocations());
+        assertEquals(0L, invalid.getHits());
+        assertEquals(0.0, invalid.getHitRate());
+
+        assertTrue(profiler.getTransformerProfiles().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not profile when no profiler is set")
+    void testDisabled() throws ValidationException {
+        ValidatorImpl validator = new ValidatorImpl();
+        validator.getRules().add(new FixedResultRule(1L, true));
+
+        assertTrue(validator.validate(null, new ValidatorResult()).isValid());
+        assertNull(validator.getRuleProfiler());
+    }
+
+    @Test
+    @DisplayName("Should estimate percentiles within the bucket resolution")
+    void testPercentiles() {
+        RuleMetrics metrics = new RuleProfiler().metricsFor(new FixedResultRule(null, true));
+        assertEquals(RuleProfiler.UNSAVED_RULE_ID, metrics.getRuleId());
+        assertEquals(0L, metrics.percentileNanos(50));
+
+        for (long nanos = 1; nanos <= 1000; nanos++)
+            metrics.record(nanos * 1000, false);
+
+        assertEquals(1000, metrics.getInvocations());
+        assertEquals(1000000L, metrics.getMaxNanos());
+        assertEquals(500000.0, metrics.percentileNanos(50), 500000 * 0.125);
+        assertEquals(990000.0, metrics.percentileNanos(99), 990000 * 0.125);
+        assertTrue(metrics.percentileNanos(100) <= metrics.getMaxNanos());
+    }
+
+    @Test
+    @DisplayName("Should map every duration to a bucket containing it")
+    void testBuckets() {
+        for (long nanos : new long[] { 0, 1, 3, 4, 7, 8, 1000, 123456789L, Long.MAX_VALUE }) {
+            long midpoint = RuleMetrics.midpoint(RuleMetrics.bucket(nanos));
+            assertTrue(Math.abs(midpoint - nanos) <= Math.max(1, nanos / 8), "duration " + nanos);
+        }
+    }
+}
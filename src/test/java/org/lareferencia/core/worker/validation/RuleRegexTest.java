@@ -0,0 +1,76 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RuleRegex Tests")
+class RuleRegexTest {
+
+    @Test
+    @DisplayName("Should behave like the String regex methods")
+    void testStringEquivalence() {
+        RuleRegex regex = new RuleRegex("^handle:(.+)$");
+        String input = "handle:10915/1234";
+
+        assertEquals(input.replaceFirst("^handle:(.+)$", "https://hdl.handle.net/$1"),
+                regex.replaceFirst(input, "https://hdl.handle.net/$1"));
+        assertEquals("a-b-c", new RuleRegex("\\s+").replaceAll("a  b\tc", "-"));
+        assertTrue(regex.matches(input));
+        assertFalse(regex.matches("doi:10.1000/1"));
+        assertEquals("1999", new RuleRegex("[0-9]{4}").find("c. 1999-2000"));
+        assertNull(new RuleRegex("[0-9]{4}").find("s.f."));
+    }
+
+    @Test
+    @DisplayName("Should count evaluations per instance")
+    void testCounters() {
+        RuleRegex first = new RuleRegex("a+");
+        RuleRegex second = new RuleRegex("a+");
+
+        first.matches("aaa");
+        first.matches("b");
+        second.matches("a");
+
+        assertEquals(2, first.getEvaluationCount());
+        assertEquals(1, second.getEvaluationCount());
+        assertTrue(first.getMaxNanos() <= first.getTotalNanos());
+    }
+
+    @Test
+    @DisplayName("Should abort catastrophic backtracking")
+    void testTimeout() {
+        RuleRegex regex = new RuleRegex("(.*a){20}", 100);
+
+        assertThrows(RuleRegex.RegexTimeoutException.class, () -> regex.matches("aaaaaaaaaaaaaaaaaaaaaaaaab"));
+    }
+
+    @Test
+    @DisplayName("Should reject invalid expressions")
+    void testInvalidExpression() {
+        assertThrows(PatternSyntaxException.class, () -> new RuleRegex("[unclosed"));
+    }
+}
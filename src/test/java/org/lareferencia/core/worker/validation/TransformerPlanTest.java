@@ -0,0 +1,176 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.validation;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lareferencia.core.domain.OAIRecord;
+import org.lareferencia.core.metadata.OAIRecordMetadata;
+import org.lareferencia.core.metadata.SnapshotMetadata;
+import org.lareferencia.core.worker.validation.transformer.FieldAddRule;
+import org.lareferencia.core.worker.validation.transformer.FieldContentTranslateRule;
+import org.lareferencia.core.worker.validation.transformer.FieldNameTranslateRule;
+import org.lareferencia.core.worker.validation.transformer.RegexTranslateRule;
+import org.lareferencia.core.worker.validation.transformer.RemoveBlacklistOccrsRule;
+import org.lareferencia.core.worker.validation.transformer.RemoveDuplicateOccrsRule;
+import org.lareferencia.core.worker.validation.transformer.RemoveEmptyOccrsRule;
+import org.springframework.core.io.ClassPathResource;
+
+@DisplayName("TransformerPlan Tests")
+class TransformerPlanTest {
+
+    private static final String SMALL_RECORD = "<metadata>"
+            + "<element name=\"dc\"><element name=\"title\"><element name=\"none\">"
+            + "<field name=\"value\">Only a title</field></element></element></element></metadata>";
+
+    private static final String AUDIENCE_RECORD = "<metadata>"
+            + "<element name=\"dc\"><element name=\"audience\"><element name=\"none\">"
+            + "<field name=\"value\">students</field><field name=\"value\"> </field></element></element>"
+            + "<element name=\"format\"><element name=\"none\">"
+            + "<field name=\"value\">x</field><field name=\"value\">pdf</field></element></element></element></metadata>";
+
+    private List<ITransformerRule> rules;
+
+    @BeforeEach
+    void setUp() {
+        FieldNameTranslateRule renameContributor = new FieldNameTranslateRule();
+        renameContributor.setSourceFieldName("dc.contributor.none");
+        renameContributor.setTargetFieldName("dc.contributor.advisor");
+
+        RemoveEmptyOccrsRule removeEmptyRelations = new RemoveEmptyOccrsRule();
+        removeEmptyRelations.setFieldName("dc.relation.none");
+
+        FieldNameTranslateRule renameAudience = new FieldNameTranslateRule();
+        renameAudience.setSourceFieldName("dc.audience.none");
+        renameAudience.setTargetFieldName("dc.relation.none");
+
+        FieldAddRule addCoverage = new FieldAddRule();
+        addCoverage.setTargetFieldName("dc.coverage.none");
+        addCoverage.setValue("global");
+
+        RemoveDuplicateOccrsRule removeDuplicateCoverage = new RemoveDuplicateOccrsRule();
+        removeDuplicateCoverage.setFieldName("dc.coverage.none");
+
+        FieldContentTranslateRule translateLanguage = new FieldContentTranslateRule();
+        translateLanguage.setTestFieldName("dc.language.none");
+        translateLanguage.setWriteFieldName("dc.language.iso");
+        translateLanguage.setTranslationArray(Arrays.asList(new Translation("Español", "es")));
+
+        RemoveBlacklistOccrsRule removeBlacklistedFormats = new RemoveBlacklistOccrsRule();
+        removeBlacklistedFormats.setFieldName("dc.format.none");
+        removeBlacklistedFormats.setBlacklist(Arrays.asList("x"));
+
+        RegexTranslateRule extractHandle = new RegexTranslateRule();
+        extractHandle.setSourceFieldName("dc.identifier.none");
+        extractHandle.setTargetFieldName("dc.identifier.handle");
+        extractHandle.setRegexSearch("^http://hdl.handle.net/(.*)$");
+        extractHandle.setRegexReplace("$1");
+
+        rules = new ArrayList<ITransformerRule>(Arrays.asList(renameContributor, removeEmptyRelations, renameAudience,
+                addCoverage, removeDuplicateCoverage, translateLanguage, removeBlacklistedFormats, extractHandle));
+        for (int i = 0; i < rules.size(); i++)
+            rules.get(i).setRuleId((long) i + 1);
+    }
+
+    private TransformerImpl newTransformer(boolean planning) {
+        TransformerImpl transformer = new TransformerImpl();
+        transformer.setRules(rules);
+        transformer.setPlanning(planning);
+        return transformer;
+    }
+
+    @Test
+    @DisplayName("Should produce the same records as applying every rule")
+    void testDifferentialEquivalence() throws Exception {
+        String sample = new String(new ClassPathResource("original.xoai.record.xml").getInputStream().readAllBytes(),
+                StandardCharsets.UTF_8);
+
+        TransformerImpl planned = newTransformer(true);
+        TransformerImpl unplanned = newTransformer(false);
+        SnapshotMetadata snapshotMetadata = mock(SnapshotMetadata.class);
+        OAIRecord record = mock(OAIRecord.class);
+
+        for (String xml : Arrays.asList(sample, SMALL_RECORD, AUDIENCE_RECORD)) {
+            OAIRecordMetadata expected = new OAIRecordMetadata("oai:test:1", xml);
+            OAIRecordMetadata actual = new OAIRecordMetadata("oai:test:1", xml);
+
+            boolean expectedTransformed = unplanned.transform(snapshotMetadata, record, expected);
+            boolean actualTransformed = planned.transform(snapshotMetadata, record, actual);
+
+            assertEquals(expectedTransformed, actualTransformed);
+            assertEquals(expected.toString(), actual.toString());
+        }
+
+        TransformerPlan plan = planned.getPlan();
+        assertTrue(plan.getSkippedCount(1) > 0, "absent dc.relation should be skipped");
+        assertEquals(0, plan.getSkippedCount(0) + plan.getSkippedCount(3));
+        assertEquals(0, plan.getSkippedCount(4), "dc.coverage is added by a previous rule");
+        assertEquals(0, unplanned.getPlan().getSkippedCount(1));
+    }
+
+    @Test
+    @DisplayName("Should find the fields present in a record")
+    void testPresentFields() throws Exception {
+        TransformerPlan plan = new TransformerPlan(rules);
+        Set<String> present = plan.presentFields(new OAIRecordMetadata("oai:test:1", AUDIENCE_RECORD));
+
+        assertEquals(Set.of("dc", "dc.audience", "dc.format"), present);
+        assertNull(plan.presentFields(new OAIRecordMetadata("oai:test:1", "<record/>")));
+    }
+
+    @Test
+    @DisplayName("Should compare fields by their first two components")
+    void testFieldKey() {
+        assertEquals("dc.type", TransformerPlan.fieldKey("dc.type.none:value"));
+        assertEquals("dc.type", TransformerPlan.fieldKey("dc.type:value"));
+        assertEquals("repository", TransformerPlan.fieldKey("repository:mail"));
+        assertNull(TransformerPlan.fieldKey("dc.*.none"));
+        assertNull(TransformerPlan.fieldKey(""));
+        assertNull(TransformerPlan.fieldKey(null));
+    }
+
+    @Test
+    @DisplayName("Should group consecutive rules touching disjoint fields")
+    void testGroups() {
+        TransformerPlan plan = new TransformerPlan(rules);
+        List<int[]> groups = plan.getGroups();
+
+        // relation is read by rule 2 and written by rule 3, coverage is written by rule 4 and read by rule 5
+        assertArrayEquals(new int[] { 0, 1 }, groups.get(0));
+        assertArrayEquals(new int[] { 2 }, groups.get(1));
+        assertArrayEquals(new int[] { 3 }, groups.get(2));
+        assertArrayEquals(new int[] { 4, 5, 6, 7 }, groups.get(3));
+        assertEquals(7, plan.getConditionalRuleCount());
+        assertTrue(plan.describe().startsWith("8 rules, 7 conditional on fields, 4 independent groups"));
+        assertTrue(new TransformerPlan(Collections.emptyList()).getGroups().isEmpty());
+    }
+}
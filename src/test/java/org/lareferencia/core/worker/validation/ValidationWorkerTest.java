@@ -23,10 +23,24 @@ package org.lareferencia.core.worker.validation;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
+import org.lareferencia.core.metadata.IMetadataStore;
+import org.lareferencia.core.metadata.ISnapshotStore;
 import org.lareferencia.core.metadata.SnapshotMetadata;
 import org.lareferencia.core.domain.Network;
+import org.lareferencia.core.repository.catalog.OAIRecord;
+import org.lareferencia.core.repository.validation.TransformationCache;
+import org.lareferencia.core.service.management.SnapshotLogService;
+import org.lareferencia.core.service.validation.IValidationStatisticsService;
+import org.lareferencia.core.worker.validation.transformer.RegexTranslateRule;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
 @DisplayName("ValidationWorker Tests")
 class ValidationWorkerTest {
@@ -134,6 +148,82 @@ class ValidationWorkerTest {
     //     assertEquals(1, worker.getPageSize());
     // }
 
+    @Test
+    @DisplayName("Should disable a failing transformation cache and keep transforming")
+    void testTransformationCacheFailure() throws Exception {
+        IMetadataStore metadataStore = mock(IMetadataStore.class);
+        when(metadataStore.getMetadata(any(), anyString())).thenReturn("<metadata/>");
+        ISnapshotStore snapshotStore = mock(ISnapshotStore.class);
+        IValidationStatisticsService statisticsService = mock(IValidationStatisticsService.class);
+        ITransformer transformer = mock(ITransformer.class);
+        TransformationCache.Session session = mock(TransformationCache.Session.class);
+        when(session.get(anyString())).thenThrow(new SQLException("database is locked"));
+
+        ReflectionTestUtils.setField(worker, "metadataStoreService", metadataStore);
+        ReflectionTestUtils.setField(worker, "snapshotStore", snapshotStore);
+        ReflectionTestUtils.setField(worker, "validationStatisticsService", statisticsService);
+        ReflectionTestUtils.setField(worker, "snapshotLogService", mock(SnapshotLogService.class));
+        ReflectionTestUtils.setField(worker, "transformer", transformer);
+        ReflectionTestUtils.setField(worker, "transformationCacheSession", session);
+        ReflectionTestUtils.setField(worker, "reusableValidationResult", new ValidatorResult());
+        ReflectionTestUtils.setField(worker, "snapshotMetadata", createMockContext());
+
+        worker.processItem(record("1"));
+        worker.processItem(record("2"));
+
+        verify(session, times(1)).get(anyString());
+        verify(session).close();
+        verify(transformer, times(2)).transform(any(), any(), any());
+        verify(statisticsService, times(2)).addObservation(any(), any(), any());
+        verify(snapshotStore, never()).finishHarvesting(anyLong());
+        assertNull(ReflectionTestUtils.getField(worker, "transformationCacheSession"));
+    }
+
+    @Test
+    @DisplayName("Should leave an occurrence untransformed when its regex times out, without stopping")
+    void testRegexTimeoutDoesNotStop() throws Exception {
+        IMetadataStore metadataStore = mock(IMetadataStore.class);
+        when(metadataStore.getMetadata(any(), anyString())).thenReturn(
+                "<metadata><element name=\"dc\"><element name=\"title\"><element name=\"none\">"
+                        + "<field name=\"value\">aaaaaaaaaaaaaaaaaaaaaaaaaaaaab</field></element></element></element></metadata>");
+        ISnapshotStore snapshotStore = mock(ISnapshotStore.class);
+        IValidationStatisticsService statisticsService = mock(IValidationStatisticsService.class);
+
+        RegexTranslateRule rule = new RegexTranslateRule();
+        rule.setSourceFieldName("dc.title.none");
+        rule.setTargetFieldName("dc.title.none");
+        rule.setRegexSearch("(.*a){20}");
+        rule.setRegexReplace("x");
+        RuleRegex regex = new RuleRegex("(.*a){20}", 100);
+        ReflectionTestUtils.setField(rule, "regex", regex);
+        TransformerImpl transformer = new TransformerImpl();
+        transformer.setRules(new ArrayList<>(List.of(rule)));
+
+        ReflectionTestUtils.setField(worker, "metadataStoreService", metadataStore);
+        ReflectionTestUtils.setField(worker, "snapshotStore", snapshotStore);
+        ReflectionTestUtils.setField(worker, "validationStatisticsService", statisticsService);
+        ReflectionTestUtils.setField(worker, "snapshotLogService", mock(SnapshotLogService.class));
+        ReflectionTestUtils.setField(worker, "transformer", transformer);
+        ReflectionTestUtils.setField(worker, "reusableValidationResult", new ValidatorResult());
+        ReflectionTestUtils.setField(worker, "snapshotMetadata", createMockContext());
+
+        worker.processItem(record("1"));
+        worker.processItem(record("2"));
+
+        assertEquals(2, regex.getTimeoutCount());
+        verify(metadataStore, never()).storeAndReturnHash(any(), any());
+        verify(statisticsService, times(2)).addObservation(any(), any(), any());
+        verify(snapshotStore, never()).finishHarvesting(anyLong());
+    }
+
+    private OAIRecord record(String id) {
+        OAIRecord record = new OAIRecord();
+        record.setId(id);
+        record.setIdentifier("oai:test:" + id);
+        record.setOriginalMetadataHash("hash" + id);
+        return record;
+    }
+
     // Helper method to create mock context without heavy dependencies
     private SnapshotMetadata createMockContext() {
         Network network = new Network();
@@ -290,4 +290,26 @@ class FieldContentPriorityTranslateRuleTest {
         assertTrue(result);
         verify(metadata).addFieldOcurrence("dc.type", "Article");
     }
+
+    @Test
+    @DisplayName("Should apply the highest priority match among many translations")
+    void testPriorityAmongManyTranslations() {
+        List<Translation> translations = new java.util.ArrayList<>();
+        for (int i = 0; i < 1000; i++)
+            translations.add(new Translation("type" + i, "Type" + i));
+        translations.add(new Translation("article", "Article"));
+        translations.add(new Translation("book", "Book"));
+        rule.setTranslationArray(translations);
+        rule.setReplaceAllMatchingOccurrences(false);
+
+        Node node1 = createMockNode("book");
+        Node node2 = createMockNode("article");
+        when(metadata.getFieldNodes("dc.type")).thenReturn(Arrays.asList(node1, node2));
+
+        boolean result = rule.transform(snapshotMetadata, record, metadata);
+
+        assertTrue(result);
+        verify(metadata).addFieldOcurrence("dc.type", "Article");
+        verify(metadata, never()).addFieldOcurrence("dc.type", "Book");
+    }
 }
@@ -12,6 +12,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.w3c.dom.Node;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -265,4 +266,40 @@ class FieldContentTranslateRuleTest {
         assertFalse(result);
         verify(metadata, never()).addFieldOcurrence(anyString(), anyString());
     }
+
+    @Test
+    @DisplayName("Should apply only the first matching prefix")
+    void testFirstPrefixMatch() {
+        List<Translation> translations = Arrays.asList(
+            new Translation("info:eu-repo/semantics/article", "Artículo"),
+            new Translation("info:eu-repo/semantics/", "Otro")
+        );
+        rule.setTranslationArray(translations);
+        rule.setTestValueAsPrefix(true);
+
+        Node node = createMockNode("info:eu-repo/semantics/article");
+        when(metadata.getFieldNodes("dc.type")).thenReturn(Collections.singletonList(node));
+
+        boolean result = rule.transform(snapshotMetadata, record, metadata);
+
+        assertTrue(result);
+        verify(metadata, times(1)).addFieldOcurrence(eq("dc.type"), anyString());
+        verify(metadata).addFieldOcurrence("dc.type", "Otro");
+    }
+
+    @Test
+    @DisplayName("Should use translations added to the map after the first transform")
+    void testTranslationMapChanges() {
+        rule.setTranslationArray(new ArrayList<>(Arrays.asList(new Translation("article", "Artículo"))));
+
+        Node node = createMockNode("book");
+        when(metadata.getFieldNodes("dc.type")).thenReturn(Collections.singletonList(node));
+
+        assertFalse(rule.transform(snapshotMetadata, record, metadata));
+
+        rule.getTranslationMap().put("BOOK", "Libro");
+
+        assertTrue(rule.transform(snapshotMetadata, record, metadata));
+        verify(metadata).addFieldOcurrence("dc.type", "Libro");
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.validation.validator;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lareferencia.core.metadata.OAIRecordMetadata;
+import org.lareferencia.core.worker.validation.QuantifierValues;
+
+@DisplayName("CompiledFieldExpression Tests")
+class CompiledFieldExpressionTest {
+
+    private static final String[] EXPRESSIONS = {
+            "dc.type=='article'",
+            "dc.identifier=%'http://.*'",
+            "dc.type=='article' AND dc.language=='en'",
+            "dc.type=='article' OR dc.type=='book'",
+            "NOT dc.type=='article'",
+            "( dc.type=='article' AND dc.language=='en' ) OR dc.rights=='open'",
+            "dc.missing=='x' OR ( dc.type=%'b.*' AND NOT dc.language=='es' )",
+            "dc.type=='article' AND dc.missing=='x' AND dc.other=='y'"
+    };
+
+    private OAIRecordMetadata metadata;
+
+    @BeforeEach
+    void setUp() {
+        metadata = mock(OAIRecordMetadata.class);
+        when(metadata.getFieldOcurrences("dc.type")).thenReturn(Arrays.asList("book", "article"));
+        when(metadata.getFieldOcurrences("dc.language")).thenReturn(Arrays.asList("en"));
+        when(metadata.getFieldOcurrences("dc.identifier")).thenReturn(Arrays.asList("urn:1", "http://x.org/1"));
+        when(metadata.getFieldOcurrences("dc.rights")).thenReturn(Collections.emptyList());
+        when(metadata.getFieldOcurrences("dc.missing")).thenReturn(Collections.emptyList());
+        when(metadata.getFieldOcurrences("dc.other")).thenReturn(Collections.emptyList());
+    }
+
+    @Test
+    @DisplayName("Should match the interpreted evaluator for every quantifier")
+    void testSameResultsAsInterpretedEvaluator() {
+        for (QuantifierValues quantifier : QuantifierValues.values()) {
+            for (String expression : EXPRESSIONS) {
+                FieldExpressionEvaluator evaluator = new FieldExpressionEvaluator(quantifier);
+                boolean expected = evaluator.evaluate(expression, metadata);
+
+                List<ContentValidatorResult> results = new ArrayList<>();
+                boolean actual = CompiledFieldExpression.compile(expression).evaluate(metadata, quantifier, results);
+
+                String context = quantifier + " " + expression;
+                assertEquals(expected, actual, context);
+                assertEquals(evaluator.getEvaluationResults().size(), results.size(), context);
+                for (ContentValidatorResult result : results) {
+                    assertEquals("no_occurrences_found", result.getReceivedValue(), context);
+                    assertFalse(result.isValid(), context);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should read each field once per record")
+    void testFieldOccurrencesFetchedOnce() {
+        CompiledFieldExpression compiled = CompiledFieldExpression.compile("dc.type=='article' OR dc.type=='book' OR dc.type=='thesis'");
+
+        assertTrue(compiled.evaluate(metadata, QuantifierValues.ONE_OR_MORE, new ArrayList<>()));
+
+        verify(metadata, times(1)).getFieldOcurrences("dc.type");
+    }
+
+    @Test
+    @DisplayName("Should fail on an invalid regex only when the field has occurrences")
+    void testInvalidRegex() {
+        CompiledFieldExpression onMissing = CompiledFieldExpression.compile("dc.missing=%'[unclosed'");
+        List<ContentValidatorResult> results = new ArrayList<>();
+        assertFalse(onMissing.evaluate(metadata, QuantifierValues.ONE_OR_MORE, results));
+        assertEquals(1, results.size());
+
+        CompiledFieldExpression onPresent = CompiledFieldExpression.compile("dc.type=%'[unclosed'");
+        assertThrows(PatternSyntaxException.class,
+                () -> onPresent.evaluate(metadata, QuantifierValues.ONE_OR_MORE, new ArrayList<>()));
+    }
+
+    @Test
+    @DisplayName("Should treat an occurrence whose regex times out as not matching")
+    void testRegexTimeout() {
+        String hostile = "a".repeat(60) + "b";
+        when(metadata.getFieldOcurrences("dc.title")).thenReturn(Arrays.asList(hostile, "a".repeat(20)));
+        CompiledFieldExpression expression = CompiledFieldExpression.compile("dc.title=%'(.*a){20}'");
+
+        assertTrue(assertDoesNotThrow(() -> expression.evaluate(metadata, QuantifierValues.ONE_OR_MORE, new ArrayList<>())));
+        assertFalse(expression.evaluate(metadata, QuantifierValues.ALL, new ArrayList<>()));
+    }
+
+    @Test
+    @DisplayName("Should be used by the rule with the evaluator quantifier")
+    void testRuleUsesCompiledExpression() {
+        FieldExpressionValidatorRule rule = new FieldExpressionValidatorRule();
+        rule.setQuantifier(QuantifierValues.ZERO_ONLY);
+        rule.evaluator = new FieldExpressionEvaluator(QuantifierValues.ZERO_ONLY);
+        rule.setExpression("dc.type=='thesis'");
+
+        assertTrue(rule.validate(metadata).getValid());
+    }
+}
@@ -23,10 +23,13 @@ package org.lareferencia.core.worker.validation.validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.lareferencia.core.metadata.OAIRecordMetadata;
+import org.lareferencia.core.worker.validation.ValidatorRuleResult;
 
 import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 /**
  * Unit tests for ControlledValueFieldContentValidatorRule
@@ -260,4 +263,81 @@ class ControlledValueFieldContentValidatorRuleTest {
         assertTrue(validResult.isValid());
         assertFalse(invalidResult.isValid());
     }
+
+    @Test
+    @DisplayName("Should compare ignoring case and accents when enabled")
+    void testIgnoreCaseAndAccents() {
+        rule.getControlledValues().addAll(Arrays.asList("Español", "Português"));
+
+        assertFalse(rule.validate("espanol").isValid());
+
+        rule.setIgnoreCase(true);
+        rule.setIgnoreAccents(true);
+
+        assertTrue(rule.validate("espanol").isValid());
+        assertTrue(rule.validate("PORTUGUES").isValid());
+        assertFalse(rule.validate("frances").isValid());
+    }
+
+    @Test
+    @DisplayName("Should rebuild lookup after replacing or clearing values")
+    void testReplaceAndClearValues() {
+        rule.setControlledValues(Arrays.asList("a", "b"));
+        assertTrue(rule.validate("a").isValid());
+
+        rule.getControlledValues().clear();
+        assertFalse(rule.validate("a").isValid());
+
+        rule.getControlledValues().add("c");
+        assertTrue(rule.validate("c").isValid());
+    }
+
+    @Test
+    @DisplayName("Should share the vocabulary built from the same values")
+    void testSharedVocabulary() {
+        ControlledVocabulary first = ControlledVocabulary.of(Arrays.asList("en", "es", "pt"), false, false);
+        ControlledVocabulary second = ControlledVocabulary.of(Arrays.asList("en", "es", "pt"), false, false);
+        ControlledVocabulary normalized = ControlledVocabulary.of(Arrays.asList("en", "es", "pt"), true, false);
+
+        assertSame(first, second);
+        assertNotSame(first, normalized);
+        assertEquals(3, first.size());
+    }
+
+    @Test
+    @DisplayName("Should memoize results of repeated values")
+    void testMemoizedResults() {
+        OAIRecordMetadata metadata = mock(OAIRecordMetadata.class);
+        when(metadata.getFieldOcurrences("dc.language")).thenReturn(Arrays.asList("es", "es", "xx"));
+        rule.setFieldname("dc.language");
+        rule.setControlledValues(Arrays.asList("es", "pt"));
+
+        ValidatorRuleResult first = rule.validate(metadata);
+        ValidatorRuleResult second = rule.validate(metadata);
+
+        assertTrue(first.getValid());
+        assertEquals(3, second.getResults().size());
+        assertTrue(second.getResults().get(1).isValid());
+        assertFalse(second.getResults().get(2).isValid());
+        assertNotSame(first.getResults().get(0), second.getResults().get(0));
+        assertEquals(2, rule.getContentCacheStats().missCount());
+        assertEquals(4, rule.getContentCacheStats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Should discard memoized results when the configuration changes")
+    void testMemoizedResultsInvalidation() {
+        OAIRecordMetadata metadata = mock(OAIRecordMetadata.class);
+        when(metadata.getFieldOcurrences("dc.language")).thenReturn(Arrays.asList("ES"));
+        rule.setFieldname("dc.language");
+        rule.setControlledValues(Arrays.asList("es"));
+
+        assertFalse(rule.validate(metadata).getValid());
+
+        rule.setIgnoreCase(true);
+        assertTrue(rule.validate(metadata).getValid());
+
+        rule.getControlledValues().clear();
+        assertFalse(rule.validate(metadata).getValid());
+    }
 }
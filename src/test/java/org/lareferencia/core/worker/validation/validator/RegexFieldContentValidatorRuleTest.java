@@ -23,6 +23,8 @@ package org.lareferencia.core.worker.validation.validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.lareferencia.core.worker.validation.RuleRegex;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -50,6 +52,17 @@ class RegexFieldContentValidatorRuleTest {
         assertEquals("12345", result.getReceivedValue());
     }
     
+    @Test
+    @DisplayName("Should treat content as invalid when the regex times out")
+    void testRegexTimeout() {
+        rule.setRegexString("(.*a){20}");
+        ReflectionTestUtils.setField(rule, "regex", new RuleRegex("(.*a){20}", 100));
+
+        ContentValidatorResult result = assertDoesNotThrow(() -> rule.validate("aaaaaaaaaaaaaaaaaaaaaaaaaaaaab"));
+
+        assertFalse(result.isValid());
+    }
+    
     @Test
     @DisplayName("Should reject content not matching regex")
     void testRegexNoMatch() {
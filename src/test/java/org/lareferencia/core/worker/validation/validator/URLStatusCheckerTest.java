@@ -0,0 +1,199 @@
+/*
+ *   Copyright (c) 2013-2026. LA Referencia / Red CLARA and others
+ *
+ *   This program is free software: you can redistribute it and/or modify
+ *   it under the terms of the GNU Affero General Public License as published by
+ *   the Free Software Foundation, either version 3 of the License, or
+ *   (at your option) any later version.
+ *
+ *   This program is distributed in the hope that it will be useful,
+ *   but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *   MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *   GNU Affero General Public License for more details.
+ *
+ *   You should have received a copy of the GNU Affero General Public License
+ *   along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ *   This file is part of LA Referencia software platform LRHarvester v5.x
+ *   For any further information please contact Lautaro Matas <lmatas@gmail.com>
+ */
+
+package org.lareferencia.core.worker.validation.validator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lareferencia.core.metrics.PipelineMetrics;
+import org.lareferencia.core.metrics.PipelineMetricsService;
+import org.lareferencia.core.worker.validation.validator.URLStatusChecker.URLStatus;
+
+import com.sun.net.httpserver.HttpServer;
+
+@DisplayName("URLStatusChecker Tests")
+class URLStatusCheckerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private String baseUrl;
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/moved", exchange -> {
+            requests.incrementAndGet();
+            exchange.getResponseHeaders().add("Location", "/ok");
+            exchange.sendResponseHeaders(301, -1);
+            exchange.close();
+        });
+        server.createContext("/missing", exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private URLStatusChecker newChecker(String cacheFile) {
+        return new URLStatusChecker(2000, 2000, 24, 1000, 4, 2, cacheFile);
+    }
+
+    @Test
+    @DisplayName("Should probe a URL once and serve repeated checks from cache")
+    void testCachedCheck() {
+        URLStatusChecker checker = newChecker("");
+
+        assertEquals(URLStatus.OK, checker.check(baseUrl + "/ok"));
+        assertEquals(URLStatus.OK, checker.check(baseUrl + "/ok"));
+
+        assertEquals(1, requests.get());
+        assertEquals(1, checker.getProbeCount());
+        assertEquals(1, checker.getCacheStats().hitCount());
+        assertEquals(1, checker.getCacheStats().missCount());
+        checker.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should publish cache and probe metrics while running")
+    void testPipelineMetrics() {
+        PipelineMetricsService metrics = new PipelineMetricsService();
+        metrics.init();
+        URLStatusChecker checker = newChecker("");
+        try {
+            checker.check(baseUrl + "/ok");
+            checker.check(baseUrl + "/ok");
+
+            List<String> snapshot = metrics.getSnapshot();
+            assertTrue(snapshot.stream().anyMatch(line -> line.startsWith(PipelineMetrics.CACHE_REQUESTS + " ")
+                    && line.contains("outcome=hit") && line.contains("count=1")));
+            assertTrue(snapshot.stream().anyMatch(line -> line.startsWith(PipelineMetrics.CACHE_REQUESTS + " ")
+                    && line.contains("outcome=miss") && line.contains("count=1")));
+            assertTrue(snapshot.stream().anyMatch(line -> line.startsWith(PipelineMetrics.CACHE_SIZE + " ")
+                    && line.contains("value=1")));
+            assertTrue(snapshot.stream().anyMatch(line -> line.startsWith(PipelineMetrics.STAGE + " ")
+                    && line.contains("stage=" + PipelineMetrics.URL_CHECK) && line.contains("outcome=OK")
+                    && line.contains("count=1")));
+        } finally {
+            checker.shutdown();
+            metrics.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should follow redirects and report HTTP errors")
+    void testRedirectAndError() {
+        URLStatusChecker checker = newChecker("");
+
+        assertEquals(URLStatus.OK, checker.check(baseUrl + "/moved"));
+        assertEquals(URLStatus.ERROR, checker.check(baseUrl + "/missing"));
+        checker.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should classify malformed URLs without probing")
+    void testMalformedURL() {
+        URLStatusChecker checker = newChecker("");
+
+        assertEquals(URLStatus.MALFORMED_URL, checker.check("not a valid url"));
+        assertEquals(URLStatus.MALFORMED_URL, checker.check("ftp://ftp.example.com/file.txt"));
+        assertEquals(0, requests.get());
+        checker.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should share prefetched probes with later checks")
+    void testPrefetch() {
+        URLStatusChecker checker = newChecker("");
+
+        checker.prefetch(List.of(baseUrl + "/ok", baseUrl + "/missing"));
+
+        assertEquals(URLStatus.OK, checker.check(baseUrl + "/ok"));
+        assertEquals(URLStatus.ERROR, checker.check(baseUrl + "/missing"));
+        assertEquals(2, requests.get());
+        checker.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should reload persisted results")
+    void testPersistence() {
+        String cacheFile = tempDir.resolve("url-status.tsv").toString();
+
+        URLStatusChecker first = newChecker(cacheFile);
+        assertEquals(URLStatus.OK, first.check(baseUrl + "/ok"));
+        first.shutdown();
+
+        URLStatusChecker second = newChecker(cacheFile);
+        assertEquals(URLStatus.OK, second.check(baseUrl + "/ok"));
+        assertEquals(1, requests.get());
+        assertEquals(0, second.getProbeCount());
+        second.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should expire connection failures after the failure TTL and not persist them")
+    void testTransientFailure() throws IOException {
+        String cacheFile = tempDir.resolve("url-status.tsv").toString();
+        String unreachable;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getByName("127.0.0.1"))) {
+            unreachable = "http://127.0.0.1:" + socket.getLocalPort() + "/closed";
+        }
+
+        URLStatusChecker checker = new URLStatusChecker(2000, 2000, 24, 0, 1000, 4, 2, cacheFile, false);
+        assertEquals(URLStatus.CONNECTION_ERROR, checker.check(unreachable));
+        assertEquals(URLStatus.CONNECTION_ERROR, checker.check(unreachable));
+        assertEquals(2, checker.getProbeCount());
+
+        assertEquals(URLStatus.OK, checker.check(baseUrl + "/ok"));
+        checker.shutdown();
+
+        List<String> lines = Files.readAllLines(Path.of(cacheFile));
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).endsWith(baseUrl + "/ok"));
+    }
+}